@@ -1,7 +1,7 @@
 package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.WTable.BeanBoundTableModel;
-import org.apache.commons.beanutils.PropertyUtils;
+import com.github.bordertech.wcomponents.util.BeanPropertyUtil;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -101,7 +101,7 @@ public abstract class AbstractBeanBoundTableModel extends AbstractTableModel imp
 				beanValue = bean;
 			} else {
 				try {
-					beanValue = PropertyUtils.getProperty(bean, property);
+					beanValue = BeanPropertyUtil.getProperty(bean, property);
 				} catch (Exception e) {
 					LOG.error("Failed to read bean property " + property + " from " + bean, e);
 				}
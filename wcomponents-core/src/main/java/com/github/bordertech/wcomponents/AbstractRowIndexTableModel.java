@@ -0,0 +1,179 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.WTable.RowIndexTableModel;
+import java.util.List;
+
+/**
+ * A skeleton implementation of a {@link RowIndexTableModel} that does not support sorting, selectability,
+ * expandability or editability. Subclasses override the {@link RowIndex} methods, and the list based methods convert
+ * their arguments and call them.
+ *
+ * @since 1.5.29
+ */
+public abstract class AbstractRowIndexTableModel extends AbstractTableModel implements RowIndexTableModel {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getRowKey(final RowIndex row) {
+		return row;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasChildren(final RowIndex row) {
+		return getChildCount(row) > 0;
+	}
+
+	/**
+	 * This model does not support the concept of editable cells by default. Subclasses will need to override this
+	 * method and {@link #isCellEditable(RowIndex, int)} to support cell editing.
+	 *
+	 * @param value ignored.
+	 * @param row ignored.
+	 * @param col ignored.
+	 */
+	@Override
+	public void setValueAt(final Object value, final RowIndex row, final int col) {
+		// NOP
+	}
+
+	/**
+	 * This model does not support the concept of row disabling by default.
+	 *
+	 * @param row ignored.
+	 * @return false.
+	 */
+	@Override
+	public boolean isDisabled(final RowIndex row) {
+		return false;
+	}
+
+	/**
+	 * This model does not support the concept of row selectability by default.
+	 *
+	 * @param row ignored.
+	 * @return false
+	 */
+	@Override
+	public boolean isSelectable(final RowIndex row) {
+		return false;
+	}
+
+	/**
+	 * This model does not support the concept of rows being expandable by default.
+	 *
+	 * @param row ignored
+	 * @return false
+	 */
+	@Override
+	public boolean isExpandable(final RowIndex row) {
+		return false;
+	}
+
+	/**
+	 * This model does not support the concept of editable cells by default.
+	 *
+	 * @param row ignored.
+	 * @param col ignored.
+	 * @return false.
+	 */
+	@Override
+	public boolean isCellEditable(final RowIndex row, final int col) {
+		return false;
+	}
+
+	/**
+	 * This model does not provide row renderers by default.
+	 *
+	 * @param row ignored
+	 * @return null
+	 */
+	@Override
+	public Class<? extends WComponent> getRendererClass(final RowIndex row) {
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final Object getValueAt(final List<Integer> row, final int col) {
+		return getValueAt(RowIndex.valueOf(row), col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final boolean isCellEditable(final List<Integer> row, final int col) {
+		return isCellEditable(RowIndex.valueOf(row), col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final void setValueAt(final Object value, final List<Integer> row, final int col) {
+		setValueAt(value, RowIndex.valueOf(row), col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final boolean isDisabled(final List<Integer> row) {
+		return isDisabled(RowIndex.valueOf(row));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final boolean isSelectable(final List<Integer> row) {
+		return isSelectable(RowIndex.valueOf(row));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final boolean isExpandable(final List<Integer> row) {
+		return isExpandable(RowIndex.valueOf(row));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final boolean hasChildren(final List<Integer> row) {
+		return hasChildren(RowIndex.valueOf(row));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final int getChildCount(final List<Integer> row) {
+		return getChildCount(RowIndex.valueOf(row));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final Class<? extends WComponent> getRendererClass(final List<Integer> row) {
+		return getRendererClass(RowIndex.valueOf(row));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final Object getRowKey(final List<Integer> row) {
+		return getRowKey(RowIndex.valueOf(row));
+	}
+}
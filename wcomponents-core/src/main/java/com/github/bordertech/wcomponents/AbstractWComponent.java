@@ -65,12 +65,28 @@ public abstract class AbstractWComponent implements WComponent {
 	 */
 	private static final Log LOG = LogFactory.getLog(AbstractWComponent.class);
 
+	/**
+	 * The value of {@link #slot} for a component which has not been given a slot.
+	 */
+	private static final int NO_SLOT = -1;
+
+	/**
+	 * The value of {@link #slot} for a component which was added to a locked tree, and so is never given a slot.
+	 */
+	private static final int DYNAMIC_SLOT = -2;
+
 	/**
 	 * Indicates whether this component is locked. Trying to update a shared value will result in a runtime exception
 	 * when a component is locked.
 	 */
 	private boolean locked = false;
 
+	/**
+	 * The position of this component in its UI tree, given when the tree is locked. The slot is used by
+	 * {@link DenseUIContextImpl} to index the component's model.
+	 */
+	private int slot = NO_SLOT;
+
 	/**
 	 * The shared model for this component.
 	 */
@@ -848,6 +864,12 @@ public abstract class AbstractWComponent implements WComponent {
 	 */
 	@Override
 	public void setLocked(final boolean lock) {
+		if (lock && slot == NO_SLOT && getParent() == null) {
+			// Slots continue on from any subtree which was locked on its own, so they are unique within the tree
+			int[] next = {getMaxSlot(this) + 1};
+			assignSlots(this, next);
+		}
+
 		this.locked = lock;
 
 		for (int i = 0; i < getChildCount(); i++) {
@@ -855,6 +877,49 @@ public abstract class AbstractWComponent implements WComponent {
 		}
 	}
 
+	/**
+	 * @return the position of this component in its locked UI tree, or a negative number if it has not been given one.
+	 */
+	int getSlot() {
+		return slot;
+	}
+
+	/**
+	 * Gives a slot to each component in a tree which does not already have one.
+	 *
+	 * @param component the component at the top of the tree.
+	 * @param next holds the next slot to give.
+	 */
+	private static void assignSlots(final WComponent component, final int[] next) {
+		if (component instanceof AbstractWComponent && ((AbstractWComponent) component).slot == NO_SLOT) {
+			((AbstractWComponent) component).slot = next[0]++;
+		}
+
+		if (component instanceof Container) {
+			Container container = (Container) component;
+			for (int i = 0; i < container.getChildCount(); i++) {
+				assignSlots(container.getChildAt(i), next);
+			}
+		}
+	}
+
+	/**
+	 * @param component the component at the top of the tree.
+	 * @return the largest slot given to a component in the tree, or a negative number if no slots have been given.
+	 */
+	private static int getMaxSlot(final WComponent component) {
+		int max = component instanceof AbstractWComponent ? ((AbstractWComponent) component).slot : NO_SLOT;
+
+		if (component instanceof Container) {
+			Container container = (Container) component;
+			for (int i = 0; i < container.getChildCount(); i++) {
+				max = Math.max(max, getMaxSlot(container.getChildAt(i)));
+			}
+		}
+
+		return max;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -1375,6 +1440,10 @@ public abstract class AbstractWComponent implements WComponent {
 		model.getChildren().add(component);
 
 		if (isLocked()) {
+			// The models of components added after the tree is locked are held in the fallback map of the UIContext
+			if (component instanceof AbstractWComponent && ((AbstractWComponent) component).slot == NO_SLOT) {
+				((AbstractWComponent) component).slot = DYNAMIC_SLOT;
+			}
 			component.setLocked(true);
 		}
 
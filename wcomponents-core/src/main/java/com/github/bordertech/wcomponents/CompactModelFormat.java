@@ -0,0 +1,287 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.lang.reflect.Field;
+
+/**
+ * <p>
+ * The compact serialized form of a {@link ComponentModel}. The legacy form wrote every field as an object, using a
+ * marker object for fields which had not been overridden. The compact form instead writes:
+ * </p>
+ * <ol>
+ * <li>a format version byte;</li>
+ * <li>a bit-mask indicating which fields have been overridden;</li>
+ * <li>the values of the overridden fields, in field order.</li>
+ * </ol>
+ * <p>
+ * Primitive fields are written directly, with ints and longs (such as the model flags) written as variable length
+ * quantities. Object fields are prefixed with a type tag, which takes the place of a class descriptor for common
+ * immutable types. Any other value is written as a normal serialized object.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+final class CompactModelFormat {
+
+	/**
+	 * The current format version. This must never be negative, so that it can be distinguished from the legacy form.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * Tag for a null value.
+	 */
+	private static final int TAG_NULL = 0;
+
+	/**
+	 * Tag for {@link Boolean#TRUE}.
+	 */
+	private static final int TAG_TRUE = 1;
+
+	/**
+	 * Tag for {@link Boolean#FALSE}.
+	 */
+	private static final int TAG_FALSE = 2;
+
+	/**
+	 * Tag for an {@link Integer} value.
+	 */
+	private static final int TAG_INTEGER = 3;
+
+	/**
+	 * Tag for a {@link Long} value.
+	 */
+	private static final int TAG_LONG = 4;
+
+	/**
+	 * Tag for a {@link String} value.
+	 */
+	private static final int TAG_STRING = 5;
+
+	/**
+	 * Tag for any other value, which is written as a serialized object.
+	 */
+	private static final int TAG_OBJECT = 6;
+
+	/**
+	 * The maximum length of a String which is guaranteed to fit in {@link ObjectOutput#writeUTF(String)}.
+	 */
+	private static final int MAX_UTF_LENGTH = 0xFFFF / 3;
+
+	/**
+	 * Prevent instantiation of this class.
+	 */
+	private CompactModelFormat() {
+	}
+
+	/**
+	 * Writes the bit-mask of overridden fields.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param overridden the overridden flag for each field.
+	 * @throws IOException if there is an error writing to the ObjectOutput
+	 */
+	static void writeMask(final ObjectOutput out, final boolean[] overridden) throws IOException {
+		for (int i = 0; i < overridden.length; i += 8) {
+			int bits = 0;
+
+			for (int j = 0; j < 8 && i + j < overridden.length; j++) {
+				if (overridden[i + j]) {
+					bits |= 1 << j;
+				}
+			}
+
+			out.writeByte(bits);
+		}
+	}
+
+	/**
+	 * Reads the bit-mask of overridden fields.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @param count the number of fields.
+	 * @return the overridden flag for each field.
+	 * @throws IOException if there is an error reading from the ObjectInput
+	 */
+	static boolean[] readMask(final ObjectInput in, final int count) throws IOException {
+		boolean[] overridden = new boolean[count];
+
+		for (int i = 0; i < count; i += 8) {
+			int bits = in.readUnsignedByte();
+
+			for (int j = 0; j < 8 && i + j < count; j++) {
+				overridden[i + j] = (bits & (1 << j)) != 0;
+			}
+		}
+
+		return overridden;
+	}
+
+	/**
+	 * Writes the value of a field.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param field the field being written.
+	 * @param value the field value, boxed if the field is primitive.
+	 * @throws IOException if there is an error writing to the ObjectOutput
+	 */
+	static void writeValue(final ObjectOutput out, final Field field, final Object value) throws IOException {
+		Class<?> type = field.getType();
+
+		if (!type.isPrimitive()) {
+			writeObject(out, value);
+		} else if (type == int.class) {
+			writeVarLong(out, (Integer) value);
+		} else if (type == long.class) {
+			writeVarLong(out, (Long) value);
+		} else if (type == boolean.class) {
+			out.writeBoolean((Boolean) value);
+		} else if (type == byte.class) {
+			out.writeByte((Byte) value);
+		} else if (type == short.class) {
+			out.writeShort((Short) value);
+		} else if (type == char.class) {
+			out.writeChar((Character) value);
+		} else if (type == float.class) {
+			out.writeFloat((Float) value);
+		} else {
+			out.writeDouble((Double) value);
+		}
+	}
+
+	/**
+	 * Reads the value of a field and sets it on the given model.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @param field the field being read.
+	 * @param model the model to set the field value on.
+	 * @throws IOException if there is an error reading from the ObjectInput
+	 * @throws ClassNotFoundException If the class of a serialized object cannot be found.
+	 * @throws IllegalAccessException if the field can not be set.
+	 */
+	static void readValue(final ObjectInput in, final Field field, final ComponentModel model)
+			throws IOException, ClassNotFoundException, IllegalAccessException {
+		Class<?> type = field.getType();
+
+		if (!type.isPrimitive()) {
+			field.set(model, readObject(in));
+		} else if (type == int.class) {
+			field.setInt(model, (int) readVarLong(in));
+		} else if (type == long.class) {
+			field.setLong(model, readVarLong(in));
+		} else if (type == boolean.class) {
+			field.setBoolean(model, in.readBoolean());
+		} else if (type == byte.class) {
+			field.setByte(model, in.readByte());
+		} else if (type == short.class) {
+			field.setShort(model, in.readShort());
+		} else if (type == char.class) {
+			field.setChar(model, in.readChar());
+		} else if (type == float.class) {
+			field.setFloat(model, in.readFloat());
+		} else {
+			field.setDouble(model, in.readDouble());
+		}
+	}
+
+	/**
+	 * Writes a tagged object value.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param value the value to write.
+	 * @throws IOException if there is an error writing to the ObjectOutput
+	 */
+	private static void writeObject(final ObjectOutput out, final Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(TAG_NULL);
+		} else if (value instanceof Boolean) {
+			out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+		} else if (value instanceof Integer) {
+			out.writeByte(TAG_INTEGER);
+			writeVarLong(out, (Integer) value);
+		} else if (value instanceof Long) {
+			out.writeByte(TAG_LONG);
+			writeVarLong(out, (Long) value);
+		} else if (value instanceof String && ((String) value).length() <= MAX_UTF_LENGTH) {
+			out.writeByte(TAG_STRING);
+			out.writeUTF((String) value);
+		} else {
+			out.writeByte(TAG_OBJECT);
+			out.writeObject(value);
+		}
+	}
+
+	/**
+	 * Reads a tagged object value.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @return the value read.
+	 * @throws IOException if there is an error reading from the ObjectInput
+	 * @throws ClassNotFoundException If the class of a serialized object cannot be found.
+	 */
+	private static Object readObject(final ObjectInput in) throws IOException, ClassNotFoundException {
+		int tag = in.readUnsignedByte();
+
+		switch (tag) {
+			case TAG_NULL:
+				return null;
+			case TAG_TRUE:
+				return Boolean.TRUE;
+			case TAG_FALSE:
+				return Boolean.FALSE;
+			case TAG_INTEGER:
+				return (int) readVarLong(in);
+			case TAG_LONG:
+				return readVarLong(in);
+			case TAG_STRING:
+				return in.readUTF();
+			case TAG_OBJECT:
+				return in.readObject();
+			default:
+				throw new InvalidObjectException("Invalid component model value tag " + tag);
+		}
+	}
+
+	/**
+	 * Writes a signed value as a zig-zag encoded variable length quantity, so that small values take a single byte.
+	 *
+	 * @param out the ObjectOutput to write to.
+	 * @param value the value to write.
+	 * @throws IOException if there is an error writing to the ObjectOutput
+	 */
+	private static void writeVarLong(final ObjectOutput out, final long value) throws IOException {
+		long bits = (value << 1) ^ (value >> 63);
+
+		while ((bits & ~0x7FL) != 0) {
+			out.writeByte((int) ((bits & 0x7F) | 0x80));
+			bits >>>= 7;
+		}
+
+		out.writeByte((int) bits);
+	}
+
+	/**
+	 * Reads a value written by {@link #writeVarLong(ObjectOutput, long)}.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @return the value read.
+	 * @throws IOException if there is an error reading from the ObjectInput
+	 */
+	private static long readVarLong(final ObjectInput in) throws IOException {
+		long bits = 0;
+
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.readUnsignedByte();
+			bits |= (long) (b & 0x7F) << shift;
+
+			if ((b & 0x80) == 0) {
+				return (bits >>> 1) ^ -(bits & 1);
+			}
+		}
+
+		throw new InvalidObjectException("Malformed variable length value");
+	}
+}
@@ -1,11 +1,13 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.HtmlClassProperties;
 import com.github.bordertech.wcomponents.util.I18nUtilities;
 import com.github.bordertech.wcomponents.util.ReflectionUtil;
 import com.github.bordertech.wcomponents.util.Util;
 import java.io.Externalizable;
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
@@ -689,7 +691,7 @@ public class ComponentModel implements WebModel, Externalizable {
 	 *
 	 * <p>
 	 * Data is obtained using reflection so that subclasses don't need concern themselves with the ComponentModel
-	 * serialization mechanism.</p>
+	 * serialization mechanism. Both the compact and the legacy serialized forms can be read.</p>
 	 *
 	 * <p>
 	 * After the ComponentModel data is read in, some fields may be in a "unset" state. The static model needs to be
@@ -705,6 +707,44 @@ public class ComponentModel implements WebModel, Externalizable {
 		Field[] fields = getFields(this);
 		unsetFields = new ArrayList<>();
 
+		// The legacy form starts with an object rather than primitive data, so there is nothing to read.
+		int version = in.read();
+
+		if (version == -1) {
+			readLegacyExternal(in, fields);
+			return;
+		} else if (version != CompactModelFormat.VERSION) {
+			throw new InvalidObjectException("Unsupported component model format " + version);
+		}
+
+		boolean[] overridden = CompactModelFormat.readMask(in, fields.length);
+
+		for (int i = 0; i < fields.length; i++) {
+			Field field = fields[i];
+
+			if (overridden[i]) {
+				try {
+					CompactModelFormat.readValue(in, field, this);
+				} catch (IllegalAccessException e) {
+					LOG.error("Failed to read field " + field.getName(), e);
+				}
+			} else {
+				// No override, so remember for later
+				unsetFields.add(field);
+			}
+		}
+	}
+
+	/**
+	 * Reads the fields written in the legacy form, where every field is written as an object.
+	 *
+	 * @param in the ObjectInput to read from.
+	 * @param fields the fields to read.
+	 *
+	 * @throws IOException if there is an error reading from the ObjectInput
+	 * @throws ClassNotFoundException If the class of a serialized object cannot be found.
+	 */
+	private void readLegacyExternal(final ObjectInput in, final Field[] fields) throws IOException, ClassNotFoundException {
 		for (Field field : fields) {
 			try {
 				Object value = in.readObject();
@@ -730,6 +770,10 @@ public class ComponentModel implements WebModel, Externalizable {
 	 * Data is obtained using reflection so that subclasses don't need concern themselves with the ComponentModel
 	 * serialization mechanism.</p>
 	 *
+	 * <p>
+	 * The compact form is written unless it has been disabled using
+	 * {@link ConfigurationProperties#MODEL_COMPACT_SERIALIZATION}.</p>
+	 *
 	 * @param out the ObjectOutput to write to.
 	 *
 	 * @throws IOException if there is an error writing to the ObjectOutput
@@ -737,32 +781,47 @@ public class ComponentModel implements WebModel, Externalizable {
 	@Override
 	public void writeExternal(final ObjectOutput out) throws IOException {
 		Field[] fields = getFields(this);
+		Object[] values = new Object[fields.length];
+		boolean[] overridden = new boolean[fields.length];
+
+		for (int i = 0; i < fields.length; i++) {
+			Field field = fields[i];
 
-		for (Field field : fields) {
 			try {
 				if (sharedModel == null) {
 					// Support serialization of the static model,
 					// even though this should not occur.
-					Object value = field.get(this);
-					out.writeObject(value);
+					values[i] = field.get(this);
+					overridden[i] = true;
 				} else if (unsetFields != null && unsetFields.contains(field)) {
 					// Support the unlikely case being deserialized/serialized
 					// in short succession without the shared model being set.
-					out.writeObject(NoOverride.INSTANCE);
+					overridden[i] = false;
 				} else {
 					Object sharedValue = field.get(sharedModel);
-					Object value = field.get(this);
-
-					if (Util.equals(value, sharedValue)) {
-						out.writeObject(NoOverride.INSTANCE);
-					} else {
-						out.writeObject(value);
-					}
+					values[i] = field.get(this);
+					overridden[i] = !Util.equals(values[i], sharedValue);
 				}
 			} catch (IllegalAccessException e) {
 				LOG.error("Failed to write field " + field.getName(), e);
 			}
 		}
+
+		if (!ConfigurationProperties.getModelCompactSerialization()) {
+			for (int i = 0; i < fields.length; i++) {
+				out.writeObject(overridden[i] ? values[i] : NoOverride.INSTANCE);
+			}
+			return;
+		}
+
+		out.writeByte(CompactModelFormat.VERSION);
+		CompactModelFormat.writeMask(out, overridden);
+
+		for (int i = 0; i < fields.length; i++) {
+			if (overridden[i]) {
+				CompactModelFormat.writeValue(out, fields[i], values[i]);
+			}
+		}
 	}
 
 	/**
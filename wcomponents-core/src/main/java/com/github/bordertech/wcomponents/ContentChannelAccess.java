@@ -0,0 +1,45 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * This extension of {@link ContentStreamAccess} provides content from a file channel. It should be used to serve up
+ * large files (e.g. video), as the content can be transferred from the file to the response in parts without being
+ * copied through the heap, and clients can request byte ranges of the content.</p>
+ *
+ * @since 1.5.29
+ */
+public interface ContentChannelAccess extends ContentStreamAccess {
+
+	/**
+	 * Opens a channel to read the document content. The caller is responsible for closing the channel.
+	 *
+	 * @return a new channel to the document content.
+	 * @throws IOException if there is an error opening the channel.
+	 */
+	FileChannel getChannel() throws IOException;
+
+	/**
+	 * Retrieves the time the content was last modified, which is used to validate the client's copy of the content.
+	 *
+	 * @return the time the content was last modified in milliseconds since the epoch, or 0 if not known.
+	 */
+	default long getLastModified() {
+		return 0;
+	}
+
+	/**
+	 * Retrieves a stream to the document content, which reads from a new channel.
+	 *
+	 * @return the stream containing the document content.
+	 * @throws IOException if there is an error opening the channel.
+	 */
+	@Override
+	default InputStream getStream() throws IOException {
+		return Channels.newInputStream(getChannel());
+	}
+}
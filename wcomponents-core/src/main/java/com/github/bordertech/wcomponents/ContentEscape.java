@@ -1,10 +1,22 @@
 package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.container.ResponseCacheInterceptor.CacheType;
+import com.github.bordertech.wcomponents.util.ByteRange;
 import com.github.bordertech.wcomponents.util.StreamUtil;
 import com.github.bordertech.wcomponents.util.SystemException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -80,21 +92,28 @@ public class ContentEscape extends ActionEscape {
 				}
 			}
 
-			if (contentAccess instanceof ContentStreamAccess) {
-				InputStream stream = null;
+			if (contentAccess instanceof ContentChannelAccess) {
+				ContentChannelAccess channelAccess = (ContentChannelAccess) contentAccess;
 
-				try {
-					stream = ((ContentStreamAccess) contentAccess).getStream();
-
-					if (stream == null) {
+				try (FileChannel channel = channelAccess.getChannel()) {
+					if (channel == null) {
 						throw new SystemException(
-								"ContentAccess returned null stream, access=" + contentAccess);
+								"ContentAccess returned null channel, access=" + contentAccess);
 					}
 
-					StreamUtil.copy(stream, response.getOutputStream());
-				} finally {
-					StreamUtil.safeClose(stream);
+					long length = channel.size();
+					long lastModified = channelAccess.getLastModified();
+					String eTag = lastModified > 0
+							? '"' + Long.toHexString(lastModified) + '-' + Long.toHexString(length) + '"' : null;
+
+					writeContent((out, start, count) -> StreamUtil.transfer(channel, out, start, count),
+							length, eTag, lastModified);
 				}
+			} else if (contentAccess instanceof ContentStreamAccess) {
+				ContentStreamAccess streamAccess = (ContentStreamAccess) contentAccess;
+
+				writeContent((out, start, count) -> writeStream(streamAccess, out, start, count),
+						streamAccess.getContentLength(), null, 0);
 			} else {
 				byte[] bytes = contentAccess.getBytes();
 
@@ -103,8 +122,265 @@ public class ContentEscape extends ActionEscape {
 							"ContentAccess returned null data, access=" + contentAccess);
 				}
 
-				response.getOutputStream().write(bytes);
+				// Checksumming the content is only worthwhile if the client may cache it or is validating its copy
+				String eTag = isCacheable() || hasValidator(getRequest()) ? computeETag(bytes) : null;
+
+				writeContent((out, start, count) -> out.write(bytes, (int) start, (int) count),
+						bytes.length, eTag, 0);
+			}
+		}
+	}
+
+	/**
+	 * Writes the content to the response. Conditional GET requests are sent a "304 Not Modified" response if the
+	 * client's copy is current, and when the length of the content is known, single and multiple byte ranges are
+	 * served as described in RFC 7233.
+	 *
+	 * @param content writes the content, or parts of it.
+	 * @param length the length of the content, or -1 if not known.
+	 * @param eTag the entity tag of the content, or null if not known.
+	 * @param lastModified the time the content was last modified, or 0 if not known.
+	 * @throws IOException if there is an error writing the content.
+	 */
+	private void writeContent(final ContentWriter content, final long length, final String eTag,
+			final long lastModified) throws IOException {
+		Request request = getRequest();
+		Response response = getResponse();
+
+		String method = request == null ? null : request.getMethod();
+		boolean head = "HEAD".equals(method);
+		boolean conditional = head || "GET".equals(method);
+
+		if (eTag != null) {
+			response.setHeader("ETag", eTag);
+		}
+
+		if (lastModified > 0) {
+			response.setHeader("Last-Modified", formatDate(lastModified));
+		}
+
+		if (conditional && isNotModified(request, eTag, lastModified)) {
+			response.setStatus(Response.SC_NOT_MODIFIED);
+			return;
+		}
+
+		List<ByteRange> ranges = null;
+
+		if (length >= 0) {
+			response.setHeader("Accept-Ranges", "bytes");
+
+			if (conditional && isRangeCurrent(request, eTag, lastModified)) {
+				ranges = ByteRange.parse(request.getHeader("Range"), length);
+			}
+		}
+
+		if (ranges == null) {
+			if (length >= 0) {
+				response.setHeader("Content-Length", String.valueOf(length));
+			}
+
+			if (!head) {
+				content.write(response.getOutputStream(), 0, length);
+			}
+		} else if (ranges.isEmpty()) {
+			response.setHeader("Content-Range", "bytes */" + length);
+			response.setStatus(Response.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+		} else if (ranges.size() == 1) {
+			ByteRange range = ranges.get(0);
+			response.setStatus(Response.SC_PARTIAL_CONTENT);
+			response.setHeader("Content-Range", range.toContentRange(length));
+			response.setHeader("Content-Length", String.valueOf(range.getLength()));
+
+			if (!head) {
+				content.write(response.getOutputStream(), range.getStart(), range.getLength());
+			}
+		} else {
+			writeRanges(content, ranges, length, head);
+		}
+	}
+
+	/**
+	 * Writes multiple byte ranges of the content to the response, as a "multipart/byteranges" document.
+	 *
+	 * @param content writes the parts of the content.
+	 * @param ranges the byte ranges to write.
+	 * @param length the length of the content.
+	 * @param head true if only the headers should be sent.
+	 * @throws IOException if there is an error writing the content.
+	 */
+	private void writeRanges(final ContentWriter content, final List<ByteRange> ranges, final long length,
+			final boolean head) throws IOException {
+		Response response = getResponse();
+		String boundary = "WC" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+		String mimeType = contentAccess.getMimeType();
+
+		byte[][] partHeaders = new byte[ranges.size()][];
+		byte[] trailer = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+		long total = trailer.length;
+
+		for (int i = 0; i < ranges.size(); i++) {
+			ByteRange range = ranges.get(i);
+			String partHeader = "\r\n--" + boundary + "\r\n"
+					+ (mimeType == null ? "" : "Content-Type: " + mimeType + "\r\n")
+					+ "Content-Range: " + range.toContentRange(length) + "\r\n\r\n";
+
+			partHeaders[i] = partHeader.getBytes(StandardCharsets.US_ASCII);
+			total += partHeaders[i].length + range.getLength();
+		}
+
+		response.setStatus(Response.SC_PARTIAL_CONTENT);
+		response.setContentType("multipart/byteranges; boundary=" + boundary);
+		response.setHeader("Content-Length", String.valueOf(total));
+
+		if (!head) {
+			OutputStream out = response.getOutputStream();
+
+			for (int i = 0; i < ranges.size(); i++) {
+				out.write(partHeaders[i]);
+				content.write(out, ranges.get(i).getStart(), ranges.get(i).getLength());
 			}
+
+			out.write(trailer);
+		}
+	}
+
+	/**
+	 * Writes the content of a stream, or part of it, to the response. A new stream is opened for each part.
+	 *
+	 * @param streamAccess provides the stream.
+	 * @param out the stream to write to.
+	 * @param start the offset of the first byte to write.
+	 * @param count the number of bytes to write, or -1 to write all the content.
+	 * @throws IOException if there is an error reading or writing the content.
+	 */
+	private static void writeStream(final ContentStreamAccess streamAccess, final OutputStream out, final long start,
+			final long count) throws IOException {
+		InputStream stream = null;
+
+		try {
+			stream = streamAccess.getStream();
+
+			if (stream == null) {
+				throw new SystemException(
+						"ContentAccess returned null stream, access=" + streamAccess);
+			}
+
+			if (count < 0) {
+				StreamUtil.copy(stream, out);
+			} else {
+				StreamUtil.copyRange(stream, out, start, count);
+			}
+		} finally {
+			StreamUtil.safeClose(stream);
+		}
+	}
+
+	/**
+	 * @param request the request being responded to, or null.
+	 * @return true if the request has an If-None-Match or If-Range header to validate against the entity tag.
+	 */
+	private static boolean hasValidator(final Request request) {
+		return request != null && (request.getHeader("If-None-Match") != null || request.getHeader("If-Range") != null);
+	}
+
+	/**
+	 * @param bytes the content.
+	 * @return an entity tag computed from the content.
+	 */
+	private static String computeETag(final byte[] bytes) {
+		CRC32 checksum = new CRC32();
+		checksum.update(bytes);
+		return "\"" + Long.toHexString(checksum.getValue()) + '-' + Integer.toHexString(bytes.length) + '"';
+	}
+
+	/**
+	 * Determines whether the client's copy of the content is current, using the If-None-Match and If-Modified-Since
+	 * headers.
+	 *
+	 * @param request the request being responded to.
+	 * @param eTag the entity tag of the content, or null if not known.
+	 * @param lastModified the time the content was last modified, or 0 if not known.
+	 * @return true if the client's copy is current.
+	 */
+	private static boolean isNotModified(final Request request, final String eTag, final long lastModified) {
+		String ifNoneMatch = request.getHeader("If-None-Match");
+
+		if (ifNoneMatch != null) {
+			return eTag != null && matchesETag(ifNoneMatch, eTag);
+		}
+
+		String ifModifiedSince = request.getHeader("If-Modified-Since");
+
+		return ifModifiedSince != null && lastModified > 0
+				&& lastModified / 1000 <= parseDate(ifModifiedSince) / 1000;
+	}
+
+	/**
+	 * Determines whether a range request applies to the current content, using the If-Range header. If the client's
+	 * copy is not current, the whole content is sent instead of the requested ranges.
+	 *
+	 * @param request the request being responded to.
+	 * @param eTag the entity tag of the content, or null if not known.
+	 * @param lastModified the time the content was last modified, or 0 if not known.
+	 * @return true if the requested ranges should be sent.
+	 */
+	private static boolean isRangeCurrent(final Request request, final String eTag, final long lastModified) {
+		String ifRange = request.getHeader("If-Range");
+
+		if (ifRange == null) {
+			return true;
+		}
+
+		String validator = ifRange.trim();
+
+		if (validator.startsWith("\"") || validator.startsWith("W/")) {
+			// Weak tags never match, as ranges must be taken from the same representation
+			return eTag != null && validator.equals(eTag);
+		}
+
+		return lastModified > 0 && lastModified / 1000 == parseDate(validator) / 1000;
+	}
+
+	/**
+	 * Checks whether a list of entity tags from an If-None-Match header matches the content, using weak comparison.
+	 *
+	 * @param header the header value.
+	 * @param eTag the entity tag of the content.
+	 * @return true if any of the tags matches the content.
+	 */
+	private static boolean matchesETag(final String header, final String eTag) {
+		for (String tag : header.split(",")) {
+			String candidate = tag.trim();
+
+			if (candidate.startsWith("W/")) {
+				candidate = candidate.substring(2);
+			}
+
+			if ("*".equals(candidate) || candidate.equals(eTag)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @param time the time in milliseconds since the epoch.
+	 * @return the time formatted as an HTTP date.
+	 */
+	private static String formatDate(final long time) {
+		return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(time).atZone(ZoneOffset.UTC));
+	}
+
+	/**
+	 * @param date the HTTP date to parse.
+	 * @return the date in milliseconds since the epoch, or -1 if the date is invalid.
+	 */
+	private static long parseDate(final String date) {
+		try {
+			return ZonedDateTime.parse(date.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+		} catch (DateTimeParseException e) {
+			return -1;
 		}
 	}
 
@@ -139,4 +415,21 @@ public class ContentEscape extends ActionEscape {
 	public void setDisplayInline(final boolean displayInline) {
 		this.displayInline = displayInline;
 	}
+
+	/**
+	 * Writes the content, or part of it, to an output stream.
+	 */
+	@FunctionalInterface
+	private interface ContentWriter {
+
+		/**
+		 * Writes part of the content.
+		 *
+		 * @param out the stream to write to.
+		 * @param start the offset of the first byte to write.
+		 * @param count the number of bytes to write, or -1 to write all the content.
+		 * @throws IOException if there is an error writing the content.
+		 */
+		void write(OutputStream out, long start, long count) throws IOException;
+	}
 }
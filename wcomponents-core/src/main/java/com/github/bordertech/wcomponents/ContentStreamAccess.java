@@ -24,4 +24,15 @@ public interface ContentStreamAccess extends ContentAccess {
 	 * @throws IOException if there is an error retrieving the content.
 	 */
 	InputStream getStream() throws IOException;
+
+	/**
+	 * Retrieves the length of the content, if it is known. When the length is known, clients may request parts of the
+	 * content (e.g. to seek within a video) without downloading all of it.
+	 *
+	 * @return the length of the content in bytes, or -1 if the length is not known.
+	 * @since 1.5.29
+	 */
+	default long getContentLength() {
+		return -1;
+	}
 }
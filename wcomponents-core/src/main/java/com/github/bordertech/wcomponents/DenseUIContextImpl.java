@@ -0,0 +1,215 @@
+package com.github.bordertech.wcomponents;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An implementation of {@link UIContext} which holds the component models in arrays indexed by the slot each component
+ * is given when its UI tree is locked, rather than in a map keyed by the component. This avoids hashing the component
+ * and the cost of a map entry for each model.
+ * <p>
+ * The models of components which do not have a slot, such as components added to the tree after it was locked, or
+ * whose slot is used by a component from another tree, are held in a map as they are by {@link UIContextImpl}.
+ * </p>
+ * <p>
+ * Slots depend on the order the UI was built in, so are not serialized. The models are written out with their
+ * components, and placed back into the slots of the registered components when the context is read in.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+public class DenseUIContextImpl extends UIContextImpl {
+
+	/**
+	 * The smallest capacity of the slot arrays, once a model has been set.
+	 */
+	private static final int MIN_CAPACITY = 16;
+
+	/**
+	 * The component in each slot, used to check that a slot belongs to the component being looked up.
+	 */
+	private transient WebComponent[] components = new WebComponent[0];
+
+	/**
+	 * The component model in each slot.
+	 */
+	private transient WebModel[] models = new WebModel[0];
+
+	/**
+	 * The models of components which are not held in a slot, created when first needed.
+	 */
+	private transient Map<WebComponent, WebModel> fallback;
+
+	/**
+	 * Get the extrinsic state information for the given component.
+	 *
+	 * @param component the component to get the model for.
+	 * @return the component's model.
+	 */
+	@Override
+	public WebModel getModel(final WebComponent component) {
+		int slot = getSlot(component);
+
+		if (slot >= 0 && slot < components.length && components[slot] == component) {
+			return models[slot];
+		}
+
+		return fallback == null ? null : fallback.get(component);
+	}
+
+	/**
+	 * Stores the extrinsic state information for the given component.
+	 *
+	 * @param component the component to set the model for.
+	 * @param model the model to set.
+	 */
+	@Override
+	public void setModel(final WebComponent component, final WebModel model) {
+		int slot = getSlot(component);
+
+		if (slot >= 0) {
+			if (slot >= components.length) {
+				grow(slot);
+			}
+
+			WebComponent owner = components[slot];
+
+			if (owner == component) {
+				models[slot] = model;
+				return;
+			} else if (owner == null) {
+				components[slot] = component;
+				models[slot] = model;
+
+				// The model may have been held in the map while the slot was used by another component
+				if (fallback != null) {
+					fallback.remove(component);
+				}
+				return;
+			}
+		}
+
+		if (fallback == null) {
+			fallback = new HashMap<>();
+		}
+		fallback.put(component, model);
+	}
+
+	/**
+	 * Removes the extrinsic state information for the given component.
+	 *
+	 * @param component the component to remove the model for.
+	 */
+	@Override
+	public void removeModel(final WebComponent component) {
+		int slot = getSlot(component);
+
+		if (slot >= 0 && slot < components.length && components[slot] == component) {
+			components[slot] = null;
+			models[slot] = null;
+		} else if (fallback != null) {
+			fallback.remove(component);
+		}
+	}
+
+	/**
+	 * @return a copy of the set of WComponents that are storing a model.
+	 */
+	@Override
+	public Set<WebComponent> getComponents() {
+		Set<WebComponent> result = new HashSet<>();
+
+		for (WebComponent component : components) {
+			if (component != null) {
+				result.add(component);
+			}
+		}
+
+		if (fallback != null) {
+			result.addAll(fallback.keySet());
+		}
+
+		return result;
+	}
+
+	/**
+	 * Increases the size of the slot arrays so they can hold the given slot.
+	 *
+	 * @param slot the slot to hold.
+	 */
+	private void grow(final int slot) {
+		int capacity = Math.max(Math.max(slot + 1, MIN_CAPACITY), components.length + (components.length >> 1));
+		components = Arrays.copyOf(components, capacity);
+		models = Arrays.copyOf(models, capacity);
+	}
+
+	/**
+	 * @param component the component to get the slot for.
+	 * @return the slot of the component, or a negative number if the component does not have a slot.
+	 */
+	private static int getSlot(final WebComponent component) {
+		return component instanceof AbstractWComponent ? ((AbstractWComponent) component).getSlot() : -1;
+	}
+
+	/**
+	 * Writes the component models as component and model pairs, as the slots are not serialized.
+	 *
+	 * @param out the ObjectOutputStream to write to.
+	 * @throws IOException if there is an error writing to the stream.
+	 */
+	private void writeObject(final ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+
+		Set<WebComponent> keys = getComponents();
+		out.writeInt(keys.size());
+
+		for (WebComponent component : keys) {
+			out.writeObject(component);
+			out.writeObject(getModel(component));
+		}
+	}
+
+	/**
+	 * Reads the component models into the map, and places them in the slots of their components once the rest of the
+	 * object graph has been read, as a component may not have been fully read in when its model is.
+	 *
+	 * @param in the ObjectInputStream to read from.
+	 * @throws IOException if there is an error reading from the stream.
+	 * @throws ClassNotFoundException if a class can't be found.
+	 */
+	private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+
+		components = new WebComponent[0];
+		models = new WebModel[0];
+
+		int count = in.readInt();
+		fallback = new HashMap<>();
+
+		for (int i = 0; i < count; i++) {
+			WebComponent component = (WebComponent) in.readObject();
+			WebModel model = (WebModel) in.readObject();
+			fallback.put(component, model);
+		}
+
+		in.registerValidation(this::placeModels, 0);
+	}
+
+	/**
+	 * Moves the models read in to the slots of their components.
+	 */
+	private void placeModels() {
+		Map<WebComponent, WebModel> read = fallback;
+		fallback = null;
+
+		for (Map.Entry<WebComponent, WebModel> entry : read.entrySet()) {
+			setModel(entry.getKey(), entry.getValue());
+		}
+	}
+}
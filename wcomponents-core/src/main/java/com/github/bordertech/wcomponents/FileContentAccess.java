@@ -0,0 +1,121 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.util.SystemException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Provides access to the content of a file on the server. The file is read each time the content is requested, so
+ * only the file name is held in the user's session.
+ *
+ * @since 1.5.29
+ */
+public class FileContentAccess implements ContentChannelAccess {
+
+	/**
+	 * The file containing the content.
+	 */
+	private final File file;
+
+	/**
+	 * The mime type of the content.
+	 */
+	private final String mimeType;
+
+	/**
+	 * The description of the content.
+	 */
+	private final String description;
+
+	/**
+	 * Creates a FileContentAccess, which is described by the file name.
+	 *
+	 * @param file the file containing the content.
+	 * @param mimeType the mime type of the content.
+	 */
+	public FileContentAccess(final File file, final String mimeType) {
+		this(file, mimeType, file.getName());
+	}
+
+	/**
+	 * Creates a FileContentAccess.
+	 *
+	 * @param file the file containing the content.
+	 * @param mimeType the mime type of the content.
+	 * @param description the description of the content.
+	 */
+	public FileContentAccess(final File file, final String mimeType, final String description) {
+		if (file == null) {
+			throw new IllegalArgumentException("file can not be null.");
+		}
+
+		this.file = file;
+		this.mimeType = mimeType;
+		this.description = description;
+	}
+
+	/**
+	 * @return the file containing the content.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Reads the whole file into memory. Callers which can read the content in parts should use {@link #getChannel()}
+	 * or {@link #getStream()} instead.
+	 *
+	 * @return the content of the file.
+	 */
+	@Override
+	public byte[] getBytes() {
+		try {
+			return Files.readAllBytes(file.toPath());
+		} catch (IOException e) {
+			throw new SystemException("Failed to read file " + file, e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public FileChannel getChannel() throws IOException {
+		return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getContentLength() {
+		return file.isFile() ? file.length() : -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getLastModified() {
+		return file.lastModified();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getMimeType() {
+		return mimeType;
+	}
+}
@@ -270,6 +270,21 @@ public interface Request {
 	 */
 	String getMethod();
 
+	/**
+	 * Returns the value of the specified request header. If the request contains multiple headers with the same name,
+	 * the first value is returned.
+	 *
+	 * <p>
+	 * The default implementation returns null, as if the request has no headers.
+	 * </p>
+	 *
+	 * @param name the header name, which is case insensitive.
+	 * @return the header value, or null if the request does not have a header of that name.
+	 */
+	default String getHeader(final String name) {
+		return null;
+	}
+
 	/**
 	 * Returns the maximum time interval, in seconds, that the servlet container will keep this session open between
 	 * client accesses.
@@ -14,6 +14,21 @@ import java.io.PrintWriter;
  */
 public interface Response {
 
+	/**
+	 * The status code (206) for a response holding part of the content.
+	 */
+	int SC_PARTIAL_CONTENT = 206;
+
+	/**
+	 * The status code (304) for a conditional request whose copy of the content is current.
+	 */
+	int SC_NOT_MODIFIED = 304;
+
+	/**
+	 * The status code (416) for a request for byte ranges which are outside of the content.
+	 */
+	int SC_REQUESTED_RANGE_NOT_SATISFIABLE = 416;
+
 	/**
 	 * @return a PrintWriter object that can return character data to the client.
 	 * @throws IOException if there is an error obtaining the writer.
@@ -58,4 +73,18 @@ public interface Response {
 	 */
 	void sendError(int code, String description) throws IOException;
 
+	/**
+	 * Sets the status code for a response which does not have an error, e.g. 206 (Partial Content) or 304 (Not
+	 * Modified).
+	 * <p>
+	 * The default implementation throws an UnsupportedOperationException. It is only called for requests with the
+	 * matching headers, see {@link Request#getHeader(String)}.
+	 * </p>
+	 *
+	 * @param code the status code.
+	 */
+	default void setStatus(final int code) {
+		throw new UnsupportedOperationException("Setting the status code is not supported by " + getClass().getName());
+	}
+
 }
@@ -0,0 +1,253 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.WTable.RowIndexTableModel;
+import com.github.bordertech.wcomponents.util.TableUtil;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * An immutable row index for a {@link WTable} row. Each item is the index of the row for that level, so the size of a
+ * RowIndex matches the depth of the row.
+ * </p>
+ * <p>
+ * The indices are held in an <code>int[]</code> and the hash code is computed once, so a RowIndex is cheap to create,
+ * compare and use as a map key. A RowIndex is a <code>List&lt;Integer&gt;</code> which is equal to, and has the same
+ * hash code as, any other list holding the same indices, so it may be passed to existing {@link WTable.TableModel}
+ * implementations and compared with row keys created by them. Models which implement {@link RowIndexTableModel} can
+ * work with the primitive indices directly.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+public final class RowIndex extends AbstractList<Integer> implements RandomAccess, Serializable {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(RowIndex.class);
+
+	/**
+	 * The row index delimiter, as a char.
+	 */
+	private static final char DELIMITER = TableUtil.INDEX_DELIMITER.charAt(0);
+
+	/**
+	 * The row index of an empty list.
+	 */
+	private static final RowIndex EMPTY = new RowIndex(new int[0]);
+
+	/**
+	 * The indices for each level.
+	 */
+	private final int[] indices;
+
+	/**
+	 * The hash code, computed as for any other List.
+	 */
+	private final int hash;
+
+	/**
+	 * Creates a RowIndex. The array must not be modified after it is passed in.
+	 *
+	 * @param indices the indices for each level.
+	 */
+	private RowIndex(final int[] indices) {
+		this.indices = indices;
+
+		int hashCode = 1;
+		for (int index : indices) {
+			hashCode = 31 * hashCode + index;
+		}
+		this.hash = hashCode;
+	}
+
+	/**
+	 * Creates a RowIndex for the given indices.
+	 *
+	 * @param indices the indices for each level.
+	 * @return the row index.
+	 */
+	public static RowIndex of(final int... indices) {
+		return indices.length == 0 ? EMPTY : new RowIndex(indices.clone());
+	}
+
+	/**
+	 * Converts a list of indices to a RowIndex.
+	 *
+	 * @param row the list of indices, may be null.
+	 * @return the row index, or null if the list is null.
+	 */
+	public static RowIndex valueOf(final List<Integer> row) {
+		if (row == null || row instanceof RowIndex) {
+			return (RowIndex) row;
+		}
+
+		int[] indices = new int[row.size()];
+		int i = 0;
+		for (Integer index : row) {
+			indices[i++] = index;
+		}
+		return indices.length == 0 ? EMPTY : new RowIndex(indices);
+	}
+
+	/**
+	 * Parses the string representation of a row index, as created by {@link #toIndexString()}. As with earlier
+	 * releases, parsing stops at the first invalid level and the levels before it are returned.
+	 *
+	 * @param row the string representation of the row index, may be null.
+	 * @return the row index, or null if the string is null.
+	 */
+	public static RowIndex parse(final String row) {
+		if (row == null) {
+			return null;
+		}
+
+		int length = row.length();
+		int[] indices = new int[1];
+		int count = 0;
+		int pos = 0;
+
+		while (pos < length) {
+			int start = pos;
+			long value = 0;
+
+			while (pos < length && row.charAt(pos) >= '0' && row.charAt(pos) <= '9' && value <= Integer.MAX_VALUE) {
+				value = value * 10 + (row.charAt(pos) - '0');
+				pos++;
+			}
+
+			boolean endOfLevel = pos == length || row.charAt(pos) == DELIMITER;
+
+			if (pos == start || !endOfLevel || value > Integer.MAX_VALUE) {
+				// Trailing delimiters are ignored, anything else is invalid
+				if (!isTrailingDelimiters(row, start)) {
+					LOG.warn("Invalid row id: " + row);
+				}
+				break;
+			}
+
+			if (count == indices.length) {
+				indices = Arrays.copyOf(indices, count * 2);
+			}
+			indices[count++] = (int) value;
+			pos++; // skip the delimiter
+		}
+
+		if (count == 0) {
+			return EMPTY;
+		}
+
+		return new RowIndex(count == indices.length ? indices : Arrays.copyOf(indices, count));
+	}
+
+	/**
+	 * @param row the string being parsed.
+	 * @param start the position to check from.
+	 * @return true if the string only contains delimiters from the given position.
+	 */
+	private static boolean isTrailingDelimiters(final String row, final int start) {
+		if (start == 0) {
+			return false;
+		}
+
+		for (int i = start; i < row.length(); i++) {
+			if (row.charAt(i) != DELIMITER) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Creates the row index of a child of this row.
+	 *
+	 * @param index the index of the child row.
+	 * @return the row index of the child.
+	 */
+	public RowIndex child(final int index) {
+		int[] child = Arrays.copyOf(indices, indices.length + 1);
+		child[indices.length] = index;
+		return new RowIndex(child);
+	}
+
+	/**
+	 * Retrieves the index for a level, without boxing.
+	 *
+	 * @param level the level, zero for the top level.
+	 * @return the index for the level.
+	 */
+	public int getInt(final int level) {
+		return indices[level];
+	}
+
+	/**
+	 * @return the indices for each level, as a new array.
+	 */
+	public int[] toIntArray() {
+		return indices.clone();
+	}
+
+	/**
+	 * @return the string representation of this row index, e.g. "1-0-3", or null if this row index is empty.
+	 */
+	public String toIndexString() {
+		if (indices.length == 0) {
+			return null;
+		}
+
+		StringBuilder index = new StringBuilder(indices.length * 3);
+		index.append(indices[0]);
+
+		for (int i = 1; i < indices.length; i++) {
+			index.append(DELIMITER).append(indices[i]);
+		}
+
+		return index.toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Integer get(final int index) {
+		return indices[index];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return indices.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj == this) {
+			return true;
+		} else if (obj instanceof RowIndex) {
+			RowIndex other = (RowIndex) obj;
+			return hash == other.hash && Arrays.equals(indices, other.indices);
+		}
+
+		return super.equals(obj);
+	}
+}
@@ -0,0 +1,233 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.WTable.RowIndexTableModel;
+import com.github.bordertech.wcomponents.WTable.TableModel;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Adapts a {@link TableModel} which addresses rows with lists to the {@link RowIndexTableModel} interface. A
+ * {@link RowIndex} is a list, so it is passed straight through to the backing model without being converted.
+ *
+ * @since 1.5.29
+ */
+public final class RowIndexTableModelAdapter implements RowIndexTableModel, Serializable {
+
+	/**
+	 * The backing table model.
+	 */
+	private final TableModel backing;
+
+	/**
+	 * Creates a RowIndexTableModelAdapter.
+	 *
+	 * @param backing the table model to adapt.
+	 */
+	private RowIndexTableModelAdapter(final TableModel backing) {
+		this.backing = backing;
+	}
+
+	/**
+	 * Retrieves a {@link RowIndexTableModel} for the given table model.
+	 *
+	 * @param model the table model.
+	 * @return the model itself if it is a RowIndexTableModel, otherwise an adapter for the model.
+	 */
+	public static RowIndexTableModel adapt(final TableModel model) {
+		if (model instanceof RowIndexTableModel) {
+			return (RowIndexTableModel) model;
+		}
+		return new RowIndexTableModelAdapter(model);
+	}
+
+	/**
+	 * @return the table model being adapted.
+	 */
+	public TableModel getBacking() {
+		return backing;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValueAt(final RowIndex row, final int col) {
+		return backing.getValueAt(row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isCellEditable(final RowIndex row, final int col) {
+		return backing.isCellEditable(row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setValueAt(final Object value, final RowIndex row, final int col) {
+		backing.setValueAt(value, row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isDisabled(final RowIndex row) {
+		return backing.isDisabled(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSelectable(final RowIndex row) {
+		return backing.isSelectable(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isExpandable(final RowIndex row) {
+		return backing.isExpandable(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasChildren(final RowIndex row) {
+		return backing.hasChildren(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getChildCount(final RowIndex row) {
+		return backing.getChildCount(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<? extends WComponent> getRendererClass(final RowIndex row) {
+		return backing.getRendererClass(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getRowKey(final RowIndex row) {
+		return backing.getRowKey(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getValueAt(final List<Integer> row, final int col) {
+		return backing.getValueAt(row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isCellEditable(final List<Integer> row, final int col) {
+		return backing.isCellEditable(row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setValueAt(final Object value, final List<Integer> row, final int col) {
+		backing.setValueAt(value, row, col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSortable(final int col) {
+		return backing.isSortable(col);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int[] sort(final int col, final boolean ascending) {
+		return backing.sort(col, ascending);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isDisabled(final List<Integer> row) {
+		return backing.isDisabled(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSelectable(final List<Integer> row) {
+		return backing.isSelectable(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isExpandable(final List<Integer> row) {
+		return backing.isExpandable(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getRowCount() {
+		return backing.getRowCount();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasChildren(final List<Integer> row) {
+		return backing.hasChildren(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getChildCount(final List<Integer> row) {
+		return backing.getChildCount(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<? extends WComponent> getRendererClass(final List<Integer> row) {
+		return backing.getRendererClass(row);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getRowKey(final List<Integer> row) {
+		return backing.getRowKey(row);
+	}
+}
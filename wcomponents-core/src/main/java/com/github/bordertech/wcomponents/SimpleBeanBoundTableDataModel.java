@@ -1,11 +1,11 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.BeanPropertyUtil;
 import com.github.bordertech.wcomponents.util.ComparableComparator;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -120,7 +120,7 @@ public class SimpleBeanBoundTableDataModel extends AbstractBeanTableDataModel {
 				return bean;
 			} else {
 				try {
-					return PropertyUtils.getProperty(bean, property);
+					return BeanPropertyUtil.getProperty(bean, property);
 				} catch (Exception e) {
 					LOG.error("Failed to read bean property " + property + " from " + bean, e);
 				}
@@ -173,7 +173,7 @@ public class SimpleBeanBoundTableDataModel extends AbstractBeanTableDataModel {
 				}
 			} else {
 				try {
-					PropertyUtils.setProperty(bean, property, value);
+					BeanPropertyUtil.setProperty(bean, property, value);
 				} catch (Exception e) {
 					LOG.error("Failed to set bean property " + property + " on " + bean, e);
 				}
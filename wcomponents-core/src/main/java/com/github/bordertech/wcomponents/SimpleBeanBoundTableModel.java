@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.BeanPropertyUtil;
 import com.github.bordertech.wcomponents.util.ComparableComparator;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -7,7 +8,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -528,7 +528,7 @@ public class SimpleBeanBoundTableModel extends AbstractBeanBoundTableModel {
 		}
 
 		try {
-			Object data = PropertyUtils.getProperty(bean, property);
+			Object data = BeanPropertyUtil.getProperty(bean, property);
 			return data;
 		} catch (Exception e) {
 			LOG.error("Failed to get bean property " + property + " on " + bean, e);
@@ -554,7 +554,7 @@ public class SimpleBeanBoundTableModel extends AbstractBeanBoundTableModel {
 			return;
 		}
 		try {
-			PropertyUtils.setProperty(bean, property, value);
+			BeanPropertyUtil.setProperty(bean, property, value);
 		} catch (Exception e) {
 			LOG.error("Failed to set bean property " + property + " on " + bean, e);
 		}
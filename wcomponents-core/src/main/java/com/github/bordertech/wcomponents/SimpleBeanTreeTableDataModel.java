@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.BeanPropertyUtil;
 import com.github.bordertech.wcomponents.util.ComparableComparator;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -7,7 +8,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -100,7 +100,7 @@ public class SimpleBeanTreeTableDataModel extends AbstractTreeTableDataModel {
 				return bean;
 			} else {
 				try {
-					return PropertyUtils.getProperty(bean, property);
+					return BeanPropertyUtil.getProperty(bean, property);
 				} catch (Exception e) {
 					LOG.error("Failed to read bean property " + property + " from " + bean, e);
 				}
@@ -142,7 +142,7 @@ public class SimpleBeanTreeTableDataModel extends AbstractTreeTableDataModel {
 				//node.setData(value);
 			} else {
 				try {
-					PropertyUtils.setProperty(bean, property, value);
+					BeanPropertyUtil.setProperty(bean, property, value);
 				} catch (Exception e) {
 					LOG.error("Failed to set bean property " + property + " on " + bean, e);
 				}
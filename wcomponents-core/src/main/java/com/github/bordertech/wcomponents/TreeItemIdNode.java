@@ -1,12 +1,21 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.Util;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A node that holds a tree item id. Used for custom tree item structures in {@link WTree}.
+ * <p>
+ * A custom tree set on the shared model of a {@link WTree} is marked as shared when the first user model is created.
+ * Shared nodes can no longer be changed, which allows all users to reference the same nodes. Only the nodes a user
+ * changes (for example when children are loaded for an expanded node) are copied into that user's tree. Use
+ * {@link WTree#getCustomNodeForUpdate(String)} to change a node for a user.
+ * </p>
  *
  * @author Jonathan Austin
  * @since 1.1.0
@@ -26,6 +35,14 @@ public class TreeItemIdNode implements Serializable {
 	 * True if this node has children. Allows it be set true with out actually loading the children.
 	 */
 	private boolean hasChildren;
+	/**
+	 * True if this node is shared between users and can no longer be changed.
+	 */
+	private boolean shared;
+	/**
+	 * The map of item ids to their node in this tree, created when first needed once the node is shared.
+	 */
+	private transient volatile Map<String, TreeItemIdNode> itemIdNodeMap;
 
 	/**
 	 * @param itemId the tree item id
@@ -46,6 +63,7 @@ public class TreeItemIdNode implements Serializable {
 	 * @param node the child node to add
 	 */
 	public void addChild(final TreeItemIdNode node) {
+		checkNotShared();
 		if (children == null) {
 			children = new ArrayList<>();
 		}
@@ -76,6 +94,7 @@ public class TreeItemIdNode implements Serializable {
 	 * @param hasChildren true if this node has children
 	 */
 	public void setHasChildren(final boolean hasChildren) {
+		checkNotShared();
 		this.hasChildren = hasChildren;
 		if (!hasChildren) {
 			// Clear children
@@ -83,4 +102,96 @@ public class TreeItemIdNode implements Serializable {
 		}
 	}
 
+	/**
+	 * @return true if this node is shared between users and can no longer be changed
+	 */
+	public boolean isShared() {
+		return shared;
+	}
+
+	/**
+	 * Marks this node and all its descendants as shared. Once shared, the nodes can no longer be changed.
+	 */
+	void setShared() {
+		if (shared) {
+			// Descendants of a shared node are always shared
+			return;
+		}
+		if (children != null) {
+			for (TreeItemIdNode child : children) {
+				child.setShared();
+			}
+		}
+		shared = true;
+	}
+
+	/**
+	 * Creates a copy of this node which can be changed. The copy references the same child nodes as this node.
+	 *
+	 * @return a copy of this node which is not shared
+	 */
+	TreeItemIdNode copyNode() {
+		TreeItemIdNode copy = new TreeItemIdNode(itemId);
+		copy.hasChildren = hasChildren;
+		if (children != null) {
+			copy.children = new ArrayList<>(children);
+		}
+		return copy;
+	}
+
+	/**
+	 * @param index the index of the child node to replace
+	 * @param node the new child node
+	 */
+	void setChild(final int index, final TreeItemIdNode node) {
+		checkNotShared();
+		children.set(index, node);
+	}
+
+	/**
+	 * Provides the map of item ids to their node in this tree. As the nodes of a shared tree can not change, the map is
+	 * only created once for a shared node.
+	 *
+	 * @return the map of item ids to their node in this tree
+	 */
+	Map<String, TreeItemIdNode> getItemIdNodeMap() {
+		Map<String, TreeItemIdNode> map = itemIdNodeMap;
+		if (map == null) {
+			map = new HashMap<>();
+			addItemIdNodeMapping(map, this);
+			map = Collections.unmodifiableMap(map);
+			if (shared) {
+				itemIdNodeMap = map;
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Iterate over the tree structure to add entries to the map.
+	 *
+	 * @param map the map of item ids and their node
+	 * @param node the current node being processed
+	 */
+	private static void addItemIdNodeMapping(final Map<String, TreeItemIdNode> map, final TreeItemIdNode node) {
+		String id = node.getItemId();
+		if (!Util.empty(id)) {
+			map.put(id, node);
+		}
+		if (node.children != null) {
+			for (TreeItemIdNode child : node.children) {
+				addItemIdNodeMapping(map, child);
+			}
+		}
+	}
+
+	/**
+	 * Checks this node can be changed.
+	 */
+	private void checkNotShared() {
+		if (shared) {
+			throw new IllegalStateException("Tree item " + itemId + " is shared between users and can not be changed."
+					+ " Use WTree.getCustomNodeForUpdate to change it for a user.");
+		}
+	}
 }
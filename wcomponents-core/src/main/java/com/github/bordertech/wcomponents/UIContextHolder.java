@@ -5,7 +5,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 import java.util.WeakHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -46,12 +45,13 @@ public final class UIContextHolder {
 
 	/**
 	 * The UIContexts are stored on a thread-local. This is safe, as WComponent request processing and rendering are
-	 * single-threaded per user.
+	 * single-threaded per user. As the stack is only used by its own thread, it is not synchronized.
 	 */
-	private static final ThreadLocal<Stack<UIContext>> CONTEXT_STACK = new ThreadLocal<>();
+	private static final ThreadLocal<UIContextStack> CONTEXT_STACK = new ThreadLocal<>();
 
 	/**
-	 * This is used for debugging only. It contains all UIContexts which are in an active thread.
+	 * This is used for debugging only. It contains all UIContexts which are in an active thread. Contexts are only
+	 * added when pushed onto an empty stack, so SubUIContexts do not use the map.
 	 */
 	//TODO: JDK1.6+ Set<UIContxt> allContexts = Collections.newSetFromMap(new WeakHashMap<UIContext, Boolean>());
 	private static final Map<UIContext, ?> ALL_ACTIVE_CONTEXTS = Collections.synchronizedMap(
@@ -64,11 +64,13 @@ public final class UIContextHolder {
 	 * @param uic the UIContext to push.
 	 */
 	public static void pushContext(final UIContext uic) {
-		if (DebugUtil.isDebugFeaturesEnabled()) {
+		UIContextStack stack = getStack();
+
+		if (stack.isEmpty() && DebugUtil.isDebugFeaturesEnabled()) {
 			ALL_ACTIVE_CONTEXTS.put(getPrimaryUIContext(uic), null);
 		}
 
-		getStack().push(uic);
+		stack.push(uic);
 	}
 
 	/**
@@ -100,13 +102,8 @@ public final class UIContextHolder {
 	 * @return the current effective UIContext.
 	 */
 	public static UIContext getCurrent() {
-		Stack<UIContext> stack = CONTEXT_STACK.get();
-
-		if (stack == null || stack.isEmpty()) {
-			return null;
-		}
-
-		return getStack().peek();
+		UIContextStack stack = CONTEXT_STACK.get();
+		return stack == null ? null : stack.peek();
 	}
 
 	/**
@@ -114,11 +111,11 @@ public final class UIContextHolder {
 	 *
 	 * @return the internal stack
 	 */
-	private static Stack<UIContext> getStack() {
-		Stack<UIContext> stack = CONTEXT_STACK.get();
+	private static UIContextStack getStack() {
+		UIContextStack stack = CONTEXT_STACK.get();
 
 		if (stack == null) {
-			stack = new Stack<>();
+			stack = new UIContextStack();
 			CONTEXT_STACK.set(stack);
 		}
 
@@ -170,8 +167,10 @@ public final class UIContextHolder {
 	 */
 	public static void reset() {
 		if (DebugUtil.isDebugFeaturesEnabled()) {
-			UIContext context = getCurrent();
-			ALL_ACTIVE_CONTEXTS.remove(context);
+			UIContextStack stack = CONTEXT_STACK.get();
+			if (stack != null && !stack.isEmpty()) {
+				ALL_ACTIVE_CONTEXTS.remove(getPrimaryUIContext(stack.getBottom()));
+			}
 		}
 
 		CONTEXT_STACK.remove();
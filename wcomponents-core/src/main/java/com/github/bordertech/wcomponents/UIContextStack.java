@@ -0,0 +1,88 @@
+package com.github.bordertech.wcomponents;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * The stack of UIContexts for a thread, used by {@link UIContextHolder}. The stack is only used by the thread which
+ * owns it, so is not synchronized, and the context at the top of the stack is held separately so it can be read
+ * without indexing into the stack.
+ *
+ * @since 1.5.29
+ */
+final class UIContextStack {
+
+	/**
+	 * The initial capacity of the stack, which allows for a few levels of nested SubUIContexts.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+
+	/**
+	 * The contexts on the stack, from the bottom up.
+	 */
+	private UIContext[] contexts = new UIContext[INITIAL_CAPACITY];
+
+	/**
+	 * The number of contexts on the stack.
+	 */
+	private int size;
+
+	/**
+	 * The context at the top of the stack, or null if the stack is empty.
+	 */
+	private UIContext current;
+
+	/**
+	 * @param uic the context to push onto the top of the stack.
+	 */
+	void push(final UIContext uic) {
+		if (size == contexts.length) {
+			contexts = Arrays.copyOf(contexts, size * 2);
+		}
+		contexts[size++] = uic;
+		current = uic;
+	}
+
+	/**
+	 * @return the context which was removed from the top of the stack.
+	 * @throws EmptyStackException if the stack is empty.
+	 */
+	UIContext pop() {
+		if (size == 0) {
+			throw new EmptyStackException();
+		}
+
+		UIContext uic = contexts[--size];
+		contexts[size] = null;
+		current = size == 0 ? null : contexts[size - 1];
+		return uic;
+	}
+
+	/**
+	 * @return the context at the top of the stack, or null if the stack is empty.
+	 */
+	UIContext peek() {
+		return current;
+	}
+
+	/**
+	 * @return the context at the bottom of the stack, or null if the stack is empty.
+	 */
+	UIContext getBottom() {
+		return size == 0 ? null : contexts[0];
+	}
+
+	/**
+	 * @return true if the stack is empty.
+	 */
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return the number of contexts on the stack.
+	 */
+	int size() {
+		return size;
+	}
+}
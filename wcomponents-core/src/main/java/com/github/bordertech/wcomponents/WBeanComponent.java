@@ -1,12 +1,12 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.BeanPropertyUtil;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.util.Util;
 import java.io.Serializable;
 import java.util.Map;
 import java.util.Objects;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -305,7 +305,7 @@ public class WBeanComponent extends AbstractWComponent implements DataBound, Bea
 				beanValue = bean;
 			} else {
 				try {
-					beanValue = PropertyUtils.getProperty(bean, beanProperty);
+					beanValue = BeanPropertyUtil.getProperty(bean, beanProperty);
 				} catch (Exception e) {
 					LOG.error("Failed to read bean property " + beanProperty + " from " + bean, e);
 				}
@@ -336,7 +336,7 @@ public class WBeanComponent extends AbstractWComponent implements DataBound, Bea
 				try {
 					Object beanValue = getBeanValue();
 					if (!Util.equals(beanValue, value)) {
-						PropertyUtils.setProperty(bean, beanProperty, value);
+						BeanPropertyUtil.setProperty(bean, beanProperty, value);
 					}
 				} catch (Exception e) {
 					LOG.error("Failed to set bean property " + beanProperty + " on " + bean);
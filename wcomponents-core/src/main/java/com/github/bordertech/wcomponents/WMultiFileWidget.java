@@ -7,7 +7,7 @@ import com.github.bordertech.wcomponents.util.FileUtil;
 import com.github.bordertech.wcomponents.util.MemoryUtil;
 import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.util.Util;
-import com.github.bordertech.wcomponents.util.thumbnail.ThumbnailUtil;
+import com.github.bordertech.wcomponents.util.thumbnail.ThumbnailCache;
 import java.awt.Dimension;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -21,8 +21,6 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import org.apache.commons.fileupload.FileItem;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
 
 /**
  * <p>
@@ -50,11 +48,6 @@ import org.apache.commons.logging.LogFactory;
 public class WMultiFileWidget extends AbstractInput implements Targetable, AjaxInternalTrigger, AjaxTrigger, AjaxTarget,
 		SubordinateTarget, MultiInputComponent {
 
-	/**
-	 * The logger instance for this class.
-	 */
-	private static final Log LOG = LogFactory.getLog(WMultiFileWidget.class);
-
 	/**
 	 * File id for AJAX action.
 	 */
@@ -141,6 +134,7 @@ public class WMultiFileWidget extends AbstractInput implements Targetable, AjaxI
 	public void removeFile(final FileWidgetUpload file) {
 		List<FileWidgetUpload> files = (List<FileWidgetUpload>) getData();
 		if (files != null) {
+			ThumbnailCache.remove(file.getFile());
 			files.remove(file);
 			if (files.isEmpty()) {
 				setData(null);
@@ -558,6 +552,7 @@ public class WMultiFileWidget extends AbstractInput implements Targetable, AjaxI
 	 */
 	public void clearThumbnails() {
 		for (FileWidgetUpload file : getFiles()) {
+			ThumbnailCache.remove(file.getFile());
 			file.setThumbnail(null);
 		}
 	}
@@ -752,6 +747,11 @@ public class WMultiFileWidget extends AbstractInput implements Targetable, AjaxI
 		FileWidgetUpload file = new FileWidgetUpload(fileId, wrap);
 		addFile(file);
 
+		// Start creating the thumbnail, so it is ready when requested
+		if (isUseThumbnails()) {
+			ThumbnailCache.prefetch(wrap, getThumbnailSize());
+		}
+
 		// Set the file id to be used ion the renderer
 		setFileUploadRequestId(fileId);
 		setNewUpload(true);
@@ -783,19 +783,15 @@ public class WMultiFileWidget extends AbstractInput implements Targetable, AjaxI
 	}
 
 	/**
+	 * Creates the thumbnail for a file. The thumbnail of an uploaded image is created in the background when the file is
+	 * uploaded, and retrieved from the {@link ThumbnailCache}.
+	 *
 	 * @param file the file to create a thumbnail for
 	 * @return the thumbnail
 	 */
 	protected Image createThumbNail(final File file) {
-		Image image = null;
-		try {
-			Dimension size = getThumbnailSize();
-			image = ThumbnailUtil.createThumbnail(file.getInputStream(), file.getName(), size, file.
-					getMimeType());
-		} catch (Exception e) {
-			LOG.error("Could not generate thumbnail for file. " + e.getMessage(), e);
-		}
-		return image;
+		Dimension size = getThumbnailSize();
+		return ThumbnailCache.getThumbnail(file, size);
 	}
 
 	/**
@@ -1,8 +1,11 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.BeanPropertyUtil;
 import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.validation.Diagnostic;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -12,7 +15,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -305,10 +307,12 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 
 				if (!rowIds.contains(rowId)) {
 					i.remove();
+					entry.getValue().evict();
 				}
 			}
 			if (model.rowContextMap.isEmpty()) {
 				model.rowContextMap = null;
+				model.rowModels = null;
 			}
 		}
 	}
@@ -353,11 +357,13 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		assertConfigured();
 
 		List beanList = getBeanList();
+		Set<Object> rowIds = new HashSet<>(beanList.size());
 
 		List<Integer> used = new ArrayList<>();
 
 		for (int i = 0; i < beanList.size(); i++) {
 			Object rowData = beanList.get(i);
+			rowIds.add(getRowId(rowData));
 
 			// Each row has its own context. This is why we can reuse the same
 			// WComponent instance for each row.
@@ -384,6 +390,9 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 				UIContextHolder.popContext();
 			}
 		}
+
+		// The bean list of a bound repeater may have changed since the request was handled
+		cleanupStaleContexts(rowIds);
 	}
 
 	/**
@@ -430,6 +439,139 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		 * Row context id sequence. Give each row context a unique ID.
 		 */
 		private int rowContextIdSequence;
+		/**
+		 * The component models of the rows, shared by the row contexts.
+		 */
+		private RowModels rowModels;
+	}
+
+	/**
+	 * @return the component models of the rows, shared by the row contexts.
+	 */
+	private RowModels getRowModels() {
+		RepeaterModel model = getOrCreateComponentModel();
+
+		if (model.rowModels == null) {
+			model.rowModels = new RowModels();
+		}
+
+		return model.rowModels;
+	}
+
+	/**
+	 * Holds the component models of the rows of a repeater column-wise, in an array for each repeated component indexed
+	 * by row. This needs a map entry for each repeated component rather than for each model of every row. The row of a
+	 * context which is evicted from the repeater is reused for the next row to be added.
+	 */
+	private static final class RowModels implements Serializable {
+
+		/**
+		 * The models of each repeated component, indexed by row.
+		 */
+		private final Map<WebComponent, WebModel[]> columns = new HashMap<>();
+
+		/**
+		 * The number of rows which have been allocated.
+		 */
+		private int rowCount;
+
+		/**
+		 * The rows which have been released and can be reused.
+		 */
+		private int[] freeRows = new int[0];
+
+		/**
+		 * The number of rows in {@link #freeRows}.
+		 */
+		private int freeCount;
+
+		/**
+		 * @return a row which does not hold any models.
+		 */
+		private int allocateRow() {
+			return freeCount > 0 ? freeRows[--freeCount] : rowCount++;
+		}
+
+		/**
+		 * Removes all the models of a row, and allows the row to be reused.
+		 *
+		 * @param row the row to release.
+		 */
+		private void releaseRow(final int row) {
+			for (WebModel[] column : columns.values()) {
+				if (row < column.length) {
+					column[row] = null;
+				}
+			}
+
+			if (freeCount == freeRows.length) {
+				freeRows = Arrays.copyOf(freeRows, Math.max(freeCount * 2, 8));
+			}
+			freeRows[freeCount++] = row;
+		}
+
+		/**
+		 * @param component the component to retrieve the model for.
+		 * @param row the row to retrieve the model for.
+		 * @return the model of the component in the row, or null if there is none.
+		 */
+		private WebModel get(final WebComponent component, final int row) {
+			WebModel[] column = columns.get(component);
+			return column == null || row >= column.length ? null : column[row];
+		}
+
+		/**
+		 * @param component the component to set the model for.
+		 * @param row the row to set the model for.
+		 * @param model the model of the component in the row.
+		 */
+		private void set(final WebComponent component, final int row, final WebModel model) {
+			WebModel[] column = columns.get(component);
+
+			if (column == null || row >= column.length) {
+				int length = column == null ? 0 : column.length;
+				column = column == null ? new WebModel[Math.max(row + 1, rowCount)]
+						: Arrays.copyOf(column, Math.max(row + 1, length + (length >> 1)));
+				columns.put(component, column);
+			}
+
+			column[row] = model;
+		}
+
+		/**
+		 * @param component the component to remove the model for.
+		 * @param row the row to remove the model for.
+		 * @return the model which was removed, or null if there was none.
+		 */
+		private WebModel remove(final WebComponent component, final int row) {
+			WebModel[] column = columns.get(component);
+
+			if (column == null || row >= column.length) {
+				return null;
+			}
+
+			WebModel model = column[row];
+			column[row] = null;
+			return model;
+		}
+
+		/**
+		 * @param row the row to retrieve the components for.
+		 * @return the components which have a model in the row.
+		 */
+		private Set<WebComponent> getComponents(final int row) {
+			Set<WebComponent> components = new HashSet<>();
+
+			for (Map.Entry<WebComponent, WebModel[]> entry : columns.entrySet()) {
+				WebModel[] column = entry.getValue();
+
+				if (row < column.length && column[row] != null) {
+					components.add(entry.getKey());
+				}
+			}
+
+			return components;
+		}
 	}
 
 	/**
@@ -640,7 +782,7 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		}
 
 		try {
-			return PropertyUtils.getProperty(rowBean, rowIdProperty);
+			return BeanPropertyUtil.getProperty(rowBean, rowIdProperty);
 		} catch (Exception e) {
 			LOG.error("Failed to read row property \"" + rowIdProperty + "\" on " + rowBean, e);
 			return rowBean;
@@ -1011,9 +1153,14 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		private final int contextId;
 
 		/**
-		 * A map of Component models, keyed by the component which they belong to.
+		 * The component models of the rows of the repeater, shared by the row contexts.
 		 */
-		private final Map<WebComponent, WebModel> componentModels = new HashMap<>();
+		private RowModels rowModels;
+
+		/**
+		 * The row of this context's component models, or -1 if the context has not stored a model.
+		 */
+		private int modelRow = -1;
 
 		/**
 		 * Creates a SubUIContext.
@@ -1035,10 +1182,32 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		public SubUIContext(final WRepeater repeater, final int contextId, final String rowRenderId) {
 			super(UIContextHolder.getCurrent());
 			repeatRoot = repeater.getRepeatRoot();
+			rowModels = repeater.getRowModels();
 			this.contextId = contextId;
 			this.rowRenderId = rowRenderId;
 		}
 
+		/**
+		 * Called when the row is no longer in the repeater, to release the row's models from the models shared by the
+		 * rows. The context keeps its own copy of the models, in case it is still in use.
+		 */
+		protected void evict() {
+			RowModels ownModels = new RowModels();
+
+			if (modelRow >= 0) {
+				int row = ownModels.allocateRow();
+
+				for (WebComponent component : rowModels.getComponents(modelRow)) {
+					ownModels.set(component, row, rowModels.get(component, modelRow));
+				}
+
+				rowModels.releaseRow(modelRow);
+				modelRow = row;
+			}
+
+			rowModels = ownModels;
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -1115,7 +1284,7 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		 */
 		@Override
 		public WebModel getModel(final WebComponent component) {
-			WebModel model = componentModels.get(component);
+			WebModel model = modelRow < 0 ? null : rowModels.get(component, modelRow);
 
 			if (model == null) {
 				// Try the parent.
@@ -1136,13 +1305,13 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		@Override
 		public void setModel(final WebComponent component, final WebModel model) {
 			// Need to figure out which context should store the model.
-			if (component instanceof WRepeatRoot) {
-				// The repeat root must always be stored locally.
-				componentModels.put(component, model);
-			} else if (isInContext(component)) {
-				// The component that we are being asked to store a model for
-				// is inside a repeater and is from this context.
-				componentModels.put(component, model);
+			if (component instanceof WRepeatRoot || isInContext(component)) {
+				// The repeat root must always be stored locally, as must components
+				// which are inside a repeater and from this context.
+				if (modelRow < 0) {
+					modelRow = rowModels.allocateRow();
+				}
+				rowModels.set(component, modelRow, model);
 			} else {
 				// The component is not from this context, so ask the parent
 				// context to store it.
@@ -1191,7 +1360,7 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		 */
 		@Override
 		public void removeModel(final WebComponent component) {
-			if (componentModels.remove(component) == null) {
+			if (modelRow < 0 || rowModels.remove(component, modelRow) == null) {
 				// Not from this context, better try the parent context.
 				getParentContext().removeModel(component);
 			}
@@ -1202,7 +1371,7 @@ public class WRepeater extends WBeanComponent implements Container, AjaxTarget,
 		 */
 		@Override
 		public Set getComponents() {
-			return componentModels.keySet();
+			return modelRow < 0 ? new HashSet<>() : rowModels.getComponents(modelRow);
 		}
 
 		/**
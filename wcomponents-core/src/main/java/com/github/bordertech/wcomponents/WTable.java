@@ -334,6 +334,28 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		return getComponentModel().tableModel;
 	}
 
+	/**
+	 * Retrieves the table model for use with {@link RowIndex} row indices. Models which do not implement
+	 * {@link RowIndexTableModel} are adapted, see {@link RowIndexTableModelAdapter}.
+	 *
+	 * @return the table model, addressed by RowIndex.
+	 */
+	public RowIndexTableModel getRowIndexTableModel() {
+		TableModel tableModel = getTableModel();
+		if (tableModel instanceof RowIndexTableModel) {
+			return (RowIndexTableModel) tableModel;
+		}
+
+		// The adapter is called for each cell, so it is kept on the model until the table model changes
+		WTableComponentModel model = getComponentModel();
+		RowIndexTableModelAdapter adapter = model.rowIndexTableModel;
+		if (adapter == null || adapter.getBacking() != tableModel) {
+			adapter = (RowIndexTableModelAdapter) RowIndexTableModelAdapter.adapt(tableModel);
+			model.rowIndexTableModel = adapter;
+		}
+		return adapter;
+	}
+
 	/**
 	 * Sets the table model which provides the row/column data.
 	 *
@@ -428,7 +450,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 */
 	private void updateBeanValueForRenderedRows() {
 		WTableRowRenderer rowRenderer = (WTableRowRenderer) repeater.getRepeatedComponent();
-		TableModel model = getTableModel();
+		RowIndexTableModel model = getRowIndexTableModel();
 
 		int index = 0;
 
@@ -438,7 +460,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 
 		for (RowIdWrapper wrapper : wrappers) {
 			UIContext rowContext = repeater.getRowContext(wrapper, index++);
-			List<Integer> rowIndex = wrapper.getRowIndex();
+			RowIndex rowIndex = wrapper.getIndex();
 
 			Class<? extends WComponent> expandRenderer = model.getRendererClass(rowIndex);
 			if (expandRenderer == null) {
@@ -468,7 +490,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 */
 	private void updateBeanValueForColumnInRow(final WTableRowRenderer rowRenderer,
 			final UIContext rowContext,
-			final List<Integer> rowIndex, final int col, final TableModel model) {
+			final RowIndex rowIndex, final int col, final RowIndexTableModel model) {
 		// The actual component is wrapped in a renderer wrapper, so we have to fetch it from that
 		WComponent renderer = ((Container) rowRenderer.getRenderer(col)).getChildAt(0);
 
@@ -1374,7 +1396,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			paramValue = new String[0];
 		}
 
-		Map<List<Integer>, Object> pageRowKeys = getCurrentRowIndexAndKeys();
+		Map<RowIndex, Object> pageRowKeys = getCurrentRowIndexAndKeys();
 
 		String[] selectedRows = removeEmptyStrings(paramValue);
 		Set<?> oldSelections = getSelectedRows();
@@ -1398,7 +1420,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		}
 
 		for (String selectedRow : selectedRows) {
-			List<Integer> rowIndex = TableUtil.rowIndexStringToList(selectedRow);
+			RowIndex rowIndex = RowIndex.parse(selectedRow);
 			Object key = pageRowKeys.get(rowIndex);
 			if (key == null) {
 				continue;
@@ -1431,7 +1453,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			paramValue = new String[0];
 		}
 
-		Map<List<Integer>, Object> pageRowKeys = getCurrentRowIndexAndKeys();
+		Map<RowIndex, Object> pageRowKeys = getCurrentRowIndexAndKeys();
 
 		String[] expandedRows = removeEmptyStrings(paramValue);
 		Set<?> oldExpansions = getExpandedRows();
@@ -1452,7 +1474,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		}
 
 		for (String expandedRow : expandedRows) {
-			List<Integer> rowIndex = TableUtil.rowIndexStringToList(expandedRow);
+			RowIndex rowIndex = RowIndex.parse(expandedRow);
 			Object key = pageRowKeys.get(rowIndex);
 			if (key != null) {
 				newExpansions.add(key);
@@ -1762,7 +1784,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 */
 	private List<RowIdWrapper> getRowIds(final int startIndex, final int endIndex,
 			final boolean forUpdate) {
-		TableModel model = getTableModel();
+		RowIndexTableModel model = getRowIndexTableModel();
 
 		// If the table is sorted, we may require a mapping for table row index <--> data model index.
 		int[] rowIndexMapping = getComponentModel().rowIndexMapping;
@@ -1798,15 +1820,8 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		boolean editable = isEditable();
 
 		for (int i = startIndex; i <= endIndex; i++) {
-			// Create top level
-			List<Integer> rowIndex = new ArrayList<>(1);
-
-			// Map ids (if sorted)
-			if (rowIndexMapping == null) {
-				rowIndex.add(i);
-			} else {
-				rowIndex.add(rowIndexMapping[i]);
-			}
+			// Create top level, mapping ids (if sorted)
+			RowIndex rowIndex = RowIndex.of(rowIndexMapping == null ? i : rowIndexMapping[i]);
 
 			// Row key
 			Object key = model.getRowKey(rowIndex);
@@ -1863,7 +1878,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	 */
 	@SuppressWarnings("checkstyle:parameternumber")
 	private void calcChildrenRowIds(final List<RowIdWrapper> rows, final RowIdWrapper row,
-			final TableModel model,
+			final RowIndexTableModel model,
 			final RowIdWrapper parent, final Set<?> expanded, final ExpandMode mode,
 			final boolean forUpdate, final boolean editable) {
 		// Add row
@@ -1874,7 +1889,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			parent.addChild(row);
 		}
 
-		List<Integer> rowIndex = row.getRowIndex();
+		RowIndex rowIndex = row.getIndex();
 
 		// If row has a renderer, then dont need to process its children (should not have any anyway as it is a "leaf")
 		if (model.getRendererClass(rowIndex) != null) {
@@ -1915,8 +1930,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		// Add children by processing each child row
 		for (int i = 0; i < children; i++) {
 			// Add next level
-			List<Integer> nextRow = new ArrayList<>(row.getRowIndex());
-			nextRow.add(i);
+			RowIndex nextRow = rowIndex.child(i);
 			// Create Wrapper
 			Object key = model.getRowKey(nextRow);
 			RowIdWrapper wrapper = new RowIdWrapper(nextRow, key, row);
@@ -1927,15 +1941,15 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 	/**
 	 * @return the current page row indexes and their keys
 	 */
-	private Map<List<Integer>, Object> getCurrentRowIndexAndKeys() {
+	private Map<RowIndex, Object> getCurrentRowIndexAndKeys() {
 		List<RowIdWrapper> wrappers = repeater.getBeanList();
 		if (wrappers == null || wrappers.isEmpty()) {
 			return Collections.EMPTY_MAP;
 		}
 
-		Map<List<Integer>, Object> rows = new HashMap<>(wrappers.size());
+		Map<RowIndex, Object> rows = new HashMap<>(wrappers.size());
 		for (RowIdWrapper wrapper : wrappers) {
-			rows.put(wrapper.getRowIndex(), wrapper.getRowKey());
+			rows.put(wrapper.getIndex(), wrapper.getRowKey());
 		}
 		return rows;
 	}
@@ -1968,6 +1982,11 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		 */
 		private TableModel tableModel = EmptyTableModel.INSTANCE;
 
+		/**
+		 * The adapter of the table model to the {@link RowIndexTableModel} interface.
+		 */
+		private transient volatile RowIndexTableModelAdapter rowIndexTableModel;
+
 		/**
 		 * Controls whether background striping is used to distinguish rows/columns from each other.
 		 */
@@ -2422,6 +2441,107 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		Object getRowKey(List<Integer> row);
 	}
 
+	/**
+	 * <p>
+	 * This extension of {@link TableModel} addresses rows with a {@link RowIndex} rather than a list of boxed indices.
+	 * The table always calls the RowIndex methods of a RowIndexTableModel, so implementations can work with the
+	 * primitive indices without converting them. The list based methods are only used by code which is not aware of
+	 * RowIndex, and would usually convert the list with {@link RowIndex#valueOf(List)} and call the RowIndex method.
+	 * </p>
+	 * <p>
+	 * Existing TableModel implementations do not need to change, as the table adapts them using
+	 * {@link RowIndexTableModelAdapter}. See {@link AbstractRowIndexTableModel} for a skeleton implementation.
+	 * </p>
+	 *
+	 * @since 1.5.29
+	 */
+	public interface RowIndexTableModel extends TableModel {
+
+		/**
+		 * Retrieves the value at the given row and column.
+		 *
+		 * @param row - the row index.
+		 * @param col - the column index. Column of -1 indicates row has a renderer.
+		 * @return the value at the given row and column.
+		 */
+		Object getValueAt(RowIndex row, int col);
+
+		/**
+		 * Indicates whether the given cell is editable.
+		 *
+		 * @param row - the row index.
+		 * @param col - the column index. Column of -1 indicates row has a renderer.
+		 * @return true if the given cell is editable, false otherwise.
+		 */
+		boolean isCellEditable(RowIndex row, int col);
+
+		/**
+		 * Sets the value at the given row and column.
+		 *
+		 * @param value the value to set.
+		 * @param row - the row index.
+		 * @param col - the column index.
+		 */
+		void setValueAt(Object value, RowIndex row, int col);
+
+		/**
+		 * Indicates whether the given row is disabled.
+		 *
+		 * @param row the row index
+		 * @return true if the row is disabled, false otherwise.
+		 */
+		boolean isDisabled(RowIndex row);
+
+		/**
+		 * Indicates whether the given row is selectable.
+		 *
+		 * @param row the row index
+		 * @return true if the row is selectable, false otherwise.
+		 */
+		boolean isSelectable(RowIndex row);
+
+		/**
+		 * Indicates whether the given row is expandable.
+		 *
+		 * @param row the row index
+		 * @return true if the row is expandable, false otherwise.
+		 */
+		boolean isExpandable(RowIndex row);
+
+		/**
+		 * Allows the model to report if the row has children without actually having to determine the number of
+		 * children (as it might not be known).
+		 *
+		 * @param row the row index
+		 * @return true if the row has children
+		 */
+		boolean hasChildren(RowIndex row);
+
+		/**
+		 * Retrieves the number of children a row has.
+		 *
+		 * @param row the row index
+		 * @return the number of rows in the model for this level.
+		 */
+		int getChildCount(RowIndex row);
+
+		/**
+		 * Retrieves the custom renderer for this row.
+		 *
+		 * @param row the row index
+		 * @return the renderer class, or null if the default renderer is to be used.
+		 */
+		Class<? extends WComponent> getRendererClass(RowIndex row);
+
+		/**
+		 * Retrieves the key (ie bean) used to uniquely identify this row. See {@link TableModel#getRowKey(List)}.
+		 *
+		 * @param row the row index
+		 * @return the key (ie bean) used to uniquely identify this row
+		 */
+		Object getRowKey(RowIndex row);
+	}
+
 	/**
 	 * This extension of {@link TableModel} is primarily for models that do not store their data locally. Models
 	 * implementing this interface can provide more efficient calls to back-end systems, as the data model is notified
@@ -2519,8 +2639,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		@Override
 		protected String getRowIdName(final Object rowBean, final Object rowId) {
 			RowIdWrapper wrapper = (RowIdWrapper) rowBean;
-			List<Integer> rowIndex = wrapper.getRowIndex();
-			return table.getRowIdName(rowIndex, rowId);
+			return table.getRowIdName(wrapper.getIndex(), rowId);
 		}
 	}
 
@@ -2535,15 +2654,15 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		/**
 		 * The row index.
 		 */
-		private final List<Integer> rowIndex;
+		private final RowIndex rowIndex;
 		/**
 		 * The row key.
 		 */
 		private final Object rowKey;
 		/**
-		 * The children of the row.
+		 * The children of the row, or null if no children have been added.
 		 */
-		private final List<RowIdWrapper> children = new ArrayList<>();
+		private List<RowIdWrapper> children;
 		/**
 		 * Flag if row has children.
 		 */
@@ -2564,7 +2683,7 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		 */
 		public RowIdWrapper(final List<Integer> rowIndex, final Object rowKey,
 				final RowIdWrapper parent) {
-			this.rowIndex = rowIndex;
+			this.rowIndex = RowIndex.valueOf(rowIndex);
 			this.rowKey = rowKey;
 			this.parent = parent;
 		}
@@ -2576,6 +2695,13 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 			return rowIndex;
 		}
 
+		/**
+		 * @return the row index
+		 */
+		public RowIndex getIndex() {
+			return rowIndex;
+		}
+
 		/**
 		 * @return the row key
 		 */
@@ -2584,10 +2710,10 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		}
 
 		/**
-		 * @return the children of the row, or null if no children
+		 * @return the children of the row, or an empty list if no children
 		 */
 		public List<RowIdWrapper> getChildren() {
-			return children;
+			return children == null ? Collections.<RowIdWrapper>emptyList() : children;
 		}
 
 		/**
@@ -2608,6 +2734,9 @@ public class WTable extends WBeanComponent implements Container, AjaxInternalTri
 		 * @param child the child row to add
 		 */
 		public void addChild(final RowIdWrapper child) {
+			if (children == null) {
+				children = new ArrayList<>();
+			}
 			children.add(child);
 		}
 
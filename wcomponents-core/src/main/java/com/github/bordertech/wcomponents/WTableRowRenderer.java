@@ -2,10 +2,9 @@ package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
 import com.github.bordertech.wcomponents.WTable.RowIdWrapper;
-import com.github.bordertech.wcomponents.WTable.TableModel;
+import com.github.bordertech.wcomponents.WTable.RowIndexTableModel;
 import com.github.bordertech.wcomponents.util.Util;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -126,7 +125,7 @@ public final class WTableRowRenderer extends WDataRenderer {
 	private Class<? extends WComponent> getRowRendererClass() {
 		RowIdWrapper wrapper = getCurrentRowIdWrapper();
 		if (wrapper != null) {
-			return table.getTableModel().getRendererClass(wrapper.getRowIndex());
+			return table.getRowIndexTableModel().getRendererClass(wrapper.getIndex());
 		}
 		return null;
 	}
@@ -265,10 +264,9 @@ public final class WTableRowRenderer extends WDataRenderer {
 			}
 
 			RowIdWrapper wrapper = rowRenderer.getCurrentRowIdWrapper();
-			List<Integer> rowIndex = wrapper.getRowIndex();
 
 			// ColunIndex -1 means we have a row renderer
-			return rowRenderer.table.getTableModel().getValueAt(rowIndex, columnIndex);
+			return rowRenderer.table.getRowIndexTableModel().getValueAt(wrapper.getIndex(), columnIndex);
 
 		}
 
@@ -282,9 +280,9 @@ public final class WTableRowRenderer extends WDataRenderer {
 		protected void preparePaintComponent(final Request request) {
 			super.preparePaintComponent(request);
 
-			TableModel model = rowRenderer.table.getTableModel();
+			RowIndexTableModel model = rowRenderer.table.getRowIndexTableModel();
 			RowIdWrapper wrapper = rowRenderer.getCurrentRowIdWrapper();
-			List<Integer> rowIndex = wrapper.getRowIndex();
+			RowIndex rowIndex = wrapper.getIndex();
 
 			// Update input read-only status
 			if (renderer instanceof Input) {
@@ -224,7 +224,9 @@ public class WTree extends AbstractInput
 	 * @param treeModel the tree model.
 	 */
 	public void setTreeModel(final TreeItemModel treeModel) {
-		getOrCreateComponentModel().treeModel = treeModel;
+		WTreeComponentModel model = getOrCreateComponentModel();
+		model.treeModel = treeModel;
+		model.allItemIdIndexMap = null;
 		clearItemIdMaps();
 		setSelectedRows(null);
 		setExpandedRows(null);
@@ -289,6 +291,40 @@ public class WTree extends AbstractInput
 		return getComponentModel().customTree;
 	}
 
+	/**
+	 * Provides a node of the custom tree which can be changed for the current user.
+	 * <p>
+	 * The nodes of a custom tree set on the shared model are shared between users and can not be changed. If the node
+	 * is shared, it is copied along with its parents into the user's tree, and the copy is returned. The other nodes
+	 * are not copied.
+	 * </p>
+	 *
+	 * @param itemId the item id of the node, or null for the root node
+	 * @return the node which can be changed, or null if the item id is not in the custom tree
+	 */
+	public TreeItemIdNode getCustomNodeForUpdate(final String itemId) {
+		TreeItemIdNode custom = getCustomTree();
+		if (custom == null) {
+			return null;
+		}
+
+		// A custom tree on the shared model of a locked tree can only be changed by copying its nodes
+		if (isLocked() && getComponentModel() == getDefaultModel()) {
+			custom.setShared();
+		}
+
+		TreeItemIdNode node = itemId == null ? custom : getCustomIdNodeMap().get(itemId);
+		if (node == null || !node.isShared()) {
+			// The parents of a node which is not shared have already been copied
+			return node;
+		}
+
+		TreeItemIdNode updated = copyCustomNodePath(custom, node);
+		getOrCreateComponentModel().customTree = updated;
+		clearItemIdMaps();
+		return itemId == null ? updated : getCustomIdNodeMap().get(itemId);
+	}
+
 	/**
 	 * @param json the json representing a custom tree structure
 	 */
@@ -583,6 +619,10 @@ public class WTree extends AbstractInput
 	 * @return the row index for the item id
 	 */
 	public List<Integer> getRowIndexForCustomItemId(final String itemId) {
+		List<Integer> rowIndex = getSharedRowIndex(itemId);
+		if (rowIndex != null) {
+			return rowIndex;
+		}
 		return getAllItemIdIndexMap().get(itemId);
 	}
 
@@ -592,11 +632,10 @@ public class WTree extends AbstractInput
 	@Override
 	protected void initialiseComponentModel() {
 		super.initialiseComponentModel();
-		// Copy the custom tree (if set) to allow the nodes to be updated per user
+		// Share the custom tree (if set) between users. Nodes are only copied for a user when they are updated.
 		TreeItemIdNode custom = getCustomTree();
 		if (custom != null) {
-			TreeItemIdNode copy = TreeItemUtil.copyTreeNode(custom);
-			setCustomTree(copy);
+			custom.setShared();
 		}
 	}
 
@@ -644,12 +683,20 @@ public class WTree extends AbstractInput
 			return;
 		}
 
+		// A custom tree on the shared model of a locked tree can only be changed by copying its nodes
+		if (isLocked() && getComponentModel() == getDefaultModel()) {
+			custom.setShared();
+		}
+
 		// Get the expanded rows
 		Set<String> expanded = getExpandedRows();
 
 		// Process Top Level
-		for (TreeItemIdNode node : custom.getChildren()) {
-			processCheckExpandedCustomNodes(node, expanded);
+		TreeItemIdNode updated = processCheckExpandedCustomChildren(custom, expanded);
+
+		// Shared nodes that have been updated are copied
+		if (updated != custom) {
+			setCustomTree(updated);
 		}
 	}
 
@@ -1146,36 +1193,51 @@ public class WTree extends AbstractInput
 	}
 
 	/**
-	 * Create the map between the custom item id and its node.
+	 * Find the row index of an item id from the map of all item ids held on the shared model. The map is created once
+	 * and used by all users with the same tree model as the shared model. As the tree model can change, the row index
+	 * is only returned if the tree model still has the item id at that row index.
 	 *
-	 * @return the map between an item id ands its custom node
+	 * @param itemId the item id
+	 * @return the row index for the item id, or null if not known
 	 */
-	private Map<String, TreeItemIdNode> createCustomIdNodeMapping() {
-		TreeItemIdNode custom = getCustomTree();
-		if (custom == null) {
-			return Collections.EMPTY_MAP;
+	private List<Integer> getSharedRowIndex(final String itemId) {
+		WTreeComponentModel shared = (WTreeComponentModel) getDefaultModel();
+		TreeItemModel treeModel = getTreeModel();
+		if (itemId == null || shared == null || shared.treeModel != treeModel) {
+			return null;
 		}
 
-		Map<String, TreeItemIdNode> map = new HashMap<>();
-		processCustomIdNodeMapping(map, custom);
-		return Collections.unmodifiableMap(map);
+		Map<String, List<Integer>> map = shared.allItemIdIndexMap;
+		if (map == null) {
+			map = createItemIdIndexMap(false);
+			shared.allItemIdIndexMap = map;
+		}
+
+		List<Integer> rowIndex = map.get(itemId);
+		if (rowIndex == null) {
+			return null;
+		}
+		try {
+			return itemId.equals(treeModel.getItemId(rowIndex)) ? rowIndex : null;
+		} catch (IndexOutOfBoundsException e) {
+			// The tree model has changed
+			return null;
+		}
 	}
 
 	/**
-	 * Iterate over the custom tree structure to add entries to the map.
+	 * Create the map between the custom item id and its node.
 	 *
-	 * @param map the map of custom items and their node
-	 * @param node the current node being processed
+	 * @return the map between an item id ands its custom node
 	 */
-	private void processCustomIdNodeMapping(final Map<String, TreeItemIdNode> map, final TreeItemIdNode node) {
-		String itemId = node.getItemId();
-		if (!Util.empty(itemId)) {
-			map.put(itemId, node);
+	private Map<String, TreeItemIdNode> createCustomIdNodeMapping() {
+		TreeItemIdNode custom = getCustomTree();
+		if (custom == null) {
+			return Collections.EMPTY_MAP;
 		}
 
-		for (TreeItemIdNode childItem : node.getChildren()) {
-			processCustomIdNodeMapping(map, childItem);
-		}
+		// The map is only created once for a shared tree
+		return custom.getItemIdNodeMap();
 	}
 
 	/**
@@ -1242,30 +1304,86 @@ public class WTree extends AbstractInput
 	 * If a node is flagged as having children and has none, then load them from the tree model.
 	 * </p>
 	 *
+	 * <p>
+	 * Nodes shared between users are not changed. A shared node that needs to be changed is copied, along with its
+	 * parents, and the copy returned.
+	 * </p>
+	 *
 	 * @param node the node to check
 	 * @param expandedRows the expanded rows
+	 * @return the node, or the updated copy of the node if it was shared
 	 */
-	private void processCheckExpandedCustomNodes(final TreeItemIdNode node, final Set<String> expandedRows) {
+	private TreeItemIdNode processCheckExpandedCustomNodes(final TreeItemIdNode node, final Set<String> expandedRows) {
 		// Node has no children
 		if (!node.hasChildren()) {
-			return;
+			return node;
 		}
 
 		// Check node is expanded
 		boolean expanded = getExpandMode() == WTree.ExpandMode.CLIENT || expandedRows.contains(node.getItemId());
 		if (!expanded) {
-			return;
+			return node;
 		}
 
 		if (node.getChildren().isEmpty()) {
 			// Add children from the model
-			loadCustomNodeChildren(node);
+			TreeItemIdNode updated = node.isShared() ? node.copyNode() : node;
+			loadCustomNodeChildren(updated);
+			return updated;
 		} else {
 			// Check the expanded child nodes
-			for (TreeItemIdNode child : node.getChildren()) {
-				processCheckExpandedCustomNodes(child, expandedRows);
+			return processCheckExpandedCustomChildren(node, expandedRows);
+		}
+	}
+
+	/**
+	 * Check the child nodes of a node have their child nodes loaded if they are expanded.
+	 *
+	 * @param node the node with the child nodes to check
+	 * @param expandedRows the expanded rows
+	 * @return the node, or the updated copy of the node if it was shared and a child node was updated
+	 */
+	private TreeItemIdNode processCheckExpandedCustomChildren(final TreeItemIdNode node,
+			final Set<String> expandedRows) {
+		TreeItemIdNode updated = node;
+		List<TreeItemIdNode> children = node.getChildren();
+		for (int i = 0; i < children.size(); i++) {
+			TreeItemIdNode child = children.get(i);
+			TreeItemIdNode checked = processCheckExpandedCustomNodes(child, expandedRows);
+			if (checked != child) {
+				if (updated.isShared()) {
+					updated = updated.copyNode();
+				}
+				updated.setChild(i, checked);
 			}
 		}
+		return updated;
+	}
+
+	/**
+	 * Copy the shared nodes on the path from a node to the target node.
+	 *
+	 * @param node the node to search from
+	 * @param target the node to copy
+	 * @return the node with the path to the target copied, or null if the target is not below the node
+	 */
+	private TreeItemIdNode copyCustomNodePath(final TreeItemIdNode node, final TreeItemIdNode target) {
+		if (node == target) {
+			return node.isShared() ? node.copyNode() : node;
+		}
+		List<TreeItemIdNode> children = node.getChildren();
+		for (int i = 0; i < children.size(); i++) {
+			TreeItemIdNode child = children.get(i);
+			TreeItemIdNode copied = copyCustomNodePath(child, target);
+			if (copied != null) {
+				TreeItemIdNode updated = node.isShared() ? node.copyNode() : node;
+				if (copied != child) {
+					updated.setChild(i, copied);
+				}
+				return updated;
+			}
+		}
+		return null;
 	}
 
 	/**
@@ -1435,6 +1553,11 @@ public class WTree extends AbstractInput
 		 * Track preivously LAZY expanded rows.
 		 */
 		private Set<String> prevExpandedRows;
+
+		/**
+		 * The map of all item ids in the tree model to their row index. Only used on the shared model.
+		 */
+		private transient volatile Map<String, List<Integer>> allItemIdIndexMap;
 	}
 
 }
@@ -1,6 +1,7 @@
 package com.github.bordertech.wcomponents.container;
 
 import com.github.bordertech.wcomponents.ActionEscape;
+import com.github.bordertech.wcomponents.DenseUIContextImpl;
 import com.github.bordertech.wcomponents.Environment;
 import com.github.bordertech.wcomponents.Escape;
 import com.github.bordertech.wcomponents.FatalErrorPage;
@@ -303,7 +304,7 @@ public abstract class AbstractContainerHelper {
 	 */
 	protected UIContext createUIContext() {
 		// Create UIC
-		UIContext uic = new UIContextImpl();
+		UIContext uic = ConfigurationProperties.getUIContextDense() ? new DenseUIContextImpl() : new UIContextImpl();
 		uic.setUI(getUI());
 		return uic;
 	}
@@ -8,15 +8,43 @@ import com.github.bordertech.wcomponents.XmlStringBuilder;
 import com.github.bordertech.wcomponents.container.ResponseCacheInterceptor.CacheType;
 import com.github.bordertech.wcomponents.servlet.WServlet;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.Factory;
+import com.github.bordertech.wcomponents.util.I18nUtilities;
 import com.github.bordertech.wcomponents.util.LookupTable;
+import com.github.bordertech.wcomponents.util.SystemException;
+import com.github.bordertech.wcomponents.util.ThemeUtil;
 import com.github.bordertech.wcomponents.util.XMLUtil;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.io.output.StringBuilderWriter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
+ * <p>
  * This interceptor is used to render data lists back to the client.
+ * </p>
+ * <p>
+ * Each data list is sent with an ETag computed from the encoded content. Clients which send a matching
+ * <code>If-None-Match</code> header are sent a "304 Not Modified" response rather than the data list.
+ * </p>
+ * <p>
+ * If {@link ConfigurationProperties#DATALIST_SERVER_CACHE} is enabled, the encoded data list for each table and locale
+ * is rendered once and held in memory. Only keys which the {@link LookupTable} resolves to a table are held.
+ * Applications which enable the cache must call {@link #tableChanged(Object)} when the contents of a table change, or
+ * {@link #clearCache()} if all tables may have changed.
+ * </p>
  *
  * @author Yiannis Paschalidis
  * @since 1.0.0
@@ -33,11 +61,31 @@ public class DataListInterceptor extends InterceptorComponent {
 	 */
 	private static final LookupTable LOOKUP_TABLE = Factory.newInstance(LookupTable.class);
 
+	/**
+	 * The maximum number of encoded data lists to hold in memory.
+	 */
+	private static final int MAX_CACHED = 256;
+
+	/**
+	 * The maximum number of locales to hold each encoded data list for.
+	 */
+	private static final int MAX_CACHED_LOCALES = 16;
+
+	/**
+	 * The encoded data lists, keyed by table cache key and then locale.
+	 */
+	private static final ConcurrentMap<String, Map<Locale, EncodedDataList>> CACHE = new ConcurrentHashMap<>();
+
 	/**
 	 * The data list key is stored for use during the paint phase.
 	 */
 	private String key;
 
+	/**
+	 * The ETags sent by the client in the If-None-Match header, or null.
+	 */
+	private String ifNoneMatch;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -46,6 +94,8 @@ public class DataListInterceptor extends InterceptorComponent {
 		key = request.getParameter(WServlet.DATA_LIST_PARAM_NAME);
 		if (key == null) {
 			super.serviceRequest(request);
+		} else {
+			ifNoneMatch = request.getHeader("If-None-Match");
 		}
 	}
 
@@ -70,33 +120,201 @@ public class DataListInterceptor extends InterceptorComponent {
 
 		Response response = getResponse();
 
-		Object table = LOOKUP_TABLE.getTableForCacheKey(key);
-		List<?> data = LOOKUP_TABLE.getTable(table);
+		EncodedDataList dataList = getDataList(key, I18nUtilities.getEffectiveLocale());
 		response.setContentType(WebUtilities.CONTENT_TYPE_XML);
 		response.setHeader("Cache-Control", CacheType.DATALIST_CACHE.getSettings());
+		response.setHeader("ETag", dataList.getETag());
+
+		if (ifNoneMatch != null && dataList.matches(ifNoneMatch)) {
+			// Nothing is painted, so the client's copy is used
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		PrintWriter writer = ((WebXmlRenderContext) renderContext).getWriter();
+		writer.write(XMLUtil.XML_DECLARATION);
+		writer.write(dataList.getXml());
+	}
+
+	/**
+	 * Indicates that the contents of a table have changed, so that the data list will be rendered again on the next
+	 * request.
+	 *
+	 * @param table the table which has changed.
+	 */
+	public static void tableChanged(final Object table) {
+		String cacheKey = LOOKUP_TABLE.getCacheKeyForTable(table);
+
+		if (cacheKey != null) {
+			CACHE.remove(cacheKey);
+		}
+	}
+
+	/**
+	 * Removes all the encoded data lists held in memory.
+	 */
+	public static void clearCache() {
+		CACHE.clear();
+	}
+
+	/**
+	 * @return the number of tables which have encoded data lists held in memory.
+	 */
+	static int getCachedTableCount() {
+		return CACHE.size();
+	}
+
+	/**
+	 * Retrieves the encoded data list for a table.
+	 *
+	 * @param cacheKey the table's cache key.
+	 * @param locale the locale to render the data list for.
+	 * @return the encoded data list.
+	 */
+	private static EncodedDataList getDataList(final String cacheKey, final Locale locale) {
+		boolean useCache = ConfigurationProperties.getDatalistServerCache();
+		Map<Locale, EncodedDataList> byLocale = useCache ? CACHE.get(cacheKey) : null;
+		EncodedDataList dataList = byLocale == null ? null : byLocale.get(locale);
+
+		if (dataList != null) {
+			return dataList;
+		}
 
-		XmlStringBuilder xml = new XmlStringBuilder(((WebXmlRenderContext) renderContext).getWriter());
-		xml.write(XMLUtil.XML_DECLARATION);
+		Object table = LOOKUP_TABLE.getTableForCacheKey(cacheKey);
+		List<?> data = table == null ? null : LOOKUP_TABLE.getTable(table);
 
-		if (data != null) {
-			xml.appendTagOpen("ui:datalist");
-			xml.append(XMLUtil.UI_NAMESPACE);
-			xml.appendAttribute("id", key);
+		if (data == null) {
+			return new EncodedDataList("");
+		}
+
+		dataList = new EncodedDataList(renderDataList(cacheKey, table, data));
+
+		// Only hold data lists for keys which resolve to a table, so requests for unknown keys can not fill the cache
+		if (useCache) {
+			if (byLocale == null && CACHE.size() < MAX_CACHED) {
+				byLocale = new ConcurrentHashMap<>();
+				Map<Locale, EncodedDataList> existing = CACHE.putIfAbsent(cacheKey, byLocale);
+				byLocale = existing == null ? byLocale : existing;
+			}
+
+			if (byLocale != null && byLocale.size() < MAX_CACHED_LOCALES) {
+				byLocale.put(locale, dataList);
+			}
+
+			LOG.debug("Rendered data list " + cacheKey + " for " + locale);
+		}
+
+		return dataList;
+	}
+
+	/**
+	 * Renders the XML for a data list.
+	 *
+	 * @param cacheKey the table's cache key.
+	 * @param table the table.
+	 * @param data the table's entries.
+	 * @return the data list XML, without the XML declaration.
+	 */
+	private static String renderDataList(final String cacheKey, final Object table, final List<?> data) {
+
+		StringBuilderWriter buffer = new StringBuilderWriter();
+		XmlStringBuilder xml = new XmlStringBuilder(buffer);
+
+		xml.appendTagOpen("ui:datalist");
+		xml.append(XMLUtil.UI_NAMESPACE);
+		xml.appendAttribute("id", cacheKey);
+		xml.appendClose();
+
+		for (Object item : data) {
+			// Check for null option (ie null or empty). Match isEmpty() logic.
+			boolean isNull = item == null ? true : (item.toString().length() == 0);
+
+			xml.appendTagOpen("ui:option");
+			xml.appendAttribute("value", LOOKUP_TABLE.getCode(table, item));
+			xml.appendOptionalAttribute("isNull", isNull, "true");
 			xml.appendClose();
+			xml.append(WebUtilities.encode(LOOKUP_TABLE.getDescription(table, item)));
+			xml.appendEndTag("ui:option");
+		}
 
-			for (Object item : data) {
-				// Check for null option (ie null or empty). Match isEmpty() logic.
-				boolean isNull = item == null ? true : (item.toString().length() == 0);
+		xml.appendEndTag("ui:datalist");
 
-				xml.appendTagOpen("ui:option");
-				xml.appendAttribute("value", LOOKUP_TABLE.getCode(table, item));
-				xml.appendOptionalAttribute("isNull", isNull, "true");
-				xml.appendClose();
-				xml.append(WebUtilities.encode(LOOKUP_TABLE.getDescription(table, item)));
-				xml.appendEndTag("ui:option");
+		return buffer.toString();
+	}
+
+	/**
+	 * An encoded data list and its ETag.
+	 */
+	private static final class EncodedDataList {
+
+		/**
+		 * The data list XML, without the XML declaration.
+		 */
+		private final String xml;
+
+		/**
+		 * The ETag for the data list.
+		 */
+		private final String eTag;
+
+		/**
+		 * @param xml the data list XML, without the XML declaration.
+		 */
+		private EncodedDataList(final String xml) {
+			this.xml = xml;
+			this.eTag = computeETag(xml);
+		}
+
+		/**
+		 * @return the data list XML, without the XML declaration.
+		 */
+		private String getXml() {
+			return xml;
+		}
+
+		/**
+		 * @return the ETag for the data list.
+		 */
+		private String getETag() {
+			return eTag;
+		}
+
+		/**
+		 * @param header the If-None-Match header value.
+		 * @return true if any of the ETags in the header matches this data list.
+		 */
+		private boolean matches(final String header) {
+			for (String tag : header.split(",")) {
+				String trimmed = tag.trim();
+
+				if (trimmed.startsWith("W/")) {
+					trimmed = trimmed.substring(2);
+				}
+
+				if ("*".equals(trimmed) || eTag.equals(trimmed)) {
+					return true;
+				}
 			}
 
-			xml.appendEndTag("ui:datalist");
+			return false;
+		}
+
+		/**
+		 * Computes an ETag for a data list. The theme build is included, as data lists may be transformed by the
+		 * theme before they are sent.
+		 *
+		 * @param xml the data list XML.
+		 * @return the ETag for the data list.
+		 */
+		private static String computeETag(final String xml) {
+			try {
+				MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				digest.update(ThemeUtil.getThemeBuild().getBytes(StandardCharsets.UTF_8));
+				byte[] hash = digest.digest(xml.getBytes(StandardCharsets.UTF_8));
+				return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 12)) + '"';
+			} catch (NoSuchAlgorithmException e) {
+				throw new SystemException("SHA-256 is not available", e);
+			}
 		}
 	}
 }
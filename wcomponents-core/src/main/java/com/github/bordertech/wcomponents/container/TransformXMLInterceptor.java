@@ -9,17 +9,20 @@ import com.github.bordertech.wcomponents.WebUtilities;
 import com.github.bordertech.wcomponents.servlet.ServletRequest;
 import com.github.bordertech.wcomponents.servlet.ServletUtil;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.AbstractSearchReplaceWriter;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.util.ThemeUtil;
-import com.github.bordertech.wcomponents.util.Util;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.FilterWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
 import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import javax.xml.transform.Source;
 import javax.xml.transform.Templates;
@@ -29,9 +32,11 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
-import org.apache.commons.lang3.text.translate.AggregateTranslator;
-import org.apache.commons.lang3.text.translate.CharSequenceTranslator;
-import org.apache.commons.lang3.text.translate.LookupTranslator;
+import net.sf.saxon.PreparedStylesheet;
+import net.sf.saxon.TransformerFactoryImpl;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CharSequenceReader;
+import org.apache.commons.io.output.StringBuilderWriter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -40,6 +45,11 @@ import org.apache.commons.logging.LogFactory;
  * works by buffering the response in memory and then transforming it before sending the response to the client. This
  * will use more memory and CPU on the server. If this becomes a problem it may be better to perform the transform on an
  * appliance (or the client).
+ * <p>
+ * The XML is filtered as it is painted, so only a single copy of it is buffered. The transformed output can also be
+ * streamed straight to the response by enabling {@link ConfigurationProperties#XSLT_STREAM_OUTPUT}, otherwise it is
+ * buffered so that nothing is written to the response if the transform fails.
+ * </p>
  *
  * @author Rick Brown
  * @since 1.0.0
@@ -66,11 +76,31 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 	 */
 	private static final String RESOURCE_NAME = "/theme/wcomponents-xslt/xslt/" + ThemeUtil.getThemeXsltName();
 
+	/**
+	 * The precompiled theme XSLT resource name, as generated by the wcomponents-xslt build.
+	 */
+	private static final String COMPILED_RESOURCE_NAME = RESOURCE_NAME + ".sxx";
+
 	/**
 	 * The XSLT cached templates.
 	 */
 	private static final Templates TEMPLATES = initTemplates();
 
+	/**
+	 * The stylesheet parameters for a normal transform.
+	 */
+	private static final Map<String, Object> DEFAULT_PARAMETERS = Collections.emptyMap();
+
+	/**
+	 * The stylesheet parameters when client side debugging has been requested.
+	 */
+	private static final Map<String, Object> DEBUG_PARAMETERS = Collections.<String, Object>singletonMap("isDebug", 1);
+
+	/**
+	 * The pool of transformers created from the cached templates.
+	 */
+	private static volatile TransformerPool transformerPool;
+
 	/**
 	 * If true then server side XSLT will be ignored regardless of the configuration property. This is to account for
 	 * user agents that cannot handle HTML, yes such a thing exists.
@@ -130,13 +160,26 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 
 		UIContext uic = UIContextHolder.getCurrent();
 
-		// Set up a render context to buffer the XML payload.
-		StringWriter xmlBuffer = new StringWriter();
-		PrintWriter xmlWriter = new PrintWriter(xmlBuffer);
+		// Set up a render context to buffer the XML payload. Corrupt characters are removed and template tokens are
+		// double encoded as the XML is painted, so the buffer holds the only copy of the payload.
+		StringBuilderWriter xmlBuffer = new StringBuilderWriter();
+		Writer xmlFilter = new BracketReplaceWriter(DOUBLE_ENCODE_SEARCH, DOUBLE_ENCODE_REPLACE, xmlBuffer);
+		if (isAllowCorruptCharacters()) {
+			// Remove illegal HTML characters from the content before transforming it.
+			xmlFilter = new CorruptCharacterFilterWriter(xmlFilter);
+		}
+		PrintWriter xmlWriter = new PrintWriter(xmlFilter);
 
 		WebXmlRenderContext xmlContext = new WebXmlRenderContext(xmlWriter, uic.getLocale());
 
 		super.paint(xmlContext);  // write the XML to the buffer
+		xmlWriter.close(); // flush any partial match held by the filters
+
+		if (xmlBuffer.getBuilder().length() == 0) {
+			// Nothing to transform, e.g. a "304 Not Modified" data list response
+			LOG.debug("Transform XML Interceptor: Nothing painted");
+			return;
+		}
 
 		// Get a handle to the true PrintWriter.
 		WebXmlRenderContext webRenderContext = (WebXmlRenderContext) renderContext;
@@ -151,23 +194,23 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 		Response response = getResponse();
 		response.setContentType(WebUtilities.CONTENT_TYPE_HTML);
 
-		String xml = xmlBuffer.toString();
-		if (isAllowCorruptCharacters() && !Util.empty(xml)) {
-			// Remove illegal HTML characters from the content before transforming it.
-			xml = removeCorruptCharacters(xml);
+		// Perform the transformation and write the result, decoding the double encoded brackets on the way out.
+		try {
+			if (isStreamOutput()) {
+				Writer decoder = new BracketReplaceWriter(DOUBLE_DECODE_SEARCH, DOUBLE_DECODE_REPLACE, writer);
+				transform(xmlBuffer.getBuilder(), uic, decoder);
+				decoder.close();
+			} else {
+				// Only write to the response once the transform has succeeded
+				StringBuilderWriter tempBuffer = new StringBuilderWriter();
+				transform(xmlBuffer.getBuilder(), uic, tempBuffer);
+				Writer decoder = new BracketReplaceWriter(DOUBLE_DECODE_SEARCH, DOUBLE_DECODE_REPLACE, writer);
+				IOUtils.copy(new CharSequenceReader(tempBuffer.getBuilder()), decoder);
+				decoder.close();
+			}
+		} catch (IOException e) {
+			throw new SystemException("Could not write transformed xml", e);
 		}
-		// Double encode template tokens in the XML
-		xml = WebUtilities.doubleEncodeBrackets(xml);
-		// Setup temp writer
-		StringWriter tempBuffer = new StringWriter();
-		PrintWriter tempWriter = new PrintWriter(tempBuffer);
-		// Perform the transformation and write the result.
-		transform(xml, uic, tempWriter);
-		// Decode Double Encoded Brackets
-		String tempResp = tempBuffer.toString();
-		tempResp = WebUtilities.doubleDecodeBrackets(tempResp);
-		// Write response
-		writer.write(tempResp);
 
 		LOG.debug("Transform XML Interceptor: Finished");
 	}
@@ -179,39 +222,46 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 	 * @param uic The UIContext used to determine variables such as locale.
 	 * @param writer The result of the transformation will be written to this writer.
 	 */
-	private void transform(final String xml, final UIContext uic, final PrintWriter writer) {
+	private void transform(final CharSequence xml, final UIContext uic, final Writer writer) {
 
-		Transformer transformer = newTransformer();
-		Source inputXml;
+		Map<String, Object> parameters = debugRequested ? DEBUG_PARAMETERS : DEFAULT_PARAMETERS;
+		TransformerPool pool = getTransformerPool();
+		Transformer transformer = pool.borrow(parameters);
 		try {
-			inputXml = new StreamSource(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+			Source inputXml = new StreamSource(new CharSequenceReader(xml));
 			StreamResult result = new StreamResult(writer);
-			if (debugRequested) {
-				transformer.setParameter("isDebug", 1);
-			}
 			transformer.transform(inputXml, result);
 		} catch (TransformerException ex) {
 			throw new SystemException("Could not transform xml", ex);
+		} finally {
+			pool.release(parameters, transformer);
 		}
 	}
 
 	/**
-	 * Creates a new Transformer instance using cached XSLT Templates. There will be one cached template. Transformer
-	 * instances are not thread-safe and cannot be reused (they can after the transformation is complete).
+	 * Retrieves the pool of Transformer instances created from the cached XSLT Templates. Transformer instances are not
+	 * thread-safe, but can be reused once a transformation is complete.
 	 *
-	 * @return A new Transformer instance.
+	 * @return the transformer pool, which also provides usage statistics.
 	 */
-	private static Transformer newTransformer() {
+	public static TransformerPool getTransformerPool() {
 
 		if (TEMPLATES == null) {
 			throw new IllegalStateException("TransformXMLInterceptor not initialized.");
 		}
 
-		try {
-			return TEMPLATES.newTransformer();
-		} catch (TransformerConfigurationException ex) {
-			throw new SystemException("Could not create transformer for " + RESOURCE_NAME, ex);
+		TransformerPool pool = transformerPool;
+		if (pool == null || pool.getTemplates() != TEMPLATES) {
+			synchronized (TransformXMLInterceptor.class) {
+				pool = transformerPool;
+				if (pool == null || pool.getTemplates() != TEMPLATES) {
+					pool = new TransformerPool(TEMPLATES, ConfigurationProperties.getXsltTransformerPoolSize(),
+							ConfigurationProperties.getXsltTransformerPoolWait());
+					transformerPool = pool;
+				}
+			}
 		}
+		return pool;
 	}
 
 	/**
@@ -220,12 +270,19 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 	 * @return the XSLT Templates.
 	 */
 	private static Templates initTemplates() {
+		if (ConfigurationProperties.getXsltPrecompiled()) {
+			Templates templates = loadCompiledTemplates();
+			if (templates != null) {
+				return templates;
+			}
+		}
+
 		try {
 			URL xsltURL = ThemeUtil.class.getResource(RESOURCE_NAME);
 			if (xsltURL != null) {
 				try (InputStream inStream = xsltURL.openStream()) {
 					Source xsltSource = new StreamSource(inStream, xsltURL.toExternalForm());
-					TransformerFactory factory = new net.sf.saxon.TransformerFactoryImpl();
+					TransformerFactory factory = new TransformerFactoryImpl();
 					Templates templates = factory.newTemplates(xsltSource);
 					LOG.debug("Generated XSLT templates for: " + RESOURCE_NAME);
 					return templates;
@@ -239,6 +296,31 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 		}
 	}
 
+	/**
+	 * Loads the precompiled XSLT templates, which avoids compiling the theme XSLT at runtime.
+	 *
+	 * @return the precompiled XSLT Templates, or null if they are not available.
+	 */
+	static Templates loadCompiledTemplates() {
+		URL compiledURL = ThemeUtil.class.getResource(COMPILED_RESOURCE_NAME);
+		if (compiledURL == null) {
+			LOG.debug("No precompiled XSLT templates for: " + RESOURCE_NAME);
+			return null;
+		}
+
+		try (ObjectInputStream inStream = new ObjectInputStream(new BufferedInputStream(compiledURL.openStream()))) {
+			TransformerFactoryImpl factory = new TransformerFactoryImpl();
+			Templates templates = PreparedStylesheet.loadCompiledStylesheet(factory.getConfiguration(), inStream);
+			LOG.debug("Loaded precompiled XSLT templates for: " + RESOURCE_NAME);
+			return templates;
+		} catch (IOException | ClassNotFoundException | RuntimeException ex) {
+			// Most likely compiled by a different version of Saxon, so fall back to compiling the XSLT.
+			LOG.warn("Could not load precompiled XSLT templates from " + COMPILED_RESOURCE_NAME
+					+ ", compiling " + RESOURCE_NAME + " instead.", ex);
+			return null;
+		}
+	}
+
 	/**
 	 * @return true if allow corrupt characters in XSLT processing.
 	 */
@@ -247,36 +329,144 @@ public class TransformXMLInterceptor extends InterceptorComponent {
 	}
 
 	/**
-	 * Remove bad characters in XML.
+	 * @return true if the transformed output should be streamed to the response.
+	 */
+	private static boolean isStreamOutput() {
+		return ConfigurationProperties.getXsltStreamOutput();
+	}
+
+	/**
+	 * Indicates whether a character is invalid in XML 1.0 and should be discarded prior to the transform.
 	 *
-	 * @param input The String to escape.
-	 * @return the clean string
+	 * @param ch the character to check
+	 * @return true if the character should be removed
 	 */
-	private static String removeCorruptCharacters(final String input) {
-		if (Util.empty(input)) {
-			return input;
+	private static boolean isCorruptCharacter(final char ch) {
+		return (ch <= 0x08)
+				|| ch == 0x0b || ch == 0x0c
+				|| (ch >= 0x0e && ch <= 0x1f)
+				|| (ch >= 0x7f && ch <= 0x9f)
+				|| ch == 0xfffe || ch == 0xffff;
+	}
+
+	/**
+	 * A writer which discards characters that are invalid in XML 1.0 as they are written, passing the remaining
+	 * characters through to the backing writer in bulk.
+	 */
+	private static final class CorruptCharacterFilterWriter extends FilterWriter {
+
+		/**
+		 * @param backing the writer to send the filtered output to.
+		 */
+		private CorruptCharacterFilterWriter(final Writer backing) {
+			super(backing);
+		}
+
+		@Override
+		public void write(final int ch) throws IOException {
+			if (!isCorruptCharacter((char) ch)) {
+				out.write(ch);
+			}
+		}
+
+		@Override
+		public void write(final char[] cbuf, final int off, final int len) throws IOException {
+			int start = off;
+			int end = off + len;
+			for (int i = off; i < end; i++) {
+				if (isCorruptCharacter(cbuf[i])) {
+					if (i > start) {
+						out.write(cbuf, start, i - start);
+					}
+					start = i + 1;
+				}
+			}
+			if (end > start) {
+				out.write(cbuf, start, end - start);
+			}
+		}
+
+		@Override
+		public void write(final String str, final int off, final int len) throws IOException {
+			int start = off;
+			int end = off + len;
+			for (int i = off; i < end; i++) {
+				if (isCorruptCharacter(str.charAt(i))) {
+					if (i > start) {
+						out.write(str, start, i - start);
+					}
+					start = i + 1;
+				}
+			}
+			if (end > start) {
+				out.write(str, start, end - start);
+			}
 		}
-		return ESCAPE_BAD_XML10.translate(input);
 	}
 
 	/**
-	 * Translator object for escaping XML 1.0.
-	 *
-	 * While {@link #escapeXml10(String)} is the expected method of use, this object allows the XML escaping
-	 * functionality to be used as the foundation for a custom translator.
+	 * A streaming replacement for the {@link WebUtilities#doubleEncodeBrackets(String)} and
+	 * {@link WebUtilities#doubleDecodeBrackets(String)} translations. The backing writer is left open on close.
+	 */
+	private static final class BracketReplaceWriter extends AbstractSearchReplaceWriter {
+
+		/**
+		 * The search strings.
+		 */
+		private final String[] search;
+
+		/**
+		 * The replacement for each search string.
+		 */
+		private final String[] replace;
+
+		/**
+		 * @param search the search strings
+		 * @param replace the replacement for each search string
+		 * @param backing the writer to send the output to
+		 */
+		private BracketReplaceWriter(final String[] search, final String[] replace, final Writer backing) {
+			super(search, backing);
+			this.search = search;
+			this.replace = replace;
+		}
+
+		@Override
+		protected void doReplace(final String match, final Writer backing) throws IOException {
+			for (int i = 0; i < search.length; i++) {
+				if (search[i].equals(match)) {
+					backing.write(replace[i]);
+					return;
+				}
+			}
+		}
+
+		@Override
+		protected boolean closeBackingOnClose() {
+			return false;
+		}
+	}
+
+	/**
+	 * Template tokens to double encode in the XML.
+	 */
+	private static final String[] DOUBLE_ENCODE_SEARCH = {WebUtilities.OPEN_BRACKET_ESCAPE,
+		WebUtilities.CLOSE_BRACKET_ESCAPE};
+
+	/**
+	 * The double encoded template tokens.
+	 */
+	private static final String[] DOUBLE_ENCODE_REPLACE = {WebUtilities.OPEN_BRACKET_DOUBLE_ESCAPE,
+		WebUtilities.CLOSE_BRACKET_DOUBLE_ESCAPE};
+
+	/**
+	 * Double encoded template tokens to decode in the HTML.
+	 */
+	private static final String[] DOUBLE_DECODE_SEARCH = DOUBLE_ENCODE_REPLACE;
+
+	/**
+	 * The decoded template tokens.
 	 */
-	private static final CharSequenceTranslator ESCAPE_BAD_XML10
-			= new AggregateTranslator(
-					new LookupTranslator(
-							new String[][]{
-								{"\u000b", ""},
-								{"\u000c", ""},
-								{"\ufffe", ""},
-								{"\uffff", ""}
-							}),
-					WebUtilities.NumericEntityIgnorer.between(0x00, 0x08),
-					WebUtilities.NumericEntityIgnorer.between(0x0e, 0x1f),
-					WebUtilities.NumericEntityIgnorer.between(0x7f, 0x9f)
-			);
+	private static final String[] DOUBLE_DECODE_REPLACE = DOUBLE_ENCODE_SEARCH;
 
 }
@@ -0,0 +1,265 @@
+package com.github.bordertech.wcomponents.container;
+
+import com.github.bordertech.wcomponents.util.SystemException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * A bounded, thread-safe pool of {@link Transformer} instances created from a single set of cached {@link Templates}.
+ * Transformers are pooled separately for each set of stylesheet parameters, so a borrowed transformer already has its
+ * parameters applied. Transformers are reset when they are returned to the pool.
+ * </p>
+ * <p>
+ * If all the transformers for a parameter set are in use, a caller will wait up to the configured time for one to be
+ * returned. If none is returned in that time an unpooled transformer is created, which is discarded on release if the
+ * pool is full.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+public final class TransformerPool {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(TransformerPool.class);
+
+	/**
+	 * The templates used to create transformers.
+	 */
+	private final Templates templates;
+
+	/**
+	 * The maximum number of transformers to pool for each parameter set.
+	 */
+	private final int maxSize;
+
+	/**
+	 * The time in milliseconds to wait for a pooled transformer.
+	 */
+	private final long maxWait;
+
+	/**
+	 * The idle transformers, keyed by parameter set.
+	 */
+	private final Map<Map<String, Object>, ParameterPool> pools = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of times an idle transformer was borrowed without waiting.
+	 */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/**
+	 * The number of times a new transformer had to be created.
+	 */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * The number of times a caller had to wait for a transformer.
+	 */
+	private final AtomicLong waitCount = new AtomicLong();
+
+	/**
+	 * The total time in nanoseconds spent waiting for transformers.
+	 */
+	private final AtomicLong waitTime = new AtomicLong();
+
+	/**
+	 * Creates a TransformerPool.
+	 *
+	 * @param templates the templates used to create transformers.
+	 * @param maxSize the maximum number of transformers to pool for each parameter set.
+	 * @param maxWait the time in milliseconds to wait for a pooled transformer before creating an unpooled one.
+	 */
+	public TransformerPool(final Templates templates, final int maxSize, final long maxWait) {
+		if (templates == null) {
+			throw new IllegalArgumentException("Templates must be provided.");
+		}
+		this.templates = templates;
+		this.maxSize = Math.max(1, maxSize);
+		this.maxWait = Math.max(0, maxWait);
+	}
+
+	/**
+	 * @return the templates used to create transformers.
+	 */
+	public Templates getTemplates() {
+		return templates;
+	}
+
+	/**
+	 * Borrows a transformer from the pool. The transformer must be given back with
+	 * {@link #release(Map, Transformer)} using the same parameters once the transformation has finished.
+	 *
+	 * @param parameters the stylesheet parameters, which must not be modified once used with the pool.
+	 * @return a transformer with the given parameters applied.
+	 */
+	public Transformer borrow(final Map<String, Object> parameters) {
+		ParameterPool pool = getPool(parameters);
+
+		Transformer transformer = pool.idle.poll();
+		if (transformer != null) {
+			hitCount.incrementAndGet();
+			return transformer;
+		}
+
+		if (pool.created.incrementAndGet() <= maxSize) {
+			missCount.incrementAndGet();
+			return newTransformer(parameters);
+		}
+		pool.created.decrementAndGet();
+
+		// All pooled transformers are in use, so wait for one to be returned.
+		long start = System.nanoTime();
+		try {
+			transformer = pool.idle.poll(maxWait, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			waitCount.incrementAndGet();
+			waitTime.addAndGet(System.nanoTime() - start);
+		}
+
+		if (transformer != null) {
+			return transformer;
+		}
+
+		missCount.incrementAndGet();
+		return newTransformer(parameters);
+	}
+
+	/**
+	 * Returns a transformer to the pool. The transformer is reset and the parameters reapplied, so it is ready for
+	 * the next caller.
+	 *
+	 * @param parameters the parameters the transformer was borrowed with.
+	 * @param transformer the transformer to return.
+	 */
+	public void release(final Map<String, Object> parameters, final Transformer transformer) {
+		ParameterPool pool = getPool(parameters);
+
+		try {
+			transformer.reset();
+			applyParameters(transformer, parameters);
+		} catch (RuntimeException e) {
+			LOG.warn("Discarding transformer which could not be reset", e);
+			pool.created.decrementAndGet();
+			return;
+		}
+
+		if (!pool.idle.offer(transformer)) {
+			LOG.debug("Transformer pool full, discarding transformer.");
+		}
+	}
+
+	/**
+	 * @return the number of times an idle transformer was borrowed without waiting.
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return the number of times a new transformer had to be created.
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return the number of times a caller had to wait for a transformer.
+	 */
+	public long getWaitCount() {
+		return waitCount.get();
+	}
+
+	/**
+	 * @return the total time in milliseconds spent waiting for transformers.
+	 */
+	public long getWaitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(waitTime.get());
+	}
+
+	/**
+	 * @return the number of idle transformers across all parameter sets.
+	 */
+	public int getIdleCount() {
+		int count = 0;
+		for (ParameterPool pool : pools.values()) {
+			count += pool.idle.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Retrieves the pool for the given parameter set, creating it if necessary.
+	 *
+	 * @param parameters the stylesheet parameters.
+	 * @return the pool for the parameters.
+	 */
+	private ParameterPool getPool(final Map<String, Object> parameters) {
+		return pools.computeIfAbsent(parameters, key -> new ParameterPool(maxSize));
+	}
+
+	/**
+	 * Creates a new transformer with the given parameters applied.
+	 *
+	 * @param parameters the stylesheet parameters.
+	 * @return a new transformer.
+	 */
+	private Transformer newTransformer(final Map<String, Object> parameters) {
+		try {
+			Transformer transformer = templates.newTransformer();
+			applyParameters(transformer, parameters);
+			return transformer;
+		} catch (TransformerConfigurationException ex) {
+			throw new SystemException("Could not create transformer", ex);
+		}
+	}
+
+	/**
+	 * Applies stylesheet parameters to a transformer.
+	 *
+	 * @param transformer the transformer to apply the parameters to.
+	 * @param parameters the stylesheet parameters.
+	 */
+	private static void applyParameters(final Transformer transformer, final Map<String, Object> parameters) {
+		for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+			transformer.setParameter(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Holds the idle transformers for a single parameter set.
+	 */
+	private static final class ParameterPool {
+
+		/**
+		 * The idle transformers.
+		 */
+		private final BlockingQueue<Transformer> idle;
+
+		/**
+		 * The number of pooled transformers created.
+		 */
+		private final AtomicInteger created = new AtomicInteger();
+
+		/**
+		 * @param maxSize the maximum number of transformers to pool.
+		 */
+		private ParameterPool(final int maxSize) {
+			idle = new ArrayBlockingQueue<>(maxSize);
+		}
+	}
+}
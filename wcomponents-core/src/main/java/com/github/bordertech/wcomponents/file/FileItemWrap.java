@@ -1,16 +1,26 @@
 package com.github.bordertech.wcomponents.file;
 
+import com.github.bordertech.wcomponents.ContentStreamAccess;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
 import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.disk.DiskFileItem;
 
 /**
  * A {@link File} implementation that is backed by a {@link FileItem}.
+ * <p>
+ * Large uploads are written to a temporary file rather than held in memory, so the content of the file should be read
+ * using {@link #getInputStream()} or {@link #getChannel()} rather than {@link #getBytes()}.
+ * </p>
  *
  * @author Christina Harris
  * @since 1.0.0
  */
-public class FileItemWrap implements File {
+public class FileItemWrap implements File, ContentStreamAccess {
 
 	/**
 	 * The file item backing this instance.
@@ -38,6 +48,8 @@ public class FileItemWrap implements File {
 	}
 
 	/**
+	 * Reads the content of the file into memory.
+	 *
 	 * @return the byte content of the file.
 	 */
 	@Override
@@ -86,6 +98,43 @@ public class FileItemWrap implements File {
 		return backing.getInputStream();
 	}
 
+	/**
+	 * Returns an {@link java.io.InputStream InputStream} that can be used to retrieve the contents of the file.
+	 *
+	 * @return An {@link java.io.InputStream InputStream} that can be used to retrieve the contents of the file.
+	 * @throws IOException unable to access file.
+	 */
+	@Override
+	public InputStream getStream() throws IOException {
+		return getInputStream();
+	}
+
+	/**
+	 * Opens a channel to read the contents of the file. The contents of a file written to a temporary file are read
+	 * from a {@link FileChannel}. The caller is responsible for closing the channel.
+	 *
+	 * @return a new channel to the contents of the file.
+	 * @throws IOException unable to access file.
+	 * @since 1.5.29
+	 */
+	public ReadableByteChannel getChannel() throws IOException {
+		if (backing instanceof DiskFileItem && !backing.isInMemory()) {
+			java.io.File file = ((DiskFileItem) backing).getStoreLocation();
+			if (file != null && file.exists()) {
+				return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			}
+		}
+		return Channels.newChannel(getInputStream());
+	}
+
+	/**
+	 * @return the size of the file item, in bytes.
+	 */
+	@Override
+	public long getContentLength() {
+		return getSize();
+	}
+
 	/**
 	 * Returns the size of the file item.
 	 *
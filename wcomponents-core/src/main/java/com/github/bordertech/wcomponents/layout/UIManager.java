@@ -10,12 +10,12 @@ import com.github.bordertech.wcomponents.render.webxml.VelocityRenderer;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
 import com.github.bordertech.wcomponents.util.Config;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
-import com.github.bordertech.wcomponents.util.Duplet;
 import com.github.bordertech.wcomponents.util.NullWriter;
 import com.github.bordertech.wcomponents.util.SystemException;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.PrintWriter;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.commons.logging.Log;
@@ -43,6 +43,10 @@ import org.apache.commons.logging.LogFactory;
  * {@link WComponent} class is reached).
  * </li>
  * </ol>
+ * <p>
+ * Renderers are cached per render package and component class, and are looked up without locking or allocation. The
+ * caches are discarded when the {@link Config configuration} is changed.
+ * </p>
  *
  * @author Yiannis Paschalidis
  * @since 1.0.0
@@ -65,20 +69,26 @@ public final class UIManager implements PropertyChangeListener {
 	private static final Renderer NULL_RENDERER = (component, renderContext) -> { /* NO-OP */ };
 
 	/**
-	 * A cache of component Renderers keyed by WComponent classes. This cache must be flushed if the
-	 * {@link Config configuration} is changed.
+	 * A cache of component Renderers for each render package, keyed by package name. This cache must be flushed if the
+	 * {@link Config configuration} is changed. The map is never modified once published, it is replaced instead.
 	 */
-	private final Map<Duplet<String, Class<?>>, Renderer> renderers = new HashMap<>();
+	private volatile Map<String, PackageRenderers> renderers = Collections.emptyMap();
 
 	/**
-	 * A cache of template Renderers keyed by WComponent classes. This cache must be flushed if the
-	 * {@link Config configuration} is changed.
+	 * The most recently used renderer cache. Applications usually render to a single package, so this saves a map
+	 * lookup for each component.
 	 */
-	private final Map<String, Renderer> templateRenderers = new HashMap<>();
+	private volatile PackageRenderers lastPackageRenderers;
 
 	/**
-	 * A cache of LayoutManagers keyed by WComponent classes. This cache must be flushed if the
-	 * {@link Config configuration} is changed.
+	 * A cache of template Renderers keyed by package name. This cache must be flushed if the
+	 * {@link Config configuration} is changed. The map is never modified once published, it is replaced instead.
+	 */
+	private volatile Map<String, Renderer> templateRenderers = Collections.emptyMap();
+
+	/**
+	 * A cache of RendererFactories keyed by package name. This cache must be flushed if the
+	 * {@link Config configuration} is changed. Access must be synchronized on the UIManager.
 	 */
 	private final Map<String, RendererFactory> factoriesByPackage = new HashMap<>();
 
@@ -110,19 +120,15 @@ public final class UIManager implements PropertyChangeListener {
 	 * @return an appropriate renderer for the component and context, or null if a suitable renderer could not be found.
 	 */
 	public static Renderer getRenderer(final WComponent component, final RenderContext context) {
-		Class<? extends WComponent> clazz = component.getClass();
-
-		Duplet<String, Class<?>> key = new Duplet<String, Class<?>>(context.getRenderPackage(),
-				clazz);
-		Renderer renderer = INSTANCE.renderers.get(key);
+		String packageName = context.getRenderPackage();
+		PackageRenderers packageRenderers = INSTANCE.lastPackageRenderers;
 
-		if (renderer == null) {
-			renderer = INSTANCE.findRenderer(component, key);
-		} else if (renderer == NULL_RENDERER) {
-			return null;
+		if (packageRenderers == null || !packageRenderers.packageName.equals(packageName)) {
+			packageRenderers = INSTANCE.getPackageRenderers(packageName);
 		}
 
-		return renderer;
+		Renderer renderer = packageRenderers.get(component.getClass());
+		return renderer == NULL_RENDERER ? null : renderer;
 	}
 
 	/**
@@ -158,11 +164,9 @@ public final class UIManager implements PropertyChangeListener {
 		RendererFactory factory = INSTANCE.findRendererFactory(packageName);
 		Renderer renderer = factory.getTemplateRenderer();
 
-		if (renderer == null) {
-			templateRenderers.put(packageName, NULL_RENDERER);
-		} else {
-			templateRenderers.put(packageName, renderer);
-		}
+		Map<String, Renderer> copy = new HashMap<>(templateRenderers);
+		copy.put(packageName, renderer == null ? NULL_RENDERER : renderer);
+		templateRenderers = Collections.unmodifiableMap(copy);
 
 		return renderer;
 	}
@@ -187,29 +191,66 @@ public final class UIManager implements PropertyChangeListener {
 	 */
 	private synchronized void clearCache() {
 		factoriesByPackage.clear();
-		renderers.clear();
+		renderers = Collections.emptyMap();
+		lastPackageRenderers = null;
+		templateRenderers = Collections.emptyMap();
 	}
 
 	/**
-	 * Finds the layout for the given theme and component.
+	 * Retrieves the renderer cache for the given package, and makes it the most recently used cache.
 	 *
-	 * @param component the WComponent class to find a manager for.
-	 * @param key the component key to use for caching the renderer.
-	 * @return the LayoutManager for the component.
+	 * @param packageName the package containing the renderers.
+	 * @return the renderer cache for the package.
 	 */
-	private synchronized Renderer findRenderer(final WComponent component,
-			final Duplet<String, Class<?>> key) {
-		LOG.info("Looking for layout for " + key.getSecond().getName() + " in " + key.getFirst());
+	private PackageRenderers getPackageRenderers(final String packageName) {
+		PackageRenderers packageRenderers = renderers.get(packageName);
 
-		Renderer renderer = findConfiguredRenderer(component, key.getFirst());
+		if (packageRenderers == null) {
+			packageRenderers = addPackageRenderers(packageName);
+		}
 
-		if (renderer == null) {
-			renderers.put(key, NULL_RENDERER);
-		} else {
-			renderers.put(key, renderer);
+		lastPackageRenderers = packageRenderers;
+
+		// The caches may have been cleared since the map was read, in which case this cache must not be reused.
+		if (renderers.get(packageName) != packageRenderers) {
+			lastPackageRenderers = null;
 		}
 
-		return renderer;
+		return packageRenderers;
+	}
+
+	/**
+	 * Adds the renderer cache for the given package, if it has not already been added by another thread.
+	 *
+	 * @param packageName the package containing the renderers.
+	 * @return the renderer cache for the package.
+	 */
+	private synchronized PackageRenderers addPackageRenderers(final String packageName) {
+		PackageRenderers packageRenderers = renderers.get(packageName);
+
+		if (packageRenderers == null) {
+			packageRenderers = new PackageRenderers(packageName);
+
+			Map<String, PackageRenderers> copy = new HashMap<>(renderers);
+			copy.put(packageName, packageRenderers);
+			renderers = Collections.unmodifiableMap(copy);
+		}
+
+		return packageRenderers;
+	}
+
+	/**
+	 * Finds the layout for the given theme and component.
+	 *
+	 * @param clazz the WComponent class to find a manager for.
+	 * @param rendererPackage the package containing the renderers.
+	 * @return the LayoutManager for the component.
+	 */
+	private Renderer findRenderer(final Class<?> clazz, final String rendererPackage) {
+		LOG.info("Looking for layout for " + clazz.getName() + " in " + rendererPackage);
+
+		Renderer renderer = findConfiguredRenderer(clazz, rendererPackage);
+		return renderer == null ? NULL_RENDERER : renderer;
 	}
 
 	/**
@@ -238,16 +279,16 @@ public final class UIManager implements PropertyChangeListener {
 	/**
 	 * Attempts to find the configured renderer for the given output format and component.
 	 *
-	 * @param component the component to find a manager for.
+	 * @param clazz the component class to find a manager for.
 	 * @param rendererPackage the package containing the renderers.
 	 * @return the Renderer for the component, or null if there is no renderer defined.
 	 */
-	private Renderer findConfiguredRenderer(final WComponent component, final String rendererPackage) {
+	private Renderer findConfiguredRenderer(final Class<?> clazz, final String rendererPackage) {
 		Renderer renderer = null;
 
 		// We loop for each WComponent in the class hierarchy, as the
 		// Renderer may have been specified at a higher level.
-		for (Class<?> c = component.getClass(); renderer == null && c != null && !AbstractWComponent.class.
+		for (Class<?> c = clazz; renderer == null && c != null && !AbstractWComponent.class.
 				equals(c); c = c.getSuperclass()) {
 			String qualifiedClassName = c.getName();
 
@@ -301,4 +342,33 @@ public final class UIManager implements PropertyChangeListener {
 			throw new SystemException("Failed to access " + rendererName, e);
 		}
 	}
+
+	/**
+	 * Caches the renderers for a render package, keyed by component class. Each renderer is found once, when the class
+	 * is first looked up, and subsequent lookups neither lock nor allocate.
+	 */
+	private final class PackageRenderers extends ClassValue<Renderer> {
+
+		/**
+		 * The package containing the renderers.
+		 */
+		private final String packageName;
+
+		/**
+		 * Creates a PackageRenderers.
+		 *
+		 * @param packageName the package containing the renderers.
+		 */
+		private PackageRenderers(final String packageName) {
+			this.packageName = packageName;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected Renderer computeValue(final Class<?> type) {
+			return findRenderer(type, packageName);
+		}
+	}
 }
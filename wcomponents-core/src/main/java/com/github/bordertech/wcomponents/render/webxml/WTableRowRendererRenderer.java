@@ -1,6 +1,7 @@
 package com.github.bordertech.wcomponents.render.webxml;
 
 import com.github.bordertech.wcomponents.Renderer;
+import com.github.bordertech.wcomponents.RowIndex;
 import com.github.bordertech.wcomponents.UIContext;
 import com.github.bordertech.wcomponents.UIContextHolder;
 import com.github.bordertech.wcomponents.WComponent;
@@ -8,13 +9,12 @@ import com.github.bordertech.wcomponents.WRepeater;
 import com.github.bordertech.wcomponents.WTable;
 import com.github.bordertech.wcomponents.WTable.ExpandMode;
 import com.github.bordertech.wcomponents.WTable.RowIdWrapper;
+import com.github.bordertech.wcomponents.WTable.RowIndexTableModel;
 import com.github.bordertech.wcomponents.WTable.SelectMode;
-import com.github.bordertech.wcomponents.WTable.TableModel;
 import com.github.bordertech.wcomponents.WTableColumn;
 import com.github.bordertech.wcomponents.WTableRowRenderer;
 import com.github.bordertech.wcomponents.XmlStringBuilder;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
-import com.github.bordertech.wcomponents.util.TableUtil;
 import java.util.List;
 
 /**
@@ -36,14 +36,14 @@ final class WTableRowRendererRenderer extends AbstractWebXmlRenderer {
 		WTableRowRenderer renderer = (WTableRowRenderer) component;
 		XmlStringBuilder xml = renderContext.getWriter();
 		WTable table = renderer.getTable();
-		TableModel dataModel = table.getTableModel();
+		RowIndexTableModel dataModel = table.getRowIndexTableModel();
 
 		int[] columnOrder = table.getColumnOrder();
 		final int numCols = columnOrder == null ? table.getColumnCount() : columnOrder.length;
 
 		// Get current row details
 		RowIdWrapper wrapper = renderer.getCurrentRowIdWrapper();
-		List<Integer> rowIndex = wrapper.getRowIndex();
+		RowIndex rowIndex = wrapper.getIndex();
 
 		boolean tableSelectable = table.getSelectMode() != SelectMode.NONE;
 		boolean rowSelectable = tableSelectable && dataModel.isSelectable(rowIndex);
@@ -54,7 +54,7 @@ final class WTableRowRendererRenderer extends AbstractWebXmlRenderer {
 				hasChildren();
 		boolean rowExpanded = rowExpandable && table.getExpandedRows().contains(wrapper.getRowKey());
 
-		String rowIndexAsString = TableUtil.rowIndexListToString(rowIndex);
+		String rowIndexAsString = rowIndex.toIndexString();
 
 		xml.appendTagOpen("ui:tr");
 		xml.appendAttribute("rowIndex", rowIndexAsString);
@@ -108,12 +108,12 @@ final class WTableRowRendererRenderer extends AbstractWebXmlRenderer {
 
 		WTable table = renderer.getTable();
 		WRepeater repeater = table.getRepeater();
-		TableModel dataModel = table.getTableModel();
+		RowIndexTableModel dataModel = table.getRowIndexTableModel();
 
 		// If there is a renderer specified by any child, we only paint content that has a specified renderer
 		boolean rendererPresent = false;
 		for (RowIdWrapper child : children) {
-			if (dataModel.getRendererClass(child.getRowIndex()) != null) {
+			if (dataModel.getRendererClass(child.getIndex()) != null) {
 				rendererPresent = true;
 				break;
 			}
@@ -130,8 +130,7 @@ final class WTableRowRendererRenderer extends AbstractWebXmlRenderer {
 				UIContext nodeContext = repeater.getRowContext(child, child.getPosition());
 
 				WComponent expandedRenderer = renderer.getExpandedTreeNodeRenderer(dataModel.
-						getRendererClass(child
-								.getRowIndex()));
+						getRendererClass(child.getIndex()));
 
 				if (expandedRenderer != null) {
 					UIContextHolder.pushContext(nodeContext);
@@ -85,6 +85,12 @@ public class HttpServletHelper extends AbstractContainerHelper {
 	 */
 	private final boolean dataRequest;
 
+	/**
+	 * The context created to service a read-only request without the session's UIContext, or null to use the
+	 * session's context.
+	 */
+	private UIContext requestContext;
+
 	/**
 	 * @param servlet the servlet processing the request
 	 * @param httpServletRequest the servlet request being processed
@@ -171,11 +177,24 @@ public class HttpServletHelper extends AbstractContainerHelper {
 		return dataRequest;
 	}
 
+	/**
+	 * Services the request using a context created for the request rather than the session's context.
+	 *
+	 * @param requestContext the context created for the request.
+	 */
+	void setRequestContext(final UIContext requestContext) {
+		this.requestContext = requestContext;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected UIContext getUIContext() {
+		if (requestContext != null) {
+			return requestContext;
+		}
+
 		HttpSession session = getBackingRequest().getSession(false);
 		if (session == null) {
 			return null;
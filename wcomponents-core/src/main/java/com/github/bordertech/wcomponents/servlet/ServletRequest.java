@@ -190,6 +190,14 @@ public class ServletRequest extends AbstractRequest {
 		return backing.getMethod();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getHeader(final String name) {
+		return backing.getHeader(name);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
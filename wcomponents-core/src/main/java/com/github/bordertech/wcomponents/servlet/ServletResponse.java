@@ -82,4 +82,12 @@ public class ServletResponse implements Response {
 	public void sendError(final int code, final String description) throws IOException {
 		backing.sendError(code, description);
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setStatus(final int code) {
+		backing.setStatus(code);
+	}
 }
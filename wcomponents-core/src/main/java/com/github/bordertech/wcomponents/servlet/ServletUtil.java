@@ -7,6 +7,7 @@ import com.github.bordertech.wcomponents.InternalResource;
 import com.github.bordertech.wcomponents.InternalResourceMap;
 import com.github.bordertech.wcomponents.Request;
 import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextImpl;
 import com.github.bordertech.wcomponents.WComponent;
 import com.github.bordertech.wcomponents.WContent;
 import com.github.bordertech.wcomponents.WebUtilities;
@@ -39,6 +40,8 @@ import com.github.bordertech.wcomponents.container.WhitespaceFilterInterceptor;
 import com.github.bordertech.wcomponents.container.WrongStepAjaxInterceptor;
 import com.github.bordertech.wcomponents.container.WrongStepContentInterceptor;
 import com.github.bordertech.wcomponents.container.WrongStepServerInterceptor;
+import com.github.bordertech.wcomponents.servlet.ThemeResourceCache.ThemeResource;
+import com.github.bordertech.wcomponents.util.ByteRange;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.DeviceType;
 import com.github.bordertech.wcomponents.util.I18nUtilities;
@@ -51,22 +54,27 @@ import com.github.bordertech.wcomponents.util.Util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
-import java.net.URL;
-import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import javax.servlet.ServletException;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadBase.FileUploadIOException;
 import org.apache.commons.fileupload.FileUploadException;
 import org.apache.commons.fileupload.disk.DiskFileItemFactory;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.fileupload.util.Streams;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -97,12 +105,12 @@ public final class ServletUtil {
 	/**
 	 * Prefix for translation resource request.
 	 */
-	private static final String THEME_TRANSLATION_RESOURCE_PREFIX = "resource/translation";
+	static final String THEME_TRANSLATION_RESOURCE_PREFIX = "resource/translation";
 
 	/**
 	 * The resource path for project translation resources.
 	 */
-	private static final String THEME_PROJECT_TRANSLATION_RESOURCE_PATH = "/wc/theme/i18n";
+	static final String THEME_PROJECT_TRANSLATION_RESOURCE_PATH = "/wc/theme/i18n";
 
 	/**
 	 * The parameters extracted from multi part saved on the request.
@@ -119,6 +127,69 @@ public final class ServletUtil {
 	 */
 	private static final String REQUEST_PROCESSED_KEY = "wc_req_processed";
 
+	/**
+	 * The total time, in nanoseconds, requests of each type have waited for the UIContext lock.
+	 */
+	private static final Map<RequestType, LongAdder> LOCK_WAIT_TIMES = new EnumMap<>(RequestType.class);
+
+	/**
+	 * The number of times requests of each type have taken the UIContext lock.
+	 */
+	private static final Map<RequestType, LongAdder> LOCK_COUNTS = new EnumMap<>(RequestType.class);
+
+	static {
+		for (RequestType type : RequestType.values()) {
+			LOCK_WAIT_TIMES.put(type, new LongAdder());
+			LOCK_COUNTS.put(type, new LongAdder());
+		}
+	}
+
+	/**
+	 * The types of request serviced by {@link #processRequest(HttpServletHelper, WComponent, InterceptorComponent)}.
+	 */
+	public enum RequestType {
+		/**
+		 * A request for a full page.
+		 */
+		PAGE(false),
+		/**
+		 * An AJAX request, including the polls of AJAX polling regions, which run the action phase.
+		 */
+		AJAX(false),
+		/**
+		 * A request for the content of a targeted component, such as an image or document. The targeted component
+		 * handles the request, and may change its model.
+		 */
+		CONTENT(false),
+		/**
+		 * A multipart request to a targeted component, such as a file upload.
+		 */
+		UPLOAD(false),
+		/**
+		 * A request for the options of a data list.
+		 */
+		DATA_LIST(true);
+
+		/**
+		 * Indicates whether requests of this type do not change the state of the session.
+		 */
+		private final boolean readOnly;
+
+		/**
+		 * @param readOnly true if requests of this type do not change the state of the session
+		 */
+		RequestType(final boolean readOnly) {
+			this.readOnly = readOnly;
+		}
+
+		/**
+		 * @return true if requests of this type do not change the state of the session
+		 */
+		public boolean isReadOnly() {
+			return readOnly;
+		}
+	}
+
 	/**
 	 * @return true if enable sub sessions
 	 */
@@ -163,6 +234,11 @@ public final class ServletUtil {
 	/**
 	 * This method does the real work in servicing the http request. It integrates wcomponents into a servlet
 	 * environment via a servlet specific helper class.
+	 * <p>
+	 * Requests which may change the state of the session are processed while holding the UIContext's lock. Read-only
+	 * requests, ie data list requests, are processed without taking the lock. The time requests wait for the lock is
+	 * recorded for each request type.
+	 * </p>
 	 *
 	 * @param helper the servlet helper
 	 * @param ui the application ui
@@ -185,13 +261,31 @@ public final class ServletUtil {
 
 			// Prepare user context
 			UIContext uic = helper.prepareUserContext();
+			RequestType type = getRequestType(helper.getBackingRequest());
+
+			if (type.isReadOnly()) {
+				// Data lists are rendered from the lookup table in the user's locale and do not read the session's
+				// component state, so are not queued behind another request for the session. They are serviced using a
+				// context of their own, as the action phase clears the scratch maps of the context.
+				helper.setRequestContext(createReadOnlyContext(ui, uic));
 
-			synchronized (uic) {
 				// Process the action phase.
 				helper.processAction();
 
 				// Process the render phase.
 				helper.render();
+			} else {
+				long start = System.nanoTime();
+
+				synchronized (uic) {
+					recordLockWait(type, start);
+
+					// Process the action phase.
+					helper.processAction();
+
+					// Process the render phase.
+					helper.render();
+				}
 			}
 		} finally {
 			// We need to ensure that the AJAX operation is cleared
@@ -201,6 +295,69 @@ public final class ServletUtil {
 		}
 	}
 
+	/**
+	 * Determines the type of a request, using the same parameters as {@link WServlet} uses to choose the interceptors
+	 * for the request.
+	 *
+	 * @param request the request being processed
+	 * @return the type of the request
+	 */
+	public static RequestType getRequestType(final HttpServletRequest request) {
+		Map<String, String[]> parameters = getRequestParameters(request);
+
+		if (parameters.get(WServlet.DATA_LIST_PARAM_NAME) != null) {
+			return RequestType.DATA_LIST;
+		} else if (parameters.get(WServlet.AJAX_TRIGGER_PARAM_NAME) != null) {
+			return RequestType.AJAX;
+		} else if (parameters.get(WServlet.TARGET_ID_PARAM_NAME) != null) {
+			return ServletFileUpload.isMultipartContent(request) ? RequestType.UPLOAD : RequestType.CONTENT;
+		}
+
+		return RequestType.PAGE;
+	}
+
+	/**
+	 * @param type the request type
+	 * @return the total time, in nanoseconds, that requests of the given type have waited for the UIContext lock
+	 */
+	public static long getLockWaitTime(final RequestType type) {
+		return LOCK_WAIT_TIMES.get(type).sum();
+	}
+
+	/**
+	 * @param type the request type
+	 * @return the number of times that requests of the given type have taken the UIContext lock
+	 */
+	public static long getLockCount(final RequestType type) {
+		return LOCK_COUNTS.get(type).sum();
+	}
+
+	/**
+	 * Creates the context used to service a read-only request. Only the locale is copied from the session's context,
+	 * which is read without its lock.
+	 *
+	 * @param ui the root component of the application
+	 * @param uic the session's context
+	 * @return a new context for servicing a single read-only request
+	 */
+	private static UIContext createReadOnlyContext(final WComponent ui, final UIContext uic) {
+		UIContextImpl context = new UIContextImpl();
+		context.setUI(ui);
+		context.setLocale(uic.getLocale());
+		return context;
+	}
+
+	/**
+	 * Records the time a request waited for the UIContext lock.
+	 *
+	 * @param type the request type
+	 * @param start the time, from {@link System#nanoTime()}, that the request started waiting for the lock
+	 */
+	private static void recordLockWait(final RequestType type, final long start) {
+		LOCK_WAIT_TIMES.get(type).add(System.nanoTime() - start);
+		LOCK_COUNTS.get(type).increment();
+	}
+
 	/**
 	 * @param req the request being processed
 	 * @return true if requesting a static resource
@@ -281,7 +438,10 @@ public final class ServletUtil {
 	/**
 	 * Serves up a file from the theme. In practice it is generally a bad idea to use this servlet to serve up static
 	 * resources. Instead it would make more sense to move CSS, JS, HTML resources to a CDN or similar.
-	 *
+	 * <p>
+	 * Theme files are held in the {@link ThemeResourceCache}. Conditional requests are validated against the file's
+	 * ETag, compressed variants are served to clients which accept them and single byte ranges are supported.
+	 * </p>
 	 *
 	 * @param req the request with the file name in parameter "f", or following the servlet path.
 	 * @param resp the response to write to.
@@ -292,12 +452,6 @@ public final class ServletUtil {
 			final HttpServletResponse resp)
 			throws ServletException, IOException {
 
-		if (req.getHeader("If-Modified-Since") != null) {
-			resp.reset();
-			resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
-			return;
-		}
-
 		String fileName = req.getParameter("f");
 
 		String path = req.getPathInfo();
@@ -312,57 +466,259 @@ public final class ServletUtil {
 			return;
 		}
 
-		InputStream resourceStream = null;
+		ThemeResource resource = ThemeResourceCache.getResource(fileName);
+
+		if (resource == null) {
+			resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		try {
+			serveThemeResource(req, resp, resource);
+		} finally {
+			resource.close();
+		}
+	}
+
+	/**
+	 * Writes a theme resource to the response.
+	 *
+	 * @param req the request for the resource.
+	 * @param resp the response to write to.
+	 * @param resource the resource.
+	 * @throws IOException if there is an error reading the file / writing the response.
+	 */
+	private static void serveThemeResource(final HttpServletRequest req, final HttpServletResponse resp,
+			final ThemeResource resource) throws IOException {
+		// Ranges are only served from the uncompressed content
+		String encoding = resource.isCompressed() && req.getHeader("Range") == null
+				? getThemeResourceEncoding(req.getHeader("Accept-Encoding"), resource) : null;
+
+		/*
+		I have commented out the setting of the Content-Disposition on static theme resources because, well why is it there?
+		If this needs to be reinstated please provide a thorough justification comment here so the reasons are clear.
+
+		Note that setting this header breaks Polymer 1.0 when it is present on HTML imports.
+
+		String encodedName = WebUtilities.encodeForContentDispositionHeader(fileName.
+				substring(fileName
+						.lastIndexOf('/') + 1));
+		resp.setHeader("Content-Disposition", "filename=" + encodedName);  // "filename=" to comply with https://tools.ietf.org/html/rfc6266
+		 */
+		resp.setContentType(resource.getContentType());
+		resp.setHeader("Cache-Control", CacheType.THEME_CACHE.getSettings());
+		resp.setHeader("Expires", "31536000");
+		resp.setHeader("ETag", resource.getETag(encoding));
+
+		if (resource.getLastModified() > 0) {
+			resp.setDateHeader("Last-Modified", resource.getLastModified());
+		}
+
+		if (resource.isCompressed()) {
+			resp.setHeader("Vary", "Accept-Encoding");
+		}
+
+		if (isThemeResourceNotModified(req, resource)) {
+			resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		if (encoding != null) {
+			byte[] content = resource.getEncodedContent(encoding);
+			resp.setHeader("Content-Encoding", encoding);
+			resp.setContentLength(content.length);
+			resp.getOutputStream().write(content);
+			return;
+		}
+
+		long length = resource.getLength();
+		long start = 0;
+		long count = length;
+
+		if (length >= 0) {
+			resp.setHeader("Accept-Ranges", "bytes");
+
+			long[] range = getThemeResourceRange(req, resource);
+
+			if (range != null && range.length == 0) {
+				resp.setHeader("Content-Range", "bytes */" + length);
+				resp.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+				return;
+			} else if (range != null) {
+				start = range[0];
+				count = range[1] - range[0] + 1;
+				resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+				resp.setHeader("Content-Range", "bytes " + range[0] + '-' + range[1] + '/' + length);
+			}
+
+			if (count <= Integer.MAX_VALUE) {
+				resp.setContentLength((int) count);
+			}
+		}
+
+		if (resource.isCached()) {
+			resp.getOutputStream().write(resource.getContent(), (int) start, (int) count);
+		} else {
+			try (InputStream resourceStream = resource.openStream()) {
+				if (count < 0) {
+					StreamUtil.copy(resourceStream, resp.getOutputStream());
+				} else {
+					StreamUtil.copyRange(resourceStream, resp.getOutputStream(), start, count);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determines whether the client's copy of a theme resource is current.
+	 *
+	 * @param req the request being processed.
+	 * @param resource the theme resource.
+	 * @return true if the client's copy is current.
+	 */
+	private static boolean isThemeResourceNotModified(final HttpServletRequest req, final ThemeResource resource) {
+		String ifNoneMatch = req.getHeader("If-None-Match");
+
+		if (ifNoneMatch != null) {
+			return matchesThemeResource(ifNoneMatch, resource);
+		}
+
+		if (req.getHeader("If-Modified-Since") == null) {
+			return false;
+		}
+
+		if (resource.getLastModified() <= 0) {
+			// Theme URLs include the theme build, so a client's copy is current if the time is not known
+			return true;
+		}
 
 		try {
-			URL url = null;
+			long since = req.getDateHeader("If-Modified-Since");
+			return since > 0 && resource.getLastModified() / 1000 <= since / 1000;
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
 
-			// Check for project translation file
-			if (fileName.startsWith(THEME_TRANSLATION_RESOURCE_PREFIX)) {
-				String resourceFileName = fileName.substring(THEME_TRANSLATION_RESOURCE_PREFIX.length());
-				url = ServletUtil.class.getResource(THEME_PROJECT_TRANSLATION_RESOURCE_PATH + resourceFileName);
+	/**
+	 * Checks whether a list of entity tags from a conditional request header matches a theme resource. Each encoding
+	 * of the resource has the same content, so the tag of any encoding is a match.
+	 *
+	 * @param header the header value.
+	 * @param resource the theme resource.
+	 * @return true if any of the tags matches the resource.
+	 */
+	private static boolean matchesThemeResource(final String header, final ThemeResource resource) {
+		for (String tag : header.split(",")) {
+			String eTag = tag.trim();
+
+			if (eTag.startsWith("W/")) {
+				eTag = eTag.substring(2);
 			}
 
-			// Load from the theme path
-			if (url == null) {
-				String resourceName = ThemeUtil.getThemeBase() + fileName;
-				url = ServletUtil.class.getResource(resourceName);
+			if ("*".equals(eTag) || eTag.equals(resource.getETag()) || eTag.equals(resource.getETag("gzip"))
+					|| eTag.equals(resource.getETag("br"))) {
+				return true;
 			}
+		}
 
-			if (url == null) {
-				resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
-			} else {
-				URLConnection connection = url.openConnection();
-				resourceStream = connection.getInputStream();
-				int size = resourceStream.available();
-				if (size > 0) {
-					resp.setContentLength(size);
+		return false;
+	}
+
+	/**
+	 * Selects the compressed variant of a theme resource to send, preferring brotli over gzip when both are equally
+	 * acceptable.
+	 *
+	 * @param acceptEncoding the Accept-Encoding header, may be null.
+	 * @param resource the theme resource.
+	 * @return the content encoding to use, or null to send the uncompressed content.
+	 */
+	private static String getThemeResourceEncoding(final String acceptEncoding, final ThemeResource resource) {
+		if (Util.empty(acceptEncoding)) {
+			return null;
+		}
+
+		float brotli = resource.getEncodedContent("br") == null ? 0 : getEncodingQuality(acceptEncoding, "br");
+		float gzip = resource.getEncodedContent("gzip") == null ? 0 : getEncodingQuality(acceptEncoding, "gzip");
+
+		if (brotli > 0 && brotli >= gzip) {
+			return "br";
+		} else if (gzip > 0) {
+			return "gzip";
+		}
+
+		return null;
+	}
+
+	/**
+	 * Determines the quality value an Accept-Encoding header gives to an encoding.
+	 *
+	 * @param acceptEncoding the Accept-Encoding header.
+	 * @param encoding the encoding.
+	 * @return the quality value, or 0 if the encoding is not acceptable.
+	 */
+	private static float getEncodingQuality(final String acceptEncoding, final String encoding) {
+		float wildcard = 0;
+
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.split(";");
+			String name = parts[0].trim();
+			float quality = 1;
+
+			for (int i = 1; i < parts.length; i++) {
+				String param = parts[i].trim();
+
+				if (param.startsWith("q=")) {
+					try {
+						quality = Float.parseFloat(param.substring(2));
+					} catch (NumberFormatException e) {
+						quality = 0;
+					}
 				}
+			}
 
-				/*
-				I have commented out the setting of the Content-Disposition on static theme resources because, well why is it there?
-				If this needs to be reinstated please provide a thorough justification comment here so the reasons are clear.
-
-				Note that setting this header breaks Polymer 1.0 when it is present on HTML imports.
-
-				String encodedName = WebUtilities.encodeForContentDispositionHeader(fileName.
-						substring(fileName
-								.lastIndexOf('/') + 1));
-				resp.setHeader("Content-Disposition", "filename=" + encodedName);  // "filename=" to comply with https://tools.ietf.org/html/rfc6266
-				 */
-				resp.setContentType(WebUtilities.getContentType(fileName));
-				resp.setHeader("Cache-Control", CacheType.THEME_CACHE.getSettings());
-
-				resp.setHeader("Expires", "31536000");
-				resp.setHeader("ETag", "\"" + WebUtilities.getProjectVersion() + "\"");
-				// resp.setHeader("Last-Modified", "Mon, 02 Jan 2015 01:00:00 GMT");
-				long modified = connection.getLastModified();
-				resp.setDateHeader("Last-Modified", modified);
-				StreamUtil.copy(resourceStream, resp.getOutputStream());
+			if (name.equalsIgnoreCase(encoding)) {
+				return quality;
+			} else if ("*".equals(name)) {
+				wildcard = quality;
 			}
-		} finally {
-			StreamUtil.safeClose(resourceStream);
 		}
+
+		return wildcard;
+	}
+
+	/**
+	 * Determines the byte range requested for a theme resource. Only a single range is supported, requests for
+	 * multiple ranges are sent the whole resource.
+	 *
+	 * @param req the request being processed.
+	 * @param resource the theme resource, which must have a known length.
+	 * @return the first and last bytes of the range, an empty array if the range can not be satisfied, or null to send
+	 * the whole resource.
+	 */
+	private static long[] getThemeResourceRange(final HttpServletRequest req, final ThemeResource resource) {
+		String range = req.getHeader("Range");
+
+		if (range == null || !range.startsWith("bytes=") || range.indexOf(',') != -1) {
+			return null;
+		}
+
+		// Only send part of the resource if the client's copy is the same
+		String ifRange = req.getHeader("If-Range");
+
+		if (ifRange != null && !ifRange.trim().equals(resource.getETag())) {
+			return null;
+		}
+
+		List<ByteRange> ranges = ByteRange.parse(range, resource.getLength());
+
+		if (ranges == null) {
+			return null;
+		} else if (ranges.isEmpty()) {
+			return new long[0];
+		}
+
+		return new long[]{ranges.get(0).getStart(), ranges.get(0).getEnd()};
 	}
 
 	/**
@@ -627,15 +983,9 @@ public final class ServletUtil {
 			final Map<String, FileItem[]> files) {
 
 		if (isMultipart(request)) {
-			ServletFileUpload upload = new ServletFileUpload();
-			upload.setFileItemFactory(new DiskFileItemFactory());
-			try {
-				List fileItems = upload.parseRequest(request);
-
-				uploadFileItems(fileItems, parameters, files);
-			} catch (FileUploadException ex) {
-				throw new SystemException(ex);
-			}
+			List<FileItem> fileItems = parseMultipartRequest(request, parameters);
+			uploadFileItems(fileItems, parameters, files);
+
 			// Include Query String Parameters (only if parameters were not included in the form fields)
 			for (Object entry : request.getParameterMap().entrySet()) {
 				Map.Entry<String, String[]> param = (Map.Entry<String, String[]>) entry;
@@ -648,6 +998,61 @@ public final class ServletUtil {
 		}
 	}
 
+	/**
+	 * Parse a multipart request by streaming its parts. Form fields are read directly into the parameters and files are
+	 * written to file items, which are held in memory up to the configured threshold and in a temporary file above it.
+	 * The configured size limits for the request and each file are enforced while the parts are read.
+	 *
+	 * @param request the request being processed
+	 * @param parameters the map to store non-file request parameters in.
+	 * @return the uploaded file items
+	 */
+	private static List<FileItem> parseMultipartRequest(final HttpServletRequest request,
+			final Map<String, String[]> parameters) {
+
+		DiskFileItemFactory factory = new DiskFileItemFactory();
+		factory.setSizeThreshold(ConfigurationProperties.getUploadDiskThreshold());
+		String repository = ConfigurationProperties.getUploadRepository();
+		if (!Util.empty(repository)) {
+			java.io.File dir = new java.io.File(repository);
+			if (!dir.isDirectory() && !dir.mkdirs()) {
+				throw new SystemException("Unable to create upload repository " + repository);
+			}
+			factory.setRepository(dir);
+		}
+
+		ServletFileUpload upload = new ServletFileUpload(factory);
+		upload.setSizeMax(ConfigurationProperties.getUploadRequestMaxSize());
+		upload.setFileSizeMax(ConfigurationProperties.getUploadFileMaxSize());
+
+		List<FileItem> fileItems = new ArrayList<>();
+		try {
+			FileItemIterator iterator = upload.getItemIterator(request);
+			while (iterator.hasNext()) {
+				FileItemStream stream = iterator.next();
+				String name = stream.getFieldName();
+
+				if (stream.isFormField()) {
+					// Without specifying UTF-8, apache commons defaults to ISO-8859-1.
+					RequestUtil.addParameter(parameters, name, Streams.asString(stream.openStream(), "UTF-8"));
+				} else {
+					FileItem item = factory.createItem(name, stream.getContentType(), false, stream.getName());
+					fileItems.add(item);
+					item.setHeaders(stream.getHeaders());
+					Streams.copy(stream.openStream(), item.getOutputStream(), true);
+					UploadFileTracker.track(request, item);
+				}
+			}
+		} catch (FileUploadException | IOException ex) {
+			for (FileItem item : fileItems) {
+				item.delete();
+			}
+			Throwable cause = ex instanceof FileUploadIOException ? ex.getCause() : ex;
+			throw new SystemException("Unable to process multipart request. " + cause.getMessage(), cause);
+		}
+		return fileItems;
+	}
+
 	/**
 	 * Find the value of a cookie on the request, by name.
 	 * @param request The request on which to check for the cookie.
@@ -673,9 +1078,8 @@ public final class ServletUtil {
 	 * temp file.</p>
 	 *
 	 * <p>
-	 * If, in the future, performance of uploads becomes a focus we can instead look into using the Jakarta Commons
-	 * Streaming API. In this case, the content of the upload isn't stored anywhere. It will be up to the user to
-	 * read/store the content of the stream.</p>
+	 * Multipart requests are parsed using the Jakarta Commons Streaming API, with the size threshold, repository and
+	 * size limits set in {@link ConfigurationProperties}.</p>
 	 *
 	 * @param fileItems a list of {@link FileItem}s corresponding to POSTed form data.
 	 * @param parameters the map to store non-file request parameters in.
@@ -1,17 +1,28 @@
 package com.github.bordertech.wcomponents.servlet;
 
 import com.github.bordertech.wcomponents.util.Enumerator;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpSessionActivationListener;
+import javax.servlet.http.HttpSessionBindingEvent;
+import javax.servlet.http.HttpSessionBindingListener;
 import javax.servlet.http.HttpSessionContext;
+import javax.servlet.http.HttpSessionEvent;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 /**
  * <p>
@@ -24,8 +35,13 @@ import javax.servlet.http.HttpSessionContext;
  * class only, and doesn't require deployment of additional servlet filters.
  * </p>
  * <p>
- * Invalidated sub-sessions have their data cleared out to minimise session use, but are not removed from the backing
- * HTTP session.
+ * The number of sub-sessions held for a HTTP session is limited by
+ * {@link ConfigurationProperties#getServletSubsessionsMax()}, with the least recently used sub-session evicted to make
+ * room for a new one. Sub-sessions which have been idle for longer than
+ * {@link ConfigurationProperties#getServletSubsessionsIdleTimeout()} are also evicted, as other sub-sessions may keep
+ * the HTTP session alive. Evicted sub-sessions are invalidated, and a request for one is given a new, empty
+ * sub-session with the same id, as is a request for an invalidated sub-session. A sub-session is not evicted while it
+ * is being used by a request, so callers must call {@link #requestComplete()} once the request has been processed.
  * </p>
  *
  * @author Jonathan Austin
@@ -33,17 +49,42 @@ import javax.servlet.http.HttpSessionContext;
  */
 public final class SubSessionHttpServletRequestWrapper extends HttpServletRequestWrapper {
 
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(SubSessionHttpServletRequestWrapper.class);
+
 	/**
 	 * This key is used to store subsessions in the backing HTTP session's attribute map.
 	 */
 	private static final String SESSION_MAP_KEY = SubSessionHttpServletRequestWrapper.class.
 			getName() + ".subsessions";
 
+	/**
+	 * The number of subsessions held in the HTTP sessions of this server.
+	 */
+	private static final LongAdder LIVE = new LongAdder();
+
+	/**
+	 * The number of subsessions evicted as they had been idle for too long.
+	 */
+	private static final LongAdder IDLE_EVICTIONS = new LongAdder();
+
+	/**
+	 * The number of subsessions evicted to keep within the maximum number of subsessions.
+	 */
+	private static final LongAdder CAPACITY_EVICTIONS = new LongAdder();
+
 	/**
 	 * The requested session id.
 	 */
 	private final int sessionId;
 
+	/**
+	 * The subsession in use by this request.
+	 */
+	private HttpSubSession subsession;
+
 	/**
 	 * Creates a SubSessionHttpServletRequestWrapper.
 	 *
@@ -53,60 +94,56 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 		super(backing);
 
 		HttpSession backingSession = backing.getSession();
+		SubSessionStore subsessions = getStore(backingSession);
+		int ssid;
 
-		synchronized (backingSession) {
-			Map<Integer, HttpSubSession> subsessions = (Map<Integer, HttpSubSession>) backingSession
-					.getAttribute(SESSION_MAP_KEY);
+		try {
+			String param = getParameter("ssid");
 
-			if (subsessions == null) {
-				subsessions = new HashMap<>();
-				backingSession.setAttribute(SESSION_MAP_KEY, subsessions);
-			}
+			if (param == null) {
+				ssid = subsessions.nextId();
+			} else {
+				ssid = Integer.parseInt(param);
 
-			int ssid = 0;
-
-			try {
-				String param = getParameter("ssid");
-
-				if (param == null) {
-					ssid = subsessions.size();
-				} else {
-					ssid = Integer.parseInt(param);
-
-					if (ssid < 0 || ssid >= subsessions.size()) {
-						ssid = 0;
-					}
+				if (ssid < 0 || !subsessions.isIssued(ssid)) {
+					ssid = 0;
 				}
-
-				if (!subsessions.containsKey(ssid)) {
-					HttpSubSession subsession = new HttpSubSession(backingSession, ssid);
-					subsessions.put(ssid, subsession);
-				}
-			} catch (NumberFormatException e) {
-				// Someone's been fiddling with HTTP parameters,
-				// ignore it and use the default session
 			}
-
-			this.sessionId = ssid;
+		} catch (NumberFormatException e) {
+			// Someone's been fiddling with HTTP parameters,
+			// ignore it and use the default session
+			ssid = 0;
 		}
+
+		this.sessionId = ssid;
+		this.subsession = subsessions.acquire(backingSession, ssid);
+		subsessions.evict(ssid);
 	}
 
 	/**
-	 * Retrieves the subsession for this request. If there is no existing subsession, a new one is created.
+	 * Retrieves the subsession for this request. If the subsession has been invalidated, a new one is created.
 	 *
 	 * @return the subsession for this request.
 	 */
 	private synchronized HttpSubSession getSubSession() {
-		HttpSession backingSession = super.getSession();
-		Map<Integer, HttpSubSession> subsessions = (Map<Integer, HttpSubSession>) backingSession
-				.getAttribute(SESSION_MAP_KEY);
+		if (subsession.invalid) {
+			HttpSession backingSession = super.getSession();
+			HttpSubSession invalidated = subsession;
+			subsession = getStore(backingSession).acquire(backingSession, sessionId);
+			invalidated.release();
+		}
 
-		HttpSubSession subsession = subsessions.get(sessionId);
 		subsession.setLastAccessedTime(System.currentTimeMillis());
-
 		return subsession;
 	}
 
+	/**
+	 * Indicates that the request has been processed, so its subsession may be evicted.
+	 */
+	public synchronized void requestComplete() {
+		subsession.release();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -130,6 +167,239 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 		return sessionId;
 	}
 
+	/**
+	 * @return the number of subsessions held in the HTTP sessions of this server.
+	 */
+	public static long getLiveSubSessionCount() {
+		return LIVE.sum();
+	}
+
+	/**
+	 * @return the number of subsessions evicted as they had been idle for too long.
+	 */
+	public static long getIdleEvictionCount() {
+		return IDLE_EVICTIONS.sum();
+	}
+
+	/**
+	 * @return the number of subsessions evicted to keep within the maximum number of subsessions.
+	 */
+	public static long getCapacityEvictionCount() {
+		return CAPACITY_EVICTIONS.sum();
+	}
+
+	/**
+	 * Retrieves the subsessions of a HTTP session, creating the store for them if necessary.
+	 *
+	 * @param backingSession the backing HTTP session.
+	 * @return the subsessions of the HTTP session.
+	 */
+	private static SubSessionStore getStore(final HttpSession backingSession) {
+		Object store = backingSession.getAttribute(SESSION_MAP_KEY);
+
+		if (store instanceof SubSessionStore) {
+			return (SubSessionStore) store;
+		}
+
+		synchronized (backingSession) {
+			store = backingSession.getAttribute(SESSION_MAP_KEY);
+
+			if (!(store instanceof SubSessionStore)) {
+				store = new SubSessionStore();
+				backingSession.setAttribute(SESSION_MAP_KEY, store);
+			}
+
+			return (SubSessionStore) store;
+		}
+	}
+
+	/**
+	 * Holds the subsessions of a HTTP session, keyed by subsession id. The subsessions are held in a concurrent map, so
+	 * requests for different subsessions of the same HTTP session do not block each other.
+	 * <p>
+	 * The store tracks the number of subsessions held on this server, so is told when it is removed from its HTTP
+	 * session, or the session is moved to another server.
+	 * </p>
+	 */
+	private static final class SubSessionStore implements HttpSessionBindingListener, HttpSessionActivationListener,
+			Serializable {
+
+		/**
+		 * The subsessions, keyed by subsession id.
+		 */
+		private final ConcurrentMap<Integer, HttpSubSession> subsessions = new ConcurrentHashMap<>();
+
+		/**
+		 * The id to give the next new subsession. Ids are not reused, so a request for an evicted subsession is not
+		 * given the state of another.
+		 */
+		private final AtomicInteger nextId = new AtomicInteger();
+
+		/**
+		 * @return the id for a new subsession.
+		 */
+		private int nextId() {
+			return nextId.getAndIncrement();
+		}
+
+		/**
+		 * @param ssid the subsession id.
+		 * @return true if the id has been given to a subsession, or is the id of the default subsession.
+		 */
+		private boolean isIssued(final int ssid) {
+			return ssid < Math.max(1, nextId.get());
+		}
+
+		/**
+		 * Retrieves a subsession for use by a request, creating it if it does not exist or has been invalidated, and
+		 * marks it as accessed. The subsession is not evicted until the request releases it.
+		 *
+		 * @param backingSession the backing HTTP session.
+		 * @param ssid the subsession id.
+		 * @return the subsession.
+		 */
+		private HttpSubSession acquire(final HttpSession backingSession, final int ssid) {
+			while (true) {
+				HttpSubSession subsession = subsessions.get(ssid);
+
+				if (subsession != null && subsession.acquire()) {
+					subsession.setLastAccessedTime(System.currentTimeMillis());
+					return subsession;
+				}
+
+				HttpSubSession created = new HttpSubSession(backingSession, ssid);
+				created.acquire();
+
+				if (subsession == null) {
+					if (subsessions.putIfAbsent(ssid, created) == null) {
+						LIVE.increment();
+						nextId.accumulateAndGet(ssid + 1, Math::max);
+						return created;
+					}
+				} else if (subsessions.replace(ssid, subsession, created)) {
+					return created;
+				}
+			}
+		}
+
+		/**
+		 * Evicts the subsessions which have been idle for too long, then the least recently used subsessions until
+		 * there are no more than the maximum number of subsessions.
+		 *
+		 * @param currentId the id of the subsession for the current request, which is not evicted.
+		 */
+		private void evict(final int currentId) {
+			long now = System.currentTimeMillis();
+			int idleTimeout = ConfigurationProperties.getServletSubsessionsIdleTimeout();
+
+			for (HttpSubSession subsession : subsessions.values()) {
+				int timeout = idleTimeout > 0 ? idleTimeout : subsession.maxInactiveInterval;
+
+				if (subsession.invalid) {
+					remove(subsession);
+				} else if (subsession.sessionId != currentId && timeout > 0
+						&& now - subsession.lastAccessedTime > timeout * 1000L && removeIfNotInUse(subsession)) {
+					IDLE_EVICTIONS.increment();
+					LOG.debug("Evicted idle subsession " + subsession.sessionId);
+				}
+			}
+
+			int max = ConfigurationProperties.getServletSubsessionsMax();
+
+			while (max > 0 && subsessions.size() > max) {
+				HttpSubSession eldest = null;
+
+				for (HttpSubSession subsession : subsessions.values()) {
+					if (subsession.sessionId != currentId && !subsession.isInUse()
+							&& (eldest == null || subsession.lastAccessedTime < eldest.lastAccessedTime)) {
+						eldest = subsession;
+					}
+				}
+
+				if (eldest == null) {
+					// The other subsessions are all in use
+					break;
+				}
+
+				if (removeIfNotInUse(eldest)) {
+					CAPACITY_EVICTIONS.increment();
+					LOG.debug("Evicted least recently used subsession " + eldest.sessionId);
+				}
+			}
+		}
+
+		/**
+		 * Removes and invalidates a subsession.
+		 *
+		 * @param subsession the subsession to remove.
+		 * @return true if the subsession was removed, false if it had already been removed.
+		 */
+		private boolean remove(final HttpSubSession subsession) {
+			if (!subsessions.remove(subsession.sessionId, subsession)) {
+				return false;
+			}
+
+			LIVE.decrement();
+			subsession.invalidateQuietly();
+			return true;
+		}
+
+		/**
+		 * Removes and invalidates a subsession, unless it is in use by a request. The subsession is locked while it is
+		 * removed, so a request can not start using it.
+		 *
+		 * @param subsession the subsession to remove.
+		 * @return true if the subsession was removed, false if it is in use or had already been removed.
+		 */
+		private boolean removeIfNotInUse(final HttpSubSession subsession) {
+			synchronized (subsession) {
+				return !subsession.isInUse() && remove(subsession);
+			}
+		}
+
+		/**
+		 * Does nothing, as the store is empty when it is added to a session.
+		 *
+		 * @param event the session binding event.
+		 */
+		@Override
+		public void valueBound(final HttpSessionBindingEvent event) {
+			// Do nothing
+		}
+
+		/**
+		 * Invalidates the subsessions when the store is removed from its session, such as when the session ends.
+		 *
+		 * @param event the session binding event.
+		 */
+		@Override
+		public void valueUnbound(final HttpSessionBindingEvent event) {
+			for (HttpSubSession subsession : subsessions.values()) {
+				remove(subsession);
+			}
+		}
+
+		/**
+		 * No longer counts the subsessions as live on this server, as the session is being moved.
+		 *
+		 * @param event the session event.
+		 */
+		@Override
+		public void sessionWillPassivate(final HttpSessionEvent event) {
+			LIVE.add(-subsessions.size());
+		}
+
+		/**
+		 * Counts the subsessions as live on this server, as the session has been moved here.
+		 *
+		 * @param event the session event.
+		 */
+		@Override
+		public void sessionDidActivate(final HttpSessionEvent event) {
+			LIVE.add(subsessions.size());
+		}
+	}
+
 	/**
 	 * A "sub-session" implementation of a HTTPSession.
 	 */
@@ -141,7 +411,7 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 		private Map<String, Object> attributes = new HashMap<>();
 
 		/**
-		 * The maximum interval before a sub-session can be invalidated due to inactivity, specified in milliseconds.
+		 * The maximum interval before a sub-session can be invalidated due to inactivity, specified in seconds.
 		 */
 		private int maxInactiveInterval;
 
@@ -153,7 +423,7 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 		/**
 		 * The timestamp when the sub-session was last accessed by the user.
 		 */
-		private long lastAccessedTime;
+		private volatile long lastAccessedTime;
 
 		/**
 		 * The subsession id, unique per user HTTP session.
@@ -163,7 +433,12 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 		/**
 		 * A flag indicating whether this sub-session has been invalidated.
 		 */
-		private boolean invalid = false;
+		private volatile boolean invalid = false;
+
+		/**
+		 * The number of requests using this sub-session. Guarded by the sub-session's lock.
+		 */
+		private transient int activeRequests;
 
 		/**
 		 * The backing HTTP session.
@@ -191,6 +466,36 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 			return sessionId;
 		}
 
+		/**
+		 * Records that a request is using this sub-session.
+		 *
+		 * @return true if the sub-session can be used, false if it has been invalidated.
+		 */
+		private synchronized boolean acquire() {
+			if (invalid) {
+				return false;
+			}
+
+			activeRequests++;
+			return true;
+		}
+
+		/**
+		 * Records that a request has finished using this sub-session.
+		 */
+		private synchronized void release() {
+			if (activeRequests > 0) {
+				activeRequests--;
+			}
+		}
+
+		/**
+		 * @return true if a request is using this sub-session.
+		 */
+		private synchronized boolean isInUse() {
+			return activeRequests > 0;
+		}
+
 		/**
 		 * Returns the value of the attribute with the specified name.
 		 *
@@ -198,7 +503,7 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 		 * @return the attribute value, or null if the attribute does not exist.
 		 */
 		@Override
-		public Object getAttribute(final String name) {
+		public synchronized Object getAttribute(final String name) {
 			if (invalid) {
 				throw new IllegalStateException("Session has been invalidated");
 			}
@@ -210,12 +515,12 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 		 * @return an enumeration of the attribute names.
 		 */
 		@Override
-		public Enumeration<String> getAttributeNames() {
+		public synchronized Enumeration<String> getAttributeNames() {
 			if (invalid) {
 				throw new IllegalStateException("Session has been invalidated");
 			}
 
-			return getKeys(attributes);
+			return getKeys(new HashMap<>(attributes));
 		}
 
 		/**
@@ -316,7 +621,8 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 		}
 
 		/**
-		 * No effect.
+		 * Invalidates the sub-session, clearing out its data. Attributes which are {@link HttpSessionBindingListener}s
+		 * are told they have been unbound.
 		 */
 		@Override
 		public void invalidate() {
@@ -324,8 +630,27 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 				throw new IllegalStateException("Session has already been invalidated");
 			}
 
+			invalidateQuietly();
+		}
+
+		/**
+		 * Invalidates the sub-session if it has not already been invalidated.
+		 */
+		private synchronized void invalidateQuietly() {
+			if (attributes == null) {
+				return;
+			}
+
+			Map<String, Object> unbound = attributes;
 			invalid = true;
 			attributes = null;
+
+			for (Map.Entry<String, Object> entry : unbound.entrySet()) {
+				if (entry.getValue() instanceof HttpSessionBindingListener) {
+					((HttpSessionBindingListener) entry.getValue()).valueUnbound(
+							new HttpSessionBindingEvent(this, entry.getKey(), entry.getValue()));
+				}
+			}
 		}
 
 		/**
@@ -357,7 +682,7 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 		 * @param name the attribute name.
 		 */
 		@Override
-		public void removeAttribute(final String name) {
+		public synchronized void removeAttribute(final String name) {
 			if (invalid) {
 				throw new IllegalStateException("Session has been invalidated");
 			}
@@ -381,7 +706,7 @@ public final class SubSessionHttpServletRequestWrapper extends HttpServletReques
 		 * @param value the attribute value.
 		 */
 		@Override
-		public void setAttribute(final String name, final Object value) {
+		public synchronized void setAttribute(final String name, final Object value) {
 			if (invalid) {
 				throw new IllegalStateException("Session has been invalidated");
 			}
@@ -0,0 +1,613 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.WebUtilities;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.StreamUtil;
+import com.github.bordertech.wcomponents.util.SystemException;
+import com.github.bordertech.wcomponents.util.ThemeUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * An in-memory cache of theme resources served by {@link ServletUtil#handleThemeResourceRequest}. Each cached resource
+ * holds its content, a gzip variant for compressible content types and an ETag computed from the content. A brotli
+ * variant is also held if the theme contains a precompressed copy of the resource with a ".br" suffix.
+ * </p>
+ * <p>
+ * The cache is bounded by the total number of bytes held, see {@link ConfigurationProperties#getThemeResourceCacheSize()}.
+ * Space is reserved for a resource before it is read. Once full, further resources are served from the class path
+ * without being cached, and are remembered so they are not read again to be cached. Resources which are too large to
+ * cache are always served from the class path. A compressed variant is only held if there is room for it.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+public final class ThemeResourceCache {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(ThemeResourceCache.class);
+
+	/**
+	 * The smallest resource which will be compressed.
+	 */
+	private static final int MIN_COMPRESS_SIZE = 256;
+
+	/**
+	 * The suffix of precompressed brotli resources.
+	 */
+	private static final String BROTLI_SUFFIX = ".br";
+
+	/**
+	 * The cached resources, keyed by theme file name.
+	 */
+	private static final Map<String, ThemeResource> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * The theme file names of the resources which did not fit in the cache.
+	 */
+	private static final Set<String> NOT_CACHED = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The total number of bytes held in the cache.
+	 */
+	private static final AtomicLong CACHED_BYTES = new AtomicLong();
+
+	/**
+	 * Prevent instantiation of this class.
+	 */
+	private ThemeResourceCache() {
+	}
+
+	/**
+	 * Retrieves a theme resource, loading it into the cache if necessary.
+	 *
+	 * @param fileName the theme file name, which must already have been checked.
+	 * @return the resource, or null if the resource does not exist.
+	 * @throws IOException if there is an error reading the resource.
+	 */
+	static ThemeResource getResource(final String fileName) throws IOException {
+		ThemeResource resource = CACHE.get(fileName);
+
+		if (resource != null) {
+			return resource;
+		}
+
+		URL url = findResource(fileName);
+
+		if (url == null) {
+			return null;
+		}
+
+		resource = load(fileName, url);
+
+		if (resource.isCached()) {
+			ThemeResource existing = CACHE.putIfAbsent(fileName, resource);
+
+			if (existing != null) {
+				// Another thread loaded the resource first
+				CACHED_BYTES.addAndGet(-resource.getCachedSize());
+				return existing;
+			}
+		}
+
+		return resource;
+	}
+
+	/**
+	 * Loads every resource in the theme into the cache. Only themes packaged in a jar file or a directory on the class
+	 * path can be listed. Resources are loaded until the cache is full.
+	 *
+	 * @return the number of resources loaded.
+	 */
+	public static int warm() {
+		String base = ThemeUtil.getThemeBase();
+		URL url = ThemeResourceCache.class.getResource(base + "version.properties");
+
+		if (url == null) {
+			LOG.warn("Unable to find theme " + base + " to load into the cache");
+			return 0;
+		}
+
+		int count = 0;
+
+		try {
+			for (String fileName : listThemeFiles(url, base.substring(1))) {
+				ThemeResource resource = fileName.endsWith(BROTLI_SUFFIX) ? null : getResource(fileName);
+
+				if (resource != null && resource.isCached()) {
+					count++;
+				} else if (resource != null) {
+					resource.close();
+				}
+			}
+		} catch (IOException | URISyntaxException e) {
+			throw new SystemException("Failed to load theme resources from " + url, e);
+		}
+
+		LOG.info("Loaded " + count + " theme resources (" + CACHED_BYTES.get() + " bytes) into the cache");
+		return count;
+	}
+
+	/**
+	 * Removes all the resources from the cache.
+	 */
+	public static void clear() {
+		NOT_CACHED.clear();
+
+		for (String fileName : CACHE.keySet()) {
+			ThemeResource resource = CACHE.remove(fileName);
+
+			if (resource != null) {
+				CACHED_BYTES.addAndGet(-resource.getCachedSize());
+			}
+		}
+	}
+
+	/**
+	 * @return the number of resources in the cache.
+	 */
+	public static int getSize() {
+		return CACHE.size();
+	}
+
+	/**
+	 * @return the total number of bytes held in the cache, including compressed variants.
+	 */
+	public static long getCachedBytes() {
+		return CACHED_BYTES.get();
+	}
+
+	/**
+	 * Finds a theme resource on the class path.
+	 *
+	 * @param fileName the theme file name.
+	 * @return the URL of the resource, or null if it does not exist.
+	 */
+	private static URL findResource(final String fileName) {
+		URL url = null;
+
+		// Check for project translation file
+		if (fileName.startsWith(ServletUtil.THEME_TRANSLATION_RESOURCE_PREFIX)) {
+			String resourceFileName = fileName.substring(ServletUtil.THEME_TRANSLATION_RESOURCE_PREFIX.length());
+			url = ServletUtil.class.getResource(ServletUtil.THEME_PROJECT_TRANSLATION_RESOURCE_PATH + resourceFileName);
+		}
+
+		// Load from the theme path
+		if (url == null) {
+			url = ServletUtil.class.getResource(ThemeUtil.getThemeBase() + fileName);
+		}
+
+		return url;
+	}
+
+	/**
+	 * Loads a resource, reserving space for it in the cache if it can be cached. An uncached resource is read from the
+	 * connection opened to load it.
+	 *
+	 * @param fileName the theme file name.
+	 * @param url the URL of the resource.
+	 * @return the resource.
+	 * @throws IOException if there is an error reading the resource.
+	 */
+	private static ThemeResource load(final String fileName, final URL url) throws IOException {
+		URLConnection connection = url.openConnection();
+		long length = connection.getContentLengthLong();
+		long lastModified = connection.getLastModified();
+		String contentType = WebUtilities.getContentType(fileName);
+
+		if (!ConfigurationProperties.getThemeResourceCache() || NOT_CACHED.contains(fileName)
+				|| length < 0 || length > ConfigurationProperties.getThemeResourceCacheMaxFileSize()) {
+			return new ThemeResource(connection, contentType, length, lastModified);
+		}
+
+		if (!reserve(length)) {
+			// No room, serve the resource uncached from now on
+			NOT_CACHED.add(fileName);
+			return new ThemeResource(connection, contentType, length, lastModified);
+		}
+
+		byte[] content;
+
+		try (InputStream in = connection.getInputStream()) {
+			content = StreamUtil.getBytes(in);
+		} catch (IOException e) {
+			CACHED_BYTES.addAndGet(-length);
+			throw e;
+		}
+
+		CACHED_BYTES.addAndGet(content.length - length);
+
+		byte[] gzip = null;
+
+		// The gzip variant is only kept if smaller than the content, so reserve the content length while compressing
+		if (isCompressible(contentType) && content.length >= MIN_COMPRESS_SIZE && reserve(content.length)) {
+			gzip = gzip(content);
+			CACHED_BYTES.addAndGet((gzip == null ? 0 : gzip.length) - content.length);
+		}
+
+		byte[] brotli = loadBrotli(fileName);
+
+		return new ThemeResource(contentType, content, gzip, brotli, lastModified);
+	}
+
+	/**
+	 * Reserves space in the cache.
+	 *
+	 * @param size the number of bytes to reserve.
+	 * @return true if the space was reserved, false if there is no room.
+	 */
+	private static boolean reserve(final long size) {
+		if (CACHED_BYTES.addAndGet(size) > ConfigurationProperties.getThemeResourceCacheSize()) {
+			CACHED_BYTES.addAndGet(-size);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Loads the precompressed brotli variant of a resource, reserving space for it in the cache.
+	 *
+	 * @param fileName the theme file name.
+	 * @return the brotli variant, or null if there is none or there is no room for it.
+	 * @throws IOException if there is an error reading the resource.
+	 */
+	private static byte[] loadBrotli(final String fileName) throws IOException {
+		URL url = findResource(fileName + BROTLI_SUFFIX);
+
+		if (url == null) {
+			return null;
+		}
+
+		URLConnection connection = url.openConnection();
+		long length = connection.getContentLengthLong();
+
+		try (InputStream in = connection.getInputStream()) {
+			if (length < 0 || !reserve(length)) {
+				return null;
+			}
+
+			byte[] brotli = StreamUtil.getBytes(in);
+			CACHED_BYTES.addAndGet(brotli.length - length);
+			return brotli;
+		}
+	}
+
+	/**
+	 * Indicates whether content of the given type is worth compressing.
+	 *
+	 * @param contentType the content type.
+	 * @return true if the content type is text based.
+	 */
+	private static boolean isCompressible(final String contentType) {
+		return contentType != null && (contentType.startsWith("text/")
+				|| contentType.contains("javascript")
+				|| contentType.contains("json")
+				|| contentType.contains("xml"));
+	}
+
+	/**
+	 * Compresses content with gzip.
+	 *
+	 * @param content the content to compress.
+	 * @return the compressed content, or null if compressing does not make the content smaller.
+	 * @throws IOException if there is an error compressing the content.
+	 */
+	private static byte[] gzip(final byte[] content) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 2);
+
+		try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+			out.write(content);
+		}
+
+		return bytes.size() < content.length ? bytes.toByteArray() : null;
+	}
+
+	/**
+	 * Lists the theme files packaged alongside the given theme resource.
+	 *
+	 * @param url the URL of a resource in the theme.
+	 * @param base the theme base path, without a leading slash.
+	 * @return the theme file names.
+	 * @throws IOException if there is an error reading the theme.
+	 * @throws URISyntaxException if the theme directory can not be determined.
+	 */
+	private static Iterable<String> listThemeFiles(final URL url, final String base) throws IOException,
+			URISyntaxException {
+		Deque<String> fileNames = new ArrayDeque<>();
+
+		if ("jar".equals(url.getProtocol())) {
+			JarURLConnection connection = (JarURLConnection) url.openConnection();
+			connection.setUseCaches(false);
+
+			try (JarFile jar = connection.getJarFile()) {
+				for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements();) {
+					JarEntry entry = entries.nextElement();
+
+					if (!entry.isDirectory() && entry.getName().startsWith(base)) {
+						fileNames.add(entry.getName().substring(base.length()));
+					}
+				}
+			}
+		} else if ("file".equals(url.getProtocol())) {
+			File dir = new File(url.toURI()).getParentFile();
+			listFiles(dir, "", fileNames);
+		} else {
+			LOG.warn("Unable to list theme resources from " + url);
+		}
+
+		return fileNames;
+	}
+
+	/**
+	 * Lists the files in a directory and its sub-directories.
+	 *
+	 * @param dir the directory to list.
+	 * @param prefix the path of the directory relative to the theme.
+	 * @param fileNames the list to add the file names to.
+	 */
+	private static void listFiles(final File dir, final String prefix, final Deque<String> fileNames) {
+		File[] files = dir.listFiles();
+
+		if (files == null) {
+			return;
+		}
+
+		for (File file : files) {
+			if (file.isDirectory()) {
+				listFiles(file, prefix + file.getName() + '/', fileNames);
+			} else {
+				fileNames.add(prefix + file.getName());
+			}
+		}
+	}
+
+	/**
+	 * Computes an ETag from the content of a resource.
+	 *
+	 * @param content the content.
+	 * @return a strong ETag for the content.
+	 */
+	private static String computeETag(final byte[] content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+			return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 12)) + '"';
+		} catch (NoSuchAlgorithmException e) {
+			throw new SystemException("SHA-256 is not available", e);
+		}
+	}
+
+	/**
+	 * A theme resource. Cached resources hold their content in memory, while uncached resources are read from the
+	 * class path each time they are served.
+	 */
+	static final class ThemeResource {
+
+		/**
+		 * The URL of an uncached resource, or null for a cached resource.
+		 */
+		private final URL url;
+
+		/**
+		 * The connection opened to load an uncached resource, until it is read or closed.
+		 */
+		private URLConnection connection;
+
+		/**
+		 * The content type.
+		 */
+		private final String contentType;
+
+		/**
+		 * The content, or null for an uncached resource.
+		 */
+		private final byte[] content;
+
+		/**
+		 * The gzip compressed content, or null.
+		 */
+		private final byte[] gzip;
+
+		/**
+		 * The brotli compressed content, or null.
+		 */
+		private final byte[] brotli;
+
+		/**
+		 * The content length, or -1 if not known.
+		 */
+		private final long length;
+
+		/**
+		 * The last modified time, or 0 if not known.
+		 */
+		private final long lastModified;
+
+		/**
+		 * The ETag of the uncompressed content.
+		 */
+		private final String eTag;
+
+		/**
+		 * Creates a cached ThemeResource.
+		 *
+		 * @param contentType the content type.
+		 * @param content the content.
+		 * @param gzip the gzip compressed content, or null.
+		 * @param brotli the brotli compressed content, or null.
+		 * @param lastModified the last modified time.
+		 */
+		private ThemeResource(final String contentType, final byte[] content, final byte[] gzip, final byte[] brotli,
+				final long lastModified) {
+			this.url = null;
+			this.contentType = contentType;
+			this.content = content;
+			this.gzip = gzip;
+			this.brotli = brotli;
+			this.length = content.length;
+			this.lastModified = lastModified;
+			this.eTag = computeETag(content);
+		}
+
+		/**
+		 * Creates an uncached ThemeResource.
+		 *
+		 * @param connection the connection opened to load the resource.
+		 * @param contentType the content type.
+		 * @param length the content length, or -1 if not known.
+		 * @param lastModified the last modified time.
+		 */
+		private ThemeResource(final URLConnection connection, final String contentType, final long length,
+				final long lastModified) {
+			this.url = connection.getURL();
+			this.connection = connection;
+			this.contentType = contentType;
+			this.content = null;
+			this.gzip = null;
+			this.brotli = null;
+			this.length = length;
+			this.lastModified = lastModified;
+			// Without the content, identify the resource by the project version and file details
+			this.eTag = "\"" + WebUtilities.getProjectVersion() + '-' + Long.toHexString(lastModified) + '-' + length
+					+ '"';
+		}
+
+		/**
+		 * @return true if the resource content is held in memory.
+		 */
+		boolean isCached() {
+			return content != null;
+		}
+
+		/**
+		 * @return the number of bytes this resource holds in memory.
+		 */
+		private long getCachedSize() {
+			return content == null ? 0
+					: content.length + (gzip == null ? 0 : gzip.length) + (brotli == null ? 0 : brotli.length);
+		}
+
+		/**
+		 * @return the content type.
+		 */
+		String getContentType() {
+			return contentType;
+		}
+
+		/**
+		 * @return the content length, or -1 if not known.
+		 */
+		long getLength() {
+			return length;
+		}
+
+		/**
+		 * @return the last modified time, or 0 if not known.
+		 */
+		long getLastModified() {
+			return lastModified;
+		}
+
+		/**
+		 * @return the ETag of the uncompressed content.
+		 */
+		String getETag() {
+			return eTag;
+		}
+
+		/**
+		 * Retrieves the ETag for an encoding of the content. Each encoding is a different representation, so has its
+		 * own ETag.
+		 *
+		 * @param encoding the content encoding, or null for the uncompressed content.
+		 * @return the ETag for the encoding.
+		 */
+		String getETag(final String encoding) {
+			return encoding == null ? eTag : eTag.substring(0, eTag.length() - 1) + '-' + encoding + '"';
+		}
+
+		/**
+		 * @return true if the resource has compressed variants.
+		 */
+		boolean isCompressed() {
+			return gzip != null || brotli != null;
+		}
+
+		/**
+		 * Retrieves an encoded variant of the content.
+		 *
+		 * @param encoding the content encoding, either "gzip" or "br".
+		 * @return the encoded content, or null if there is no such variant.
+		 */
+		byte[] getEncodedContent(final String encoding) {
+			if ("gzip".equals(encoding)) {
+				return gzip;
+			} else if ("br".equals(encoding)) {
+				return brotli;
+			}
+			return null;
+		}
+
+		/**
+		 * Retrieves the uncompressed content of a cached resource.
+		 *
+		 * @return the content, or null for an uncached resource.
+		 */
+		byte[] getContent() {
+			return content;
+		}
+
+		/**
+		 * Opens a stream to read the content of an uncached resource. The connection opened to load the resource is
+		 * read the first time.
+		 *
+		 * @return a stream to read the content.
+		 * @throws IOException if there is an error opening the resource.
+		 */
+		InputStream openStream() throws IOException {
+			URLConnection opened = connection;
+			connection = null;
+			return opened == null ? url.openStream() : opened.getInputStream();
+		}
+
+		/**
+		 * Releases the connection opened to load an uncached resource, if it has not been read.
+		 */
+		void close() {
+			URLConnection opened = connection;
+			connection = null;
+
+			if (opened != null) {
+				try {
+					StreamUtil.safeClose(opened.getInputStream());
+				} catch (IOException e) {
+					LOG.debug("Unable to close theme resource " + url, e);
+				}
+			}
+		}
+	}
+}
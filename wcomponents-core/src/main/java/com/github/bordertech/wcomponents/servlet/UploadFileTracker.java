@@ -0,0 +1,117 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpSessionBindingEvent;
+import javax.servlet.http.HttpSessionBindingListener;
+import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.disk.DiskFileItem;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Tracks the temporary files of the uploads made in a session, so they are deleted when the session, and the UIContext
+ * held in it, ends. The temporary file of an upload which is discarded before then is deleted when its
+ * {@link DiskFileItem} is garbage collected.
+ *
+ * @since 1.5.29
+ */
+final class UploadFileTracker implements HttpSessionBindingListener, Serializable {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(UploadFileTracker.class);
+
+	/**
+	 * The session attribute key for the tracker.
+	 */
+	static final String SESSION_KEY = UploadFileTracker.class.getName();
+
+	/**
+	 * The temporary files uploaded in the session.
+	 */
+	private final Set<File> files = new HashSet<>();
+
+	/**
+	 * Tracks the temporary file of an uploaded file item, if it has been written to disk.
+	 *
+	 * @param request the request the file was uploaded in.
+	 * @param item the uploaded file item.
+	 */
+	static void track(final HttpServletRequest request, final FileItem item) {
+		if (!(item instanceof DiskFileItem) || item.isInMemory()) {
+			return;
+		}
+
+		File file = ((DiskFileItem) item).getStoreLocation();
+		HttpSession session = request.getSession(false);
+		if (file == null || session == null) {
+			return;
+		}
+
+		UploadFileTracker tracker;
+		// Replacing a tracker would delete its files, so only one tracker is created for a session
+		synchronized (session) {
+			tracker = (UploadFileTracker) session.getAttribute(SESSION_KEY);
+			if (tracker == null) {
+				tracker = new UploadFileTracker();
+				session.setAttribute(SESSION_KEY, tracker);
+			}
+		}
+		tracker.add(file);
+	}
+
+	/**
+	 * Files which have already been deleted are only forgotten when the session ends, to avoid checking the files on
+	 * each upload.
+	 *
+	 * @param file the temporary file to track.
+	 */
+	private synchronized void add(final File file) {
+		files.add(file);
+	}
+
+	/**
+	 * @return the number of temporary files tracked.
+	 */
+	synchronized int size() {
+		return files.size();
+	}
+
+	/**
+	 * Does nothing.
+	 *
+	 * @param event the session binding event.
+	 */
+	@Override
+	public void valueBound(final HttpSessionBindingEvent event) {
+		// Do nothing
+	}
+
+	/**
+	 * Deletes the temporary files when the tracker is removed from the session.
+	 *
+	 * @param event the session binding event.
+	 */
+	@Override
+	public void valueUnbound(final HttpSessionBindingEvent event) {
+		List<File> delete;
+		synchronized (this) {
+			delete = new ArrayList<>(files);
+			files.clear();
+		}
+
+		for (File file : delete) {
+			if (file.exists() && !file.delete()) {
+				LOG.warn("Unable to delete uploaded file " + file);
+			}
+		}
+	}
+}
@@ -7,6 +7,7 @@ import com.github.bordertech.wcomponents.WComponent;
 import com.github.bordertech.wcomponents.WLabel;
 import com.github.bordertech.wcomponents.container.InterceptorComponent;
 import com.github.bordertech.wcomponents.servlet.HttpServletHelper.HttpServletEnvironment;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import java.io.IOException;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -77,6 +78,10 @@ public class WServlet extends HttpServlet {
 	public void init() throws ServletException {
 		// To enable server-side generation of images
 		System.setProperty("java.awt.headless", "true");
+
+		if (ConfigurationProperties.getThemeResourceCacheWarm()) {
+			ThemeResourceCache.warm();
+		}
 	}
 
 	/**
@@ -105,7 +110,11 @@ public class WServlet extends HttpServlet {
 			if (ServletUtil.isEnableSubSessions()) {
 				SubSessionHttpServletRequestWrapper requestWrapper = new SubSessionHttpServletRequestWrapper(
 						httpServletRequest);
-				serviceInt(requestWrapper, httpServletResponse);
+				try {
+					serviceInt(requestWrapper, httpServletResponse);
+				} finally {
+					requestWrapper.requestComplete();
+				}
 			} else {
 				serviceInt(httpServletRequest, httpServletResponse);
 			}
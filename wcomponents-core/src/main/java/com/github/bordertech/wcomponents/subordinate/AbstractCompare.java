@@ -88,8 +88,7 @@ public abstract class AbstractCompare extends AbstractCondition {
 	@Override
 	protected boolean execute() {
 		// Disabled triggers are always false
-		if ((trigger instanceof Disableable) && ((Disableable) trigger).isDisabled()
-				&& !(trigger instanceof Input && ((Input) trigger).isReadOnly())) {
+		if (isTriggerDisabled()) {
 			return false;
 		}
 
@@ -108,8 +107,7 @@ public abstract class AbstractCompare extends AbstractCondition {
 	@Override
 	protected boolean execute(final Request request) {
 		// Disabled triggers are always false
-		if ((trigger instanceof Disableable) && ((Disableable) trigger).isDisabled()
-				&& !(trigger instanceof Input && ((Input) trigger).isReadOnly())) {
+		if (isTriggerDisabled()) {
 			return false;
 		}
 
@@ -119,6 +117,17 @@ public abstract class AbstractCompare extends AbstractCondition {
 		return executeCompare(triggerValue, compareValue);
 	}
 
+	/**
+	 * Indicates whether the trigger is disabled. Disabled triggers always compare as false, unless they are read-only
+	 * inputs.
+	 *
+	 * @return true if the trigger is disabled, otherwise false
+	 */
+	protected boolean isTriggerDisabled() {
+		return (trigger instanceof Disableable) && ((Disableable) trigger).isDisabled()
+				&& !(trigger instanceof Input && ((Input) trigger).isReadOnly());
+	}
+
 	/**
 	 * @param triggerValue the trigger value
 	 * @param compareValue the compare value
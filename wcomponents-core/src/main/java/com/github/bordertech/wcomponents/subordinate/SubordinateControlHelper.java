@@ -6,9 +6,15 @@ import com.github.bordertech.wcomponents.UIContext;
 import com.github.bordertech.wcomponents.UIContextHolder;
 import com.github.bordertech.wcomponents.WebUtilities;
 import com.github.bordertech.wcomponents.container.SubordinateControlInterceptor;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.SystemException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -31,6 +37,31 @@ public final class SubordinateControlHelper {
 	 */
 	private static final String SUBORDINATE_CONTROL_SESSION_KEY = "subordinate.control.active";
 
+	/**
+	 * The key we use to store the trigger values from when the subordinate controls were last applied.
+	 */
+	private static final String SUBORDINATE_CONTROL_STATE_KEY = "subordinate.control.state";
+
+	/**
+	 * The request attribute holding the number of rules evaluated for the request.
+	 */
+	public static final String RULES_EVALUATED_ATTRIBUTE = "subordinate.rules.evaluated";
+
+	/**
+	 * The request attribute holding the number of rules which did not need to be evaluated for the request.
+	 */
+	public static final String RULES_SKIPPED_ATTRIBUTE = "subordinate.rules.skipped";
+
+	/**
+	 * The total number of rules evaluated.
+	 */
+	private static final LongAdder EVALUATED = new LongAdder();
+
+	/**
+	 * The total number of rules which did not need to be evaluated.
+	 */
+	private static final LongAdder SKIPPED = new LongAdder();
+
 	/**
 	 * Prevent instantiation of this class.
 	 */
@@ -65,7 +96,15 @@ public final class SubordinateControlHelper {
 	}
 
 	/**
+	 * <p>
 	 * Apply the registered Subordinate Controls.
+	 * </p>
+	 * <p>
+	 * When applying the values from the request, only the rules affected by triggers which have changed since the
+	 * controls were last applied are evaluated, unless this has been turned off by
+	 * {@link ConfigurationProperties#getSubordinateIncremental()}. All rules are evaluated when using the values from
+	 * the component models, as the application may have changed the state of the components.
+	 * </p>
 	 *
 	 * @param request the request being processed.
 	 * @param useRequestValues the flag to indicate the controls should use values from the request.
@@ -77,7 +116,9 @@ public final class SubordinateControlHelper {
 			return;
 		}
 
-		// Process Controls
+		List<ComponentWithContext> found = new ArrayList<>(controls.size());
+
+		// Find Controls
 		for (String controlId : controls) {
 			// Find the Component for this ID
 			ComponentWithContext controlWithContext = WebUtilities.getComponentById(controlId,
@@ -93,6 +134,29 @@ public final class SubordinateControlHelper {
 				continue;
 			}
 
+			found.add(controlWithContext);
+		}
+
+		if (useRequestValues && ConfigurationProperties.getSubordinateIncremental()) {
+			applyChangedControls(request, found);
+		} else {
+			applyAllControls(request, found, useRequestValues);
+		}
+	}
+
+	/**
+	 * Apply all the rules of the given controls.
+	 *
+	 * @param request the request being processed.
+	 * @param controls the controls to apply.
+	 * @param useRequestValues the flag to indicate the controls should use values from the request.
+	 */
+	private static void applyAllControls(final Request request, final List<ComponentWithContext> controls,
+			final boolean useRequestValues) {
+		int evaluated = 0;
+
+		// Process Controls
+		for (ComponentWithContext controlWithContext : controls) {
 			WSubordinateControl control = (WSubordinateControl) controlWithContext.getComponent();
 			UIContext uic = controlWithContext.getContext();
 
@@ -104,10 +168,114 @@ public final class SubordinateControlHelper {
 				} else {
 					control.applyTheControls();
 				}
+				evaluated += control.getRules().size();
+			} finally {
+				UIContextHolder.popContext();
+			}
+		}
+
+		Map<String, Object[]> state = null;
+
+		// Record the trigger values the controls were applied with, once all the controls have been applied
+		if (!useRequestValues) {
+			state = new HashMap<>(controls.size() * 2);
+
+			for (ComponentWithContext controlWithContext : controls) {
+				WSubordinateControl control = (WSubordinateControl) controlWithContext.getComponent();
+				UIContextHolder.pushContext(controlWithContext.getContext());
+
+				try {
+					state.put(control.getId(), SubordinateRuleGraph.getTriggerState(control));
+				} finally {
+					UIContextHolder.popContext();
+				}
+			}
+		}
+
+		setControlState(state);
+		recordCounts(request, evaluated, 0);
+	}
+
+	/**
+	 * Apply the rules of the given controls which are affected by changes in the request values.
+	 *
+	 * @param request the request being processed.
+	 * @param controls the controls to apply.
+	 */
+	private static void applyChangedControls(final Request request, final List<ComponentWithContext> controls) {
+		UIContext primary = UIContextHolder.getCurrentPrimaryUIContext();
+		SubordinateRuleGraph graph = new SubordinateRuleGraph(
+				(Map<String, Object[]>) primary.getFwkAttribute(SUBORDINATE_CONTROL_STATE_KEY));
+
+		// The state is only valid for the first request after the controls were applied
+		setControlState(null);
+
+		for (ComponentWithContext controlWithContext : controls) {
+			WSubordinateControl control = (WSubordinateControl) controlWithContext.getComponent();
+			UIContext uic = controlWithContext.getContext();
+
+			UIContextHolder.pushContext(uic);
+
+			try {
+				graph.addControl(control, uic, request);
 			} finally {
 				UIContextHolder.popContext();
 			}
 		}
+
+		int evaluated = graph.execute(request);
+		recordCounts(request, evaluated, graph.size() - evaluated);
+	}
+
+	/**
+	 * Stores the trigger values the controls were applied with.
+	 *
+	 * @param state the trigger values keyed by control id, or null to clear them.
+	 */
+	private static void setControlState(final Map<String, Object[]> state) {
+		UIContext uic = UIContextHolder.getCurrentPrimaryUIContext();
+		if (uic != null) {
+			uic.setFwkAttribute(SUBORDINATE_CONTROL_STATE_KEY, state);
+		}
+	}
+
+	/**
+	 * Records the number of rules evaluated and skipped. The counts for the request accumulate over the phases of the
+	 * request.
+	 *
+	 * @param request the request being processed.
+	 * @param evaluated the number of rules evaluated.
+	 * @param skipped the number of rules which did not need to be evaluated.
+	 */
+	private static void recordCounts(final Request request, final int evaluated, final int skipped) {
+		EVALUATED.add(evaluated);
+		SKIPPED.add(skipped);
+
+		if (request != null) {
+			Integer previousEvaluated = (Integer) request.getAttribute(RULES_EVALUATED_ATTRIBUTE);
+			Integer previousSkipped = (Integer) request.getAttribute(RULES_SKIPPED_ATTRIBUTE);
+			request.setAttribute(RULES_EVALUATED_ATTRIBUTE,
+					evaluated + (previousEvaluated == null ? 0 : previousEvaluated));
+			request.setAttribute(RULES_SKIPPED_ATTRIBUTE, skipped + (previousSkipped == null ? 0 : previousSkipped));
+		}
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Subordinate rules evaluated: " + evaluated + ", skipped: " + skipped);
+		}
+	}
+
+	/**
+	 * @return the total number of subordinate rules evaluated.
+	 */
+	public static long getEvaluatedRuleCount() {
+		return EVALUATED.sum();
+	}
+
+	/**
+	 * @return the total number of subordinate rules which did not need to be evaluated.
+	 */
+	public static long getSkippedRuleCount() {
+		return SKIPPED.sum();
 	}
 
 	/**
@@ -117,6 +285,7 @@ public final class SubordinateControlHelper {
 		UIContext uic = UIContextHolder.getCurrentPrimaryUIContext();
 		if (uic != null) {
 			uic.setFwkAttribute(SUBORDINATE_CONTROL_SESSION_KEY, null);
+			uic.setFwkAttribute(SUBORDINATE_CONTROL_STATE_KEY, null);
 		}
 	}
 
@@ -0,0 +1,506 @@
+package com.github.bordertech.wcomponents.subordinate;
+
+import com.github.bordertech.wcomponents.Container;
+import com.github.bordertech.wcomponents.Request;
+import com.github.bordertech.wcomponents.SubordinateTarget;
+import com.github.bordertech.wcomponents.SubordinateTrigger;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WComponentGroup;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ * SubordinateRuleGraph tracks the dependencies between the rules of the subordinate controls on a page, so that only
+ * the rules affected by a change in trigger values need to be evaluated when the values on a request are applied.
+ * </p>
+ * <p>
+ * A rule must be evaluated if one of its triggers has changed since the controls were last applied, if it reads a
+ * trigger which another rule can enable or disable, or if it acts on a component which is also the target or trigger
+ * of another rule which must be evaluated. The target of an action on a container includes the components in the
+ * container. The triggers of a rule which would be skipped are read again once other rules have been evaluated, in case
+ * an action has changed them. Rules with conditions or actions which are not known to this class are always evaluated.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+final class SubordinateRuleGraph {
+
+	/**
+	 * The trigger values which can not be compared between requests.
+	 */
+	enum TriggerState {
+		/**
+		 * The trigger was disabled, so its value is ignored.
+		 */
+		DISABLED,
+		/**
+		 * The trigger value could not be stored, so is always treated as changed.
+		 */
+		UNKNOWN
+	}
+
+	/**
+	 * The rules of all the controls, in the order they are applied.
+	 */
+	private final List<Node> nodes = new ArrayList<>();
+
+	/**
+	 * The rules which act on each component.
+	 */
+	private final Map<Object, List<Node>> byTarget = new IdentityHashMap<>();
+
+	/**
+	 * The rules which read each trigger.
+	 */
+	private final Map<Object, List<Node>> byTrigger = new IdentityHashMap<>();
+
+	/**
+	 * The trigger values from when the controls were last applied, keyed by control id.
+	 */
+	private final Map<String, Object[]> previousState;
+
+	/**
+	 * Indicates whether the targets of every rule are known.
+	 */
+	private boolean targetsKnown = true;
+
+	/**
+	 * Creates a SubordinateRuleGraph.
+	 *
+	 * @param previousState the trigger values from when the controls were last applied, may be null.
+	 */
+	SubordinateRuleGraph(final Map<String, Object[]> previousState) {
+		this.previousState = previousState == null ? Collections.<String, Object[]>emptyMap() : previousState;
+	}
+
+	/**
+	 * Adds the rules of a control to the graph. The current context must be the context of the control.
+	 *
+	 * @param control the control to add.
+	 * @param uic the context of the control.
+	 * @param request the request being processed.
+	 */
+	void addControl(final WSubordinateControl control, final UIContext uic, final Request request) {
+		List<AbstractCompare> compares = getCompares(control);
+		Object[] previous = previousState.get(control.getId());
+		Object[] current = getTriggerState(compares, request);
+		Map<SubordinateTrigger, Object> currentByTrigger = new IdentityHashMap<>();
+		Set<SubordinateTrigger> changed = null;
+
+		for (int i = 0; i < current.length; i++) {
+			currentByTrigger.put(compares.get(i).getTrigger(), current[i]);
+		}
+
+		if (previous != null && previous.length == current.length) {
+			changed = Collections.newSetFromMap(new IdentityHashMap<SubordinateTrigger, Boolean>());
+
+			for (int i = 0; i < current.length; i++) {
+				if (current[i] == TriggerState.UNKNOWN || !Objects.equals(previous[i], current[i])) {
+					changed.add(compares.get(i).getTrigger());
+				}
+			}
+		}
+
+		for (Rule rule : control.getRules()) {
+			Node node = new Node(rule, uic);
+			node.compares = getRuleCompares(rule);
+			node.targets = getTargets(rule);
+			node.dirty = changed == null || node.compares == null || node.targets == null;
+
+			if (node.compares != null) {
+				node.triggerState = new Object[node.compares.size()];
+
+				for (int i = 0; i < node.triggerState.length; i++) {
+					SubordinateTrigger trigger = node.compares.get(i).getTrigger();
+					node.triggerState[i] = currentByTrigger.get(trigger);
+					node.dirty = node.dirty || changed.contains(trigger);
+					index(byTrigger, trigger, node);
+				}
+			}
+
+			if (node.targets == null) {
+				targetsKnown = false;
+			} else {
+				for (Object target : node.targets) {
+					index(byTarget, target, node);
+				}
+			}
+
+			nodes.add(node);
+		}
+	}
+
+	/**
+	 * Evaluates the rules which may be affected by the changed triggers, in the order they were added.
+	 *
+	 * @param request the request being processed.
+	 * @return the number of rules which were evaluated.
+	 */
+	int execute(final Request request) {
+		Deque<Node> pending = new ArrayDeque<>();
+
+		for (Node node : nodes) {
+			if (!targetsKnown) {
+				node.dirty = true;
+			} else if (!node.dirty) {
+				// Rules reading a trigger which another rule can change are always evaluated
+				for (AbstractCompare compare : node.compares) {
+					if (byTarget.containsKey(compare.getTrigger())) {
+						node.dirty = true;
+						break;
+					}
+				}
+			}
+
+			if (node.dirty) {
+				pending.add(node);
+			}
+		}
+
+		markDependents(pending);
+
+		int evaluated = 0;
+
+		for (Node node : nodes) {
+			if (!node.dirty && evaluated > 0 && isTriggerStateChanged(node, request)) {
+				// A rule which has been evaluated changed a trigger of this rule
+				node.dirty = true;
+				pending.add(node);
+				markDependents(pending);
+			}
+
+			if (node.dirty) {
+				UIContextHolder.pushContext(node.uic);
+
+				try {
+					node.rule.execute(request);
+				} finally {
+					UIContextHolder.popContext();
+				}
+
+				evaluated++;
+			}
+		}
+
+		return evaluated;
+	}
+
+	/**
+	 * Marks the rules which depend on the pending rules as needing evaluation. Rules which act on or read a component
+	 * changed by another rule must run to leave it in the same state.
+	 *
+	 * @param pending the rules whose dependents need to be marked.
+	 */
+	private void markDependents(final Deque<Node> pending) {
+		while (!pending.isEmpty()) {
+			Node node = pending.remove();
+
+			if (node.targets == null) {
+				continue;
+			}
+
+			for (Object target : node.targets) {
+				markDirty(byTarget.get(target), pending);
+				markDirty(byTrigger.get(target), pending);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the triggers of a rule have changed since the rules were added to the graph, for example when
+	 * another rule has disabled a container holding a trigger.
+	 *
+	 * @param node the rule to check.
+	 * @param request the request being processed.
+	 * @return true if the state of a trigger of the rule has changed.
+	 */
+	private static boolean isTriggerStateChanged(final Node node, final Request request) {
+		for (int i = 0; i < node.triggerState.length; i++) {
+			Object state = getTriggerState(node.compares.get(i), request);
+
+			if (state == TriggerState.UNKNOWN || !Objects.equals(node.triggerState[i], state)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return the number of rules in the graph.
+	 */
+	int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Retrieves the current state of the triggers of a control. The current context must be the context of the
+	 * control.
+	 *
+	 * @param control the control to retrieve the trigger state for.
+	 * @return the state of each distinct trigger used by the control.
+	 */
+	static Object[] getTriggerState(final WSubordinateControl control) {
+		return getTriggerState(getCompares(control), null);
+	}
+
+	/**
+	 * Retrieves the state of the given triggers.
+	 *
+	 * @param compares a compare for each distinct trigger.
+	 * @param request the request to read the trigger values from, or null to use the component models.
+	 * @return the state of each trigger.
+	 */
+	private static Object[] getTriggerState(final List<AbstractCompare> compares, final Request request) {
+		Object[] state = new Object[compares.size()];
+
+		for (int i = 0; i < state.length; i++) {
+			state[i] = getTriggerState(compares.get(i), request);
+		}
+
+		return state;
+	}
+
+	/**
+	 * Retrieves the state of a trigger.
+	 *
+	 * @param compare the compare reading the trigger.
+	 * @param request the request to read the trigger value from, or null to use the component model.
+	 * @return the state of the trigger.
+	 */
+	private static Object getTriggerState(final AbstractCompare compare, final Request request) {
+		if (compare.isTriggerDisabled()) {
+			return TriggerState.DISABLED;
+		}
+
+		Object value = compare.getTriggerValue(request);
+		return value == null || value instanceof Serializable ? value : TriggerState.UNKNOWN;
+	}
+
+	/**
+	 * Retrieves a compare for each distinct trigger used by the rules of a control.
+	 *
+	 * @param control the control to search.
+	 * @return the compares, in the order their triggers are first used.
+	 */
+	private static List<AbstractCompare> getCompares(final WSubordinateControl control) {
+		List<AbstractCompare> compares = new ArrayList<>();
+
+		for (Rule rule : control.getRules()) {
+			collectCompares(rule.getCondition(), compares);
+		}
+
+		Set<SubordinateTrigger> seen = Collections.newSetFromMap(new IdentityHashMap<SubordinateTrigger, Boolean>());
+		List<AbstractCompare> distinct = new ArrayList<>(compares.size());
+
+		for (AbstractCompare compare : compares) {
+			if (seen.add(compare.getTrigger())) {
+				distinct.add(compare);
+			}
+		}
+
+		return distinct;
+	}
+
+	/**
+	 * Retrieves the compares of the triggers read by a rule.
+	 *
+	 * @param rule the rule to search.
+	 * @return the compares in the rule's condition, or null if the condition contains conditions which are not known.
+	 */
+	private static List<AbstractCompare> getRuleCompares(final Rule rule) {
+		List<AbstractCompare> compares = new ArrayList<>();
+
+		if (!collectCompares(rule.getCondition(), compares)) {
+			return null;
+		}
+
+		return compares;
+	}
+
+	/**
+	 * Adds the compares in a condition to the given list.
+	 *
+	 * @param condition the condition to search.
+	 * @param compares the list to add the compares to.
+	 * @return true if all the conditions are known, otherwise false.
+	 */
+	private static boolean collectCompares(final Condition condition, final List<AbstractCompare> compares) {
+		if (condition instanceof AbstractCompare) {
+			compares.add((AbstractCompare) condition);
+			return true;
+		} else if (condition instanceof And) {
+			return collectCompares(((And) condition).getConditions(), compares);
+		} else if (condition instanceof Or) {
+			return collectCompares(((Or) condition).getConditions(), compares);
+		} else if (condition instanceof Not) {
+			return collectCompares(((Not) condition).getCondition(), compares);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Adds the compares in a list of conditions to the given list.
+	 *
+	 * @param conditions the conditions to search.
+	 * @param compares the list to add the compares to.
+	 * @return true if all the conditions are known, otherwise false.
+	 */
+	private static boolean collectCompares(final List<Condition> conditions, final List<AbstractCompare> compares) {
+		boolean known = true;
+
+		for (Condition condition : conditions) {
+			known = collectCompares(condition, compares) && known;
+		}
+
+		return known;
+	}
+
+	/**
+	 * Retrieves the components which may be changed by a rule. The current context must be the context of the rule's
+	 * control, as groups and containers are expanded to their current components.
+	 *
+	 * @param rule the rule to search.
+	 * @return the targets of the rule, or null if the rule contains actions which are not known.
+	 */
+	private static List<Object> getTargets(final Rule rule) {
+		List<Object> targets = new ArrayList<>();
+
+		for (List<Action> actions : Arrays.asList(rule.getOnTrue(), rule.getOnFalse())) {
+			for (Action action : actions) {
+				if (!(action instanceof AbstractAction)) {
+					return null;
+				}
+
+				SubordinateTarget target = action.getTarget();
+
+				if (target instanceof WComponentGroup<?>) {
+					for (WComponent component : ((WComponentGroup<WComponent>) target).getComponents()) {
+						addTarget(targets, component);
+					}
+				} else {
+					addTarget(targets, target);
+				}
+			}
+		}
+
+		return targets;
+	}
+
+	/**
+	 * Adds a component and, if it is a container, the components in it to the targets of a rule. Enabling or showing a
+	 * container also changes the state of the triggers in it.
+	 *
+	 * @param targets the targets of the rule.
+	 * @param target the component to add.
+	 */
+	private static void addTarget(final List<Object> targets, final WComponent target) {
+		targets.add(target);
+
+		if (target instanceof Container) {
+			Container container = (Container) target;
+			final int size = container.getChildCount();
+
+			for (int i = 0; i < size; i++) {
+				addTarget(targets, container.getChildAt(i));
+			}
+		}
+	}
+
+	/**
+	 * Adds a rule to an index.
+	 *
+	 * @param index the index to add to.
+	 * @param key the component the rule uses.
+	 * @param node the rule to add.
+	 */
+	private static void index(final Map<Object, List<Node>> index, final Object key, final Node node) {
+		List<Node> list = index.get(key);
+
+		if (list == null) {
+			list = new ArrayList<>(2);
+			index.put(key, list);
+		}
+
+		if (list.isEmpty() || list.get(list.size() - 1) != node) {
+			list.add(node);
+		}
+	}
+
+	/**
+	 * Marks rules as needing evaluation.
+	 *
+	 * @param list the rules to mark, may be null.
+	 * @param pending the rules whose dependents still need to be marked.
+	 */
+	private static void markDirty(final List<Node> list, final Deque<Node> pending) {
+		if (list != null) {
+			for (Node node : list) {
+				if (!node.dirty) {
+					node.dirty = true;
+					pending.add(node);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A rule in the graph.
+	 */
+	private static final class Node {
+
+		/**
+		 * The rule.
+		 */
+		private final Rule rule;
+
+		/**
+		 * The context of the rule's control.
+		 */
+		private final UIContext uic;
+
+		/**
+		 * The compares of the triggers read by the rule, or null if not known.
+		 */
+		private List<AbstractCompare> compares;
+
+		/**
+		 * The state of each trigger read by the rule when the rule was added.
+		 */
+		private Object[] triggerState;
+
+		/**
+		 * The components changed by the rule, or null if not known.
+		 */
+		private List<Object> targets;
+
+		/**
+		 * Indicates whether the rule must be evaluated.
+		 */
+		private boolean dirty;
+
+		/**
+		 * Creates a Node.
+		 *
+		 * @param rule the rule.
+		 * @param uic the context of the rule's control.
+		 */
+		private Node(final Rule rule, final UIContext uic) {
+			this.rule = rule;
+			this.uic = uic;
+		}
+	}
+}
@@ -15,11 +15,17 @@ import com.github.jknack.handlebars.context.JavaBeanValueResolver;
 import com.github.jknack.handlebars.context.MapValueResolver;
 import com.github.jknack.handlebars.helper.I18nHelper;
 import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+import com.github.jknack.handlebars.io.StringTemplateSource;
 import com.github.jknack.handlebars.io.TemplateLoader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -33,6 +39,10 @@ import org.apache.commons.logging.LogFactory;
  * <li>{@link #MARKDOWN} - Include with value "true" to activate</li>
  * <li>{@link #ESCAPING_STRATEGY} - Include with {@link EscapingStrategy} as the value</li>
  * </ul>
+ * <p>
+ * A handlebars engine is built once for each distinct set of options and shared between renders. When caching is
+ * enabled, compiled inline templates are also held per engine.
+ * </p>
  *
  * @author Jonathan Austin
  * @since 1.0.3
@@ -74,6 +84,26 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 	 */
 	private static final TemplateCache CACHE = new HandlebarsCacheImpl();
 
+	/**
+	 * The maximum number of distinct engine configurations to hold.
+	 */
+	private static final int MAX_ENGINES = 32;
+
+	/**
+	 * The maximum number of compiled inline templates to hold per engine.
+	 */
+	private static final int MAX_INLINE_TEMPLATES = 500;
+
+	/**
+	 * The configured handlebars engines, keyed by their options. Engines are not modified once built so can be shared.
+	 */
+	private static final Map<EngineKey, Handlebars> ENGINES = new ConcurrentHashMap<>();
+
+	/**
+	 * The compiled inline templates for each caching engine held in {@link #ENGINES}, keyed by the template content.
+	 */
+	private static final Map<Handlebars, Map<String, Template>> INLINE_TEMPLATES = new ConcurrentHashMap<>();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -124,7 +154,7 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 			Handlebars handlebars = getHandlebarsEngine(options);
 
 			// Compile inline
-			Template template = handlebars.compileInline(templateInline);
+			Template template = getInlineTemplate(handlebars, templateInline);
 
 			// Setup handlebars context
 			Context handlebarsContext = createContext(context);
@@ -138,11 +168,56 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 	}
 
 	/**
+	 * Retrieves the handlebars engine for the given options. Engines are built once per distinct set of options and
+	 * shared between renders.
 	 *
 	 * @param options the engine options
 	 * @return the handlebars engine
 	 */
 	protected Handlebars getHandlebarsEngine(final Map<String, Object> options) {
+		EngineKey key = new EngineKey(options, isCaching());
+
+		if (key.themeI18n) {
+			// The i18n helper is shared, so the locale and bundle must be set for each render.
+			I18nHelper.i18n.setDefaultLocale(I18nUtilities.getEffectiveLocale());
+			I18nHelper.i18n.setDefaultBundle(ConfigurationProperties.getI18nThemeResourceBundleBaseName());
+		}
+
+		Handlebars handlebars = ENGINES.get(key);
+		if (handlebars == null) {
+			if (ENGINES.size() >= MAX_ENGINES) {
+				LOG.warn("Too many distinct handlebars engine options, engine will not be reused.");
+				return createHandlebarsEngine(key);
+			}
+			handlebars = ENGINES.computeIfAbsent(key, this::createSharedHandlebarsEngine);
+		}
+		return handlebars;
+	}
+
+	/**
+	 * Creates a handlebars engine to be held and shared between renders. Inline templates are only cached for shared
+	 * engines, as an engine which is not shared is discarded after a single render.
+	 *
+	 * @param key the engine options
+	 * @return the handlebars engine
+	 */
+	private Handlebars createSharedHandlebarsEngine(final EngineKey key) {
+		Handlebars handlebars = createHandlebarsEngine(key);
+		if (key.cache) {
+			INLINE_TEMPLATES.put(handlebars, new ConcurrentHashMap<String, Template>());
+		}
+		return handlebars;
+	}
+
+	/**
+	 * Creates a new handlebars engine.
+	 *
+	 * @param key the engine options
+	 * @return the handlebars engine
+	 */
+	private Handlebars createHandlebarsEngine(final EngineKey key) {
+		LOG.debug("Creating handlebars engine.");
+
 		// Setup handlebars
 		TemplateLoader loader = new ClassPathTemplateLoader();
 		// Clear the suffix so the file name does not default the file type to ".hbs"
@@ -151,24 +226,18 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 		Handlebars handlebars = new Handlebars(loader);
 
 		// Pretty Print
-		Object value = options.get(PRETTY_PRINT);
-		if (value != null) {
-			handlebars.setPrettyPrint("true".equalsIgnoreCase(value.toString()));
+		if (key.prettyPrint != null) {
+			handlebars.setPrettyPrint(key.prettyPrint);
 		}
 
 		// Escaping Strategy
-		value = options.get(ESCAPING_STRATEGY);
-		if (value instanceof EscapingStrategy) {
-			handlebars.with((EscapingStrategy) value);
+		if (key.escapingStrategy != null) {
+			handlebars.with(key.escapingStrategy);
 		}
 
-		value = options.get(THEME_I18N);
-		if (value == null || "true".equalsIgnoreCase(value.toString())) {
-			String resourceBundleBasename = ConfigurationProperties.getI18nThemeResourceBundleBaseName();
+		if (key.themeI18n) {
 			// Theme i18n helper uses "t" not "i18n".
 			handlebars.registerHelper("t", I18nHelper.i18n);
-			I18nHelper.i18n.setDefaultLocale(I18nUtilities.getEffectiveLocale());
-			I18nHelper.i18n.setDefaultBundle(resourceBundleBasename);
 		}
 
 		// Use markdown
@@ -178,15 +247,72 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 			handlebars.registerHelper("md", new MarkdownHelper());
 		}*/
 		// Caching
-		value = options.get(USE_CACHE);
-		boolean cache = (isCaching() && value == null) || (value != null && "true".equalsIgnoreCase(value.toString()));
-		if (cache) {
+		if (key.cache) {
 			handlebars.with(CACHE);
 		}
 
 		return handlebars;
 	}
 
+	/**
+	 * Retrieves the compiled inline template, compiling it if it has not been cached for the engine.
+	 *
+	 * @param handlebars the handlebars engine
+	 * @param templateInline the inline template
+	 * @return the compiled template
+	 * @throws IOException an IOException compiling the template
+	 */
+	private Template getInlineTemplate(final Handlebars handlebars, final String templateInline) throws IOException {
+		Map<String, Template> templates = INLINE_TEMPLATES.get(handlebars);
+		if (templates == null) {
+			// Not a caching engine
+			return handlebars.compileInline(templateInline);
+		}
+
+		Template template = templates.get(templateInline);
+		if (template == null) {
+			// Name the source by a digest of its content so different templates can not collide in the engine's cache.
+			template = handlebars.compile(new StringTemplateSource("inline@" + digest(templateInline), templateInline));
+			if (templates.size() >= MAX_INLINE_TEMPLATES) {
+				templates.clear();
+			}
+			templates.put(templateInline, template);
+		}
+		return template;
+	}
+
+	/**
+	 * @return the number of engines which hold compiled inline templates
+	 */
+	static int getInlineTemplateEngineCount() {
+		return INLINE_TEMPLATES.size();
+	}
+
+	/**
+	 * Discards the shared engines and their compiled inline templates.
+	 */
+	static void clearEngines() {
+		ENGINES.clear();
+		INLINE_TEMPLATES.clear();
+	}
+
+	/**
+	 * @param content the content to digest
+	 * @return the hex encoded SHA-256 digest of the content
+	 */
+	private static String digest(final String content) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(hash.length * 2);
+			for (byte b : hash) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new SystemException("SHA-256 not available", e);
+		}
+	}
+
 	/**
 	 *
 	 * @param componentContext the component context
@@ -222,4 +348,64 @@ public class HandlebarsRendererImpl implements TemplateRenderer {
 		return ConfigurationProperties.getHandlebarsCache();
 	}
 
+	/**
+	 * The options which determine how a handlebars engine is configured.
+	 */
+	private static final class EngineKey {
+
+		/**
+		 * The pretty print option, or null if not set.
+		 */
+		private final Boolean prettyPrint;
+
+		/**
+		 * The escaping strategy, or null if not set.
+		 */
+		private final EscapingStrategy escapingStrategy;
+
+		/**
+		 * Whether theme i18n is performed on the server.
+		 */
+		private final boolean themeI18n;
+
+		/**
+		 * Whether templates are cached.
+		 */
+		private final boolean cache;
+
+		/**
+		 * @param options the engine options
+		 * @param defaultCache the global cache setting
+		 */
+		private EngineKey(final Map<String, Object> options, final boolean defaultCache) {
+			Object value = options.get(PRETTY_PRINT);
+			prettyPrint = value == null ? null : "true".equalsIgnoreCase(value.toString());
+
+			value = options.get(ESCAPING_STRATEGY);
+			escapingStrategy = value instanceof EscapingStrategy ? (EscapingStrategy) value : null;
+
+			value = options.get(THEME_I18N);
+			themeI18n = value == null || "true".equalsIgnoreCase(value.toString());
+
+			value = options.get(USE_CACHE);
+			cache = value == null ? defaultCache : "true".equalsIgnoreCase(value.toString());
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof EngineKey)) {
+				return false;
+			}
+			EngineKey other = (EngineKey) obj;
+			return Objects.equals(prettyPrint, other.prettyPrint)
+					&& Objects.equals(escapingStrategy, other.escapingStrategy)
+					&& themeI18n == other.themeI18n
+					&& cache == other.cache;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(prettyPrint, escapingStrategy, themeI18n, cache);
+		}
+	}
 }
@@ -2,17 +2,21 @@ package com.github.bordertech.wcomponents.util;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Arrays;
 
 /**
  * <p>
  * AbstractSearchReplaceWriter is a writer extension that allows programmatic replacement of strings contained in
- * written stream. For efficiency, it uses a buffer that is twice the size of the longest search string.</p>
+ * written stream. Where search strings overlap, the one which starts first is replaced, and of those the longest.</p>
  *
  * <p>
- * Data is only written to the underlying writer when the buffer is filled, or when the writer is closed; calling
- * {@link #flush()} only flushes the underlying writer. Calling {@link #close()} may not close the underlying writer,
- * depending on the return value of {@link #closeBackingOnClose()}</p>
+ * The search strings are compiled into an automaton which scans written data in a single pass. Runs of characters
+ * which can not be part of a search string are written straight to the underlying writer, so only a partially matched
+ * search string (at most the length of the longest search string) is ever buffered.</p>
+ *
+ * <p>
+ * Data which may be part of a search string is only written to the underlying writer once the match is resolved, or
+ * when the writer is closed; calling {@link #flush()} only flushes the underlying writer. Calling {@link #close()} may
+ * not close the underlying writer, depending on the return value of {@link #closeBackingOnClose()}</p>
  *
  * @author Yiannis Paschalidis
  * @since 1.0.0
@@ -20,9 +24,9 @@ import java.util.Arrays;
 public abstract class AbstractSearchReplaceWriter extends Writer {
 
 	/**
-	 * The array of search Strings, sorted in ascending order.
+	 * The automaton for the search strings, or null if there is nothing to replace.
 	 */
-	private final String[] search;
+	private final SearchAutomaton automaton;
 
 	/**
 	 * The underlying writer to write the output to.
@@ -30,15 +34,50 @@ public abstract class AbstractSearchReplaceWriter extends Writer {
 	private final Writer backing;
 
 	/**
-	 * The "lookahead" buffer. It buffers characters from the underlying stream to allow us to check for the "match"
-	 * string before writing them to the underlying writer.
+	 * Characters which have been written but not yet sent to the underlying writer, as they may be part of a search
+	 * string.
+	 */
+	private final char[] carry;
+
+	/**
+	 * The number of characters in the {@link #carry} buffer.
+	 */
+	private int carryLen = 0;
+
+	/**
+	 * The stream position of the first character in the {@link #carry} buffer.
+	 */
+	private long carryStart = 0;
+
+	/**
+	 * The current state of the automaton.
+	 */
+	private SearchAutomaton.Node state;
+
+	/**
+	 * The number of characters written so far.
+	 */
+	private long pos = 0;
+
+	/**
+	 * The stream position up to which output has been sent to the underlying writer.
 	 */
-	private final char[] buffer;
+	private long out = 0;
 
 	/**
-	 * Our current position within the {@link #lookahead} buffer.
+	 * The start positions of the matches which have been found but not yet replaced.
 	 */
-	private int bufferLen = 0;
+	private long[] candidateStart = new long[4];
+
+	/**
+	 * The search strings of the matches which have been found but not yet replaced.
+	 */
+	private String[] candidateMatch = new String[4];
+
+	/**
+	 * The number of matches which have been found but not yet replaced.
+	 */
+	private int candidateCount = 0;
 
 	/**
 	 * Creates a SearchReplaceWriter.
@@ -48,28 +87,14 @@ public abstract class AbstractSearchReplaceWriter extends Writer {
 	 */
 	public AbstractSearchReplaceWriter(final String[] search, final Writer backing) {
 		this.backing = backing;
+		this.automaton = SearchAutomaton.getInstance(search);
 
-		// Create a copy of the search array, as we need it sorted
-		this.search = new String[search.length];
-		System.arraycopy(search, 0, this.search, 0, search.length);
-		Arrays.sort(this.search);
-
-		// Find the longest search item
-		int maxKeyLength = -1;
-
-		for (int i = 0; i < search.length; i++) {
-			if (search[i] == null || search[i].length() == 0) {
-				throw new IllegalArgumentException("Search strings must not be empty, " + i);
-			}
-
-			maxKeyLength = Math.max(maxKeyLength, search[i].length());
-		}
-
-		if (maxKeyLength == -1) {
+		if (automaton == null) {
 			// Nothing to replace, so no need for a buffer
-			buffer = null;
+			carry = null;
 		} else {
-			buffer = new char[maxKeyLength * 2];
+			carry = new char[automaton.getMaxLength()];
+			state = automaton.getRoot();
 		}
 	}
 
@@ -81,8 +106,14 @@ public abstract class AbstractSearchReplaceWriter extends Writer {
 	 */
 	@Override
 	public void close() throws IOException {
-		if (bufferLen != 0) {
-			writeBuf(bufferLen);
+		if (automaton != null) {
+			// No more input, so all the matches found are final
+			replaceMatches(Long.MAX_VALUE, null, 0, pos);
+			emit(out, pos, null, 0, pos);
+			out = pos;
+			carryStart = pos;
+			carryLen = 0;
+			state = automaton.getRoot();
 		}
 
 		if (closeBackingOnClose()) {
@@ -110,99 +141,163 @@ public abstract class AbstractSearchReplaceWriter extends Writer {
 	 */
 	@Override
 	public void write(final char[] cbuf, final int off, final int len) throws IOException {
-		if (buffer == null) {
+		if (automaton == null) {
 			// Nothing to replace, just pass the data through
 			backing.write(cbuf, off, len);
-		} else {
-			for (int i = off; i < off + len; i++) {
-				buffer[bufferLen++] = cbuf[i];
+			return;
+		}
+
+		final SearchAutomaton.Node root = automaton.getRoot();
+		final long callStart = pos;
+		final int end = off + len;
+
+		for (int i = off; i < end; i++) {
+			state = root.next(state, cbuf[i]);
+			pos++;
 
-				if (bufferLen == buffer.length) {
-					writeBuf(buffer.length / 2);
+			// Record every search string which ends at this position
+			SearchAutomaton.Node node = state.getMatch() == null ? state.getDictionaryLink() : state;
+			while (node != null) {
+				long start = pos - node.getDepth();
+				if (start >= out) {
+					addCandidate(start, node.getMatch());
 				}
+				node = node.getDictionaryLink();
 			}
+
+			if (candidateCount > 0) {
+				// Matches can only be resolved once no later match could start at or before them
+				replaceMatches(pos - state.getDepth(), cbuf, off, callStart);
+			}
+		}
+
+		// Send everything which can no longer be part of a match
+		long safe = pos - state.getDepth();
+		if (candidateCount > 0) {
+			safe = Math.min(safe, candidateStart[bestCandidate()]);
+		}
+		if (safe > out) {
+			emit(out, safe, cbuf, off, callStart);
+			out = safe;
 		}
+
+		// Hold on to the rest until we know whether it matches
+		int keep = (int) (pos - out);
+		if (out < callStart) {
+			int fromCarry = (int) (callStart - out);
+			System.arraycopy(carry, (int) (out - carryStart), carry, 0, fromCarry);
+			System.arraycopy(cbuf, off, carry, fromCarry, len);
+		} else {
+			System.arraycopy(cbuf, off + (int) (out - callStart), carry, 0, keep);
+		}
+		carryStart = out;
+		carryLen = keep;
 	}
 
 	/**
-	 * Writes the current contents of the buffer, up to the given position. More data may be written from the buffer
-	 * when there is a search string that crosses over endPos.
+	 * Replaces the matches which start before the given limit, earliest first. Of matches starting at the same
+	 * position, the longest is replaced.
 	 *
-	 * @param endPos the end position to stop writing
+	 * @param limit the position before which all matches are final.
+	 * @param cbuf the character buffer currently being written, or null.
+	 * @param off the start position of the current write in cbuf.
+	 * @param callStart the stream position of the start of the current write.
 	 * @throws IOException if there is an error writing to the underlying writer.
 	 */
-	private void writeBuf(final int endPos) throws IOException {
-		// If the stream is not closed, we only process half the buffer at once.
-		String searchTerm;
-		int pos = 0;
-		int lastWritePos = 0;
-
-		while (pos < endPos) {
-			searchTerm = findSearchStrings(pos);
+	private void replaceMatches(final long limit, final char[] cbuf, final int off, final long callStart)
+			throws IOException {
+		while (candidateCount > 0) {
+			int best = bestCandidate();
+			long start = candidateStart[best];
+			if (start >= limit) {
+				return;
+			}
 
-			if (searchTerm != null) {
-				if (lastWritePos != pos) {
-					backing.write(buffer, lastWritePos, pos - lastWritePos);
+			String match = candidateMatch[best];
+			emit(out, start, cbuf, off, callStart);
+			doReplace(match, backing);
+			out = start + match.length();
+
+			// Discard the matches which overlap the replaced text
+			int kept = 0;
+			for (int i = 0; i < candidateCount; i++) {
+				if (candidateStart[i] >= out) {
+					candidateStart[kept] = candidateStart[i];
+					candidateMatch[kept] = candidateMatch[i];
+					kept++;
 				}
-
-				doReplace(searchTerm, backing);
-				pos += searchTerm.length();
-				lastWritePos = pos;
-			} else {
-				pos++;
 			}
+			for (int i = kept; i < candidateCount; i++) {
+				candidateMatch[i] = null;
+			}
+			candidateCount = kept;
 		}
+	}
 
-		// Write the remaining characters that weren't matched
-		if (lastWritePos != pos) {
-			backing.write(buffer, lastWritePos, pos - lastWritePos);
+	/**
+	 * @return the index of the earliest, longest match which has not yet been replaced.
+	 */
+	private int bestCandidate() {
+		int best = 0;
+		for (int i = 1; i < candidateCount; i++) {
+			if (candidateStart[i] < candidateStart[best]
+					|| (candidateStart[i] == candidateStart[best]
+					&& candidateMatch[i].length() > candidateMatch[best].length())) {
+				best = i;
+			}
 		}
-
-		// Shuffle the buffer
-		System.arraycopy(buffer, pos, buffer, 0, buffer.length - pos);
-		bufferLen -= pos;
+		return best;
 	}
 
 	/**
-	 * Searches for any search strings in the buffer that start between the specified offsets.
+	 * Records a match which has been found.
 	 *
-	 * @param start the start search offset
-	 *
-	 * @return the first search String found, or null if none were found.
+	 * @param start the stream position of the start of the match.
+	 * @param match the search string that was matched.
 	 */
-	private String findSearchStrings(final int start) {
-		String longestMatch = null;
-
-		// Loop for each string
-		for (int i = 0; i < search.length; i++) {
-			// No point checking a String that's too long
-			if (start + search[i].length() > bufferLen) {
-				continue;
-			}
-
-			boolean found = true;
-
-			// Loop for each character in range
-			for (int j = 0; j < search[i].length() && (start + j < bufferLen); j++) {
-				int diff = buffer[start + j] - search[i].charAt(j);
+	private void addCandidate(final long start, final String match) {
+		if (candidateCount == candidateStart.length) {
+			int size = candidateCount * 2;
+			long[] newStart = new long[size];
+			String[] newMatch = new String[size];
+			System.arraycopy(candidateStart, 0, newStart, 0, candidateCount);
+			System.arraycopy(candidateMatch, 0, newMatch, 0, candidateCount);
+			candidateStart = newStart;
+			candidateMatch = newMatch;
+		}
+		candidateStart[candidateCount] = start;
+		candidateMatch[candidateCount] = match;
+		candidateCount++;
+	}
 
-				if (diff < 0) {
-					// Since the strings are all sorted, we can abort if
-					// the character is less than the corresponding character in
-					// the current search string.
-					return longestMatch;
-				} else if (diff != 0) {
-					found = false;
-					break;
-				}
-			}
+	/**
+	 * Writes the characters between the given stream positions to the underlying writer. The characters are taken
+	 * from the {@link #carry} buffer and the character buffer currently being written.
+	 *
+	 * @param from the stream position to write from.
+	 * @param to the stream position to write up to.
+	 * @param cbuf the character buffer currently being written, or null.
+	 * @param off the start position of the current write in cbuf.
+	 * @param callStart the stream position of the start of the current write.
+	 * @throws IOException if there is an error writing to the underlying writer.
+	 */
+	private void emit(final long from, final long to, final char[] cbuf, final int off, final long callStart)
+			throws IOException {
+		long start = from;
+		if (start >= to) {
+			return;
+		}
 
-			if (found && (longestMatch == null || longestMatch.length() < search[i].length())) {
-				longestMatch = search[i];
-			}
+		if (start < callStart) {
+			int carryFrom = (int) (start - carryStart);
+			int carryTo = (int) (Math.min(to, callStart) - carryStart);
+			backing.write(carry, carryFrom, carryTo - carryFrom);
+			start = callStart;
 		}
 
-		return longestMatch;
+		if (start < to) {
+			backing.write(cbuf, off + (int) (start - callStart), (int) (to - start));
+		}
 	}
 
 	/**
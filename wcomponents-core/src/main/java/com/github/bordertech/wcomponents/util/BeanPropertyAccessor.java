@@ -0,0 +1,46 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The BeanPropertyAccessor interface describes the mechanism used by bean bound components and table models to read
+ * and write bean properties. Property names follow the commons-beanutils syntax, for example "name", "address.street"
+ * or "addresses[0].street". Implementations must be thread-safe.
+ * <p>
+ * The default implementation is {@link DefaultBeanPropertyAccessor}. Applications may provide their own by setting the
+ * following parameter in the application's {@link Config Configuration}:
+ * </p>
+ *
+ * <code>bordertech.wcomponents.factory.impl.com.github.bordertech.wcomponents.util.BeanPropertyAccessor=<i>com.something.MyBeanPropertyAccessor</i></code>
+ *
+ * @since 1.5.29
+ */
+public interface BeanPropertyAccessor {
+
+	/**
+	 * Reads a bean property, as {@link org.apache.commons.beanutils.PropertyUtils#getProperty(Object, String)} does.
+	 *
+	 * @param bean the bean to read the property from.
+	 * @param property the name of the property, which may be nested or indexed.
+	 * @return the property value.
+	 * @throws IllegalAccessException if the property accessor is not accessible.
+	 * @throws InvocationTargetException if the property accessor throws an exception.
+	 * @throws NoSuchMethodException if the property does not exist or can not be read.
+	 */
+	Object getProperty(Object bean, String property) throws IllegalAccessException, InvocationTargetException,
+			NoSuchMethodException;
+
+	/**
+	 * Writes a bean property, as {@link org.apache.commons.beanutils.PropertyUtils#setProperty(Object, String, Object)}
+	 * does.
+	 *
+	 * @param bean the bean to write the property to.
+	 * @param property the name of the property, which may be nested or indexed.
+	 * @param value the new property value.
+	 * @throws IllegalAccessException if the property accessor is not accessible.
+	 * @throws InvocationTargetException if the property accessor throws an exception.
+	 * @throws NoSuchMethodException if the property does not exist or can not be written.
+	 */
+	void setProperty(Object bean, String property, Object value) throws IllegalAccessException,
+			InvocationTargetException, NoSuchMethodException;
+}
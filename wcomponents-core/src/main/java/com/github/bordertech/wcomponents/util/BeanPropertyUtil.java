@@ -0,0 +1,54 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Reads and writes bean properties for bean bound components and table models, using the {@link BeanPropertyAccessor}
+ * configured in the {@link Factory}, or a {@link DefaultBeanPropertyAccessor} if none has been configured.
+ *
+ * @since 1.5.29
+ */
+public final class BeanPropertyUtil {
+
+	/**
+	 * The accessor used to read and write properties.
+	 */
+	private static final BeanPropertyAccessor ACCESSOR = Factory.implementationExists(BeanPropertyAccessor.class)
+			? Factory.newInstance(BeanPropertyAccessor.class) : new DefaultBeanPropertyAccessor();
+
+	/**
+	 * Prevent instantiation of this class.
+	 */
+	private BeanPropertyUtil() {
+	}
+
+	/**
+	 * Reads a bean property.
+	 *
+	 * @param bean the bean to read the property from.
+	 * @param property the name of the property, which may be nested or indexed.
+	 * @return the property value.
+	 * @throws IllegalAccessException if the property accessor is not accessible.
+	 * @throws InvocationTargetException if the property accessor throws an exception.
+	 * @throws NoSuchMethodException if the property does not exist or can not be read.
+	 */
+	public static Object getProperty(final Object bean, final String property) throws IllegalAccessException,
+			InvocationTargetException, NoSuchMethodException {
+		return ACCESSOR.getProperty(bean, property);
+	}
+
+	/**
+	 * Writes a bean property.
+	 *
+	 * @param bean the bean to write the property to.
+	 * @param property the name of the property, which may be nested or indexed.
+	 * @param value the new property value.
+	 * @throws IllegalAccessException if the property accessor is not accessible.
+	 * @throws InvocationTargetException if the property accessor throws an exception.
+	 * @throws NoSuchMethodException if the property does not exist or can not be written.
+	 */
+	public static void setProperty(final Object bean, final String property, final Object value) throws
+			IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		ACCESSOR.setProperty(bean, property, value);
+	}
+}
@@ -0,0 +1,175 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An inclusive range of bytes requested using an HTTP <code>Range</code> header, as described in RFC 7233.
+ *
+ * @since 1.5.29
+ */
+public final class ByteRange {
+
+	/**
+	 * The maximum number of ranges which will be served for a request. Requests for more ranges are sent the whole
+	 * content, so that clients can not request an excessive number of small parts.
+	 */
+	public static final int MAX_RANGES = 16;
+
+	/**
+	 * The range unit prefix of the header.
+	 */
+	private static final String BYTES_UNIT = "bytes=";
+
+	/**
+	 * The offset of the first byte in the range.
+	 */
+	private final long start;
+
+	/**
+	 * The offset of the last byte in the range.
+	 */
+	private final long end;
+
+	/**
+	 * Creates a ByteRange.
+	 *
+	 * @param start the offset of the first byte in the range.
+	 * @param end the offset of the last byte in the range.
+	 */
+	public ByteRange(final long start, final long end) {
+		if (start < 0 || end < start) {
+			throw new IllegalArgumentException("Invalid range " + start + '-' + end);
+		}
+
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * Parses a <code>Range</code> header for content of a known length. Ranges which extend past the end of the content
+	 * are truncated, and ranges which start after the end of the content are unsatisfiable and are left out.
+	 *
+	 * @param header the Range header value, may be null.
+	 * @param length the length of the content.
+	 * @return the satisfiable ranges, an empty list if none of the ranges can be satisfied, or null if the whole
+	 * content should be sent because there is no header, it is invalid or it has too many ranges.
+	 */
+	public static List<ByteRange> parse(final String header, final long length) {
+		if (header == null || !header.startsWith(BYTES_UNIT) || length < 0) {
+			return null;
+		}
+
+		String[] specs = header.substring(BYTES_UNIT.length()).split(",");
+
+		if (specs.length > MAX_RANGES) {
+			return null;
+		}
+
+		List<ByteRange> ranges = new ArrayList<>(specs.length);
+
+		for (String rawSpec : specs) {
+			String spec = rawSpec.trim();
+			int dash = spec.indexOf('-');
+
+			if (dash == -1) {
+				return null;
+			}
+
+			try {
+				long start;
+				long end;
+
+				if (dash == 0) {
+					// Suffix range, the last n bytes
+					long suffix = Long.parseLong(spec.substring(1));
+
+					if (suffix <= 0) {
+						continue;
+					}
+
+					start = Math.max(0, length - suffix);
+					end = length - 1;
+				} else {
+					start = Long.parseLong(spec.substring(0, dash));
+					end = dash == spec.length() - 1 ? length - 1 : Long.parseLong(spec.substring(dash + 1));
+
+					if (end < start && start < length) {
+						return null;
+					}
+
+					end = Math.min(length - 1, end);
+				}
+
+				if (start >= 0 && start < length) {
+					ranges.add(new ByteRange(start, end));
+				}
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+
+		return ranges.isEmpty() ? Collections.<ByteRange>emptyList() : ranges;
+	}
+
+	/**
+	 * @return the offset of the first byte in the range.
+	 */
+	public long getStart() {
+		return start;
+	}
+
+	/**
+	 * @return the offset of the last byte in the range.
+	 */
+	public long getEnd() {
+		return end;
+	}
+
+	/**
+	 * @return the number of bytes in the range.
+	 */
+	public long getLength() {
+		return end - start + 1;
+	}
+
+	/**
+	 * Creates the value of the <code>Content-Range</code> header for this range.
+	 *
+	 * @param length the length of the whole content.
+	 * @return the Content-Range header value, e.g. "bytes 0-499/1234".
+	 */
+	public String toContentRange(final long length) {
+		return "bytes " + start + '-' + end + '/' + length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj instanceof ByteRange) {
+			ByteRange other = (ByteRange) obj;
+			return start == other.start && end == other.end;
+		}
+
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return (int) (start ^ (start >>> 32)) * 31 + (int) (end ^ (end >>> 32));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return start + "-" + end;
+	}
+}
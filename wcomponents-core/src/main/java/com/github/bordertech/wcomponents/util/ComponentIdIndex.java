@@ -0,0 +1,291 @@
+package com.github.bordertech.wcomponents.util;
+
+import com.github.bordertech.wcomponents.ComponentWithContext;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.WCardManager;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WInvisibleContainer;
+import com.github.bordertech.wcomponents.WRepeater;
+import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
+import com.github.bordertech.wcomponents.WRepeater.WRepeatRoot;
+import com.github.bordertech.wcomponents.WWindow;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * An index of the components in a WComponent tree by their id, including the components in each WRepeater row. The
+ * index is built on first use and is stored in the root component's request scratch map, so it only lives for the
+ * current request.
+ * </p>
+ * <p>
+ * The tree may change after the index has been built, so each entry is checked before it is returned. An entry is
+ * only returned if the component still has the same id, is still in the tree and, for repeated components, the row
+ * still exists. A stale index is discarded and rebuilt on the next lookup.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+final class ComponentIdIndex {
+
+	/**
+	 * The key used to store the index of all components in the root component's request scratch map.
+	 */
+	private static final String SCRATCHMAP_INDEX_KEY = "TreeUtil.componentIdIndex";
+
+	/**
+	 * The key used to store the index of visible components in the root component's request scratch map.
+	 */
+	private static final String SCRATCHMAP_VISIBLE_INDEX_KEY = "TreeUtil.visibleComponentIdIndex";
+
+	/**
+	 * The context the index was built in.
+	 */
+	private final UIContext uic;
+
+	/**
+	 * The root component of the tree.
+	 */
+	private final WComponent root;
+
+	/**
+	 * The key the index is stored under.
+	 */
+	private final String key;
+
+	/**
+	 * The components in the tree, keyed by id.
+	 */
+	private final Map<String, ComponentWithContext> componentsById = new HashMap<>();
+
+	/**
+	 * Creates a ComponentIdIndex.
+	 *
+	 * @param uic the context to build the index in.
+	 * @param root the root component of the tree.
+	 * @param visibleOnly true to only index visible components.
+	 */
+	private ComponentIdIndex(final UIContext uic, final WComponent root, final boolean visibleOnly) {
+		this.uic = uic;
+		this.root = root;
+		this.key = visibleOnly ? SCRATCHMAP_VISIBLE_INDEX_KEY : SCRATCHMAP_INDEX_KEY;
+
+		WComponentTreeVisitor visitor = new WComponentTreeVisitor() {
+			@Override
+			public VisitorResult visit(final WComponent comp) {
+				String id = comp.getId();
+
+				// Keep the first match, as the tree traversal would.
+				if (!componentsById.containsKey(id)) {
+					componentsById.put(id, new ComponentWithContext(comp, UIContextHolder.getCurrent()));
+				}
+
+				return VisitorResult.CONTINUE;
+			}
+		};
+
+		if (visibleOnly) {
+			TreeUtil.traverseVisible(root, visitor);
+		} else {
+			TreeUtil.traverse(root, visitor);
+		}
+	}
+
+	/**
+	 * Retrieves the index for the given tree, building it if necessary. An index is only available for the primary
+	 * context, as the context returned for components outside of repeaters depends on the current context.
+	 * <p>
+	 * Components may become visible after an index of visible components has been built, so a component missing from
+	 * the index may still be in the tree. Callers must search the tree for components which are not found.
+	 * </p>
+	 *
+	 * @param root the root component of the tree.
+	 * @param visibleOnly true for an index of the visible components, false for all components.
+	 * @return the index for the tree, or null if there is no index available.
+	 */
+	static ComponentIdIndex getInstance(final WComponent root, final boolean visibleOnly) {
+		UIContext uic = UIContextHolder.getCurrent();
+
+		if (uic == null || uic != UIContextHolder.getPrimaryUIContext(uic)) {
+			return null;
+		}
+
+		Map<Object, Object> scratchMap = uic.getRequestScratchMap(root);
+		String key = visibleOnly ? SCRATCHMAP_VISIBLE_INDEX_KEY : SCRATCHMAP_INDEX_KEY;
+		ComponentIdIndex index = (ComponentIdIndex) scratchMap.get(key);
+
+		if (index == null) {
+			index = new ComponentIdIndex(uic, root, visibleOnly);
+			scratchMap.put(key, index);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Retrieves the component with the given id.
+	 *
+	 * @param id the id to search for.
+	 * @return the component with the given id, or null if it is not in the index or the index is stale.
+	 */
+	ComponentWithContext get(final String id) {
+		ComponentWithContext match = componentsById.get(id);
+
+		if (match == null) {
+			return null;
+		}
+
+		if (!isCurrent(id, match)) {
+			invalidate();
+			return null;
+		}
+
+		return match;
+	}
+
+	/**
+	 * Discards this index, so that it is rebuilt on the next lookup.
+	 */
+	void invalidate() {
+		Map<Object, Object> scratchMap = uic.getRequestScratchMap(root);
+
+		if (scratchMap.get(key) == this) {
+			scratchMap.remove(key);
+		}
+	}
+
+	/**
+	 * Indicates whether a component would be reached by a visible-only traversal of the tree.
+	 *
+	 * @param match the component to check.
+	 * @param notHidden if true, the component and the ancestors visited must also not be hidden.
+	 * @return true if the component is visible.
+	 */
+	boolean isVisible(final ComponentWithContext match, final boolean notHidden) {
+		// Collect the path from the component to the root, with the context each component is traversed in.
+		List<WComponent> path = new ArrayList<>();
+		List<UIContext> contexts = new ArrayList<>();
+		UIContext context = match.getContext();
+
+		UIContextHolder.pushContext(context);
+
+		try {
+			for (WComponent node = match.getComponent(); node != null && node != root; node = node.getParent()) {
+				path.add(node);
+				contexts.add(context);
+
+				if (node instanceof WRepeatRoot && context instanceof SubUIContext) {
+					context = ((SubUIContext) context).getBacking();
+				}
+			}
+		} finally {
+			UIContextHolder.popContext();
+		}
+
+		path.add(root);
+		contexts.add(context);
+
+		// Apply the same rules as the traversal, from the root down.
+		for (int i = path.size() - 1; i >= 0; i--) {
+			UIContextHolder.pushContext(contexts.get(i));
+
+			try {
+				if (!isVisible(path, i, notHidden)) {
+					return false;
+				}
+			} finally {
+				UIContextHolder.popContext();
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Indicates whether a visible-only traversal of the tree would continue past a component in a path.
+	 *
+	 * @param path the path from the component being checked to the root.
+	 * @param index the index of the component in the path to check.
+	 * @param notHidden if true, the component must also not be hidden.
+	 * @return true if the traversal would continue.
+	 */
+	private static boolean isVisible(final List<WComponent> path, final int index, final boolean notHidden) {
+		WComponent node = path.get(index);
+
+		if (node instanceof WInvisibleContainer) {
+			WComponent parent = node.getParent();
+
+			if (parent instanceof WCardManager) {
+				// The traversal skips the container and only processes the visible card
+				return index > 0 && path.get(index - 1) == ((WCardManager) parent).getVisible();
+			} else if (parent instanceof WWindow && ((WWindow) parent).getState() != WWindow.ACTIVE_STATE) {
+				return false;
+			}
+		} else if (!(node instanceof WRepeatRoot) && !node.isVisible()) {
+			return false;
+		}
+
+		return !notHidden || !node.isHidden();
+	}
+
+	/**
+	 * Checks whether an index entry is still current.
+	 *
+	 * @param id the id the component was indexed by.
+	 * @param match the indexed component.
+	 * @return true if the component still has the given id and is still in the tree.
+	 */
+	private boolean isCurrent(final String id, final ComponentWithContext match) {
+		UIContextHolder.pushContext(match.getContext());
+
+		try {
+			if (!id.equals(match.getComponent().getId())) {
+				return false;
+			}
+
+			UIContext context = match.getContext();
+
+			for (WComponent node = match.getComponent(); node != null; node = node.getParent()) {
+				if (node == root) {
+					return true;
+				} else if (node instanceof WRepeatRoot) {
+					// The row must still be in the repeater
+					if (!(context instanceof SubUIContext) || !(node.getParent() instanceof WRepeater)) {
+						return false;
+					}
+
+					SubUIContext rowContext = (SubUIContext) context;
+					WRepeater repeater = (WRepeater) node.getParent();
+
+					Object rowBean = repeater.getRowBeanForSubcontext(rowContext);
+
+					if (rowBean == null) {
+						return false;
+					}
+
+					// The row context may have been replaced if the row was removed and added again
+					context = rowContext.getBacking();
+					UIContextHolder.pushContext(context);
+
+					try {
+						if (repeater.getRowContext(rowBean, rowContext.getRowIndex()) != rowContext) {
+							return false;
+						}
+					} finally {
+						UIContextHolder.popContext();
+					}
+				}
+			}
+
+			return false;
+		} catch (IllegalArgumentException e) {
+			// Row context is no longer for the repeater
+			return false;
+		} finally {
+			UIContextHolder.popContext();
+		}
+	}
+}
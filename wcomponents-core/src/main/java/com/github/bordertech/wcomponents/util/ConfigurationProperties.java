@@ -41,6 +41,11 @@ public final class ConfigurationProperties {
 	 */
 	public static final String DATALIST_CACHING_PARAM_KEY = "bordertech.wcomponents.dataListCaching.enabled";
 
+	/**
+	 * The flag indicating whether encoded data lists should be held in memory by the server.
+	 */
+	public static final String DATALIST_SERVER_CACHE = "bordertech.wcomponents.dataList.server.cache.enabled";
+
 	/**
 	 * The default locale (you should probably never change this).
 	 */
@@ -152,6 +157,16 @@ public final class ConfigurationProperties {
 	 */
 	public static final String HTML_ICON_CLASS_PRINT = HTML_ICON_CLASS_PREFIX + "print";
 
+	/**
+	 * The flag indicating whether resolved messages should be cached.
+	 */
+	public static final String I18N_CACHE = "bordertech.wcomponents.i18n.cache.enabled";
+
+	/**
+	 * The maximum number of messages and message formats to cache for each locale.
+	 */
+	public static final String I18N_CACHE_SIZE = "bordertech.wcomponents.i18n.cache.size";
+
 	/**
 	 * The resource bundle base name.
 	 */
@@ -182,6 +197,11 @@ public final class ConfigurationProperties {
 	 */
 	public static final String MEMUTIL_WARN_THRESHOLD = "bordertech.wcomponents.memutil.threshold.warn";
 
+	/**
+	 * The flag indicating whether component models are serialized in the compact format.
+	 */
+	public static final String MODEL_COMPACT_SERIALIZATION = "bordertech.wcomponents.model.compact.serialization.enabled";
+
 	/**
 	 * The flag indicating whether plaintext should cache.
 	 */
@@ -227,6 +247,17 @@ public final class ConfigurationProperties {
 	 */
 	public static final String SERVLET_ENABLE_SUBSESSIONS = "bordertech.wcomponents.servlet.subsessions.enabled";
 
+	/**
+	 * The maximum number of subsessions held for each HTTP session.
+	 */
+	public static final String SERVLET_SUBSESSIONS_MAX = "bordertech.wcomponents.servlet.subsessions.max";
+
+	/**
+	 * The time, in seconds, a subsession can be idle before it is evicted.
+	 */
+	public static final String SERVLET_SUBSESSIONS_IDLE_TIMEOUT
+			= "bordertech.wcomponents.servlet.subsessions.idle.timeout";
+
 	/**
 	 * The URL users are redirected to when a step error occurs.
 	 */
@@ -236,6 +267,12 @@ public final class ConfigurationProperties {
 	 * Whether to use sticky focus.
 	 */
 	public static final String STICKY_FOCUS = "bordertech.wcomponents.stickyFocus";
+
+	/**
+	 * The flag indicating whether subordinate controls should only evaluate the rules affected by changed trigger values
+	 * when applying request values.
+	 */
+	public static final String SUBORDINATE_INCREMENTAL = "bordertech.wcomponents.subordinate.incremental.enabled";
 	/**
 	 * The parameter variable that contains the URL path to the support servlet that services targeted requests for a
 	 * Portlet application. This parameter is only applicable to portlet applications
@@ -275,6 +312,41 @@ public final class ConfigurationProperties {
 	 */
 	public static final String THEME_NAME = "bordertech.wcomponents.theme.name";
 
+	/**
+	 * The flag indicating whether theme resources should be cached in memory.
+	 */
+	public static final String THEME_RESOURCE_CACHE = "bordertech.wcomponents.theme.resource.cache.enabled";
+
+	/**
+	 * The largest theme resource, in bytes, to cache in memory.
+	 */
+	public static final String THEME_RESOURCE_CACHE_MAX_FILE_SIZE = "bordertech.wcomponents.theme.resource.cache.max.file.size";
+
+	/**
+	 * The maximum number of bytes to hold in the theme resource cache.
+	 */
+	public static final String THEME_RESOURCE_CACHE_SIZE = "bordertech.wcomponents.theme.resource.cache.size";
+
+	/**
+	 * The flag indicating whether to load all theme resources into the cache at startup.
+	 */
+	public static final String THEME_RESOURCE_CACHE_WARM = "bordertech.wcomponents.theme.resource.cache.warm.enabled";
+
+	/**
+	 * The maximum number of uploaded image thumbnails to create in the background and hold until they are requested.
+	 */
+	public static final String THUMBNAIL_CACHE_SIZE = "bordertech.wcomponents.thumbnail.cache.size";
+
+	/**
+	 * The time, in seconds, a thumbnail created in the background is held waiting to be requested.
+	 */
+	public static final String THUMBNAIL_CACHE_TIMEOUT = "bordertech.wcomponents.thumbnail.cache.timeout";
+
+	/**
+	 * The number of threads used to create uploaded image thumbnails in the background.
+	 */
+	public static final String THUMBNAIL_THREADS = "bordertech.wcomponents.thumbnail.threads";
+
 	/**
 	 * The timeout period (in seconds).
 	 */
@@ -304,6 +376,31 @@ public final class ConfigurationProperties {
 	 */
 	public static final String TRACKING_DATA_COLLECTION_DOMAIN = "bordertech.wcomponents.tracking.datacollectiondomain";
 
+	/**
+	 * The flag indicating whether UIContexts hold component models in arrays indexed by component slot.
+	 */
+	public static final String UICONTEXT_DENSE = "bordertech.wcomponents.uicontext.dense.enabled";
+
+	/**
+	 * The largest uploaded file, in bytes, to hold in memory before it is written to a temporary file.
+	 */
+	public static final String UPLOAD_DISK_THRESHOLD = "bordertech.wcomponents.upload.disk.threshold";
+
+	/**
+	 * The maximum size, in bytes, of each file in a multipart request.
+	 */
+	public static final String UPLOAD_FILE_MAX_SIZE = "bordertech.wcomponents.upload.file.max.size";
+
+	/**
+	 * The directory uploaded files larger than the disk threshold are written to.
+	 */
+	public static final String UPLOAD_REPOSITORY = "bordertech.wcomponents.upload.repository";
+
+	/**
+	 * The maximum size, in bytes, of a multipart request.
+	 */
+	public static final String UPLOAD_REQUEST_MAX_SIZE = "bordertech.wcomponents.upload.request.max.size";
+
 	/**
 	 * The flag indicating whether the whitespace filter is enabled.
 	 */
@@ -341,6 +438,26 @@ public final class ConfigurationProperties {
 	 */
 	public static final String XSLT_ALLOW_CORRUPT_CHARACTER = "bordertech.wcomponents.xslt.allow.corrupt.characters";
 
+	/**
+	 * Whether to stream the result of server-side XSLT straight to the response rather than buffering it.
+	 */
+	public static final String XSLT_STREAM_OUTPUT = "bordertech.wcomponents.xslt.stream.output.enabled";
+
+	/**
+	 * Whether to use the precompiled theme XSLT when it is available.
+	 */
+	public static final String XSLT_PRECOMPILED = "bordertech.wcomponents.xslt.precompiled.enabled";
+
+	/**
+	 * The maximum number of XSLT transformers to pool for each set of stylesheet parameters.
+	 */
+	public static final String XSLT_TRANSFORMER_POOL_SIZE = "bordertech.wcomponents.xslt.transformer.pool.size";
+
+	/**
+	 * The time in milliseconds to wait for a pooled XSLT transformer before creating an unpooled one.
+	 */
+	public static final String XSLT_TRANSFORMER_POOL_WAIT = "bordertech.wcomponents.xslt.transformer.pool.wait";
+
 	/* ****************************
 	* DEVELOPER PROPERTIES - used for local debugging.
 	* *****************************/
@@ -519,7 +636,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "com/github/bordertech/wcomponents/sanitizers/antisamy-wc-lax.xml" if not set.
 	 */
 	public static String getAntisamyLaxConfigurationFile() {
-		return get().getString(ANTISAMY_LAX_CONFIG_PARAM, "com/github/bordertech/wcomponents/sanitizers/antisamy-wc-lax.xml");
+		return snapshot().getString(ANTISAMY_LAX_CONFIG_PARAM, "com/github/bordertech/wcomponents/sanitizers/antisamy-wc-lax.xml");
 	}
 
 	/**
@@ -528,7 +645,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "com/github/bordertech/wcomponents/sanitizers/antisamy-wc.xml" if not set.
 	 */
 	public static String getAntisamyStrictConfigurationFile() {
-		return get().getString(ANTISAMY_STRICT_CONFIG_PARAM, "com/github/bordertech/wcomponents/sanitizers/antisamy-wc.xml");
+		return snapshot().getString(ANTISAMY_STRICT_CONFIG_PARAM, "com/github/bordertech/wcomponents/sanitizers/antisamy-wc.xml");
 	}
 
 	/**
@@ -547,7 +664,7 @@ public final class ConfigurationProperties {
 	 * @return true if hold bean for request, otherwise false
 	 */
 	public static boolean getBeanProviderRequestScopeEnabled() {
-		return get().getBoolean("bordertech.wcomponents.bean.provider.request.scope.enabled", false);
+		return snapshot().getBoolean("bordertech.wcomponents.bean.provider.request.scope.enabled", false);
 	}
 
 	/**
@@ -569,7 +686,7 @@ public final class ConfigurationProperties {
 	 */
 	@Deprecated
 	public static boolean getCorrectBeanLogic() {
-		return get().getBoolean("bordertech.wcomponents.bean.logic.correct", true);
+		return snapshot().getBoolean("bordertech.wcomponents.bean.logic.correct", true);
 	}
 
 	/**
@@ -578,7 +695,17 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or false if null.
 	 */
 	public static boolean getDatalistCaching() {
-		return get().getBoolean(DATALIST_CACHING_PARAM_KEY, false);
+		return snapshot().getBoolean(DATALIST_CACHING_PARAM_KEY, false);
+	}
+
+	/**
+	 * The flag indicating whether encoded data lists should be held in memory by the server. Applications which enable
+	 * the cache must notify the data list interceptor when a table changes.
+	 *
+	 * @return the parameter value if set, or false if not set.
+	 */
+	public static boolean getDatalistServerCache() {
+		return snapshot().getBoolean(DATALIST_SERVER_CACHE, false);
 	}
 
 	/**
@@ -587,7 +714,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or "en" if not set.
 	 */
 	public static String getDefaultLocale() {
-		return get().getString(DEFAULT_LOCALE, "en");
+		return snapshot().getString(DEFAULT_LOCALE, "en");
 	}
 
 	/**
@@ -596,7 +723,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or application/octet-stream if not set.
 	 */
 	public static String getDefaultMimeType() {
-		return get().getString(DEFAULT_MIME_TYPE, "application/octet-stream");
+		return snapshot().getString(DEFAULT_MIME_TYPE, "application/octet-stream");
 	}
 
 	/**
@@ -615,7 +742,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getFactoryImplementation(final String interfaceName) {
-		return get().getString(FACTORY_PREFIX + interfaceName);
+		return snapshot().getString(FACTORY_PREFIX + interfaceName);
 	}
 
 	/**
@@ -625,7 +752,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or null if not set.
 	 */
 	public static String getFileMimeTypeForExtension(final String extension) {
-		return get().getString(FILE_MIME_TYPE_PREFIX + extension.toLowerCase());
+		return snapshot().getString(FILE_MIME_TYPE_PREFIX + extension.toLowerCase());
 	}
 
 	/**
@@ -634,7 +761,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or true if not set.
 	 */
 	public static boolean getHandlebarsCache() {
-		return get().getBoolean(HANDLEBARS_CACHE, true);
+		return snapshot().getBoolean(HANDLEBARS_CACHE, true);
 	}
 
 	/**
@@ -643,13 +770,13 @@ public final class ConfigurationProperties {
 	 * @return the new parameter value if set, else the old parameter value if set, or false if neither set.
 	 */
 	public static boolean getHandleErrorWithFatalErrorPageFactory() {
-		Boolean parameterValue = get().getBoolean(HANDLE_ERROR_WITH_FATAL_PAGE_FACTORY, null);
+		Boolean parameterValue = snapshot().getBoolean(HANDLE_ERROR_WITH_FATAL_PAGE_FACTORY, null);
 		if (parameterValue != null) {
 			return parameterValue;
 		}
 
 		// fall-back to the old parameter value if the new value is not set.
-		return get().getBoolean(HANDLE_ERROR_WITH_FATAL_PAGE_FACTORY_DEPRECATED, false);
+		return snapshot().getBoolean(HANDLE_ERROR_WITH_FATAL_PAGE_FACTORY_DEPRECATED, false);
 	}
 
 	/**
@@ -658,7 +785,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-question-circle" if not set.
 	 */
 	public static String getHtmlIconClassHelp() {
-		return get().getString(HTML_ICON_CLASS_HELP, "fa-question-circle");
+		return snapshot().getString(HTML_ICON_CLASS_HELP, "fa-question-circle");
 	}
 
 	/**
@@ -667,7 +794,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-info-circle" if not set.
 	 */
 	public static String getHtmlIconClassInfo() {
-		return get().getString(HTML_ICON_CLASS_INFO, "fa-info-circle");
+		return snapshot().getString(HTML_ICON_CLASS_INFO, "fa-info-circle");
 	}
 
 	/**
@@ -676,7 +803,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-exclamation-triangle" if not set.
 	 */
 	public static String getHtmlIconClassWarn() {
-		return get().getString(HTML_ICON_CLASS_WARN, "fa-exclamation-triangle");
+		return snapshot().getString(HTML_ICON_CLASS_WARN, "fa-exclamation-triangle");
 	}
 
 	/**
@@ -685,7 +812,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-minus-circle" if not set.
 	 */
 	public static String getHtmlIconClassError() {
-		return get().getString(HTML_ICON_CLASS_ERROR, "fa-minus-circle");
+		return snapshot().getString(HTML_ICON_CLASS_ERROR, "fa-minus-circle");
 	}
 
 	/**
@@ -694,7 +821,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-check-circle" if not set.
 	 */
 	public static String getHtmlIconClassSuccess() {
-		return get().getString(HTML_ICON_CLASS_SUCCESS, "fa-check-circle");
+		return snapshot().getString(HTML_ICON_CLASS_SUCCESS, "fa-check-circle");
 	}
 
 	/**
@@ -703,7 +830,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-plus-square" if not set.
 	 */
 	public static String getHtmlIconClassAdd() {
-		return get().getString(HTML_ICON_CLASS_ADD, "fa-plus-square");
+		return snapshot().getString(HTML_ICON_CLASS_ADD, "fa-plus-square");
 	}
 
 	/**
@@ -712,7 +839,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-minus-square" if not set.
 	 */
 	public static String getHtmlIconClassDelete() {
-		return get().getString(HTML_ICON_CLASS_DELETE, "fa-minus-square");
+		return snapshot().getString(HTML_ICON_CLASS_DELETE, "fa-minus-square");
 	}
 
 	/**
@@ -721,7 +848,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-pencil" if not set.
 	 */
 	public static String getHtmlIconClassEdit() {
-		return get().getString(HTML_ICON_CLASS_EDIT, "fa-pencil");
+		return snapshot().getString(HTML_ICON_CLASS_EDIT, "fa-pencil");
 	}
 
 	/**
@@ -730,7 +857,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-floppy-o" if not set.
 	 */
 	public static String getHtmlIconClassSave() {
-		return get().getString(HTML_ICON_CLASS_SAVE, "fa-floppy-o");
+		return snapshot().getString(HTML_ICON_CLASS_SAVE, "fa-floppy-o");
 	}
 
 	/**
@@ -739,7 +866,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-search" if not set.
 	 */
 	public static String getHtmlIconClassSearch() {
-		return get().getString(HTML_ICON_CLASS_SEARCH, "fa-search");
+		return snapshot().getString(HTML_ICON_CLASS_SEARCH, "fa-search");
 	}
 
 	/**
@@ -748,7 +875,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-ban" if not set.
 	 */
 	public static String getHtmlIconClassCancel() {
-		return get().getString(HTML_ICON_CLASS_CANCEL, "fa-ban");
+		return snapshot().getString(HTML_ICON_CLASS_CANCEL, "fa-ban");
 	}
 
 	/**
@@ -757,7 +884,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-bars" if not set.
 	 */
 	public static String getHtmlIconClassMenu() {
-		return get().getString(HTML_ICON_CLASS_MENU, "fa-bars");
+		return snapshot().getString(HTML_ICON_CLASS_MENU, "fa-bars");
 	}
 
 	/**
@@ -766,7 +893,25 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "fa-print" if not set.
 	 */
 	public static String getHtmlIconClassPrint() {
-		return get().getString(HTML_ICON_CLASS_PRINT, "fa-print");
+		return snapshot().getString(HTML_ICON_CLASS_PRINT, "fa-print");
+	}
+
+	/**
+	 * The flag indicating whether resolved messages should be cached.
+	 *
+	 * @return the parameter value if set, or true if not set.
+	 */
+	public static boolean getI18nCache() {
+		return snapshot().getBoolean(I18N_CACHE, true);
+	}
+
+	/**
+	 * The maximum number of messages and message formats to cache for each locale.
+	 *
+	 * @return the parameter value if set, or 10000 if not set.
+	 */
+	public static int getI18nCacheSize() {
+		return snapshot().getInt(I18N_CACHE_SIZE, 10000);
 	}
 
 	/**
@@ -775,7 +920,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getI18nResourceBundleBaseName() {
-		return get().getString(I18N_RESOURCE_BUNDLE_BASE_NAME);
+		return snapshot().getString(I18N_RESOURCE_BUNDLE_BASE_NAME);
 	}
 
 	/**
@@ -784,7 +929,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, otherwise the default.
 	 */
 	public static String getI18nThemeResourceBundleBaseName() {
-		return get().getString(I18N_THEME_RESOURCE_BUNDLE_BASE_NAME, "com/github/bordertech/wcomponents/theme-messages");
+		return snapshot().getString(I18N_THEME_RESOURCE_BUNDLE_BASE_NAME, "com/github/bordertech/wcomponents/theme-messages");
 	}
 
 	/**
@@ -793,8 +938,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or false if null.
 	 */
 	public static boolean getIntegrityErrorMode() {
-		return get().
-				getBoolean(INTEGRITY_ERROR_MODE, false);
+		return snapshot().getBoolean(INTEGRITY_ERROR_MODE, false);
 	}
 
 	/**
@@ -804,7 +948,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or null if not set.
 	 */
 	public static String getInternalMessage(final String key) {
-		return get().getString(key);
+		return snapshot().getString(key);
 	}
 
 	/**
@@ -813,7 +957,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or null if not set.
 	 */
 	public static String getLogoutUrl() {
-		return get().getString(LOGOUT_URL);
+		return snapshot().getString(LOGOUT_URL);
 	}
 
 	/**
@@ -822,7 +966,17 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, otherwise the default.
 	 */
 	public static int getMemoryUtilWarnThreshold() {
-		return get().getInt(MEMUTIL_WARN_THRESHOLD, 1000);
+		return snapshot().getInt(MEMUTIL_WARN_THRESHOLD, 1000);
+	}
+
+	/**
+	 * The flag indicating whether component models are serialized in the compact format. This should only be disabled
+	 * while sessions are being shared with servers running an older version of WComponents.
+	 *
+	 * @return the parameter value if set, or true if not set.
+	 */
+	public static boolean getModelCompactSerialization() {
+		return snapshot().getBoolean(MODEL_COMPACT_SERIALIZATION, true);
 	}
 
 	/**
@@ -831,7 +985,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or true if not set.
 	 */
 	public static boolean getPlaintextCache() {
-		return get().getBoolean(PLAINTEXT_CACHE, true);
+		return snapshot().getBoolean(PLAINTEXT_CACHE, true);
 	}
 
 	/**
@@ -840,7 +994,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or null if not set.
 	 */
 	public static String getProjectVersion() {
-		return get().getString(PROJECT_VERSION);
+		return snapshot().getString(PROJECT_VERSION);
 	}
 
 	/**
@@ -854,7 +1008,7 @@ public final class ConfigurationProperties {
 			throw new IllegalArgumentException("classname cannot be blank.");
 		}
 
-		return get().getString(RENDERER_OVERRIDE_PREFIX + classname);
+		return snapshot().getString(RENDERER_OVERRIDE_PREFIX + classname);
 	}
 
 	/**
@@ -865,7 +1019,7 @@ public final class ConfigurationProperties {
 	 */
 	public static String getResponseCacheHeaderSettings(final String contentType) {
 		String parameter = MessageFormat.format(RESPONSE_CACHE_HEADER_SETTINGS, contentType);
-		return get().getString(parameter);
+		return snapshot().getString(parameter);
 	}
 
 	/**
@@ -874,7 +1028,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or 'public, max-age=31536000' if not set.
 	 */
 	public static String getResponseCacheSettings() {
-		return get().getString(RESPONSE_CACHE_SETTINGS, RESPONSE_DEFAULT_CACHE_SETTINGS);
+		return snapshot().getString(RESPONSE_CACHE_SETTINGS, RESPONSE_DEFAULT_CACHE_SETTINGS);
 	}
 
 	/**
@@ -883,7 +1037,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or 'no-cache, no-store, must-revalidate, private' if not set.
 	 */
 	public static String getResponseNoCacheSettings() {
-		return get().getString(RESPONSE_NO_CACHE_SETTINGS, RESPONSE_DEFAULT_NO_CACHE_SETTINGS);
+		return snapshot().getString(RESPONSE_NO_CACHE_SETTINGS, RESPONSE_DEFAULT_NO_CACHE_SETTINGS);
 	}
 
 	/**
@@ -892,7 +1046,27 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or false if not set.
 	 */
 	public static boolean getServletEnableSubsessions() {
-		return get().getBoolean(SERVLET_ENABLE_SUBSESSIONS, false);
+		return snapshot().getBoolean(SERVLET_ENABLE_SUBSESSIONS, false);
+	}
+
+	/**
+	 * The maximum number of subsessions held for each HTTP session. When a new subsession would exceed the maximum,
+	 * the least recently used subsession is evicted.
+	 *
+	 * @return the parameter value, or 20 if not set. A value of zero or less means there is no maximum.
+	 */
+	public static int getServletSubsessionsMax() {
+		return snapshot().getInt(SERVLET_SUBSESSIONS_MAX, 20);
+	}
+
+	/**
+	 * The time, in seconds, a subsession can be idle before it is evicted, while other subsessions keep the HTTP
+	 * session alive.
+	 *
+	 * @return the parameter value, or 0 if not set, to use the max inactive interval of the HTTP session.
+	 */
+	public static int getServletSubsessionsIdleTimeout() {
+		return snapshot().getInt(SERVLET_SUBSESSIONS_IDLE_TIMEOUT, 0);
 	}
 
 	/**
@@ -902,7 +1076,7 @@ public final class ConfigurationProperties {
 	 * @return The parameter value, or null if not set.
 	 */
 	public static String getServletSupportPath() {
-		return get().getString(SUPPORT_SERVLET_PATH);
+		return snapshot().getString(SUPPORT_SERVLET_PATH);
 	}
 
 	/**
@@ -911,7 +1085,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getStepErrorUrl() {
-		return get().getString(STEP_ERROR_URL);
+		return snapshot().getString(STEP_ERROR_URL);
 	}
 
 	/**
@@ -920,7 +1094,17 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or false if not set.
 	 */
 	public static boolean getStickyFocus() {
-		return get().getBoolean(STICKY_FOCUS, false);
+		return snapshot().getBoolean(STICKY_FOCUS, false);
+	}
+
+	/**
+	 * The flag indicating whether subordinate controls should only evaluate the rules affected by changed trigger values
+	 * when applying request values.
+	 *
+	 * @return the parameter value if set, or true if not set.
+	 */
+	public static boolean getSubordinateIncremental() {
+		return snapshot().getBoolean(SUBORDINATE_INCREMENTAL, true);
 	}
 
 	/**
@@ -930,7 +1114,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or null if not set.
 	 */
 	public static String getTemplateRenderingEngine(final String engineName) {
-		return get().getString(TEMPLATE_RENDERING_ENGINE + "." + engineName);
+		return snapshot().getString(TEMPLATE_RENDERING_ENGINE + "." + engineName);
 	}
 
 	/**
@@ -949,7 +1133,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or false if not set.
 	 */
 	public static boolean getTerminateSessionOnError() {
-		return get().getBoolean(TERMINATE_SESSION_ON_ERROR, false);
+		return snapshot().getBoolean(TERMINATE_SESSION_ON_ERROR, false);
 	}
 
 	/**
@@ -958,7 +1142,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or null if not set.
 	 */
 	public static String getThemeContentPath() {
-		return get().getString(THEME_CONTENT_PATH);
+		return snapshot().getString(THEME_CONTENT_PATH);
 	}
 
 	/**
@@ -967,7 +1151,71 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getThemeName() {
-		return get().getString(THEME_NAME);
+		return snapshot().getString(THEME_NAME);
+	}
+
+	/**
+	 * The flag indicating whether theme resources should be cached in memory.
+	 *
+	 * @return the parameter value if set, or true if not set.
+	 */
+	public static boolean getThemeResourceCache() {
+		return snapshot().getBoolean(THEME_RESOURCE_CACHE, true);
+	}
+
+	/**
+	 * The largest theme resource, in bytes, to cache in memory.
+	 *
+	 * @return the parameter value if set, or 4MB if not set.
+	 */
+	public static long getThemeResourceCacheMaxFileSize() {
+		return snapshot().getLong(THEME_RESOURCE_CACHE_MAX_FILE_SIZE, 4L * 1024 * 1024);
+	}
+
+	/**
+	 * The maximum number of bytes to hold in the theme resource cache, including compressed variants.
+	 *
+	 * @return the parameter value if set, or 64MB if not set.
+	 */
+	public static long getThemeResourceCacheSize() {
+		return snapshot().getLong(THEME_RESOURCE_CACHE_SIZE, 64L * 1024 * 1024);
+	}
+
+	/**
+	 * The flag indicating whether to load all theme resources into the cache at startup.
+	 *
+	 * @return the parameter value if set, or false if not set.
+	 */
+	public static boolean getThemeResourceCacheWarm() {
+		return snapshot().getBoolean(THEME_RESOURCE_CACHE_WARM, false);
+	}
+
+	/**
+	 * The maximum number of uploaded image thumbnails to create in the background and hold until they are requested.
+	 *
+	 * @return the parameter value if set, or 500 if not set.
+	 */
+	public static int getThumbnailCacheSize() {
+		return snapshot().getInt(THUMBNAIL_CACHE_SIZE, 500);
+	}
+
+	/**
+	 * The time, in seconds, a thumbnail created in the background is held waiting to be requested.
+	 *
+	 * @return the parameter value if set, or 300 if not set.
+	 */
+	public static int getThumbnailCacheTimeout() {
+		return snapshot().getInt(THUMBNAIL_CACHE_TIMEOUT, 300);
+	}
+
+	/**
+	 * The number of threads used to create uploaded image thumbnails in the background. Zero creates thumbnails when
+	 * they are requested.
+	 *
+	 * @return the parameter value if set, or 2 if not set.
+	 */
+	public static int getThumbnailThreads() {
+		return snapshot().getInt(THUMBNAIL_THREADS, 2);
 	}
 
 	/**
@@ -994,7 +1242,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getTrackingApplicationName() {
-		return get().getString(TRACKING_APPLICATION_NAME);
+		return snapshot().getString(TRACKING_APPLICATION_NAME);
 	}
 
 	/**
@@ -1003,7 +1251,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getTrackingClientId() {
-		return get().getString(TRACKING_CLIENT_ID);
+		return snapshot().getString(TRACKING_CLIENT_ID);
 	}
 
 	/**
@@ -1012,7 +1260,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getTrackingCookieDomain() {
-		return get().getString(TRACKING_COOKIE_DOMAIN);
+		return snapshot().getString(TRACKING_COOKIE_DOMAIN);
 	}
 
 	/**
@@ -1021,7 +1269,53 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getTrackingDataCollectionDomain() {
-		return get().getString(TRACKING_DATA_COLLECTION_DOMAIN);
+		return snapshot().getString(TRACKING_DATA_COLLECTION_DOMAIN);
+	}
+
+	/**
+	 * The flag indicating whether new UIContexts are {@link com.github.bordertech.wcomponents.DenseUIContextImpl}s,
+	 * which hold component models in arrays indexed by the slot given to each component when the UI is locked.
+	 *
+	 * @return the parameter value if set, or false if not set.
+	 */
+	public static boolean getUIContextDense() {
+		return snapshot().getBoolean(UICONTEXT_DENSE, false);
+	}
+
+	/**
+	 * The largest uploaded file, in bytes, to hold in memory before it is written to a temporary file.
+	 *
+	 * @return the parameter value if set, or 10KB if not set.
+	 */
+	public static int getUploadDiskThreshold() {
+		return snapshot().getInt(UPLOAD_DISK_THRESHOLD, 10 * 1024);
+	}
+
+	/**
+	 * The maximum size, in bytes, of each file in a multipart request.
+	 *
+	 * @return the parameter value if set, or -1 (no limit) if not set.
+	 */
+	public static long getUploadFileMaxSize() {
+		return snapshot().getLong(UPLOAD_FILE_MAX_SIZE, -1L);
+	}
+
+	/**
+	 * The directory uploaded files larger than the disk threshold are written to.
+	 *
+	 * @return the parameter value if set, or null to use the system temporary directory.
+	 */
+	public static String getUploadRepository() {
+		return snapshot().getString(UPLOAD_REPOSITORY);
+	}
+
+	/**
+	 * The maximum size, in bytes, of a multipart request.
+	 *
+	 * @return the parameter value if set, or -1 (no limit) if not set.
+	 */
+	public static long getUploadRequestMaxSize() {
+		return snapshot().getLong(UPLOAD_REQUEST_MAX_SIZE, -1L);
 	}
 
 	/**
@@ -1030,7 +1324,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or true if not set.
 	 */
 	public static boolean getVelocityCache() {
-		return get().getBoolean(VELOCITY_CACHE, true);
+		return snapshot().getBoolean(VELOCITY_CACHE, true);
 	}
 
 	/**
@@ -1048,7 +1342,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getVelocityFileTemplates() {
-		return get().getString(VELOCITY_FILE_TEMPLATES);
+		return snapshot().getString(VELOCITY_FILE_TEMPLATES);
 	}
 
 	/**
@@ -1057,7 +1351,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getVelocityMacroLibrary() {
-		return get().getString(VELOCITY_MACRO_LIBRARY);
+		return snapshot().getString(VELOCITY_MACRO_LIBRARY);
 	}
 
 	/**
@@ -1066,7 +1360,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or true if not set.
 	 */
 	public static boolean getWhitespaceFilter() {
-		return get().getBoolean(WHITESPACE_FILTER, true);
+		return snapshot().getBoolean(WHITESPACE_FILTER, true);
 	}
 
 	/**
@@ -1085,7 +1379,44 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or false if not set.
 	 */
 	public static boolean getXsltAllowCorruptCharacters() {
-		return get().getBoolean(XSLT_ALLOW_CORRUPT_CHARACTER, false);
+		return snapshot().getBoolean(XSLT_ALLOW_CORRUPT_CHARACTER, false);
+	}
+
+	/**
+	 * Whether to stream the result of server-side XSLT straight to the response. When streaming, a failed transform
+	 * may leave a partially written response.
+	 *
+	 * @return the parameter value, or false if not set.
+	 */
+	public static boolean getXsltStreamOutput() {
+		return snapshot().getBoolean(XSLT_STREAM_OUTPUT, false);
+	}
+
+	/**
+	 * Whether to use the precompiled theme XSLT when it is available.
+	 *
+	 * @return the parameter value, or true if not set.
+	 */
+	public static boolean getXsltPrecompiled() {
+		return snapshot().getBoolean(XSLT_PRECOMPILED, true);
+	}
+
+	/**
+	 * The maximum number of XSLT transformers to pool for each set of stylesheet parameters.
+	 *
+	 * @return the parameter value if set, otherwise the number of available processors.
+	 */
+	public static int getXsltTransformerPoolSize() {
+		return snapshot().getInt(XSLT_TRANSFORMER_POOL_SIZE, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * The time in milliseconds to wait for a pooled XSLT transformer before creating an unpooled one.
+	 *
+	 * @return the parameter value if set, otherwise 50.
+	 */
+	public static long getXsltTransformerPoolWait() {
+		return snapshot().getLong(XSLT_TRANSFORMER_POOL_WAIT, 50L);
 	}
 
 	/* ****************************
@@ -1097,7 +1428,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or false if not set.
 	 */
 	public static boolean getDeveloperClusterEmulation() {
-		return get().getBoolean(DEVELOPER_MODE_CLUSTER_EMULATION, false);
+		return snapshot().getBoolean(DEVELOPER_MODE_CLUSTER_EMULATION, false);
 	}
 
 	/**
@@ -1117,7 +1448,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or false if not set.
 	 */
 	public static boolean getDeveloperDebugEnabled() {
-		return get().getBoolean(DEVELOPER_DEBUG_ENABLED, false);
+		return snapshot().getBoolean(DEVELOPER_DEBUG_ENABLED, false);
 	}
 
 	/**
@@ -1126,7 +1457,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or false if not set.
 	 */
 	public static boolean getDeveloperDumpUIContext() {
-		return get().getBoolean(DEVELOPER_DUMP_UICONTEXT, false);
+		return snapshot().getBoolean(DEVELOPER_DUMP_UICONTEXT, false);
 	}
 
 	/**
@@ -1135,7 +1466,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value or false if not set.
 	 */
 	public static boolean getDeveloperErrorHandling() {
-		return get().getBoolean(DEVELOPER_MODE_ERROR_HANDLING, false);
+		return snapshot().getBoolean(DEVELOPER_MODE_ERROR_HANDLING, false);
 	}
 
 	/**
@@ -1144,7 +1475,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or false if not set.
 	 */
 	public static boolean getDeveloperToolkit() {
-		return get().getBoolean(DEVELOPER_TOOKIT, false);
+		return snapshot().getBoolean(DEVELOPER_TOOKIT, false);
 	}
 
 	/**
@@ -1153,7 +1484,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or false if not set.
 	 */
 	public static boolean getDeveloperValidateXml() {
-		return get().getBoolean(DEVELOPER_VALIDATE_XML, false);
+		return snapshot().getBoolean(DEVELOPER_VALIDATE_XML, false);
 	}
 
 	/**
@@ -1162,7 +1493,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or false if not set.
 	 */
 	public static boolean getDeveloperVelocityDebug() {
-		return get().getBoolean(DEVELOPER_VELOCITY_DEBUG, false);
+		return snapshot().getBoolean(DEVELOPER_VELOCITY_DEBUG, false);
 	}
 
 	/* ****************************
@@ -1174,7 +1505,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or false if not set.
 	 */
 	public static boolean getLdeLoadPersistedSessionEnabled() {
-		return get().getBoolean(LDE_LOAD_PERSISTENT_SESSION, false);
+		return snapshot().getBoolean(LDE_LOAD_PERSISTENT_SESSION, false);
 	}
 
 	/**
@@ -1183,7 +1514,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or false if not set.
 	 */
 	public static boolean getLdePersistSessionEnabled() {
-		return get().getBoolean(LDE_PERSIST_SESSION, false);
+		return snapshot().getBoolean(LDE_PERSIST_SESSION, false);
 	}
 
 	/**
@@ -1192,7 +1523,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or null if not set.
 	 */
 	public static String getLdePlainLauncherComponentToLaunch() {
-		return get().getString(LDE_PLAINLAUNCHER_COMPONENT_TO_LAUNCH);
+		return snapshot().getString(LDE_PLAINLAUNCHER_COMPONENT_TO_LAUNCH);
 	}
 
 	/**
@@ -1201,7 +1532,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or false if not set.
 	 */
 	public static boolean getLdeServerEnableShutdown() {
-		return get().getBoolean(LDE_SERVER_ENABLE_SHUTDOWN, false);
+		return snapshot().getBoolean(LDE_SERVER_ENABLE_SHUTDOWN, false);
 	}
 
 	/**
@@ -1210,7 +1541,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or 8080 if not set.
 	 */
 	public static int getLdeServerPort() {
-		return get().getInt(LDE_SERVER_PORT, 8080);
+		return snapshot().getInt(LDE_SERVER_PORT, 8080);
 	}
 
 	/**
@@ -1219,7 +1550,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or null if not set.
 	 */
 	public static String getLdeServerJettyRealmFile() {
-		return get().getString(LDE_SERVER_JETTY_REALM_FILE);
+		return snapshot().getString(LDE_SERVER_JETTY_REALM_FILE);
 	}
 
 	/**
@@ -1228,7 +1559,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or false if not set.
 	 */
 	public static boolean getLdeServerShowMemoryProfile() {
-		return get().getBoolean(LDE_SHOW_MEMORY_PROFILE, false);
+		return snapshot().getBoolean(LDE_SHOW_MEMORY_PROFILE, false);
 	}
 
 	/**
@@ -1237,7 +1568,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or 0 if not set.
 	 */
 	public static int getLdeServerSessionTimeout() {
-		return get().getInt(LDE_SERVER_SESSION_TIMEOUT, 0);
+		return snapshot().getInt(LDE_SERVER_SESSION_TIMEOUT, 0);
 	}
 
 	/**
@@ -1276,7 +1607,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or "data-wc-domready" if not set.
 	 */
 	public static String getTestSeleniumDataReadyTag() {
-		return get().getString(TEST_SELENIUM_DATA_READY_TAG, "data-wc-domready");
+		return snapshot().getString(TEST_SELENIUM_DATA_READY_TAG, "data-wc-domready");
 	}
 
 	/**
@@ -1297,7 +1628,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or 5 if not set.
 	 */
 	public static long getTestSeleniumImplicitWait() {
-		return get().getLong(TEST_SELENIUM_IMPLICIT_WAIT, 5);
+		return snapshot().getLong(TEST_SELENIUM_IMPLICIT_WAIT, 5);
 	}
 
 	/**
@@ -1330,7 +1661,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or false if not set.
 	 */
 	public static boolean getTestSeleniumMultiBrowserDriverParallel() {
-		return get().getBoolean(TEST_SELENIUM_MULTI_BROWSER_PARALLEL, false);
+		return snapshot().getBoolean(TEST_SELENIUM_MULTI_BROWSER_PARALLEL, false);
 	}
 
 	/**
@@ -1339,7 +1670,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or false if not set.
 	 */
 	public static boolean getTestSeleniumParallelMethods() {
-		return get().getBoolean(TEST_SELENIUM_PARALLEL_METHODS, false);
+		return snapshot().getBoolean(TEST_SELENIUM_PARALLEL_METHODS, false);
 	}
 
 	/**
@@ -1348,7 +1679,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or 50 if not set.
 	 */
 	public static long getTestSeleniumPageReadyPollInterval() {
-		return get().getLong(TEST_SELENIUM_PAGE_READY_POLL_INTERVAL, 50);
+		return snapshot().getLong(TEST_SELENIUM_PAGE_READY_POLL_INTERVAL, 50);
 	}
 
 	/**
@@ -1357,7 +1688,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value if set, or 10 if not set.
 	 */
 	public static int getTestSeleniumPageReadyTimeout() {
-		return get().getInt(TEST_SELENIUM_PAGE_READY_TIMEOUT, 10);
+		return snapshot().getInt(TEST_SELENIUM_PAGE_READY_TIMEOUT, 10);
 	}
 
 	/**
@@ -1366,7 +1697,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or null if not set.
 	 */
 	public static String getTestSeleniumParameterisedDriver() {
-		return get().getString(TEST_SELENIUM_PARAMETERISED_DRIVER);
+		return snapshot().getString(TEST_SELENIUM_PARAMETERISED_DRIVER);
 	}
 
 	/**
@@ -1376,7 +1707,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or the global default if not set.
 	 */
 	public static String getTestSeleniumParameterisedDriver(final String testClassName) {
-		String driver = get().getString(TEST_SELENIUM_PARAMETERISED_DRIVER + "." + testClassName);
+		String driver = snapshot().getString(TEST_SELENIUM_PARAMETERISED_DRIVER + "." + testClassName);
 		return driver == null ? getTestSeleniumParameterisedDriver() : driver;
 	}
 
@@ -1395,7 +1726,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or 1080 if not set.
 	 */
 	public static int getTestSeleniumScreenHeight() {
-		return get().getInt(TEST_SELENIUM_SCREEN_HEIGHT, 1080);
+		return snapshot().getInt(TEST_SELENIUM_SCREEN_HEIGHT, 1080);
 	}
 
 	/**
@@ -1404,7 +1735,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or 1920 if not set.
 	 */
 	public static int getTestSeleniumScreenWidth() {
-		return get().getInt(TEST_SELENIUM_SCREEN_WIDTH, 1920);
+		return snapshot().getInt(TEST_SELENIUM_SCREEN_WIDTH, 1920);
 	}
 
 	/**
@@ -1413,7 +1744,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or false if not set.
 	 */
 	public static boolean getTestSeleniumServerStart() {
-		return get().getBoolean(TEST_SELENIUM_SERVER_START, false);
+		return snapshot().getBoolean(TEST_SELENIUM_SERVER_START, false);
 	}
 
 	/**
@@ -1423,7 +1754,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or the global default if not set.
 	 */
 	public static boolean getTestSeleniumServerStart(final String testClassName) {
-		Boolean testClassValue = get().getBoolean(TEST_SELENIUM_SERVER_START + "." + testClassName, null);
+		Boolean testClassValue = snapshot().getBoolean(TEST_SELENIUM_SERVER_START + "." + testClassName, null);
 		return testClassValue == null ? getTestSeleniumServerStart() : testClassValue;
 	}
 
@@ -1433,7 +1764,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or null if not set.
 	 */
 	public static String getTestSeleniumServerUrl() {
-		return get().getString(TEST_SELENIUM_SERVER_URL);
+		return snapshot().getString(TEST_SELENIUM_SERVER_URL);
 	}
 
 	/**
@@ -1443,7 +1774,7 @@ public final class ConfigurationProperties {
 	 * @return the parameter value, or the global default if not set.
 	 */
 	public static String getTestSeleniumServerUrl(final String testClassName) {
-		String testClassValue = get().getString(TEST_SELENIUM_SERVER_URL + "." + testClassName);
+		String testClassValue = snapshot().getString(TEST_SELENIUM_SERVER_URL + "." + testClassName);
 		return testClassValue == null ? getTestSeleniumServerUrl() : testClassValue;
 	}
 
@@ -1456,6 +1787,16 @@ public final class ConfigurationProperties {
 		return Config.getInstance();
 	}
 
+	/**
+	 * Retrieves the typed configuration values. Values read through the snapshot are held until the configuration
+	 * changes, so parameters which are read on every request are not converted on every read.
+	 *
+	 * @return the current configuration snapshot.
+	 */
+	private static ConfigurationSnapshot snapshot() {
+		return ConfigurationSnapshot.getInstance();
+	}
+
 	/**
 	 * Private constructor for static class.
 	 */
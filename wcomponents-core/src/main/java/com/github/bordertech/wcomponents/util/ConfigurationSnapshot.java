@@ -0,0 +1,204 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.event.EventSource;
+
+/**
+ * <p>
+ * A snapshot of typed configuration values, used by {@link ConfigurationProperties} so that frequently read parameters
+ * do not need to be looked up and converted on every call. Each value is read from the configuration the first time it
+ * is requested, and is then held until the configuration changes. Each parameter must always be read as the same type
+ * and with the same default value.
+ * </p>
+ * <p>
+ * The snapshot is discarded when {@link Config#notifyListeners()} is called, when the default configuration is
+ * modified, or when a configuration which supports configuration events is modified. A new snapshot is created on the
+ * next read.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+final class ConfigurationSnapshot {
+
+	/**
+	 * Marker for a parameter which is not set and has no default value.
+	 */
+	private static final Object NULL_VALUE = new Object();
+
+	/**
+	 * The lock used when creating or discarding the snapshot.
+	 */
+	private static final Object LOCK = new Object();
+
+	/**
+	 * The current snapshot, or null if a new snapshot must be created.
+	 */
+	private static volatile ConfigurationSnapshot current;
+
+	/**
+	 * Whether the snapshot has registered for notification of configuration changes.
+	 */
+	private static boolean registered;
+
+	/**
+	 * The last configuration which has been listened to for configuration events.
+	 */
+	private static Configuration listenedConfiguration;
+
+	/**
+	 * The configuration which the values are read from.
+	 */
+	private final Configuration configuration;
+
+	/**
+	 * The typed values which have been read, keyed by parameter name.
+	 */
+	private final ConcurrentMap<String, Object> values = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a ConfigurationSnapshot.
+	 *
+	 * @param configuration the configuration to read the values from.
+	 */
+	private ConfigurationSnapshot(final Configuration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * @return the current snapshot.
+	 */
+	static ConfigurationSnapshot getInstance() {
+		ConfigurationSnapshot snapshot = current;
+		return snapshot == null ? createSnapshot() : snapshot;
+	}
+
+	/**
+	 * Discards the current snapshot, so that values are read from the configuration again.
+	 */
+	static void invalidate() {
+		synchronized (LOCK) {
+			current = null;
+		}
+	}
+
+	/**
+	 * Creates a new snapshot, if another thread has not already done so.
+	 *
+	 * @return the current snapshot.
+	 */
+	private static ConfigurationSnapshot createSnapshot() {
+		synchronized (LOCK) {
+			if (current == null) {
+				if (!registered) {
+					Config.addPropertyChangeListener(event -> invalidate());
+					registered = true;
+				}
+
+				Configuration configuration = Config.getInstance();
+
+				if (configuration != listenedConfiguration && configuration instanceof EventSource) {
+					((EventSource) configuration).addConfigurationListener(event -> {
+						if (!event.isBeforeUpdate()) {
+							invalidate();
+						}
+					});
+					listenedConfiguration = configuration;
+				}
+
+				current = new ConfigurationSnapshot(configuration);
+			}
+
+			return current;
+		}
+	}
+
+	/**
+	 * @param key the parameter name.
+	 * @param defaultValue the value to use if the parameter is not set.
+	 * @return the parameter value.
+	 */
+	boolean getBoolean(final String key, final boolean defaultValue) {
+		Object value = values.get(key);
+
+		if (!(value instanceof Boolean)) {
+			value = configuration.getBoolean(key, defaultValue);
+			values.put(key, value);
+		}
+
+		return (Boolean) value;
+	}
+
+	/**
+	 * @param key the parameter name.
+	 * @param defaultValue the value to use if the parameter is not set, may be null.
+	 * @return the parameter value, may be null.
+	 */
+	Boolean getBoolean(final String key, final Boolean defaultValue) {
+		Object value = values.get(key);
+
+		if (value != NULL_VALUE && !(value instanceof Boolean)) {
+			value = configuration.getBoolean(key, defaultValue);
+			values.put(key, value == null ? NULL_VALUE : value);
+		}
+
+		return value == NULL_VALUE ? null : (Boolean) value;
+	}
+
+	/**
+	 * @param key the parameter name.
+	 * @param defaultValue the value to use if the parameter is not set.
+	 * @return the parameter value.
+	 */
+	int getInt(final String key, final int defaultValue) {
+		Object value = values.get(key);
+
+		if (!(value instanceof Integer)) {
+			value = configuration.getInt(key, defaultValue);
+			values.put(key, value);
+		}
+
+		return (Integer) value;
+	}
+
+	/**
+	 * @param key the parameter name.
+	 * @param defaultValue the value to use if the parameter is not set.
+	 * @return the parameter value.
+	 */
+	long getLong(final String key, final long defaultValue) {
+		Object value = values.get(key);
+
+		if (!(value instanceof Long)) {
+			value = configuration.getLong(key, defaultValue);
+			values.put(key, value);
+		}
+
+		return (Long) value;
+	}
+
+	/**
+	 * @param key the parameter name.
+	 * @return the parameter value, or null if not set.
+	 */
+	String getString(final String key) {
+		return getString(key, null);
+	}
+
+	/**
+	 * @param key the parameter name.
+	 * @param defaultValue the value to use if the parameter is not set, may be null.
+	 * @return the parameter value, may be null.
+	 */
+	String getString(final String key, final String defaultValue) {
+		Object value = values.get(key);
+
+		if (value != NULL_VALUE && !(value instanceof String)) {
+			value = configuration.getString(key, defaultValue);
+			values.put(key, value == null ? NULL_VALUE : value);
+		}
+
+		return value == NULL_VALUE ? null : (String) value;
+	}
+}
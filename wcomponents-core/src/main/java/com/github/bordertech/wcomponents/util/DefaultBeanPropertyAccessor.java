@@ -0,0 +1,498 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.beanutils.NestedNullException;
+import org.apache.commons.beanutils.PropertyUtils;
+
+/**
+ * <p>
+ * This default implementation of {@link BeanPropertyAccessor} compiles property names into a sequence of steps, and
+ * reads and writes simple properties through method handles which are cached for each bean class and property name.
+ * This avoids introspecting and reflectively invoking the accessors each time a property is used.
+ * </p>
+ * <p>
+ * Nested and indexed properties of beans, arrays, lists and maps are handled directly. Anything else, such as mapped
+ * properties, dyna beans, indexed accessor methods and values which need conversion, is passed to
+ * {@link PropertyUtils}, so the results and exceptions are the same as for commons-beanutils.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+public class DefaultBeanPropertyAccessor implements BeanPropertyAccessor {
+
+	/**
+	 * The maximum number of compiled property names to cache.
+	 */
+	private static final int MAX_PATHS = 10000;
+
+	/**
+	 * Marks property names which are passed to {@link PropertyUtils}.
+	 */
+	private static final Step[] UNSUPPORTED = new Step[0];
+
+	/**
+	 * Marks a value which could not be read directly.
+	 */
+	private static final Object FALLBACK = new Object();
+
+	/**
+	 * The compiled property names.
+	 */
+	private static final ConcurrentMap<String, Step[]> PATHS = new ConcurrentHashMap<>();
+
+	/**
+	 * The property accessors for each bean class, keyed by property name.
+	 */
+	private static final ClassValue<ConcurrentMap<String, Accessor>> ACCESSORS
+			= new ClassValue<ConcurrentMap<String, Accessor>>() {
+		@Override
+		protected ConcurrentMap<String, Accessor> computeValue(final Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getProperty(final Object bean, final String property) throws IllegalAccessException,
+			InvocationTargetException, NoSuchMethodException {
+		Step[] path = compile(bean, property);
+
+		if (path == UNSUPPORTED) {
+			return PropertyUtils.getProperty(bean, property);
+		}
+
+		Object current = bean;
+
+		for (Step step : path) {
+			if (current == null) {
+				throw nestedNull(bean, property, step);
+			}
+
+			Object value = step.get(current);
+
+			if (value == FALLBACK) {
+				return PropertyUtils.getProperty(current, property.substring(step.offset));
+			}
+
+			current = value;
+		}
+
+		return current;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setProperty(final Object bean, final String property, final Object value) throws
+			IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		Step[] path = compile(bean, property);
+
+		if (path == UNSUPPORTED) {
+			PropertyUtils.setProperty(bean, property, value);
+			return;
+		}
+
+		Object current = bean;
+		int last = path.length - 1;
+
+		for (int i = 0; i < last; i++) {
+			Step step = path[i];
+
+			if (current == null) {
+				throw nestedNull(bean, property, step);
+			}
+
+			Object next = step.get(current);
+
+			if (next == FALLBACK) {
+				PropertyUtils.setProperty(current, property.substring(step.offset), value);
+				return;
+			}
+
+			current = next;
+		}
+
+		Step step = path[last];
+
+		if (current == null) {
+			throw nestedNull(bean, property, step);
+		}
+
+		if (!step.set(current, value)) {
+			PropertyUtils.setProperty(current, property.substring(step.offset), value);
+		}
+	}
+
+	/**
+	 * Retrieves the compiled form of a property name.
+	 *
+	 * @param bean the bean the property is being used on.
+	 * @param property the property name.
+	 * @return the steps to reach the property, or {@link #UNSUPPORTED} if the name should be passed to PropertyUtils.
+	 */
+	private static Step[] compile(final Object bean, final String property) {
+		if (bean == null) {
+			throw new IllegalArgumentException("No bean specified");
+		}
+
+		if (property == null) {
+			throw new IllegalArgumentException("No name specified for bean class '" + bean.getClass() + "'");
+		}
+
+		Step[] path = PATHS.get(property);
+
+		if (path == null) {
+			path = parse(property);
+
+			if (PATHS.size() < MAX_PATHS) {
+				PATHS.putIfAbsent(property, path);
+			}
+		}
+
+		return path;
+	}
+
+	/**
+	 * Parses a property name into its steps. Only simple names with an optional index are supported, so mapped
+	 * properties and names with unusual syntax are left to PropertyUtils.
+	 *
+	 * @param property the property name to parse.
+	 * @return the steps to reach the property, or {@link #UNSUPPORTED}.
+	 */
+	private static Step[] parse(final String property) {
+		if (property.indexOf('(') != -1 || property.indexOf(')') != -1) {
+			return UNSUPPORTED;
+		}
+
+		List<Step> steps = new ArrayList<>();
+		int offset = 0;
+
+		while (offset <= property.length()) {
+			int end = property.indexOf('.', offset);
+
+			if (end == -1) {
+				end = property.length();
+			}
+
+			String part = property.substring(offset, end);
+			int open = part.indexOf('[');
+			String name = part;
+			int index = -1;
+
+			if (open != -1) {
+				if (part.indexOf('[', open + 1) != -1 || part.indexOf(']') != part.length() - 1) {
+					return UNSUPPORTED;
+				}
+
+				name = part.substring(0, open);
+
+				try {
+					index = Integer.parseInt(part.substring(open + 1, part.length() - 1));
+				} catch (NumberFormatException e) {
+					return UNSUPPORTED;
+				}
+			}
+
+			if (name.isEmpty() || name.indexOf(']') != -1 || (open != -1 && index < 0)) {
+				return UNSUPPORTED;
+			}
+
+			steps.add(new Step(name, index, offset));
+			offset = end + 1;
+		}
+
+		return steps.toArray(new Step[steps.size()]);
+	}
+
+	/**
+	 * Creates the exception thrown when an intermediate value is null, as PropertyUtils does.
+	 *
+	 * @param bean the bean the property is being used on.
+	 * @param property the property name.
+	 * @param step the step which could not be taken.
+	 * @return the exception to throw.
+	 */
+	private static NestedNullException nestedNull(final Object bean, final String property, final Step step) {
+		return new NestedNullException("Null property value for '" + property.substring(0, step.offset - 1)
+				+ "' on bean class '" + bean.getClass() + "'");
+	}
+
+	/**
+	 * One step of a property name, a simple property with an optional index.
+	 */
+	private static final class Step {
+
+		/**
+		 * The property name.
+		 */
+		private final String name;
+
+		/**
+		 * The index, or -1 if the property is not indexed.
+		 */
+		private final int index;
+
+		/**
+		 * The offset of this step in the whole property name.
+		 */
+		private final int offset;
+
+		/**
+		 * Creates a Step.
+		 *
+		 * @param name the property name.
+		 * @param index the index, or -1 if the property is not indexed.
+		 * @param offset the offset of this step in the whole property name.
+		 */
+		private Step(final String name, final int index, final int offset) {
+			this.name = name;
+			this.index = index;
+			this.offset = offset;
+		}
+
+		/**
+		 * Reads the value of this step.
+		 *
+		 * @param bean the bean to read from.
+		 * @return the value, or {@link #FALLBACK} if it could not be read directly.
+		 * @throws InvocationTargetException if the property accessor throws an exception.
+		 */
+		private Object get(final Object bean) throws InvocationTargetException {
+			if (bean instanceof Map) {
+				return index == -1 ? ((Map<?, ?>) bean).get(name) : FALLBACK;
+			} else if (bean instanceof DynaBean) {
+				return FALLBACK;
+			}
+
+			Accessor accessor = Accessor.forProperty(bean.getClass(), name);
+
+			if (accessor.getter == null || (index != -1 && accessor.indexed)) {
+				return FALLBACK;
+			}
+
+			Object value = accessor.get(bean);
+
+			if (index == -1) {
+				return value;
+			} else if (value instanceof List) {
+				return ((List<?>) value).get(index);
+			} else if (value != null && value.getClass().isArray()) {
+				return Array.get(value, index);
+			}
+
+			return FALLBACK;
+		}
+
+		/**
+		 * Writes the value of this step.
+		 *
+		 * @param bean the bean to write to.
+		 * @param value the new value.
+		 * @return true if the value was written, or false if it could not be written directly.
+		 * @throws InvocationTargetException if the property accessor throws an exception.
+		 */
+		private boolean set(final Object bean, final Object value) throws InvocationTargetException {
+			if (bean instanceof Map) {
+				if (index == -1) {
+					((Map<String, Object>) bean).put(name, value);
+					return true;
+				}
+
+				return false;
+			} else if (bean instanceof DynaBean) {
+				return false;
+			}
+
+			Accessor accessor = Accessor.forProperty(bean.getClass(), name);
+
+			if (index == -1) {
+				return accessor.set(bean, value);
+			} else if (accessor.getter == null || accessor.indexed) {
+				return false;
+			}
+
+			Object target = accessor.get(bean);
+
+			if (target instanceof List) {
+				((List<Object>) target).set(index, value);
+				return true;
+			} else if (target != null && target.getClass().isArray()) {
+				Array.set(target, index, value);
+				return true;
+			}
+
+			return false;
+		}
+	}
+
+	/**
+	 * The method handles for a property of a bean class.
+	 */
+	private static final class Accessor {
+
+		/**
+		 * The accessor for properties which can not be used directly.
+		 */
+		private static final Accessor NONE = new Accessor(null, null, null, false);
+
+		/**
+		 * The read method, or null if not readable.
+		 */
+		private final MethodHandle getter;
+
+		/**
+		 * The write method, or null if not writable.
+		 */
+		private final MethodHandle setter;
+
+		/**
+		 * The parameter type of the write method, or its wrapper type if primitive. Null if not writable.
+		 */
+		private final Class<?> type;
+
+		/**
+		 * Indicates whether the parameter type of the write method is primitive.
+		 */
+		private final boolean primitive;
+
+		/**
+		 * Indicates whether the property has indexed accessor methods.
+		 */
+		private final boolean indexed;
+
+		/**
+		 * Creates an Accessor.
+		 *
+		 * @param getter the read method, with the type (Object)Object.
+		 * @param setter the write method, with the type (Object, Object)void.
+		 * @param type the parameter type of the write method, may be null.
+		 * @param indexed true if the property has indexed accessor methods.
+		 */
+		private Accessor(final MethodHandle getter, final MethodHandle setter, final Class<?> type,
+				final boolean indexed) {
+			this.getter = getter;
+			this.setter = setter;
+			this.primitive = type != null && type.isPrimitive();
+			this.type = primitive ? MethodType.methodType(type).wrap().returnType() : type;
+			this.indexed = indexed;
+		}
+
+		/**
+		 * Retrieves the accessor for a property.
+		 *
+		 * @param beanClass the bean class.
+		 * @param name the property name.
+		 * @return the accessor for the property.
+		 */
+		private static Accessor forProperty(final Class<?> beanClass, final String name) {
+			ConcurrentMap<String, Accessor> accessors = ACCESSORS.get(beanClass);
+			Accessor accessor = accessors.get(name);
+
+			if (accessor == null) {
+				accessor = create(beanClass, name);
+				accessors.putIfAbsent(name, accessor);
+			}
+
+			return accessor;
+		}
+
+		/**
+		 * Creates the accessor for a property, using the property descriptors and accessible methods which
+		 * PropertyUtils would use.
+		 *
+		 * @param beanClass the bean class.
+		 * @param name the property name.
+		 * @return the accessor for the property.
+		 */
+		private static Accessor create(final Class<?> beanClass, final String name) {
+			for (PropertyDescriptor descriptor : PropertyUtils.getPropertyDescriptors(beanClass)) {
+				if (name.equals(descriptor.getName())) {
+					Method read = descriptor.getReadMethod() == null ? null
+							: MethodUtils.getAccessibleMethod(beanClass, descriptor.getReadMethod());
+					Method write = descriptor.getWriteMethod() == null ? null
+							: MethodUtils.getAccessibleMethod(beanClass, descriptor.getWriteMethod());
+
+					MethodHandle getter = unreflect(read, MethodType.methodType(Object.class, Object.class));
+					MethodHandle setter = unreflect(write, MethodType.methodType(void.class, Object.class, Object.class));
+					Class<?> type = setter == null ? null : write.getParameterTypes()[0];
+
+					return new Accessor(getter, setter, type, descriptor instanceof IndexedPropertyDescriptor);
+				}
+			}
+
+			return NONE;
+		}
+
+		/**
+		 * Creates a method handle for an accessor method.
+		 *
+		 * @param method the method, may be null.
+		 * @param type the type of the handle.
+		 * @return the method handle, or null if the method is null or not accessible.
+		 */
+		private static MethodHandle unreflect(final Method method, final MethodType type) {
+			if (method == null) {
+				return null;
+			}
+
+			try {
+				return MethodHandles.publicLookup().unreflect(method).asType(type);
+			} catch (IllegalAccessException e) {
+				return null;
+			}
+		}
+
+		/**
+		 * Reads the property.
+		 *
+		 * @param bean the bean to read from.
+		 * @return the property value.
+		 * @throws InvocationTargetException if the read method throws an exception.
+		 */
+		private Object get(final Object bean) throws InvocationTargetException {
+			try {
+				return (Object) getter.invokeExact(bean);
+			} catch (Throwable t) {
+				throw new InvocationTargetException(t);
+			}
+		}
+
+		/**
+		 * Writes the property, if the value can be passed to the write method without conversion.
+		 *
+		 * @param bean the bean to write to.
+		 * @param value the new value.
+		 * @return true if the value was written, otherwise false.
+		 * @throws InvocationTargetException if the write method throws an exception.
+		 */
+		private boolean set(final Object bean, final Object value) throws InvocationTargetException {
+			if (setter == null || (value == null ? primitive : !type.isInstance(value))) {
+				return false;
+			}
+
+			try {
+				setter.invokeExact(bean, value);
+				return true;
+			} catch (Throwable t) {
+				throw new InvocationTargetException(t);
+			}
+		}
+	}
+}
@@ -826,6 +826,7 @@ final class DefaultInternalConfiguration implements Configuration {
 
 		// clear the subContext cache, it's now invalid
 		subcontextCache.clear();
+		ConfigurationSnapshot.invalidate();
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
@@ -1003,6 +1004,7 @@ final class DefaultInternalConfiguration implements Configuration {
 	@Override
 	public void clear() {
 		backing.clear();
+		ConfigurationSnapshot.invalidate();
 	}
 
 	/**
@@ -1011,6 +1013,7 @@ final class DefaultInternalConfiguration implements Configuration {
 	@Override
 	public void clearProperty(final String key) {
 		backing.remove(key);
+		ConfigurationSnapshot.invalidate();
 	}
 
 	/**
@@ -5,11 +5,10 @@ import com.github.bordertech.wcomponents.UIContext;
 import com.github.bordertech.wcomponents.UIContextHolder;
 import java.io.Serializable;
 import java.text.MessageFormat;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Locale;
-import java.util.MissingResourceException;
-import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -29,7 +28,7 @@ public final class I18nUtilities {
 	/**
 	 * A store of bad bundles, to avoid repeated logging of errors when the bundle fails to load.
 	 */
-	private static final Set<Locale> MISSING_RESOURCES = new HashSet<>();
+	private static final Set<Locale> MISSING_RESOURCES = Collections.newSetFromMap(new ConcurrentHashMap<Locale, Boolean>());
 
 	/**
 	 * Prevent instantiation of this utility class.
@@ -111,7 +110,7 @@ public final class I18nUtilities {
 
 		if (args != null) {
 			try {
-				return MessageFormat.format(message, args);
+				return MessageCatalogue.format(message, args);
 			} catch (IllegalArgumentException e) {
 				LOG.error("Invalid message format for message " + message, e);
 			}
@@ -150,6 +149,10 @@ public final class I18nUtilities {
 	 * @return the localised text if found, otherwise null.
 	 */
 	public static String getLocalisedText(final Locale locale, final String text) {
+		if (text == null) {
+			return null;
+		}
+
 		String message = null;
 		String resourceBundleBaseName = getResourceBundleBaseName();
 
@@ -160,19 +163,16 @@ public final class I18nUtilities {
 				effectiveLocale = getEffectiveLocale();
 			}
 
-			try {
-				// TODO: This is slow
-				ResourceBundle bundle = ResourceBundle.getBundle(resourceBundleBaseName, effectiveLocale);
-				message = bundle.getString(text);
-			} catch (MissingResourceException e) {
+			message = MessageCatalogue.getText(resourceBundleBaseName, effectiveLocale, text);
+
+			if (message == null) {
 				// Fall back to the Configuration mechanism for the default internal messages
 				if (text != null && text.startsWith(ConfigurationProperties.INTERNAL_MESSAGE_PREFIX)) {
 					message = ConfigurationProperties.getInternalMessage(text);
 				}
 
-				if (message == null && !MISSING_RESOURCES.contains(locale)) {
-					LOG.error("Missing resource mapping for locale: " + locale + ", text: " + text);
-					MISSING_RESOURCES.add(locale);
+				if (message == null && MISSING_RESOURCES.add(effectiveLocale)) {
+					LOG.error("Missing resource mapping for locale: " + effectiveLocale + ", text: " + text);
 				}
 			}
 		} else if (text != null && text.startsWith(ConfigurationProperties.INTERNAL_MESSAGE_PREFIX)) {
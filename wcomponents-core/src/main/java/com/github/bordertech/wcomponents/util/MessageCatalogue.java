@@ -0,0 +1,323 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.text.Format;
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>
+ * A cache of messages resolved from the application resource bundles, used by {@link I18nUtilities}. The resource
+ * bundle for each locale is only loaded once, and each message is only looked up once, including messages which are
+ * not in the bundle. Message format patterns are also parsed once and reused.
+ * </p>
+ * <p>
+ * The cache is cleared when the {@link Config configuration} is changed. The cache can be disabled using
+ * {@link ConfigurationProperties#I18N_CACHE}, and the number of messages and message formats held for each locale is
+ * limited by {@link ConfigurationProperties#I18N_CACHE_SIZE}.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+public final class MessageCatalogue implements PropertyChangeListener {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(MessageCatalogue.class);
+
+	/**
+	 * Singleton instance, which listens for configuration changes.
+	 */
+	private static final MessageCatalogue INSTANCE = new MessageCatalogue();
+
+	/**
+	 * Marker for a message which is not in the resource bundle.
+	 */
+	private static final Object MISSING = new Object();
+
+	/**
+	 * The maximum number of locales to cache messages for.
+	 */
+	private static final int MAX_LOCALES = 256;
+
+	/**
+	 * The messages for each locale.
+	 */
+	private static final ConcurrentMap<Locale, LocaleMessages> MESSAGES = new ConcurrentHashMap<>();
+
+	/**
+	 * The parsed message formats, keyed by pattern.
+	 */
+	private static final ConcurrentMap<String, FormatTemplate> FORMATS = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of message lookups which were answered from the cache.
+	 */
+	private static final LongAdder HITS = new LongAdder();
+
+	/**
+	 * The number of message lookups which needed the resource bundle.
+	 */
+	private static final LongAdder MISSES = new LongAdder();
+
+	/**
+	 * The number of message formats which were reused.
+	 */
+	private static final LongAdder FORMAT_HITS = new LongAdder();
+
+	/**
+	 * The number of message formats which needed to be parsed.
+	 */
+	private static final LongAdder FORMAT_MISSES = new LongAdder();
+
+	static {
+		// Listen for configuration changes
+		Config.addPropertyChangeListener(INSTANCE);
+	}
+
+	/**
+	 * Prevent external instantiation of this class.
+	 */
+	private MessageCatalogue() {
+	}
+
+	/**
+	 * We must clear the cache when the {@link Config configuration} is reloaded, as the resource bundle and messages
+	 * may have changed.
+	 *
+	 * @param evt ignored.
+	 */
+	@Override
+	public void propertyChange(final PropertyChangeEvent evt) {
+		LOG.debug("Parameters reloaded, clearing message cache.");
+		clear();
+	}
+
+	/**
+	 * Retrieves the message for the given key from a resource bundle.
+	 *
+	 * @param baseName the resource bundle base name.
+	 * @param locale the locale to retrieve the message for.
+	 * @param key the message key.
+	 * @return the message, or null if the key is null or the bundle or key was not found.
+	 */
+	public static String getText(final String baseName, final Locale locale, final String key) {
+		if (key == null) {
+			return null;
+		}
+
+		if (!ConfigurationProperties.getI18nCache()) {
+			return lookup(loadBundle(baseName, locale), key);
+		}
+
+		LocaleMessages messages = MESSAGES.get(locale);
+
+		if (messages == null || !messages.baseName.equals(baseName)) {
+			messages = new LocaleMessages(baseName, loadBundle(baseName, locale));
+
+			if (MESSAGES.size() < MAX_LOCALES) {
+				MESSAGES.put(locale, messages);
+			}
+		}
+
+		Object cached = messages.texts.get(key);
+
+		if (cached != null) {
+			HITS.increment();
+			return cached == MISSING ? null : (String) cached;
+		}
+
+		MISSES.increment();
+		String text = lookup(messages.bundle, key);
+
+		if (messages.texts.size() < ConfigurationProperties.getI18nCacheSize()) {
+			messages.texts.put(key, text == null ? MISSING : text);
+		}
+
+		return text;
+	}
+
+	/**
+	 * Formats a message, as for {@link MessageFormat#format(String, Object...)}.
+	 *
+	 * @param pattern the message format pattern.
+	 * @param args the message arguments.
+	 * @return the formatted message.
+	 * @throws IllegalArgumentException if the pattern is invalid, or an argument can not be formatted.
+	 */
+	public static String format(final String pattern, final Object... args) {
+		if (!ConfigurationProperties.getI18nCache()) {
+			return MessageFormat.format(pattern, args);
+		}
+
+		Locale formatLocale = Locale.getDefault(Locale.Category.FORMAT);
+		FormatTemplate template = FORMATS.get(pattern);
+
+		if (template == null || !template.format.getLocale().equals(formatLocale)) {
+			FORMAT_MISSES.increment();
+			template = new FormatTemplate(new MessageFormat(pattern, formatLocale));
+
+			if (FORMATS.size() < ConfigurationProperties.getI18nCacheSize()) {
+				FORMATS.put(pattern, template);
+			}
+		} else {
+			FORMAT_HITS.increment();
+		}
+
+		return template.format(args);
+	}
+
+	/**
+	 * Clears the cached messages and message formats.
+	 */
+	public static void clear() {
+		MESSAGES.clear();
+		FORMATS.clear();
+	}
+
+	/**
+	 * @return the number of message lookups which were answered from the cache.
+	 */
+	public static long getHitCount() {
+		return HITS.sum();
+	}
+
+	/**
+	 * @return the number of message lookups which needed the resource bundle.
+	 */
+	public static long getMissCount() {
+		return MISSES.sum();
+	}
+
+	/**
+	 * @return the number of message formats which were reused.
+	 */
+	public static long getFormatHitCount() {
+		return FORMAT_HITS.sum();
+	}
+
+	/**
+	 * @return the number of message formats which needed to be parsed.
+	 */
+	public static long getFormatMissCount() {
+		return FORMAT_MISSES.sum();
+	}
+
+	/**
+	 * Loads a resource bundle.
+	 *
+	 * @param baseName the resource bundle base name.
+	 * @param locale the locale to load the bundle for.
+	 * @return the resource bundle, or null if it was not found.
+	 */
+	private static ResourceBundle loadBundle(final String baseName, final Locale locale) {
+		try {
+			return ResourceBundle.getBundle(baseName, locale);
+		} catch (MissingResourceException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Looks up a message in a resource bundle.
+	 *
+	 * @param bundle the resource bundle, may be null.
+	 * @param key the message key.
+	 * @return the message, or null if the bundle or key was not found.
+	 */
+	private static String lookup(final ResourceBundle bundle, final String key) {
+		if (bundle == null) {
+			return null;
+		}
+
+		try {
+			return bundle.getString(key);
+		} catch (MissingResourceException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * The resource bundle and resolved messages for a locale.
+	 */
+	private static final class LocaleMessages {
+
+		/**
+		 * The resource bundle base name.
+		 */
+		private final String baseName;
+
+		/**
+		 * The resource bundle, or null if there is no bundle for the locale.
+		 */
+		private final ResourceBundle bundle;
+
+		/**
+		 * The resolved messages, or the missing marker, keyed by message key.
+		 */
+		private final ConcurrentMap<String, Object> texts = new ConcurrentHashMap<>();
+
+		/**
+		 * Creates a LocaleMessages.
+		 *
+		 * @param baseName the resource bundle base name.
+		 * @param bundle the resource bundle, or null if there is no bundle for the locale.
+		 */
+		private LocaleMessages(final String baseName, final ResourceBundle bundle) {
+			this.baseName = baseName;
+			this.bundle = bundle;
+		}
+	}
+
+	/**
+	 * A parsed message format. MessageFormat is not thread-safe, but formatting does not modify it unless the pattern
+	 * contains sub-formats (e.g. <code>{0,number}</code>), so only those formats are copied for each use.
+	 */
+	private static final class FormatTemplate {
+
+		/**
+		 * The parsed message format.
+		 */
+		private final MessageFormat format;
+
+		/**
+		 * Indicates whether the message format can be used by multiple threads at once.
+		 */
+		private final boolean shared;
+
+		/**
+		 * Creates a FormatTemplate.
+		 *
+		 * @param format the parsed message format.
+		 */
+		private FormatTemplate(final MessageFormat format) {
+			this.format = format;
+
+			boolean hasSubformats = false;
+			for (Format subformat : format.getFormats()) {
+				hasSubformats |= subformat != null;
+			}
+			this.shared = !hasSubformats;
+		}
+
+		/**
+		 * Formats a message.
+		 *
+		 * @param args the message arguments.
+		 * @return the formatted message.
+		 */
+		private String format(final Object[] args) {
+			MessageFormat messageFormat = shared ? format : (MessageFormat) format.clone();
+			return messageFormat.format(args);
+		}
+	}
+}
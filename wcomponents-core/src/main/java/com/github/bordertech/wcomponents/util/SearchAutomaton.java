@@ -0,0 +1,267 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An Aho-Corasick automaton for a set of search strings. This allows {@link AbstractSearchReplaceWriter} to find every
+ * occurrence of all the search strings in a single pass over its input. Automata are immutable once built, so are
+ * cached and shared for each distinct set of search strings.
+ *
+ * @since 1.5.29
+ */
+final class SearchAutomaton {
+
+	/**
+	 * The maximum number of automata to cache.
+	 */
+	private static final int MAX_CACHED = 256;
+
+	/**
+	 * The cached automata, keyed by their sorted search strings.
+	 */
+	private static final Map<List<String>, SearchAutomaton> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * The root node, which represents the empty string.
+	 */
+	private final Node root;
+
+	/**
+	 * The length of the longest search string.
+	 */
+	private final int maxLength;
+
+	/**
+	 * Creates a SearchAutomaton.
+	 *
+	 * @param search the search strings, which must not be empty.
+	 */
+	private SearchAutomaton(final List<String> search) {
+		BuildNode buildRoot = new BuildNode(0);
+		int longest = 0;
+
+		// Build the trie
+		for (String term : search) {
+			BuildNode node = buildRoot;
+			for (int i = 0; i < term.length(); i++) {
+				char ch = term.charAt(i);
+				BuildNode next = node.children.get(ch);
+				if (next == null) {
+					next = new BuildNode(i + 1);
+					node.children.put(ch, next);
+				}
+				node = next;
+			}
+			node.match = term;
+			longest = Math.max(longest, term.length());
+		}
+
+		root = buildRoot.toNode();
+		maxLength = longest;
+
+		// Add the failure and dictionary links, breadth first
+		Deque<Node> queue = new ArrayDeque<>();
+		root.fail = root;
+		for (Node child : root.next) {
+			child.fail = root;
+			queue.add(child);
+		}
+
+		while (!queue.isEmpty()) {
+			Node node = queue.remove();
+
+			for (int i = 0; i < node.chars.length; i++) {
+				Node child = node.next[i];
+				child.fail = root.next(node.fail, node.chars[i]);
+				child.dict = child.fail.match == null ? child.fail.dict : child.fail;
+				queue.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the automaton for the given search strings.
+	 *
+	 * @param search the search strings.
+	 * @return the automaton for the search strings, or null if there are no search strings.
+	 */
+	static SearchAutomaton getInstance(final String[] search) {
+		if (search.length == 0) {
+			return null;
+		}
+
+		for (int i = 0; i < search.length; i++) {
+			if (search[i] == null || search[i].length() == 0) {
+				throw new IllegalArgumentException("Search strings must not be empty, " + i);
+			}
+		}
+
+		String[] sorted = Arrays.copyOf(search, search.length);
+		Arrays.sort(sorted);
+		List<String> key = Collections.unmodifiableList(Arrays.asList(sorted));
+
+		SearchAutomaton automaton = CACHE.get(key);
+		if (automaton == null) {
+			automaton = new SearchAutomaton(key);
+			if (CACHE.size() < MAX_CACHED) {
+				CACHE.put(key, automaton);
+			}
+		}
+		return automaton;
+	}
+
+	/**
+	 * @return the initial state of the automaton.
+	 */
+	Node getRoot() {
+		return root;
+	}
+
+	/**
+	 * @return the length of the longest search string.
+	 */
+	int getMaxLength() {
+		return maxLength;
+	}
+
+	/**
+	 * A state in the automaton. Each state represents a prefix of one or more search strings.
+	 */
+	static final class Node {
+
+		/**
+		 * The length of the prefix this state represents.
+		 */
+		private final int depth;
+
+		/**
+		 * The search string which ends at this state, or null.
+		 */
+		private final String match;
+
+		/**
+		 * The characters with a transition out of this state, in ascending order.
+		 */
+		private final char[] chars;
+
+		/**
+		 * The states to transition to, for each of the characters in {@link #chars}.
+		 */
+		private final Node[] next;
+
+		/**
+		 * The state for the longest proper suffix of this state's prefix.
+		 */
+		private Node fail;
+
+		/**
+		 * The nearest state in the failure chain which matches a search string, or null.
+		 */
+		private Node dict;
+
+		/**
+		 * @param depth the length of the prefix.
+		 * @param match the search string which ends at this state, or null.
+		 * @param chars the characters with a transition out of this state.
+		 * @param next the states to transition to.
+		 */
+		private Node(final int depth, final String match, final char[] chars, final Node[] next) {
+			this.depth = depth;
+			this.match = match;
+			this.chars = chars;
+			this.next = next;
+		}
+
+		/**
+		 * @return the length of the prefix this state represents.
+		 */
+		int getDepth() {
+			return depth;
+		}
+
+		/**
+		 * @return the search string which ends at this state, or null.
+		 */
+		String getMatch() {
+			return match;
+		}
+
+		/**
+		 * @return the nearest state in the failure chain which matches a search string, or null.
+		 */
+		Node getDictionaryLink() {
+			return dict;
+		}
+
+		/**
+		 * Computes the next state. This method must only be called on the root node.
+		 *
+		 * @param state the current state.
+		 * @param ch the next input character.
+		 * @return the next state.
+		 */
+		Node next(final Node state, final char ch) {
+			Node current = state;
+			while (true) {
+				int idx = Arrays.binarySearch(current.chars, ch);
+				if (idx >= 0) {
+					return current.next[idx];
+				}
+				if (current == this) {
+					return this;
+				}
+				current = current.fail;
+			}
+		}
+	}
+
+	/**
+	 * A mutable trie node used while building the automaton.
+	 */
+	private static final class BuildNode {
+
+		/**
+		 * The length of the prefix.
+		 */
+		private final int depth;
+
+		/**
+		 * The child nodes, in character order.
+		 */
+		private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+
+		/**
+		 * The search string which ends at this node, or null.
+		 */
+		private String match;
+
+		/**
+		 * @param depth the length of the prefix.
+		 */
+		private BuildNode(final int depth) {
+			this.depth = depth;
+		}
+
+		/**
+		 * @return the immutable node for this node and its children.
+		 */
+		private Node toNode() {
+			char[] chars = new char[children.size()];
+			Node[] next = new Node[children.size()];
+			int i = 0;
+			for (Map.Entry<Character, BuildNode> entry : children.entrySet()) {
+				chars[i] = entry.getKey();
+				next[i] = entry.getValue().toNode();
+				i++;
+			}
+			return new Node(depth, match, chars, next);
+		}
+	}
+}
@@ -5,6 +5,9 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -64,6 +67,78 @@ public final class StreamUtil {
 		out.flush();
 	}
 
+	/**
+	 * Copies part of the input stream to the output stream. Copying stops early if the end of the input stream is
+	 * reached.
+	 *
+	 * @param in the source stream.
+	 * @param out the destination stream.
+	 * @param start the offset of the first byte to copy.
+	 * @param count the number of bytes to copy.
+	 * @throws IOException if there is an error reading or writing to the streams.
+	 * @since 1.5.29
+	 */
+	public static void copyRange(final InputStream in, final OutputStream out, final long start, final long count)
+			throws IOException {
+		long skipped = 0;
+
+		while (skipped < start) {
+			long n = in.skip(start - skipped);
+
+			if (n <= 0) {
+				if (in.read() == -1) {
+					return;
+				}
+				n = 1;
+			}
+
+			skipped += n;
+		}
+
+		byte[] buf = new byte[DEFAULT_BUFFER_SIZE];
+		long remaining = count;
+
+		while (remaining > 0) {
+			int read = in.read(buf, 0, (int) Math.min(buf.length, remaining));
+
+			if (read == -1) {
+				return;
+			}
+
+			out.write(buf, 0, read);
+			remaining -= read;
+		}
+	}
+
+	/**
+	 * Transfers part of a file to the output stream. The file content is transferred by the channel, in parts, so the
+	 * memory used does not depend on the number of bytes transferred.
+	 *
+	 * @param in the source channel.
+	 * @param out the destination stream.
+	 * @param start the offset of the first byte to transfer.
+	 * @param count the number of bytes to transfer.
+	 * @throws IOException if there is an error reading or writing the content.
+	 * @since 1.5.29
+	 */
+	public static void transfer(final FileChannel in, final OutputStream out, final long start, final long count)
+			throws IOException {
+		// The target channel must not be closed, as that would close the stream
+		WritableByteChannel target = Channels.newChannel(out);
+		long position = start;
+		long end = Math.min(start + count, in.size());
+
+		while (position < end) {
+			long transferred = in.transferTo(position, end - position, target);
+
+			if (transferred <= 0) {
+				break;
+			}
+
+			position += transferred;
+		}
+	}
+
 	/**
 	 * Returns a byte array containing all the information contained in the given input stream.
 	 *
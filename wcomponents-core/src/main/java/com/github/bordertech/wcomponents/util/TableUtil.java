@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents.util;
 
+import com.github.bordertech.wcomponents.RowIndex;
 import com.github.bordertech.wcomponents.UIContext;
 import com.github.bordertech.wcomponents.UIContextHolder;
 import com.github.bordertech.wcomponents.WComponent;
@@ -7,11 +8,8 @@ import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
 import com.github.bordertech.wcomponents.WTable;
 import com.github.bordertech.wcomponents.WTable.RowIdWrapper;
 import com.github.bordertech.wcomponents.WebUtilities;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
 
 /**
  * Static utility methods related to working with {@link WTable}.
@@ -21,11 +19,6 @@ import org.apache.commons.logging.LogFactory;
  */
 public final class TableUtil {
 
-	/**
-	 * The logger instance for this class.
-	 */
-	private static final Log LOG = LogFactory.getLog(TableUtil.class);
-
 	/**
 	 * Row index delimiter.
 	 */
@@ -48,45 +41,17 @@ public final class TableUtil {
 			return null;
 		}
 
-		StringBuffer index = new StringBuffer();
-		boolean addDelimiter = false;
-
-		for (Integer lvl : row) {
-			if (addDelimiter) {
-				index.append(INDEX_DELIMITER);
-			}
-			index.append(lvl);
-			addDelimiter = true;
-		}
-
-		return index.toString();
+		return RowIndex.valueOf(row).toIndexString();
 	}
 
 	/**
 	 * Convert the string representation of a row index to a list.
 	 *
 	 * @param row the string representation of the row index
-	 * @return the row index
+	 * @return the row index, which is a {@link RowIndex}
 	 */
 	public static List<Integer> rowIndexStringToList(final String row) {
-		if (row == null) {
-			return null;
-		}
-
-		List<Integer> rowIndex = new ArrayList<>();
-
-		try {
-
-			// Convert StringId to array
-			String[] rowIdString = row.split(INDEX_DELIMITER);
-			for (int i = 0; i < rowIdString.length; i++) {
-				rowIndex.add(Integer.parseInt(rowIdString[i]));
-			}
-		} catch (NumberFormatException e) {
-			LOG.warn("Invalid row id: " + row);
-		}
-
-		return rowIndex;
+		return RowIndex.parse(row);
 	}
 
 	/**
@@ -123,7 +88,7 @@ public final class TableUtil {
 
 		int repeaterIdx = ((SubUIContext) uic).getRowIndex();
 		RowIdWrapper wrapper = table.getRepeater().getBeanList().get(repeaterIdx);
-		return wrapper.getRowIndex();
+		return wrapper.getIndex();
 	}
 
 	/**
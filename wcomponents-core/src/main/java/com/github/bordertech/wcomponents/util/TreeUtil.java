@@ -187,6 +187,10 @@ public final class TreeUtil {
 
 	/**
 	 * Retrieves the context for the component with the given Id.
+	 * <p>
+	 * Lookups from the primary context use an index of the tree which is built once per request. The tree is only
+	 * searched if the id is not in the index.
+	 * </p>
 	 *
 	 * @param root the root component to search from.
 	 * @param id the id to search for.
@@ -196,8 +200,19 @@ public final class TreeUtil {
 	public static ComponentWithContext getComponentWithContextForId(final WComponent root,
 			final String id,
 			final boolean visibleOnly) {
+		ComponentIdIndex index = ComponentIdIndex.getInstance(root, visibleOnly);
+
+		if (index != null) {
+			ComponentWithContext match = index.get(id);
+
+			if (match != null) {
+				return !visibleOnly || index.isVisible(match, false) ? match : null;
+			}
+		}
+
 		FindComponentByIdVisitor visitor = new FindComponentByIdVisitor(id);
 		doTraverse(root, visibleOnly, visitor);
+		invalidateIfFound(index, visitor.getResult());
 		return visitor.getResult();
 	}
 
@@ -225,6 +240,15 @@ public final class TreeUtil {
 	 */
 	public static UIContext getClosestContextForId(final WComponent root, final String id,
 			final boolean visibleOnly) {
+		ComponentIdIndex index = ComponentIdIndex.getInstance(root, visibleOnly);
+
+		if (index != null) {
+			ComponentWithContext match = index.get(id);
+
+			if (match != null && (!visibleOnly || index.isVisible(match, false))) {
+				return match.getContext();
+			}
+		}
 
 		FindComponentByIdVisitor visitor = new FindComponentByIdVisitor(id) {
 			@Override
@@ -254,6 +278,15 @@ public final class TreeUtil {
 	 * @return the component with context if it is focusable, otherwise null
 	 */
 	public static boolean isIdFocusable(final WComponent root, final String id) {
+		ComponentIdIndex index = ComponentIdIndex.getInstance(root, true);
+
+		if (index != null) {
+			ComponentWithContext match = index.get(id);
+
+			if (match != null) {
+				return index.isVisible(match, true);
+			}
+		}
 
 		FindComponentByIdVisitor visitor = new FindComponentByIdVisitor(id) {
 			@Override
@@ -272,9 +305,23 @@ public final class TreeUtil {
 
 		// Check if matching component is hidden
 		ComponentWithContext result = visitor.getResult();
+		invalidateIfFound(index, result);
 		return result == null ? false : !result.getComponent().isHidden();
 	}
 
+	/**
+	 * Discards a component id index if a tree search found a component which was not in the index, as the tree has
+	 * changed since the index was built.
+	 *
+	 * @param index the index, may be null.
+	 * @param result the result of the tree search.
+	 */
+	private static void invalidateIfFound(final ComponentIdIndex index, final ComponentWithContext result) {
+		if (index != null && result != null) {
+			index.invalidate();
+		}
+	}
+
 	/**
 	 * General utility method to visit every WComponent in the tree, taking repeaters etc. into account.
 	 *
@@ -1,10 +1,14 @@
 package com.github.bordertech.wcomponents.util;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.PrintWriter;
 import java.io.Writer;
 
 /**
  * WhiteSpaceFilterPrintWriter is a writer that filters out extraneous whitespace from HTML content written to it.
+ * Content which passes through the filter unchanged is written to the underlying writer in contiguous spans, rather
+ * than a character at a time.
  *
  * @author Yiannis Paschalidis
  * @since 1.0.0
@@ -33,17 +37,16 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	 */
 	@Override
 	public void write(final int c) {
-		WhiteSpaceFilterStateMachine.StateChange change = stateMachine.nextState((char) c);
-
-		if (change.getOutputBytes() != null) {
-			for (int i = 0; i < change.getOutputBytes().length; i++) {
-				super.write(change.getOutputBytes()[i]);
+		synchronized (lock) {
+			try {
+				ensureOpen();
+				stateMachine.filter((char) c, out);
+			} catch (InterruptedIOException e) {
+				Thread.currentThread().interrupt();
+			} catch (IOException e) {
+				setError();
 			}
 		}
-
-		if (!change.isSuppressCurrentChar()) {
-			super.write(c);
-		}
 	}
 
 	/**
@@ -55,8 +58,15 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	 */
 	@Override
 	public void write(final char[] buf, final int off, final int len) {
-		for (int i = off; i < off + len; i++) {
-			write(buf[i]);
+		synchronized (lock) {
+			try {
+				ensureOpen();
+				stateMachine.filter(buf, off, len, out);
+			} catch (InterruptedIOException e) {
+				Thread.currentThread().interrupt();
+			} catch (IOException e) {
+				setError();
+			}
 		}
 	}
 
@@ -69,8 +79,27 @@ public class WhiteSpaceFilterPrintWriter extends PrintWriter {
 	 */
 	@Override
 	public void write(final String string, final int off, final int len) {
-		for (int i = off; i < off + len; i++) {
-			write(string.charAt(i));
+		synchronized (lock) {
+			try {
+				ensureOpen();
+				stateMachine.filter(string, off, len, out);
+			} catch (InterruptedIOException e) {
+				Thread.currentThread().interrupt();
+			} catch (IOException e) {
+				setError();
+			}
+		}
+	}
+
+	/**
+	 * Checks that the writer has not been closed. As for the other PrintWriter methods, writing to a closed writer
+	 * sets the error state rather than throwing an exception.
+	 *
+	 * @throws IOException if the writer has been closed.
+	 */
+	private void ensureOpen() throws IOException {
+		if (out == null) {
+			throw new IOException("Stream closed");
 		}
 	}
 }
@@ -1,6 +1,11 @@
 package com.github.bordertech.wcomponents.util;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * WhiteSpaceFilterOutputStream is a state machine that filters out extraneous whitespace from XHTML content.
@@ -188,6 +193,55 @@ public class WhiteSpaceFilterStateMachine {
 	private static final Boolean TRUE = Boolean.TRUE;
 	private static final Boolean FALSE = Boolean.FALSE;
 
+	/**
+	 * The flag in a compiled transition which indicates that the input character should be suppressed.
+	 */
+	private static final int SUPPRESS_FLAG = 1;
+
+	/**
+	 * The shift for the output index in a compiled transition.
+	 */
+	private static final int OUTPUT_SHIFT = 1;
+
+	/**
+	 * The mask for the output index in a compiled transition, after shifting.
+	 */
+	private static final int OUTPUT_MASK = 0x7FFF;
+
+	/**
+	 * The shift for the new state in a compiled transition.
+	 */
+	private static final int STATE_SHIFT = 16;
+
+	/**
+	 * The mask for the output index and suppress flag in a compiled transition. A transition without either simply
+	 * passes the input character through.
+	 */
+	private static final int ACTION_MASK = (1 << STATE_SHIFT) - 1;
+
+	/**
+	 * The states, indexed by their id.
+	 */
+	private static final State[] STATES;
+
+	/**
+	 * The text to output for each compiled transition, indexed by output index. Index zero means no output.
+	 */
+	private static final char[][] OUTPUTS;
+
+	/**
+	 * The number of input characters with their own column in the compiled transitions. All other characters use the
+	 * default transition, which is held in the last column.
+	 */
+	private static final int TABLE_CHARS;
+
+	/**
+	 * The compiled transitions, indexed by <code>stateId * (TABLE_CHARS + 1) + char</code>. Each transition holds the
+	 * new state id, output index and suppress flag, so that input can be filtered without looking at the
+	 * {@link StateChange} objects.
+	 */
+	private static final int[] TRANSITIONS;
+
 	static {
 		//Set up state transitions
 		//Data for the state machine is in the form:
@@ -609,18 +663,52 @@ public class WhiteSpaceFilterStateMachine {
 				}
 			}
 		}
+
+		// Number the states and compile the transitions into a table
+		List<State> states = new ArrayList<>();
+		List<char[]> outputs = new ArrayList<>();
+		outputs.add(null);
+		int maxChar = 0;
+
+		for (Object[] data : stateData) {
+			addState(states, (State) data[0]);
+			addState(states, (State) data[2]);
+
+			String chars = (String) data[1];
+			for (int j = 0; chars != null && j < chars.length(); j++) {
+				maxChar = Math.max(maxChar, chars.charAt(j));
+			}
+
+			String output = (String) data[4];
+			if (output != null && !containsOutput(outputs, output)) {
+				outputs.add(output.toCharArray());
+			}
+		}
+
+		STATES = states.toArray(new State[states.size()]);
+		OUTPUTS = outputs.toArray(new char[outputs.size()][]);
+		TABLE_CHARS = maxChar + 1;
+		TRANSITIONS = new int[STATES.length * (TABLE_CHARS + 1)];
+
+		for (State state : STATES) {
+			int row = state.id * (TABLE_CHARS + 1);
+			for (int c = 0; c < TABLE_CHARS; c++) {
+				TRANSITIONS[row + c] = compile(state.getChange((char) c), outputs);
+			}
+			TRANSITIONS[row + TABLE_CHARS] = compile(state.defaultStateChange, outputs);
+		}
 	}
 
 	/**
-	 * The current state of the state machine.
+	 * The id of the current state of the state machine.
 	 */
-	private State currentState;
+	private int currentState;
 
 	/**
 	 * Creates a new WhiteSpaceFilterOutputStream.
 	 */
 	public WhiteSpaceFilterStateMachine() {
-		this.currentState = INITIAL_STATE;
+		this.currentState = INITIAL_STATE.id;
 	}
 
 	/**
@@ -630,12 +718,178 @@ public class WhiteSpaceFilterStateMachine {
 	 * @return the state change.
 	 */
 	public StateChange nextState(final char c) {
-		StateChange change = currentState.getChange(c);
-		currentState = change.getNewState();
+		StateChange change = STATES[currentState].getChange(c);
+		currentState = change.getNewState().id;
 
 		return change;
 	}
 
+	/**
+	 * Filters the given character, writing the output to the given writer.
+	 *
+	 * @param c the input character.
+	 * @param out the writer to write the output to.
+	 * @throws IOException if there is an error writing to the writer.
+	 */
+	public void filter(final char c, final Writer out) throws IOException {
+		int change = getTransition(currentState, c);
+		currentState = change >>> STATE_SHIFT;
+
+		char[] output = OUTPUTS[(change >>> OUTPUT_SHIFT) & OUTPUT_MASK];
+		if (output != null) {
+			out.write(output);
+		}
+
+		if ((change & SUPPRESS_FLAG) == 0) {
+			out.write(c);
+		}
+	}
+
+	/**
+	 * Filters the given characters, writing the output to the given writer. Characters which pass through the filter
+	 * unchanged are written in a single call for each contiguous span.
+	 *
+	 * @param buf the input characters.
+	 * @param off the offset of the first character to filter.
+	 * @param len the number of characters to filter.
+	 * @param out the writer to write the output to.
+	 * @throws IOException if there is an error writing to the writer.
+	 */
+	public void filter(final char[] buf, final int off, final int len, final Writer out) throws IOException {
+		final int end = off + len;
+		int state = currentState;
+		int spanStart = off;
+
+		try {
+			for (int i = off; i < end; i++) {
+				int change = getTransition(state, buf[i]);
+				state = change >>> STATE_SHIFT;
+
+				if ((change & ACTION_MASK) != 0) {
+					// The character is suppressed and/or text is inserted before it, so the span ends here
+					if (i > spanStart) {
+						out.write(buf, spanStart, i - spanStart);
+					}
+
+					char[] output = OUTPUTS[(change >>> OUTPUT_SHIFT) & OUTPUT_MASK];
+					if (output != null) {
+						out.write(output);
+					}
+
+					spanStart = (change & SUPPRESS_FLAG) == 0 ? i : i + 1;
+				}
+			}
+
+			if (end > spanStart) {
+				out.write(buf, spanStart, end - spanStart);
+			}
+		} finally {
+			currentState = state;
+		}
+	}
+
+	/**
+	 * Filters the given characters, writing the output to the given writer. Characters which pass through the filter
+	 * unchanged are written in a single call for each contiguous span.
+	 *
+	 * @param str the input characters.
+	 * @param off the offset of the first character to filter.
+	 * @param len the number of characters to filter.
+	 * @param out the writer to write the output to.
+	 * @throws IOException if there is an error writing to the writer.
+	 */
+	public void filter(final String str, final int off, final int len, final Writer out) throws IOException {
+		final int end = off + len;
+		int state = currentState;
+		int spanStart = off;
+
+		try {
+			for (int i = off; i < end; i++) {
+				int change = getTransition(state, str.charAt(i));
+				state = change >>> STATE_SHIFT;
+
+				if ((change & ACTION_MASK) != 0) {
+					// The character is suppressed and/or text is inserted before it, so the span ends here
+					if (i > spanStart) {
+						out.write(str, spanStart, i - spanStart);
+					}
+
+					char[] output = OUTPUTS[(change >>> OUTPUT_SHIFT) & OUTPUT_MASK];
+					if (output != null) {
+						out.write(output);
+					}
+
+					spanStart = (change & SUPPRESS_FLAG) == 0 ? i : i + 1;
+				}
+			}
+
+			if (end > spanStart) {
+				out.write(str, spanStart, end - spanStart);
+			}
+		} finally {
+			currentState = state;
+		}
+	}
+
+	/**
+	 * Retrieves the compiled transition for the given state and input character.
+	 *
+	 * @param state the id of the state.
+	 * @param c the input character.
+	 * @return the compiled transition.
+	 */
+	private static int getTransition(final int state, final char c) {
+		return TRANSITIONS[state * (TABLE_CHARS + 1) + (c < TABLE_CHARS ? c : TABLE_CHARS)];
+	}
+
+	/**
+	 * Numbers a state, if it has not already been numbered.
+	 *
+	 * @param states the states which have been numbered.
+	 * @param state the state to number.
+	 */
+	private static void addState(final List<State> states, final State state) {
+		if (state.id == -1) {
+			state.id = states.size();
+			states.add(state);
+		}
+	}
+
+	/**
+	 * @param outputs the output text for the compiled transitions.
+	 * @param output the output text to search for.
+	 * @return true if the output text has already been added.
+	 */
+	private static boolean containsOutput(final List<char[]> outputs, final String output) {
+		for (char[] existing : outputs) {
+			if (existing != null && Arrays.equals(existing, output.toCharArray())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Compiles a state change.
+	 *
+	 * @param change the state change to compile.
+	 * @param outputs the output text for the compiled transitions.
+	 * @return the compiled transition.
+	 */
+	private static int compile(final StateChange change, final List<char[]> outputs) {
+		int output = 0;
+
+		if (change.getOutputBytes() != null) {
+			char[] text = new String(change.getOutputBytes(), StandardCharsets.UTF_8).toCharArray();
+			while (!Arrays.equals(text, outputs.get(output))) {
+				output++;
+			}
+		}
+
+		return change.getNewState().id << STATE_SHIFT | output << OUTPUT_SHIFT
+				| (change.isSuppressCurrentChar() ? SUPPRESS_FLAG : 0);
+	}
+
 	/**
 	 * Represents a state in the state-machine.
 	 */
@@ -656,6 +910,11 @@ public class WhiteSpaceFilterStateMachine {
 		 */
 		private StateChange defaultStateChange;
 
+		/**
+		 * The id of the state in the compiled transitions.
+		 */
+		private int id = -1;
+
 		/**
 		 * Creates a state.
 		 */
@@ -50,6 +50,11 @@ public class MockRequest extends AbstractRequest {
 	 */
 	private final Set<String> userRoles = new HashSet<>();
 
+	/**
+	 * Stores the mock headers for this request, keyed by lower case name.
+	 */
+	private final Map<String, String> headers = new HashMap<>(0);
+
 	/**
 	 * The mock request method. Defaults to POST.
 	 */
@@ -259,6 +264,28 @@ public class MockRequest extends AbstractRequest {
 		this.method = method;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getHeader(final String name) {
+		return headers.get(name.toLowerCase());
+	}
+
+	/**
+	 * For a mock request, allow headers to be set.
+	 *
+	 * @param name the header name, which is case insensitive.
+	 * @param value the header value, or null to remove the header.
+	 */
+	public void setHeader(final String name, final String value) {
+		if (value == null) {
+			headers.remove(name.toLowerCase());
+		} else {
+			headers.put(name.toLowerCase(), value);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
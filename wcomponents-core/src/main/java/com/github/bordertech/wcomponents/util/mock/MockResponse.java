@@ -59,6 +59,11 @@ public class MockResponse implements Response {
 	 */
 	private String errorDescription;
 
+	/**
+	 * The status code, defaults to 200 (OK).
+	 */
+	private int status = 200;
+
 	/**
 	 * @return the response {@link OutputStream}.
 	 */
@@ -119,6 +124,14 @@ public class MockResponse implements Response {
 		this.errorDescription = description;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setStatus(final int code) {
+		this.status = code;
+	}
+
 	/**
 	 * @return the content written to this Response
 	 */
@@ -167,4 +180,11 @@ public class MockResponse implements Response {
 	public String getErrorDescription() {
 		return errorDescription;
 	}
+
+	/**
+	 * @return the status code set using {@link #setStatus(int)}.
+	 */
+	public int getStatus() {
+		return status;
+	}
 }
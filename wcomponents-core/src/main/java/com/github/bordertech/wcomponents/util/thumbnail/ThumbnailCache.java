@@ -0,0 +1,272 @@
+package com.github.bordertech.wcomponents.util.thumbnail;
+
+import com.github.bordertech.wcomponents.Image;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
+import com.github.bordertech.wcomponents.file.File;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import java.awt.Dimension;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Creates the thumbnails of uploaded images in the background, so they are ready when the thumbnail is requested.
+ * <p>
+ * Thumbnails are created on a bounded pool of daemon threads and held, keyed by the uploaded file, until they are
+ * requested. A thumbnail which is requested before its background task has started is created on the requesting
+ * thread. The number of threads and thumbnails held are set by {@link ConfigurationProperties#THUMBNAIL_THREADS} and
+ * {@link ConfigurationProperties#THUMBNAIL_CACHE_SIZE}.
+ * </p>
+ * <p>
+ * A thumbnail which is not requested is discarded once it has been held for
+ * {@link ConfigurationProperties#THUMBNAIL_CACHE_TIMEOUT} seconds, or once the UIContext it was uploaded in has ended.
+ * When the cache is full, the oldest thumbnail is discarded to make room for the new upload.
+ * </p>
+ *
+ * @since 1.5.29
+ */
+public final class ThumbnailCache {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(ThumbnailCache.class);
+
+	/**
+	 * The thumbnails being created or waiting to be requested, keyed by the uploaded file, oldest first. Access is
+	 * synchronized on the map.
+	 */
+	private static final Map<File, Entry> CACHE = new LinkedHashMap<>();
+
+	/**
+	 * Used to number the threads.
+	 */
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	/**
+	 * The executor which creates the thumbnails, created when first needed.
+	 */
+	private static ThreadPoolExecutor executor;
+
+	/**
+	 * Don't allow this utility class to be constructed.
+	 */
+	private ThumbnailCache() {
+		// NO-OP.
+	}
+
+	/**
+	 * Starts creating the thumbnail of an uploaded image in the background. Files which are not images are ignored, as
+	 * their thumbnail is a default icon.
+	 *
+	 * @param file the uploaded file.
+	 * @param scaledSize the size of the thumbnail, null for default
+	 * @return true if the thumbnail is being created in the background
+	 */
+	public static boolean prefetch(final File file, final Dimension scaledSize) {
+		if (file == null || !ThumbnailUtil.isImageThumbnail(file.getMimeType())) {
+			return false;
+		}
+
+		ThreadPoolExecutor service = getExecutor();
+		int maxSize = ConfigurationProperties.getThumbnailCacheSize();
+		if (service == null || maxSize <= 0) {
+			return false;
+		}
+
+		FutureTask<Image> task = new FutureTask<>(() -> createThumbnail(file, scaledSize));
+		Entry entry = new Entry(scaledSize, task, UIContextHolder.getCurrentPrimaryUIContext());
+
+		synchronized (CACHE) {
+			purge();
+
+			// Make room by discarding the oldest thumbnails
+			Iterator<Entry> oldest = CACHE.values().iterator();
+			while (CACHE.size() >= maxSize && oldest.hasNext()) {
+				oldest.next().task.cancel(false);
+				oldest.remove();
+			}
+
+			Entry previous = CACHE.put(file, entry);
+			if (previous != null) {
+				previous.task.cancel(false);
+			}
+		}
+
+		try {
+			service.execute(task);
+		} catch (RejectedExecutionException e) {
+			// The task holds the file, so must not be left in the cache
+			remove(file);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Retrieves the thumbnail of an uploaded file. The thumbnail created in the background is used if it is the same
+	 * size, otherwise the thumbnail is created on the calling thread. The thumbnail is no longer held once retrieved.
+	 *
+	 * @param file the uploaded file.
+	 * @param scaledSize the size of the thumbnail, null for default
+	 * @return the thumbnail, or null if it could not be created
+	 */
+	public static Image getThumbnail(final File file, final Dimension scaledSize) {
+		Entry entry;
+		synchronized (CACHE) {
+			entry = CACHE.remove(file);
+		}
+
+		if (entry != null && Objects.equals(entry.scaledSize, scaledSize)) {
+			// Create the thumbnail now if the background task has not started
+			entry.task.run();
+			try {
+				return entry.task.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				LOG.warn("Could not generate thumbnail in the background. " + e.getMessage(), e);
+			}
+		}
+
+		return createThumbnail(file, scaledSize);
+	}
+
+	/**
+	 * Discards the thumbnail of an uploaded file.
+	 *
+	 * @param file the uploaded file.
+	 */
+	public static void remove(final File file) {
+		Entry entry;
+		synchronized (CACHE) {
+			entry = CACHE.remove(file);
+		}
+
+		if (entry != null) {
+			entry.task.cancel(false);
+		}
+	}
+
+	/**
+	 * @return the number of thumbnails being created or waiting to be requested.
+	 */
+	public static int size() {
+		synchronized (CACHE) {
+			purge();
+			return CACHE.size();
+		}
+	}
+
+	/**
+	 * Discards the thumbnails which have been held for longer than the timeout, or whose UIContext has ended. The
+	 * caller must hold the lock on the cache.
+	 */
+	private static void purge() {
+		long expired = System.currentTimeMillis()
+				- TimeUnit.SECONDS.toMillis(ConfigurationProperties.getThumbnailCacheTimeout());
+
+		for (Iterator<Entry> iter = CACHE.values().iterator(); iter.hasNext();) {
+			Entry entry = iter.next();
+
+			if (entry.created <= expired || entry.isOrphaned()) {
+				entry.task.cancel(false);
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * @param file the uploaded file.
+	 * @param scaledSize the size of the thumbnail, null for default
+	 * @return the thumbnail, or null if it could not be created
+	 */
+	private static Image createThumbnail(final File file, final Dimension scaledSize) {
+		try {
+			return ThumbnailUtil.createThumbnail(file.getInputStream(), file.getName(), scaledSize,
+					file.getMimeType());
+		} catch (Exception e) {
+			LOG.error("Could not generate thumbnail for file. " + e.getMessage(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return the executor which creates the thumbnails, or null if thumbnails are not created in the background
+	 */
+	private static synchronized ThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			int threads = ConfigurationProperties.getThumbnailThreads();
+			if (threads <= 0) {
+				return null;
+			}
+
+			executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<Runnable>(Math.max(ConfigurationProperties.getThumbnailCacheSize(), 1)),
+					runnable -> {
+						Thread thread = new Thread(runnable, "wcomponents-thumbnail-" + THREAD_COUNT.incrementAndGet());
+						thread.setDaemon(true);
+						thread.setPriority(Thread.MIN_PRIORITY);
+						return thread;
+					});
+			executor.allowCoreThreadTimeOut(true);
+		}
+		return executor;
+	}
+
+	/**
+	 * A thumbnail being created or waiting to be requested.
+	 */
+	private static final class Entry {
+
+		/**
+		 * The size of the thumbnail, null for default.
+		 */
+		private final Dimension scaledSize;
+
+		/**
+		 * The task creating the thumbnail.
+		 */
+		private final FutureTask<Image> task;
+
+		/**
+		 * The context the file was uploaded in, or null if uploaded outside of a request.
+		 */
+		private final WeakReference<UIContext> owner;
+
+		/**
+		 * The time the entry was created.
+		 */
+		private final long created = System.currentTimeMillis();
+
+		/**
+		 * @param scaledSize the size of the thumbnail, null for default
+		 * @param task the task creating the thumbnail
+		 * @param owner the context the file was uploaded in, or null if uploaded outside of a request
+		 */
+		private Entry(final Dimension scaledSize, final FutureTask<Image> task, final UIContext owner) {
+			this.scaledSize = scaledSize == null ? null : new Dimension(scaledSize);
+			this.task = task;
+			this.owner = owner == null ? null : new WeakReference<>(owner);
+		}
+
+		/**
+		 * @return true if the context the file was uploaded in has ended.
+		 */
+		private boolean isOrphaned() {
+			return owner != null && owner.get() == null;
+		}
+	}
+}
@@ -5,12 +5,17 @@ import com.github.bordertech.wcomponents.ImageResource;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Iterator;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.MemoryCacheImageInputStream;
 import javax.imageio.stream.MemoryCacheImageOutputStream;
 import org.apache.commons.logging.Log;
@@ -137,9 +142,7 @@ public final class ThumbnailUtil {
 		final Dimension scale = scaledSize == null ? THUMBNAIL_SCALE_SIZE : scaledSize;
 
 		// Generate thumbnail for image files
-		if (is != null && mimeType != null && (mimeType.equals("image/jpeg") || mimeType.equals(
-				"image/bmp")
-				|| mimeType.equals("image/png") || mimeType.equals("image/gif"))) {
+		if (is != null && isImageThumbnail(mimeType)) {
 			byte[] bytes = createImageThumbnail(is, scale);
 			if (bytes != null) {
 				return new BytesImage(bytes, "image/jpeg", "Thumbnail of " + name, null);
@@ -151,6 +154,15 @@ public final class ThumbnailUtil {
 		return image;
 	}
 
+	/**
+	 * @param mimeType the files mime type
+	 * @return true if the thumbnail is created from the image in the file
+	 */
+	static boolean isImageThumbnail(final String mimeType) {
+		return mimeType != null && (mimeType.equals("image/jpeg") || mimeType.equals("image/bmp")
+				|| mimeType.equals("image/png") || mimeType.equals("image/gif"));
+	}
+
 	/**
 	 * @param mimeType the files mime type
 	 * @param name the file name
@@ -199,8 +211,9 @@ public final class ThumbnailUtil {
 	}
 
 	/**
-	 * This method will create a JPEG "thumb nail" of an image read from an {@link InputStream}. The maximum Dimension
-	 * of the returned JPEG Image will be {@link #THUMBNAIL_MAX}.
+	 * This method will create a JPEG "thumb nail" of an image read from an {@link InputStream}. The image is read
+	 * subsampled to no less than twice the size of the thumbnail, so the full size image is never held in memory, and
+	 * then scaled down progressively.
 	 *
 	 * @param is the InputStream representing the image for which the JPEG thumb nail is to be returned.
 	 * @param scaledSize the size to which the given <em>image</em> is to be scaled.
@@ -208,22 +221,29 @@ public final class ThumbnailUtil {
 	 */
 	private static byte[] createImageThumbnail(final InputStream is, final Dimension scaledSize) {
 		BufferedImage image;
-		MemoryCacheImageInputStream mciis;
+		Dimension size;
 
-		try {
-			mciis = new MemoryCacheImageInputStream(is);
-			image = ImageIO.read(mciis);
+		try (ImageInputStream iis = new MemoryCacheImageInputStream(is)) {
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+			if (!readers.hasNext()) {
+				return null;
+			}
+
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(iis, true, true);
+				size = getScaledSize(reader.getWidth(0), reader.getHeight(0), scaledSize);
+				image = readImage(reader, size);
+			} finally {
+				reader.dispose();
+			}
 		} catch (Exception e) {
 			LOG.warn("Unable to read input image", e);
 			return null;
 		}
 
-		if (image == null) {
-			return null;
-		}
-
 		try {
-			byte[] jpeg = createScaledJPEG(image, scaledSize);
+			byte[] jpeg = createScaledJPEG(image, size);
 			return jpeg;
 		} catch (Exception e) {
 			LOG.error("Error creating thumbnail from image", e);
@@ -235,29 +255,90 @@ public final class ThumbnailUtil {
 
 	}
 
+	/**
+	 * Reads an image, using source subsampling to read the image at no less than twice the size of the thumbnail.
+	 *
+	 * @param reader the reader for the image.
+	 * @param size the size of the thumbnail.
+	 * @return the image
+	 * @throws IOException if the image can not be read
+	 */
+	private static BufferedImage readImage(final ImageReader reader, final Dimension size) throws IOException {
+		int subsampling = Math.min(reader.getWidth(0) / (size.width * 2), reader.getHeight(0) / (size.height * 2));
+		ImageReadParam param = reader.getDefaultReadParam();
+		if (subsampling > 1) {
+			param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+		}
+		return reader.read(0, param);
+	}
+
+	/**
+	 * Calculates the size of an image scaled as {@link Image#getScaledInstance(int, int, int)} would, where a width or
+	 * height of -1 maintains the aspect ratio of the image.
+	 *
+	 * @param width the width of the image.
+	 * @param height the height of the image.
+	 * @param scaledSize the size to which the image is to be scaled.
+	 * @return the size of the scaled image
+	 */
+	private static Dimension getScaledSize(final int width, final int height, final Dimension scaledSize) {
+		int scaledWidth = scaledSize.width;
+		int scaledHeight = scaledSize.height;
+
+		if (scaledWidth < 0) {
+			scaledWidth = (int) ((long) width * scaledHeight / height);
+		} else if (scaledHeight < 0) {
+			scaledHeight = (int) ((long) height * scaledWidth / width);
+		}
+
+		return new Dimension(Math.max(scaledWidth, 1), Math.max(scaledHeight, 1));
+	}
+
+	/**
+	 * Scales an image by halving its size with bilinear interpolation until it reaches the scaled size. This gives a
+	 * similar quality to a smooth scale in a fraction of the time.
+	 *
+	 * @param image the image to be scaled.
+	 * @param size the size to which the given <em>image</em> is to be scaled.
+	 * @return the scaled image.
+	 */
+	private static BufferedImage scaleImage(final BufferedImage image, final Dimension size) {
+		BufferedImage scaled = image;
+		int width = image.getWidth();
+		int height = image.getHeight();
+
+		do {
+			width = width > size.width ? Math.max(width / 2, size.width) : size.width;
+			height = height > size.height ? Math.max(height / 2, size.height) : size.height;
+
+			BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			Graphics2D graphics = step.createGraphics();
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.drawImage(scaled, 0, 0, width, height, null);
+			graphics.dispose();
+
+			if (scaled != image) {
+				scaled.flush();
+			}
+			scaled = step;
+		} while (width != size.width || height != size.height);
+
+		return scaled;
+	}
+
 	/**
 	 * This method creates an array of bytes representing a JPEG image that is a "scaled" version of the given
-	 * {@link Image}.
+	 * {@link BufferedImage}.
 	 *
 	 * @param image The image to be turned into a scaled JPEG.
-	 * @param scaledSize The size to which the given <em>image</em> is to be scaled.
-	 * @return A byte[] representing the JPEG image containing the scaled {@link Image}.
+	 * @param size The size to which the given <em>image</em> is to be scaled.
+	 * @return A byte[] representing the JPEG image containing the scaled {@link BufferedImage}.
 	 * @throws IOException on any sort of error.
 	 */
-	private static byte[] createScaledJPEG(final Image image, final Dimension scaledSize) throws
+	private static byte[] createScaledJPEG(final BufferedImage image, final Dimension size) throws
 			IOException {
 		// Scale the image.
-		Image scaledImage = image.getScaledInstance(scaledSize.width, scaledSize.height,
-				Image.SCALE_SMOOTH);
-
-		// Create a BufferedImage copy of the scaledImage.
-		BufferedImage bufferedImage = new BufferedImage(scaledImage.getWidth(null), scaledImage.
-				getHeight(null),
-				BufferedImage.TYPE_INT_RGB);
-		Graphics2D graphics = bufferedImage.createGraphics();
-		graphics.drawImage(scaledImage, 0, 0, null);
-		scaledImage.flush();
-		graphics.dispose();
+		BufferedImage bufferedImage = scaleImage(image, size);
 
 		// Convert the scaled image to a JPEG byte array.
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
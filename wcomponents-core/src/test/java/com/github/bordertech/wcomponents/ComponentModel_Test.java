@@ -1,7 +1,16 @@
 package com.github.bordertech.wcomponents;
 
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.SerializationUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Stack;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -42,4 +51,115 @@ public class ComponentModel_Test extends AbstractWComponentTestCase {
 		Assert.assertEquals("Original stack was updated incorrectly.", 1, stack.size());
 		Assert.assertEquals("Copied stack was not updated.", 2, copiedStack.size());
 	}
+
+	@After
+	public void restoreConfig() {
+		Config.reset();
+	}
+
+	@Test
+	public void testCompactSerialization() {
+		TestModel model = createModel();
+		TestModel piped = (TestModel) SerializationUtil.pipe(model);
+		piped.setSharedModel(model.getSharedModel());
+
+		Assert.assertEquals("Model should be the same after serialization", model, piped);
+		Assert.assertEquals("Incorrect int", -12345, piped.intValue);
+		Assert.assertEquals("Incorrect long", Long.MIN_VALUE, piped.longValue);
+		Assert.assertTrue("Incorrect boolean", piped.booleanValue);
+		Assert.assertEquals("Incorrect double", 1.5, piped.doubleValue, 0);
+		Assert.assertNull("Null override should be kept", piped.objectValue);
+		Assert.assertEquals("Incorrect long string", model.getTemplateMarkUp(), piped.getTemplateMarkUp());
+		Assert.assertEquals("Incorrect attribute", 42, piped.getAttribute("int"));
+		Assert.assertEquals("Incorrect shared value", "shared", piped.getTag());
+	}
+
+	@Test
+	public void testLegacySerialization() {
+		Config.getInstance().setProperty(ConfigurationProperties.MODEL_COMPACT_SERIALIZATION, "false");
+		TestModel model = createModel();
+		TestModel piped = (TestModel) SerializationUtil.pipe(model);
+		piped.setSharedModel(model.getSharedModel());
+
+		Assert.assertEquals("Legacy model should be the same after serialization", model, piped);
+		Assert.assertEquals("Incorrect shared value", "shared", piped.getTag());
+	}
+
+	@Test
+	public void testCompactSerializationSize() throws IOException {
+		TestModel model = createModel();
+		int compactSize = serialize(model).length;
+
+		Config.getInstance().setProperty(ConfigurationProperties.MODEL_COMPACT_SERIALIZATION, "false");
+		int legacySize = serialize(model).length;
+
+		Assert.assertTrue("Compact form should be smaller than the legacy form", compactSize < legacySize);
+	}
+
+	/**
+	 * @return a session model with a variety of overridden fields.
+	 */
+	private static TestModel createModel() {
+		TestModel shared = new TestModel();
+		shared.setTag("shared");
+		shared.objectValue = "shared";
+
+		TestModel model = new TestModel();
+		model.setSharedModel(shared);
+		model.setFlags(model.getFlags() | ComponentModel.MANDATORY_FLAG);
+		model.setIdName("id");
+		model.setTemplateMarkUp(StringUtils.repeat("\u20ac", 30000));
+		model.setAttribute("int", 42);
+		model.setChildren(Collections.<WComponent>emptyList());
+		model.intValue = -12345;
+		model.longValue = Long.MIN_VALUE;
+		model.booleanValue = true;
+		model.doubleValue = 1.5;
+		model.objectValue = null;
+		return model;
+	}
+
+	/**
+	 * @param model the model to serialize.
+	 * @return the serialized model.
+	 * @throws IOException an IO exception
+	 */
+	private static byte[] serialize(final ComponentModel model) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(model);
+		}
+		return bos.toByteArray();
+	}
+
+	/**
+	 * A model containing primitive fields.
+	 */
+	public static final class TestModel extends ComponentModel {
+
+		/**
+		 * An int field.
+		 */
+		private int intValue;
+
+		/**
+		 * A long field.
+		 */
+		private long longValue;
+
+		/**
+		 * A boolean field.
+		 */
+		private boolean booleanValue;
+
+		/**
+		 * A double field.
+		 */
+		private double doubleValue;
+
+		/**
+		 * An object field.
+		 */
+		private Object objectValue;
+	}
 }
@@ -1,9 +1,14 @@
 package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.mock.MockRequest;
 import com.github.bordertech.wcomponents.util.mock.MockResponse;
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
+import javax.servlet.http.HttpServletResponse;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -84,4 +89,234 @@ public class ContentEscape_Test {
 		contentEscape.setCacheable(true);
 		Assert.assertTrue("Cacheable flag should be true", contentEscape.isCacheable());
 	}
+
+	@Test
+	public void testEscapeSingleRange() throws IOException {
+		MockContentAccess contentAccess = new MockContentAccess();
+		contentAccess.setBytes("0123456789".getBytes(StandardCharsets.US_ASCII));
+
+		MockResponse response = escape(contentAccess, "bytes=2-5", null);
+
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		Assert.assertEquals("Incorrect content range", "bytes 2-5/10", response.getHeaders().get("Content-Range"));
+		Assert.assertEquals("Incorrect content length", "4", response.getHeaders().get("Content-Length"));
+		Assert.assertEquals("Incorrect content written", "2345",
+				new String(response.getOutput(), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void testEscapeMultipleRanges() throws IOException {
+		MockContentAccess contentAccess = new MockContentAccess();
+		contentAccess.setBytes("0123456789".getBytes(StandardCharsets.US_ASCII));
+		contentAccess.setMimeType("text/plain");
+
+		MockResponse response = escape(contentAccess, "bytes=0-1,-2", null);
+
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		Assert.assertTrue("Incorrect content type", response.getContentType().startsWith("multipart/byteranges"));
+
+		String boundary = response.getContentType().substring(response.getContentType().indexOf("boundary=") + 9);
+		String expected = "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 0-1/10\r\n\r\n01"
+				+ "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 8-9/10\r\n\r\n89"
+				+ "\r\n--" + boundary + "--\r\n";
+
+		Assert.assertEquals("Incorrect content written", expected,
+				new String(response.getOutput(), StandardCharsets.US_ASCII));
+		Assert.assertEquals("Incorrect content length", String.valueOf(expected.length()),
+				response.getHeaders().get("Content-Length"));
+	}
+
+	@Test
+	public void testEscapeUnsatisfiableRange() throws IOException {
+		MockContentAccess contentAccess = new MockContentAccess();
+		contentAccess.setBytes("0123456789".getBytes(StandardCharsets.US_ASCII));
+
+		MockResponse response = escape(contentAccess, "bytes=10-", null);
+
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE,
+				response.getStatus());
+		Assert.assertEquals("Incorrect content range", "bytes */10", response.getHeaders().get("Content-Range"));
+		Assert.assertEquals("No content should be written", 0, response.getOutput().length);
+	}
+
+	@Test
+	public void testEscapeIfRange() throws IOException {
+		MockContentAccess contentAccess = new MockContentAccess();
+		contentAccess.setBytes("0123456789".getBytes(StandardCharsets.US_ASCII));
+
+		String eTag = getETag(contentAccess);
+		Assert.assertNotNull("ETag should be set", eTag);
+
+		MockResponse response = escape(contentAccess, "bytes=2-5", eTag);
+		Assert.assertEquals("Range should be sent for current copy", HttpServletResponse.SC_PARTIAL_CONTENT,
+				response.getStatus());
+
+		response = escape(contentAccess, "bytes=2-5", "\"stale\"");
+		Assert.assertEquals("Whole content should be sent for stale copy", HttpServletResponse.SC_OK,
+				response.getStatus());
+		Assert.assertEquals("Incorrect content written", "0123456789",
+				new String(response.getOutput(), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void testEscapeNotModified() throws IOException {
+		MockContentAccess contentAccess = new MockContentAccess();
+		contentAccess.setBytes("0123456789".getBytes(StandardCharsets.US_ASCII));
+
+		String eTag = getETag(contentAccess);
+
+		MockRequest request = new MockRequest();
+		request.setMethod("GET");
+		request.setHeader("If-None-Match", eTag);
+
+		MockResponse response = new MockResponse();
+		ContentEscape contentEscape = new ContentEscape(contentAccess);
+		contentEscape.setRequest(request);
+		contentEscape.setResponse(response);
+		contentEscape.escape();
+
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+		Assert.assertEquals("No content should be written", 0, response.getOutput().length);
+
+		// Content changed
+		contentAccess.setBytes("9876543210".getBytes(StandardCharsets.US_ASCII));
+		response = new MockResponse();
+		contentEscape.setResponse(response);
+		contentEscape.escape();
+
+		Assert.assertEquals("Incorrect status for changed content", HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertEquals("Incorrect content written", "9876543210",
+				new String(response.getOutput(), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void testEscapeStreamRange() throws IOException {
+		MockContentStreamAccess contentAccess = new MockContentStreamAccess() {
+			@Override
+			public long getContentLength() {
+				return getBytes().length;
+			}
+		};
+		contentAccess.setBytes("0123456789".getBytes(StandardCharsets.US_ASCII));
+
+		MockResponse response = escape(contentAccess, "bytes=7-", null);
+
+		Assert.assertEquals("Incorrect status", HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		Assert.assertEquals("Incorrect content range", "bytes 7-9/10", response.getHeaders().get("Content-Range"));
+		Assert.assertEquals("Incorrect content written", "789",
+				new String(response.getOutput(), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void testEscapeStreamUnknownLength() throws IOException {
+		MockContentStreamAccess contentAccess = new MockContentStreamAccess();
+		contentAccess.setBytes("0123456789".getBytes(StandardCharsets.US_ASCII));
+
+		MockResponse response = escape(contentAccess, "bytes=7-", null);
+
+		Assert.assertEquals("Range should be ignored", HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertNull("Ranges should not be accepted", response.getHeaders().get("Accept-Ranges"));
+		Assert.assertEquals("Incorrect content written", "0123456789",
+				new String(response.getOutput(), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void testEscapeFile() throws IOException {
+		File file = File.createTempFile("ContentEscape_Test", ".txt");
+
+		try {
+			Files.write(file.toPath(), "0123456789".getBytes(StandardCharsets.US_ASCII));
+			FileContentAccess contentAccess = new FileContentAccess(file, "text/plain");
+
+			MockResponse response = escape(contentAccess, null, null);
+			Assert.assertEquals("Incorrect content written", "0123456789",
+					new String(response.getOutput(), StandardCharsets.US_ASCII));
+			Assert.assertEquals("Incorrect content length", "10", response.getHeaders().get("Content-Length"));
+			Assert.assertEquals("Ranges should be accepted", "bytes", response.getHeaders().get("Accept-Ranges"));
+			Assert.assertNotNull("Last-Modified should be set", response.getHeaders().get("Last-Modified"));
+
+			String eTag = response.getHeaders().get("ETag");
+			response = escape(contentAccess, "bytes=3-4", eTag);
+			Assert.assertEquals("Incorrect status", HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+			Assert.assertEquals("Incorrect content written", "34",
+					new String(response.getOutput(), StandardCharsets.US_ASCII));
+		} finally {
+			Assert.assertTrue("Failed to delete file", file.delete());
+		}
+	}
+
+	@Test
+	public void testEscapeHead() throws IOException {
+		MockContentAccess contentAccess = new MockContentAccess();
+		contentAccess.setBytes("0123456789".getBytes(StandardCharsets.US_ASCII));
+
+		MockRequest request = new MockRequest();
+		request.setMethod("HEAD");
+
+		MockResponse response = new MockResponse();
+		ContentEscape contentEscape = new ContentEscape(contentAccess);
+		contentEscape.setRequest(request);
+		contentEscape.setResponse(response);
+		contentEscape.escape();
+
+		Assert.assertEquals("Incorrect content length", "10", response.getHeaders().get("Content-Length"));
+		Assert.assertEquals("No content should be written", 0, response.getOutput().length);
+	}
+
+	@Test
+	public void testEscapeUncacheableWithoutETag() throws IOException {
+		MockContentAccess contentAccess = new MockContentAccess();
+		contentAccess.setBytes("0123456789".getBytes(StandardCharsets.US_ASCII));
+
+		Assert.assertNull("ETag should not be computed for content which is not cached",
+				escape(contentAccess, null, null).getHeaders().get("ETag"));
+		Assert.assertNotNull("ETag should be computed to validate the range",
+				escape(contentAccess, "bytes=2-5", "\"stale\"").getHeaders().get("ETag"));
+	}
+
+	/**
+	 * Retrieves the entity tag sent for cacheable content.
+	 *
+	 * @param contentAccess the content to escape.
+	 * @return the ETag header.
+	 * @throws IOException if there is an error writing the content.
+	 */
+	private String getETag(final ContentAccess contentAccess) throws IOException {
+		MockRequest request = new MockRequest();
+		request.setMethod("GET");
+
+		MockResponse response = new MockResponse();
+		ContentEscape contentEscape = new ContentEscape(contentAccess);
+		contentEscape.setCacheable(true);
+		contentEscape.setRequest(request);
+		contentEscape.setResponse(response);
+		contentEscape.escape();
+
+		return response.getHeaders().get("ETag");
+	}
+
+	/**
+	 * Escapes the content for a GET request.
+	 *
+	 * @param contentAccess the content to escape.
+	 * @param range the Range header, or null.
+	 * @param ifRange the If-Range header, or null.
+	 * @return the response.
+	 * @throws IOException if there is an error writing the content.
+	 */
+	private MockResponse escape(final ContentAccess contentAccess, final String range, final String ifRange)
+			throws IOException {
+		MockRequest request = new MockRequest();
+		request.setMethod("GET");
+		request.setHeader("Range", range);
+		request.setHeader("If-Range", ifRange);
+
+		MockResponse response = new MockResponse();
+		ContentEscape contentEscape = new ContentEscape(contentAccess);
+		contentEscape.setRequest(request);
+		contentEscape.setResponse(response);
+		contentEscape.escape();
+
+		return response;
+	}
 }
@@ -0,0 +1,182 @@
+package com.github.bordertech.wcomponents;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares the time taken to read the component models of {@link AllComponents} from a {@link DenseUIContextImpl}
+ * against a {@link UIContextImpl}, and the heap used by the contexts of many sessions.
+ *
+ * @since 1.5.29
+ */
+@Category(PerformanceTests.class)
+public class DenseUIContextImplPerformance_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(DenseUIContextImplPerformance_Test.class);
+
+	/**
+	 * The number of times to read the models of all the components.
+	 */
+	private static final int NUM_LOOPS = 20000;
+
+	/**
+	 * The number of sessions to measure the heap of.
+	 */
+	private static final int NUM_SESSIONS = 1000;
+
+	/**
+	 * Used to stop the JIT from discarding the reads.
+	 */
+	private static int sink;
+
+	@Test
+	public void testGetComponentModelPerformance() {
+		List<AbstractWComponent> components = createUI();
+		UIContext reference = createContext(new UIContextImpl(), components);
+		UIContext current = createContext(new DenseUIContextImpl(), components);
+
+		// Warm up
+		getComponentModels(reference, components, NUM_LOOPS / 10);
+		getComponentModels(current, components, NUM_LOOPS / 10);
+
+		long referenceTime = time(() -> getComponentModels(reference, components, NUM_LOOPS));
+		long currentTime = time(() -> getComponentModels(current, components, NUM_LOOPS));
+
+		LOG.info("UIContextImpl time for " + NUM_LOOPS + " reads of " + components.size() + " models: "
+				+ (referenceTime / 1000000.0) + "ms");
+		LOG.info("DenseUIContextImpl time for " + NUM_LOOPS + " reads of " + components.size() + " models: "
+				+ (currentTime / 1000000.0) + "ms");
+		LOG.info("Sink " + sink);
+
+		Assert.assertTrue("Reading models should not be slower than using UIContextImpl", currentTime <= referenceTime);
+	}
+
+	@Test
+	public void testHeapSize() {
+		List<AbstractWComponent> components = createUI();
+
+		long referenceSize = getHeapSize(false, components);
+		long currentSize = getHeapSize(true, components);
+
+		LOG.info("UIContextImpl heap for " + NUM_SESSIONS + " sessions of " + components.size() + " models: "
+				+ referenceSize / 1024 + "KB");
+		LOG.info("DenseUIContextImpl heap for " + NUM_SESSIONS + " sessions of " + components.size() + " models: "
+				+ currentSize / 1024 + "KB");
+	}
+
+	/**
+	 * @return the components of a locked {@link AllComponents}.
+	 */
+	private static List<AbstractWComponent> createUI() {
+		AllComponents ui = new AllComponents();
+		ui.setLocked(true);
+
+		List<AbstractWComponent> components = new ArrayList<>();
+		addComponents(ui, components);
+		return components;
+	}
+
+	/**
+	 * @param component the component at the top of the tree.
+	 * @param components the list to add the components in the tree to.
+	 */
+	private static void addComponents(final WComponent component, final List<AbstractWComponent> components) {
+		if (component instanceof AbstractWComponent) {
+			components.add((AbstractWComponent) component);
+		}
+
+		if (component instanceof Container) {
+			for (WComponent child : ((Container) component).getChildren()) {
+				addComponents(child, components);
+			}
+		}
+	}
+
+	/**
+	 * Creates a model in the context for every component.
+	 *
+	 * @param uic the context to create the models in.
+	 * @param components the components to create the models for.
+	 * @return the context.
+	 */
+	private static UIContext createContext(final UIContext uic, final List<AbstractWComponent> components) {
+		UIContextHolder.reset();
+		UIContextHolder.pushContext(uic);
+
+		for (AbstractWComponent component : components) {
+			component.getOrCreateComponentModel();
+		}
+
+		UIContextHolder.reset();
+		return uic;
+	}
+
+	/**
+	 * @param uic the context to read the models in.
+	 * @param components the components to read the models of.
+	 * @param count the number of times to read the models.
+	 */
+	private static void getComponentModels(final UIContext uic, final List<AbstractWComponent> components,
+			final int count) {
+		UIContextHolder.reset();
+		UIContextHolder.pushContext(uic);
+		int result = 0;
+
+		for (int i = 0; i < count; i++) {
+			for (AbstractWComponent component : components) {
+				result += component.getComponentModel() == null ? 0 : 1;
+			}
+		}
+
+		UIContextHolder.reset();
+		sink += result;
+	}
+
+	/**
+	 * Measures the heap used to hold a model for every component in many contexts. The same model is used for every
+	 * component, so only the storage of the models is measured.
+	 *
+	 * @param dense true to measure {@link DenseUIContextImpl}, false to measure {@link UIContextImpl}.
+	 * @param components the components to hold the model for.
+	 * @return the approximate heap used, in bytes.
+	 */
+	private static long getHeapSize(final boolean dense, final List<AbstractWComponent> components) {
+		WebModel model = new ComponentModel();
+		long before = getUsedMemory();
+
+		List<UIContext> contexts = new ArrayList<>(NUM_SESSIONS);
+		for (int i = 0; i < NUM_SESSIONS; i++) {
+			UIContext uic = dense ? new DenseUIContextImpl() : new UIContextImpl();
+
+			for (AbstractWComponent component : components) {
+				uic.setModel(component, model);
+			}
+			contexts.add(uic);
+		}
+
+		long size = getUsedMemory() - before;
+		sink += contexts.size();
+		return size;
+	}
+
+	/**
+	 * @return the heap in use after garbage collection.
+	 */
+	private static long getUsedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
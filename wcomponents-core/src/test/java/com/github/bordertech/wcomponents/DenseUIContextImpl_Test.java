@@ -0,0 +1,202 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
+import com.github.bordertech.wcomponents.util.SerializationUtil;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DenseUIContextImpl}.
+ *
+ * @since 1.5.29
+ */
+public class DenseUIContextImpl_Test extends AbstractWComponentTestCase {
+
+	@Override
+	protected UIContext createUIContext() {
+		return new DenseUIContextImpl();
+	}
+
+	@Test
+	public void testSlotsAssignedWhenLocked() {
+		WPanel root = new WPanel();
+		WTextField field = new WTextField();
+		WPanel panel = new WPanel();
+		WCheckBox checkBox = new WCheckBox();
+		root.add(field);
+		root.add(panel);
+		panel.add(checkBox);
+
+		Assert.assertTrue("Slot should not be assigned before locking", field.getSlot() < 0);
+
+		root.setLocked(true);
+
+		Set<Integer> slots = new HashSet<>();
+		for (AbstractWComponent component : Arrays.<AbstractWComponent>asList(root, field, panel, checkBox)) {
+			Assert.assertTrue("Slot should be assigned when locked", component.getSlot() >= 0);
+			Assert.assertTrue("Slot should be less than the number of components", component.getSlot() < 4);
+			slots.add(component.getSlot());
+		}
+		Assert.assertEquals("Slots should be unique", 4, slots.size());
+
+		int slot = field.getSlot();
+		root.setLocked(false);
+		root.setLocked(true);
+		Assert.assertEquals("Slot should not change when relocked", slot, field.getSlot());
+	}
+
+	@Test
+	public void testSlotsOfSubtreeLockedFirst() {
+		WPanel root = new WPanel();
+		WPanel subtree = new WPanel();
+		WTextField field = new WTextField();
+		subtree.add(field);
+		subtree.setLocked(true);
+		subtree.setLocked(false);
+
+		WTextField other = new WTextField();
+		root.add(subtree);
+		root.add(other);
+		root.setLocked(true);
+
+		Set<Integer> slots = new HashSet<>(Arrays.asList(root.getSlot(), subtree.getSlot(), field.getSlot(),
+				other.getSlot()));
+		Assert.assertEquals("Slots should be unique within the tree", 4, slots.size());
+	}
+
+	@Test
+	public void testModelAccessors() {
+		WPanel root = new WPanel();
+		WTextField field = new WTextField();
+		root.add(field);
+		root.setLocked(true);
+
+		UIContext uic = createUIContext();
+		WebModel model = new ComponentModel();
+
+		uic.setModel(field, model);
+		Assert.assertSame("Incorrect model returned", model, uic.getModel(field));
+		Assert.assertNull("Root should not have a model", uic.getModel(root));
+
+		uic.removeModel(field);
+		Assert.assertNull("Model should be null after being removed", uic.getModel(field));
+
+		WebModel model2 = new ComponentModel();
+		uic.setModel(field, model);
+		uic.setModel(root, model2);
+		Assert.assertEquals("Incorrect components returned", new HashSet<>(Arrays.asList(root, field)),
+				uic.getComponents());
+	}
+
+	@Test
+	public void testModelOfComponentWithoutSlot() {
+		WComponent component = new DefaultWComponent();
+		UIContext uic = createUIContext();
+		WebModel model = new ComponentModel();
+
+		uic.setModel(component, model);
+		Assert.assertSame("Incorrect model returned", model, uic.getModel(component));
+		Assert.assertTrue("Component is not in the user context", uic.getComponents().contains(component));
+
+		uic.removeModel(component);
+		Assert.assertNull("Model should be null after being removed", uic.getModel(component));
+	}
+
+	@Test
+	public void testModelOfComponentAddedAfterLocking() {
+		WPanel root = new WPanel();
+		root.setLocked(true);
+
+		UIContext uic = createUIContext();
+		setActiveContext(uic);
+
+		WTextField field = new WTextField();
+		root.add(field);
+		field.setText("dynamic");
+
+		Assert.assertTrue("Component added after locking should not have a slot", field.getSlot() < 0);
+		Assert.assertEquals("Incorrect text for dynamic component", "dynamic", field.getText());
+		Assert.assertSame("Dynamic component should be a child", field, root.getChildAt(0));
+	}
+
+	@Test
+	public void testModelsOfComponentsWithSameSlot() {
+		WTextField field1 = new WTextField();
+		field1.setLocked(true);
+		WTextField field2 = new WTextField();
+		field2.setLocked(true);
+		Assert.assertEquals("Components of different trees should have the same slot", field1.getSlot(),
+				field2.getSlot());
+
+		UIContext uic = createUIContext();
+		WebModel model1 = new ComponentModel();
+		WebModel model2 = new ComponentModel();
+
+		uic.setModel(field1, model1);
+		uic.setModel(field2, model2);
+		Assert.assertSame("Incorrect model for field 1", model1, uic.getModel(field1));
+		Assert.assertSame("Incorrect model for field 2", model2, uic.getModel(field2));
+		Assert.assertEquals("Incorrect number of components", 2, uic.getComponents().size());
+
+		// Field 2 should take over the slot once field 1 no longer uses it
+		uic.removeModel(field1);
+		uic.setModel(field2, model1);
+		Assert.assertNull("Field 1 model should be removed", uic.getModel(field1));
+		Assert.assertSame("Incorrect model for field 2", model1, uic.getModel(field2));
+		Assert.assertEquals("Incorrect number of components", 1, uic.getComponents().size());
+	}
+
+	@Test
+	public void testSerialization() {
+		WPanel root = new WPanel();
+		WTextField field = new WTextField();
+		WTextField dynamic = new WTextField();
+		root.add(field);
+		root.setLocked(true);
+
+		UIContext uic = createUIContext();
+		uic.setUI(root);
+		setActiveContext(uic);
+		root.add(dynamic);
+		field.setText("field");
+		dynamic.setText("dynamic");
+
+		UIContext copy = (UIContext) SerializationUtil.pipe(uic);
+		Assert.assertTrue("Copy should be a dense context", copy instanceof DenseUIContextImpl);
+
+		setActiveContext(copy);
+		WPanel copyRoot = (WPanel) copy.getUI();
+		WTextField copyField = (WTextField) copyRoot.getChildAt(0);
+		WTextField copyDynamic = (WTextField) copyRoot.getChildAt(1);
+
+		Assert.assertEquals("Incorrect field text after serialization", "field", copyField.getText());
+		Assert.assertEquals("Incorrect dynamic text after serialization", "dynamic", copyDynamic.getText());
+		Assert.assertEquals("Incorrect number of components after serialization", uic.getComponents().size(),
+				copy.getComponents().size());
+	}
+
+	@Test
+	public void testRepeaterRowContexts() {
+		WTextField textField = new WTextField();
+		WRepeater repeater = new WRepeater(textField);
+		repeater.setLocked(true);
+
+		UIContext uic = createUIContext();
+		setActiveContext(uic);
+		repeater.setBeanList(Arrays.asList("A", "B", "C"));
+
+		SubUIContext rowContext = (SubUIContext) repeater.getRowContexts().get(1);
+		setActiveContext(rowContext);
+		textField.setText("user");
+
+		setActiveContext(repeater.getRowContexts().get(0));
+		Assert.assertEquals("Row 0 should have bean text", "A", textField.getText());
+		setActiveContext(repeater.getRowContexts().get(1));
+		Assert.assertEquals("Row 1 should have user text", "user", textField.getText());
+		setActiveContext(repeater.getRowContexts().get(2));
+		Assert.assertEquals("Row 2 should have bean text", "C", textField.getText());
+	}
+}
@@ -0,0 +1,157 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.WTable.RowIndexTableModel;
+import com.github.bordertech.wcomponents.WTable.TableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RowIndex}, {@link RowIndexTableModelAdapter} and {@link AbstractRowIndexTableModel}.
+ *
+ * @since 1.5.29
+ */
+public class RowIndex_Test {
+
+	@Test
+	public void testOf() {
+		RowIndex index = RowIndex.of(1, 0, 3);
+
+		Assert.assertEquals("Incorrect size", 3, index.size());
+		Assert.assertEquals("Incorrect index for level 0", 1, index.getInt(0));
+		Assert.assertEquals("Incorrect index for level 2", Integer.valueOf(3), index.get(2));
+		Assert.assertTrue("Incorrect indices", Arrays.equals(new int[]{1, 0, 3}, index.toIntArray()));
+		Assert.assertTrue("Empty index should be empty", RowIndex.of().isEmpty());
+	}
+
+	@Test
+	public void testOfCopiesArray() {
+		int[] indices = new int[]{1, 2};
+		RowIndex index = RowIndex.of(indices);
+		indices[0] = 5;
+
+		Assert.assertEquals("Index should not be affected by changes to the array", 1, index.getInt(0));
+
+		index.toIntArray()[0] = 5;
+		Assert.assertEquals("Index should not be affected by changes to the returned array", 1, index.getInt(0));
+	}
+
+	@Test
+	public void testValueOf() {
+		RowIndex index = RowIndex.of(2, 4);
+
+		Assert.assertNull("Null list should return null", RowIndex.valueOf(null));
+		Assert.assertSame("RowIndex should not be converted", index, RowIndex.valueOf(index));
+		Assert.assertEquals("Incorrect conversion from list", index, RowIndex.valueOf(Arrays.asList(2, 4)));
+	}
+
+	@Test
+	public void testChild() {
+		RowIndex parent = RowIndex.of(1);
+		RowIndex child = parent.child(3);
+
+		Assert.assertEquals("Incorrect child index", RowIndex.of(1, 3), child);
+		Assert.assertEquals("Parent should not be modified", 1, parent.size());
+	}
+
+	@Test
+	public void testToIndexString() {
+		Assert.assertEquals("Incorrect string for single level", "7", RowIndex.of(7).toIndexString());
+		Assert.assertEquals("Incorrect string for nested levels", "1-0-3", RowIndex.of(1, 0, 3).toIndexString());
+		Assert.assertNull("Empty index should not have a string", RowIndex.of().toIndexString());
+	}
+
+	@Test
+	public void testParse() {
+		Assert.assertNull("Null string should return null", RowIndex.parse(null));
+		Assert.assertEquals("Incorrect single level", RowIndex.of(12), RowIndex.parse("12"));
+		Assert.assertEquals("Incorrect nested levels", RowIndex.of(1, 0, 3), RowIndex.parse("1-0-3"));
+		Assert.assertTrue("Empty string should return empty index", RowIndex.parse("").isEmpty());
+	}
+
+	@Test
+	public void testParseInvalid() {
+		Assert.assertEquals("Should stop at the invalid level", RowIndex.of(1), RowIndex.parse("1-x-3"));
+		Assert.assertEquals("Trailing delimiter should be ignored", RowIndex.of(1, 2), RowIndex.parse("1-2-"));
+		Assert.assertTrue("Invalid first level should return empty index", RowIndex.parse("x").isEmpty());
+		Assert.assertTrue("Negative index should return empty index", RowIndex.parse("-1").isEmpty());
+		Assert.assertEquals("Overflow should stop parsing", RowIndex.of(1), RowIndex.parse("1-99999999999"));
+	}
+
+	@Test
+	public void testRoundTrip() {
+		RowIndex index = RowIndex.of(0, 11, 2, 30);
+		Assert.assertEquals("Incorrect round trip", index, RowIndex.parse(index.toIndexString()));
+	}
+
+	@Test
+	public void testEqualsAndHashCodeWithList() {
+		List<Integer> list = new ArrayList<>(Arrays.asList(1, 0, 3));
+		RowIndex index = RowIndex.of(1, 0, 3);
+
+		Assert.assertEquals("Should equal an equivalent list", list, index);
+		Assert.assertEquals("Equivalent list should equal index", index, list);
+		Assert.assertEquals("Hash code should match an equivalent list", list.hashCode(), index.hashCode());
+		Assert.assertNotEquals("Should not equal a different index", RowIndex.of(1, 0), index);
+
+		// Row keys created from lists must still match
+		Set<Object> keys = new HashSet<>();
+		keys.add(list);
+		Assert.assertTrue("Index should be found in a set of lists", keys.contains(index));
+	}
+
+	@Test
+	public void testAdapter() {
+		TableModel model = new AdapterBasicTableModel(new SimpleTableModel(new String[][]{{"A", "B"}, {"C", "D"}}));
+		RowIndexTableModel adapted = RowIndexTableModelAdapter.adapt(model);
+
+		Assert.assertSame("Incorrect backing model", model, ((RowIndexTableModelAdapter) adapted).getBacking());
+		Assert.assertEquals("Incorrect row count", 2, adapted.getRowCount());
+		Assert.assertEquals("Incorrect value", "D", adapted.getValueAt(RowIndex.of(1), 1));
+		Assert.assertEquals("Incorrect row key", 1, adapted.getRowKey(RowIndex.of(1)));
+	}
+
+	@Test
+	public void testAdapterPassThrough() {
+		TableModel model = new TestRowIndexModel();
+		Assert.assertSame("RowIndexTableModel should not be adapted", model, RowIndexTableModelAdapter.adapt(model));
+	}
+
+	@Test
+	public void testAbstractRowIndexTableModel() {
+		TestRowIndexModel model = new TestRowIndexModel();
+		List<Integer> row = Arrays.asList(2, 1);
+
+		Assert.assertEquals("Incorrect value from list", "2-1:0", model.getValueAt(row, 0));
+		Assert.assertEquals("Incorrect row key from list", RowIndex.of(2, 1), model.getRowKey(row));
+		Assert.assertTrue("Row should have children", model.hasChildren(Arrays.asList(0)));
+		Assert.assertFalse("Nested row should not have children", model.hasChildren(row));
+		Assert.assertFalse("Row should not be selectable", model.isSelectable(row));
+		Assert.assertNull("Row should not have a renderer", model.getRendererClass(row));
+	}
+
+	/**
+	 * A test model which works with row indices.
+	 */
+	private static final class TestRowIndexModel extends AbstractRowIndexTableModel {
+
+		@Override
+		public Object getValueAt(final RowIndex row, final int col) {
+			return row.toIndexString() + ":" + col;
+		}
+
+		@Override
+		public int getChildCount(final RowIndex row) {
+			return row.size() == 1 ? 2 : 0;
+		}
+
+		@Override
+		public int getRowCount() {
+			return 3;
+		}
+	}
+}
@@ -1,10 +1,13 @@
 package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.container.InterceptorComponent;
+import com.github.bordertech.wcomponents.monitor.UicStats;
 import com.github.bordertech.wcomponents.registry.UIRegistry;
 import com.github.bordertech.wcomponents.servlet.ServletUtil;
 import com.github.bordertech.wcomponents.servlet.WServlet;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.NullWriter;
 import com.github.bordertech.wcomponents.util.SerializationUtil;
 import com.github.bordertech.wcomponents.util.mock.MockRequest;
@@ -107,6 +110,28 @@ public class SerializationPerformance_Test extends AbstractWComponentTestCase {
 		assertLessThan("Size scaling should be O(n)", registered10Size, registered1Size * 10);
 	}
 
+	@Test
+	public void testCompactSerializationSize() throws Exception {
+		WComponent registered = UIRegistry.getInstance().getUI(AllComponents.class.getName());
+		UIContext context = createUIContext();
+
+		// Test used session - 100% components with models
+		createUserModels(registered, context, 100);
+		sendRequest(registered, context);
+
+		try {
+			int compactSize = new UicStats(context).getOverallSerializedSize();
+			Config.getInstance().setProperty(ConfigurationProperties.MODEL_COMPACT_SERIALIZATION, "false");
+			int legacySize = new UicStats(context).getOverallSerializedSize();
+
+			LOG.info("Compact model size - 100% models: " + compactSize);
+			LOG.info("Legacy model size - 100% models: " + legacySize);
+			assertLessThan("Compact size should be smaller than legacy size", compactSize, legacySize);
+		} finally {
+			Config.reset();
+		}
+	}
+
 	@Test
 	public void testSerializationTime() throws Exception {
 		WComponent nonRegistered = new AllComponents();
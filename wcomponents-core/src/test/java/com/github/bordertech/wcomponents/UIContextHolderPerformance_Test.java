@@ -0,0 +1,182 @@
+package com.github.bordertech.wcomponents;
+
+import java.util.Stack;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares the time taken to read the current context through {@link UIContextHolder} against a copy of the holder
+ * which used a synchronized {@link Stack}, and measures the throughput of
+ * {@link AbstractWComponent#getComponentModel()}.
+ *
+ * @since 1.5.29
+ */
+@Category(PerformanceTests.class)
+public class UIContextHolderPerformance_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(UIContextHolderPerformance_Test.class);
+
+	/**
+	 * The number of times to read the current context.
+	 */
+	private static final int NUM_LOOPS = 20000000;
+
+	/**
+	 * Used to stop the JIT from discarding the reads.
+	 */
+	private static int sink;
+
+	@Test
+	public void testGetCurrentPerformance() {
+		UIContext uic = createUIContext();
+		UIContext sub = new UIContextDelegate(uic);
+
+		// Warm up
+		readReference(uic, sub, NUM_LOOPS / 10);
+		read(uic, sub, NUM_LOOPS / 10);
+
+		long referenceTime = time(() -> readReference(uic, sub, NUM_LOOPS));
+		long currentTime = time(() -> read(uic, sub, NUM_LOOPS));
+
+		LOG.info("Synchronized stack time for " + NUM_LOOPS + " reads: " + (referenceTime / 1000000.0) + "ms");
+		LOG.info("UIContextHolder time for " + NUM_LOOPS + " reads: " + (currentTime / 1000000.0) + "ms");
+		LOG.info("Sink " + sink);
+
+		Assert.assertTrue("Reading the current context should not be slower than using a synchronized stack",
+				currentTime <= referenceTime);
+	}
+
+	@Test
+	public void testGetComponentModelThroughput() {
+		WTextField component = new WTextField();
+		component.setLocked(true);
+		UIContext uic = createUIContext();
+
+		// Warm up
+		getComponentModel(component, uic, NUM_LOOPS / 10);
+
+		long time = time(() -> getComponentModel(component, uic, NUM_LOOPS));
+
+		LOG.info("getComponentModel time for " + NUM_LOOPS + " calls: " + (time / 1000000.0) + "ms, "
+				+ (long) (NUM_LOOPS / (time / 1000000000.0)) + " calls/s");
+		LOG.info("Sink " + sink);
+	}
+
+	/**
+	 * Reads the current context with a sub context pushed, as a repeated component would.
+	 *
+	 * @param uic the primary context.
+	 * @param sub the sub context.
+	 * @param count the number of times to read the context.
+	 */
+	private static void read(final UIContext uic, final UIContext sub, final int count) {
+		UIContextHolder.reset();
+		UIContextHolder.pushContext(uic);
+		UIContextHolder.pushContext(sub);
+		int result = 0;
+
+		for (int i = 0; i < count; i++) {
+			result += UIContextHolder.getCurrent() == sub ? 1 : 0;
+		}
+
+		UIContextHolder.reset();
+		sink += result;
+	}
+
+	/**
+	 * Reads the current context from the reference holder with a sub context pushed.
+	 *
+	 * @param uic the primary context.
+	 * @param sub the sub context.
+	 * @param count the number of times to read the context.
+	 */
+	private static void readReference(final UIContext uic, final UIContext sub, final int count) {
+		ReferenceHolder.reset();
+		ReferenceHolder.pushContext(uic);
+		ReferenceHolder.pushContext(sub);
+		int result = 0;
+
+		for (int i = 0; i < count; i++) {
+			result += ReferenceHolder.getCurrent() == sub ? 1 : 0;
+		}
+
+		ReferenceHolder.reset();
+		sink += result;
+	}
+
+	/**
+	 * @param component the component to read the model of.
+	 * @param uic the context to read the model in.
+	 * @param count the number of times to read the model.
+	 */
+	private static void getComponentModel(final AbstractWComponent component, final UIContext uic, final int count) {
+		UIContextHolder.reset();
+		UIContextHolder.pushContext(uic);
+		int result = 0;
+
+		for (int i = 0; i < count; i++) {
+			result += component.getComponentModel() == null ? 0 : 1;
+		}
+
+		UIContextHolder.reset();
+		sink += result;
+	}
+
+	/**
+	 * A copy of the holder which stored the contexts in a synchronized {@link Stack}.
+	 */
+	private static final class ReferenceHolder {
+
+		/**
+		 * The contexts for each thread.
+		 */
+		private static final ThreadLocal<Stack<UIContext>> CONTEXT_STACK = new ThreadLocal<>();
+
+		/**
+		 * @param uic the context to push.
+		 */
+		private static void pushContext(final UIContext uic) {
+			getStack().push(uic);
+		}
+
+		/**
+		 * @return the current context.
+		 */
+		private static UIContext getCurrent() {
+			Stack<UIContext> stack = CONTEXT_STACK.get();
+
+			if (stack == null || stack.isEmpty()) {
+				return null;
+			}
+
+			return getStack().peek();
+		}
+
+		/**
+		 * @return the stack for the thread.
+		 */
+		private static Stack<UIContext> getStack() {
+			Stack<UIContext> stack = CONTEXT_STACK.get();
+
+			if (stack == null) {
+				stack = new Stack<>();
+				CONTEXT_STACK.set(stack);
+			}
+
+			return stack;
+		}
+
+		/**
+		 * Clears the stack.
+		 */
+		private static void reset() {
+			CONTEXT_STACK.remove();
+		}
+	}
+}
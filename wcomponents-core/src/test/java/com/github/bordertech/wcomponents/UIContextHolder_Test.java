@@ -0,0 +1,119 @@
+package com.github.bordertech.wcomponents;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link UIContextHolder}.
+ *
+ * @since 1.5.29
+ */
+public class UIContextHolder_Test {
+
+	@After
+	public void resetContext() {
+		UIContextHolder.reset();
+	}
+
+	@Test
+	public void testGetCurrentNoContext() {
+		Assert.assertNull("Should have no current context", UIContextHolder.getCurrent());
+	}
+
+	@Test
+	public void testPushAndPop() {
+		UIContext uic1 = new UIContextImpl();
+		UIContext uic2 = new UIContextImpl();
+
+		UIContextHolder.pushContext(uic1);
+		Assert.assertSame("Incorrect current context after first push", uic1, UIContextHolder.getCurrent());
+
+		UIContextHolder.pushContext(uic2);
+		Assert.assertSame("Incorrect current context after second push", uic2, UIContextHolder.getCurrent());
+
+		Assert.assertSame("Incorrect context popped", uic2, UIContextHolder.popContext());
+		Assert.assertSame("Incorrect current context after pop", uic1, UIContextHolder.getCurrent());
+
+		Assert.assertSame("Incorrect last context popped", uic1, UIContextHolder.popContext());
+		Assert.assertNull("Should have no current context after last pop", UIContextHolder.getCurrent());
+	}
+
+	@Test
+	public void testPushManyContexts() {
+		UIContext[] contexts = new UIContext[50];
+
+		for (int i = 0; i < contexts.length; i++) {
+			contexts[i] = new UIContextImpl();
+			UIContextHolder.pushContext(contexts[i]);
+		}
+
+		for (int i = contexts.length - 1; i >= 0; i--) {
+			Assert.assertSame("Incorrect current context", contexts[i], UIContextHolder.getCurrent());
+			Assert.assertSame("Incorrect context popped", contexts[i], UIContextHolder.popContext());
+		}
+
+		Assert.assertNull("Should have no current context", UIContextHolder.getCurrent());
+	}
+
+	@Test(expected = EmptyStackException.class)
+	public void testPopEmpty() {
+		UIContextHolder.popContext();
+	}
+
+	@Test
+	public void testReset() {
+		UIContextHolder.pushContext(new UIContextImpl());
+		UIContextHolder.pushContext(new UIContextImpl());
+		UIContextHolder.reset();
+
+		Assert.assertNull("Should have no current context after reset", UIContextHolder.getCurrent());
+	}
+
+	@Test
+	public void testGetCurrentPrimaryUIContext() {
+		UIContext primary = new UIContextImpl();
+		UIContextHolder.pushContext(primary);
+		UIContextHolder.pushContext(new UIContextDelegate(new UIContextDelegate(primary)));
+
+		Assert.assertSame("Incorrect primary context", primary, UIContextHolder.getCurrentPrimaryUIContext());
+	}
+
+	@Test
+	public void testContextPerThread() throws InterruptedException {
+		UIContext uic = new UIContextImpl();
+		UIContextHolder.pushContext(uic);
+
+		UIContext other = new UIContextImpl();
+		AtomicReference<UIContext> initial = new AtomicReference<>(uic);
+		AtomicReference<UIContext> pushed = new AtomicReference<>();
+		CountDownLatch otherPushed = new CountDownLatch(1);
+		CountDownLatch checked = new CountDownLatch(1);
+
+		Thread thread = new Thread(() -> {
+			initial.set(UIContextHolder.getCurrent());
+			UIContextHolder.pushContext(other);
+			pushed.set(UIContextHolder.getCurrent());
+			otherPushed.countDown();
+			try {
+				checked.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				UIContextHolder.reset();
+			}
+		});
+		thread.start();
+		otherPushed.await();
+
+		Assert.assertSame("Context should not change for this thread", uic, UIContextHolder.getCurrent());
+		checked.countDown();
+		thread.join();
+
+		Assert.assertNull("New thread should have no context", initial.get());
+		Assert.assertSame("Incorrect context for other thread", other, pushed.get());
+	}
+}
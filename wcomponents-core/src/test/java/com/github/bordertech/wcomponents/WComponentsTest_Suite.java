@@ -7,6 +7,7 @@ import com.github.bordertech.wcomponents.registry.Registry_Suite;
 import com.github.bordertech.wcomponents.render.webxml.WebXml_Suite;
 import com.github.bordertech.wcomponents.servlet.Servlet_Suite;
 import com.github.bordertech.wcomponents.subordinate.Subordinate_Suite;
+import com.github.bordertech.wcomponents.template.Template_Suite;
 import com.github.bordertech.wcomponents.testapp.TestApp_Test;
 import com.github.bordertech.wcomponents.util.ThemeUtil_Test;
 import com.github.bordertech.wcomponents.util.Util_Suite;
@@ -32,6 +33,7 @@ import org.junit.runners.Suite;
 	WebXml_Suite.class,
 	Servlet_Suite.class,
 	Subordinate_Suite.class,
+	Template_Suite.class,
 	Util_Suite.class,
 	Validation_Suite.class,
 	Validator_Suite.class,
@@ -53,6 +55,8 @@ import org.junit.runners.Suite;
 	CollapsibleGroup_Test.class,
 	ComponentModel_Test.class,
 	ContentEscape_Test.class,
+	DenseUIContextImpl_Test.class,
+	DenseUIContextImplPerformance_Test.class,
 	ErrorCodeEscape_Test.class,
 	Escape_Test.class,
 	FatalErrorPage_Test.class,
@@ -68,6 +72,7 @@ import org.junit.runners.Suite;
 	OptionGroup_Test.class,
 	RadioButtonGroup_Test.class,
 	RowIdList_Test.class,
+	RowIndex_Test.class,
 	SelectListUtil_Test.class,
 	Serialization_Test.class,
 	SerializationPerformance_Test.class,
@@ -78,6 +83,8 @@ import org.junit.runners.Suite;
 	TestApp_Test.class,
 	ThemeUtil_Test.class,
 	UIContextDebugWrapper_Test.class,
+	UIContextHolder_Test.class,
+	UIContextHolderPerformance_Test.class,
 	UIContextImpl_Test.class,
 	UicProfileButton_Test.class,
 	UserAgentInfo_Test.class,
@@ -145,6 +152,7 @@ import org.junit.runners.Suite;
 	WRadioButton_Test.class,
 	WRadioButtonSelect_Test.class,
 	WRepeater_Test.class,
+	WRepeaterPerformance_Test.class,
 	WRow_Test.class,
 	WSection_Test.class,
 	WSelectToggle_Test.class,
@@ -155,6 +163,7 @@ import org.junit.runners.Suite;
 	WSuggestions_Test.class,
 	WTab_Test.class,
 	WTable_Test.class,
+	WTablePerformance_Test.class,
 	WTableColumn_Test.class,
 	WTabSet_Test.class,
 	WTemplate_Test.class,
@@ -0,0 +1,246 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
+import com.github.bordertech.wcomponents.WRepeater.WRepeatRoot;
+import com.github.bordertech.wcomponents.monitor.UicStats;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares the heap and serialized size of the row state of a 2,000 row {@link WRepeater} against a repeater whose row
+ * contexts each hold their models in a map, as was done before the row models were held column-wise.
+ *
+ * @since 1.5.29
+ */
+@Category(PerformanceTests.class)
+public class WRepeaterPerformance_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(WRepeaterPerformance_Test.class);
+
+	/**
+	 * The number of rows in the repeater.
+	 */
+	private static final int NUM_ROWS = 2000;
+
+	/**
+	 * The number of components in each row.
+	 */
+	private static final int NUM_FIELDS = 15;
+
+	/**
+	 * The number of sessions to measure the heap of.
+	 */
+	private static final int NUM_SESSIONS = 10;
+
+	@Test
+	public void testSerializedSize() {
+		UIContext reference = createSession(new ReferenceRepeater(createRow()));
+		UIContext current = createSession(new WRepeater(createRow()));
+
+		int referenceSize = new UicStats(reference).getOverallSerializedSize();
+		int currentSize = new UicStats(current).getOverallSerializedSize();
+
+		LOG.info("Map per row serialized size for " + NUM_ROWS + " rows: " + referenceSize / 1024 + "KB");
+		LOG.info("WRepeater serialized size for " + NUM_ROWS + " rows: " + currentSize / 1024 + "KB");
+
+		Assert.assertTrue("Row state should not be larger than a map per row", currentSize <= referenceSize);
+	}
+
+	@Test
+	public void testHeapSize() {
+		long referenceSize = getHeapSize(true);
+		long currentSize = getHeapSize(false);
+
+		LOG.info("Map per row heap for " + NUM_SESSIONS + " sessions of " + NUM_ROWS + " rows: "
+				+ referenceSize / 1024 + "KB");
+		LOG.info("WRepeater heap for " + NUM_SESSIONS + " sessions of " + NUM_ROWS + " rows: "
+				+ currentSize / 1024 + "KB");
+	}
+
+	/**
+	 * @return the repeated component for each row.
+	 */
+	private static WComponent createRow() {
+		WPanel row = new WPanel();
+
+		for (int i = 0; i < NUM_FIELDS; i++) {
+			row.add(new WTextField());
+		}
+
+		return row;
+	}
+
+	/**
+	 * Creates a session where the user has entered text into every field of every row.
+	 *
+	 * @param repeater the repeater to create the session for.
+	 * @return the session context.
+	 */
+	private UIContext createSession(final WRepeater repeater) {
+		repeater.setLocked(true);
+
+		List<String> beans = new ArrayList<>(NUM_ROWS);
+		for (int i = 0; i < NUM_ROWS; i++) {
+			beans.add("row" + i);
+		}
+
+		UIContext uic = createUIContext();
+		uic.setUI(repeater);
+		setActiveContext(uic);
+		repeater.setBeanList(beans);
+
+		WPanel row = (WPanel) repeater.getRepeatedComponent();
+
+		for (UIContext rowContext : repeater.getRowContexts()) {
+			UIContextHolder.pushContext(rowContext);
+
+			try {
+				for (int i = 0; i < NUM_FIELDS; i++) {
+					((WTextField) row.getChildAt(i)).setText("text" + i);
+				}
+			} finally {
+				UIContextHolder.popContext();
+			}
+		}
+
+		resetContext();
+		return uic;
+	}
+
+	/**
+	 * @param reference true to measure the reference repeater, false to measure {@link WRepeater}.
+	 * @return the approximate heap used by the sessions, in bytes.
+	 */
+	private long getHeapSize(final boolean reference) {
+		WRepeater repeater = reference ? new ReferenceRepeater(createRow()) : new WRepeater(createRow());
+		long before = getUsedMemory();
+
+		List<UIContext> sessions = new ArrayList<>(NUM_SESSIONS);
+		for (int i = 0; i < NUM_SESSIONS; i++) {
+			sessions.add(createSession(repeater));
+		}
+
+		long size = getUsedMemory() - before;
+		LOG.debug("Sessions " + sessions.size());
+		return size;
+	}
+
+	/**
+	 * @return the heap in use after garbage collection.
+	 */
+	private static long getUsedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * A repeater whose row contexts each hold their models in a map.
+	 */
+	private static final class ReferenceRepeater extends WRepeater {
+
+		/**
+		 * @param repeatedComponent the component to repeat.
+		 */
+		private ReferenceRepeater(final WComponent repeatedComponent) {
+			super(repeatedComponent);
+		}
+
+		@Override
+		protected RepeaterModel newComponentModel() {
+			return new ReferenceRepeaterModel();
+		}
+
+		@Override
+		public UIContext getRowContext(final Object rowBean, final int rowIndex) {
+			ReferenceRepeaterModel model = (ReferenceRepeaterModel) getOrCreateComponentModel();
+
+			if (model.contexts == null) {
+				model.contexts = new HashMap<>();
+			}
+
+			ReferenceRowContext rowContext = model.contexts.get(rowBean);
+
+			if (rowContext == null) {
+				rowContext = new ReferenceRowContext(this, model.contexts.size());
+				rowContext.setRowId(rowBean);
+				model.contexts.put(rowBean, rowContext);
+			}
+
+			rowContext.setRowIndex(rowIndex);
+			return rowContext;
+		}
+	}
+
+	/**
+	 * The model for the reference repeater, which holds its row contexts.
+	 */
+	public static final class ReferenceRepeaterModel extends WRepeater.RepeaterModel {
+
+		/**
+		 * The row contexts, keyed by row bean.
+		 */
+		private Map<Object, ReferenceRowContext> contexts;
+	}
+
+	/**
+	 * A copy of the row context which held its models in a map.
+	 */
+	private static final class ReferenceRowContext extends SubUIContext {
+
+		/**
+		 * A map of Component models, keyed by the component which they belong to.
+		 */
+		private final Map<WebComponent, WebModel> componentModels = new HashMap<>();
+
+		/**
+		 * @param repeater the repeater which this context belongs to.
+		 * @param contextId the context unique id
+		 */
+		private ReferenceRowContext(final WRepeater repeater, final int contextId) {
+			super(repeater, contextId);
+		}
+
+		@Override
+		public WebModel getModel(final WebComponent component) {
+			WebModel model = componentModels.get(component);
+			return model == null ? getParentContext().getModel(component) : model;
+		}
+
+		@Override
+		public void setModel(final WebComponent component, final WebModel model) {
+			if (component instanceof WRepeatRoot || isInContext(component)) {
+				componentModels.put(component, model);
+			} else {
+				getParentContext().setModel(component, model);
+			}
+		}
+
+		@Override
+		public void removeModel(final WebComponent component) {
+			if (componentModels.remove(component) == null) {
+				getParentContext().removeModel(component);
+			}
+		}
+
+		@Override
+		public Set getComponents() {
+			return componentModels.keySet();
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package com.github.bordertech.wcomponents;
 
 import com.github.bordertech.wcomponents.WRepeater.SubUIContext;
+import com.github.bordertech.wcomponents.util.SerializationUtil;
 import com.github.bordertech.wcomponents.util.mock.MockRequest;
 import com.github.bordertech.wcomponents.validation.Diagnostic;
 import java.util.ArrayList;
@@ -305,6 +306,87 @@ public class WRepeater_Test extends AbstractWComponentTestCase {
 		}
 	}
 
+	@Test
+	public void testEvictedRowContext() {
+		WTextField textField = new WTextField();
+		WRepeater repeater = new WRepeater(textField);
+		repeater.setLocked(true);
+
+		UIContext uic = createUIContext();
+		setActiveContext(uic);
+		repeater.setBeanList(Arrays.asList("A", "B", "C"));
+
+		UIContext evicted = repeater.getRowContexts().get(1);
+		setActiveContext(evicted);
+		textField.setText("user");
+
+		setActiveContext(uic);
+		repeater.setBeanList(Arrays.asList("A", "C", "D"));
+
+		// The row released by the evicted context should be reused without its models
+		setActiveContext(repeater.getRowContexts().get(2));
+		Assert.assertEquals("New row should have bean text", "D", textField.getText());
+		textField.setText("new user");
+
+		setActiveContext(evicted);
+		Assert.assertEquals("Evicted context should keep its models", "user", textField.getText());
+
+		setActiveContext(repeater.getRowContexts().get(0));
+		Assert.assertEquals("Row 0 should have bean text", "A", textField.getText());
+		setActiveContext(repeater.getRowContexts().get(2));
+		Assert.assertEquals("Row 2 should have user text", "new user", textField.getText());
+	}
+
+	@Test
+	public void testStaleContextsEvictedDuringPaint() {
+		final List<String> beans = new ArrayList<>(Arrays.asList("A", "B"));
+		WRepeater repeater = new WRepeater(new WTextField());
+		repeater.setBeanProvider(bound -> new ArrayList<>(beans));
+		repeater.setBeanProperty(".");
+		repeater.setLocked(true);
+
+		UIContext uic = createUIContext();
+		setActiveContext(uic);
+		repeater.preparePaint(new MockRequest());
+		SubUIContext rowB = (SubUIContext) repeater.getRowContexts().get(1);
+
+		// Change the bean list without the repeater being told
+		beans.remove("B");
+		beans.add("C");
+		uic.clearScratchMap();
+		repeater.preparePaint(new MockRequest());
+
+		uic.clearScratchMap();
+
+		beans.add(1, "B");
+		Assert.assertNotSame("Context of row removed from the bean list should be evicted", rowB,
+				repeater.getRowContexts().get(1));
+	}
+
+	@Test
+	public void testRowContextSerialization() {
+		WTextField textField = new WTextField();
+		WRepeater repeater = new WRepeater(textField);
+		repeater.setLocked(true);
+
+		UIContext uic = createUIContext();
+		uic.setUI(repeater);
+		setActiveContext(uic);
+		repeater.setBeanList(Arrays.asList("A", "B"));
+		setActiveContext(repeater.getRowContexts().get(1));
+		textField.setText("user");
+
+		UIContext copy = (UIContext) SerializationUtil.pipe(uic);
+		setActiveContext(copy);
+		WRepeater copyRepeater = (WRepeater) copy.getUI();
+		WTextField copyField = (WTextField) copyRepeater.getRepeatedComponent();
+
+		setActiveContext(copyRepeater.getRowContexts().get(0));
+		Assert.assertEquals("Row 0 should have bean text", "A", copyField.getText());
+		setActiveContext(copyRepeater.getRowContexts().get(1));
+		Assert.assertEquals("Row 1 should have user text", "user", copyField.getText());
+	}
+
 	@Test
 	public void testNamingContextAccessors() {
 		assertAccessorsCorrect(new WRepeater(), WRepeater::isNamingContext, WRepeater::setNamingContext, false, true, false);
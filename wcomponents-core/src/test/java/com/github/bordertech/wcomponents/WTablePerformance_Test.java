@@ -0,0 +1,218 @@
+package com.github.bordertech.wcomponents;
+
+import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.NullWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares the time taken to read and paint the cells of a 10,000 row {@link WTable} using a
+ * {@link SimpleBeanBoundTableModel} against a model which reads the bean properties using {@link PropertyUtils}, as
+ * was done before bean properties were read through {@link com.github.bordertech.wcomponents.util.BeanPropertyUtil}.
+ *
+ * @since 1.5.29
+ */
+@Category(PerformanceTests.class)
+public class WTablePerformance_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(WTablePerformance_Test.class);
+
+	/**
+	 * The number of rows in the table.
+	 */
+	private static final int NUM_ROWS = 10000;
+
+	/**
+	 * The number of times to read the table cells.
+	 */
+	private static final int NUM_LOOPS = 20;
+
+	/**
+	 * The bean properties for the table columns.
+	 */
+	private static final String[] PROPERTIES = {"name", "count", "child.name", "tags[0]"};
+
+	/**
+	 * Used to stop the JIT from discarding the reads.
+	 */
+	private static int sink;
+
+	@Test
+	public void testReadPerformance() {
+		UIContext reference = createTable(new ReferenceTableModel(PROPERTIES));
+		UIContext current = createTable(new SimpleBeanBoundTableModel(PROPERTIES));
+
+		// Warm up
+		readCells(reference, 1);
+		readCells(current, 1);
+
+		long referenceTime = time(() -> readCells(reference, NUM_LOOPS));
+		long currentTime = time(() -> readCells(current, NUM_LOOPS));
+
+		LOG.info("PropertyUtils read time for " + NUM_LOOPS + " reads of " + NUM_ROWS + " rows: "
+				+ (referenceTime / 1000000.0) + "ms");
+		LOG.info("BeanPropertyUtil read time for " + NUM_LOOPS + " reads of " + NUM_ROWS + " rows: "
+				+ (currentTime / 1000000.0) + "ms");
+		LOG.info("Sink " + sink);
+
+		Assert.assertTrue("Reading cells should not be slower than using PropertyUtils", currentTime <= referenceTime);
+	}
+
+	@Test
+	public void testPaintPerformance() {
+		UIContext reference = createTable(new ReferenceTableModel(PROPERTIES));
+		UIContext current = createTable(new SimpleBeanBoundTableModel(PROPERTIES));
+
+		// Warm up
+		paint(reference);
+		paint(current);
+
+		long referenceTime = time(() -> paint(reference));
+		long currentTime = time(() -> paint(current));
+
+		LOG.info("PropertyUtils paint time for " + NUM_ROWS + " rows: " + (referenceTime / 1000000.0) + "ms");
+		LOG.info("BeanPropertyUtil paint time for " + NUM_ROWS + " rows: " + (currentTime / 1000000.0) + "ms");
+	}
+
+	/**
+	 * Creates a table with a context holding the row beans.
+	 *
+	 * @param model the table model to use.
+	 * @return the context for the table.
+	 */
+	private UIContext createTable(final SimpleBeanBoundTableModel model) {
+		WTable table = new WTable();
+		table.setTableModel(model);
+
+		for (String property : PROPERTIES) {
+			table.addColumn(new WTableColumn(property, WText.class));
+		}
+
+		List<MyBean> beans = new ArrayList<>(NUM_ROWS);
+
+		for (int i = 0; i < NUM_ROWS; i++) {
+			beans.add(new MyBean("row" + i, i, new MyBean("child" + i, -i, null)));
+		}
+
+		UIContext uic = createUIContext();
+		uic.setUI(table);
+		setActiveContext(uic);
+		table.setBean(beans);
+		return uic;
+	}
+
+	/**
+	 * Reads all the cells of a table.
+	 *
+	 * @param uic the context for the table.
+	 * @param count the number of times to read the cells.
+	 */
+	private void readCells(final UIContext uic, final int count) {
+		setActiveContext(uic);
+		WTable.TableModel model = ((WTable) uic.getUI()).getTableModel();
+		int result = 0;
+
+		for (int loop = 0; loop < count; loop++) {
+			for (int row = 0; row < NUM_ROWS; row++) {
+				List<Integer> rowIndex = Arrays.asList(row);
+
+				for (int col = 0; col < PROPERTIES.length; col++) {
+					Object value = model.getValueAt(rowIndex, col);
+					result += value == null ? 0 : 1;
+				}
+			}
+		}
+
+		sink += result;
+	}
+
+	/**
+	 * Paints a table.
+	 *
+	 * @param uic the context for the table.
+	 */
+	private void paint(final UIContext uic) {
+		setActiveContext(uic);
+		uic.getUI().paint(new WebXmlRenderContext(new PrintWriter(new NullWriter())));
+	}
+
+	/**
+	 * A copy of the table model which reads bean properties using {@link PropertyUtils}.
+	 */
+	private static final class ReferenceTableModel extends SimpleBeanBoundTableModel {
+
+		/**
+		 * @param properties the column bean properties.
+		 */
+		private ReferenceTableModel(final String[] properties) {
+			super(properties);
+		}
+
+		@Override
+		protected Object getBeanPropertyValue(final String property, final Object bean) {
+			if (bean == null) {
+				return null;
+			}
+
+			if (".".equals(property)) {
+				return bean;
+			}
+
+			try {
+				return PropertyUtils.getProperty(bean, property);
+			} catch (Exception e) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * A bean for each row.
+	 */
+	public static final class MyBean {
+
+		private final String name;
+		private final int count;
+		private final MyBean child;
+		private final List<String> tags;
+
+		/**
+		 * @param name the bean name.
+		 * @param count the bean count.
+		 * @param child the child bean.
+		 */
+		public MyBean(final String name, final int count, final MyBean child) {
+			this.name = name;
+			this.count = count;
+			this.child = child;
+			this.tags = Arrays.asList(name, "tag");
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public MyBean getChild() {
+			return child;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+	}
+}
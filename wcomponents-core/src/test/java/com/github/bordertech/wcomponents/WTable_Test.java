@@ -5,6 +5,7 @@ import com.github.bordertech.wcomponents.WTable.ExpandMode;
 import com.github.bordertech.wcomponents.WTable.PaginationLocation;
 import com.github.bordertech.wcomponents.WTable.PaginationMode;
 import com.github.bordertech.wcomponents.WTable.RowIdWrapper;
+import com.github.bordertech.wcomponents.WTable.RowIndexTableModel;
 import com.github.bordertech.wcomponents.WTable.SelectAllType;
 import com.github.bordertech.wcomponents.WTable.SelectMode;
 import com.github.bordertech.wcomponents.WTable.SeparatorType;
@@ -1080,6 +1081,24 @@ public final class WTable_Test extends AbstractWComponentTestCase {
 		Assert.assertEquals("should return message set", messageAlt, constraint.getMessage());
 	}
 
+	@Test
+	public void testRowIndexTableModelAdapterReused() {
+		WTable table = new WTable();
+		TableModel model = new AdapterBasicTableModel(new SimpleTableModel(new String[][]{{"1"}, {"2"}}));
+		table.setTableModel(model);
+
+		RowIndexTableModel adapted = table.getRowIndexTableModel();
+		Assert.assertSame("Incorrect backing model", model, ((RowIndexTableModelAdapter) adapted).getBacking());
+		Assert.assertSame("Adapter should be reused", adapted, table.getRowIndexTableModel());
+
+		TableModel model2 = new AdapterBasicTableModel(new SimpleTableModel(new String[][]{{"3"}}));
+		table.setTableModel(model2);
+		RowIndexTableModel adapted2 = table.getRowIndexTableModel();
+		Assert.assertNotSame("Adapter should be replaced when the model changes", adapted, adapted2);
+		Assert.assertSame("Incorrect backing model after change", model2,
+				((RowIndexTableModelAdapter) adapted2).getBacking());
+	}
+
 	@Test
 	public void testTableDefaultIds() {
 		WNamingContext context = new WNamingContext("TEST");
@@ -289,6 +289,132 @@ public class WTree_Test extends AbstractWComponentTestCase {
 		org.junit.Assert.assertTrue("NodeB child list should be empty", nodeB.getChildren().isEmpty());
 	}
 
+	@Test
+	public void testSharedCustomTreeNotCopiedPerUser() {
+		WTree tree = MockTreeItemData.setupWTree();
+		TreeItemIdNode root = createSharedCustomTree(tree);
+
+		setActiveContext(createUIContext());
+		tree.setExpandedRows(new HashSet<>(Arrays.asList("B")));
+
+		Assert.assertSame("User should reference the shared custom tree", root, tree.getCustomTree());
+		Assert.assertTrue("Custom tree should be shared", root.isShared());
+		Assert.assertTrue("Custom tree nodes should be shared", root.getChildren().get(1).isShared());
+	}
+
+	@Test
+	public void testSharedCustomTreeLoadChildrenCopiesPath() {
+		WTree tree = MockTreeItemData.setupWTree();
+		TreeItemIdNode root = createSharedCustomTree(tree);
+		TreeItemIdNode nodeA = root.getChildren().get(0);
+		TreeItemIdNode nodeB = root.getChildren().get(1);
+
+		setActiveContext(createUIContext());
+		tree.checkExpandedCustomNodes();
+
+		TreeItemIdNode userRoot = tree.getCustomTree();
+		Assert.assertNotSame("Root should be copied for the user", root, userRoot);
+		Assert.assertFalse("Copied root should not be shared", userRoot.isShared());
+		Assert.assertSame("Unchanged node should not be copied", nodeA, userRoot.getChildren().get(0));
+
+		TreeItemIdNode userNodeB = userRoot.getChildren().get(1);
+		Assert.assertNotSame("Changed node should be copied", nodeB, userNodeB);
+		Assert.assertEquals("Copied node should have children loaded", 2, userNodeB.getChildren().size());
+		Assert.assertEquals("Copied node should be in the custom id map", userNodeB, tree.getCustomIdNodeMap().get("B"));
+		Assert.assertTrue("Shared node should not be changed", nodeB.getChildren().isEmpty());
+
+		// Another user still has the shared tree
+		setActiveContext(createUIContext());
+		Assert.assertSame("Other user should reference the shared custom tree", root, tree.getCustomTree());
+		Assert.assertSame("Other user should have the shared node", nodeB, tree.getCustomIdNodeMap().get("B"));
+	}
+
+	@Test
+	public void testCustomNodeForUpdateCopiesPath() {
+		WTree tree = MockTreeItemData.setupWTree();
+		TreeItemIdNode root = createSharedCustomTree(tree);
+		TreeItemIdNode nodeA = root.getChildren().get(0);
+		TreeItemIdNode nodeB = root.getChildren().get(1);
+
+		setActiveContext(createUIContext());
+		Assert.assertSame("Getting the custom tree should not copy it", root, tree.getCustomTree());
+
+		TreeItemIdNode userNodeB = tree.getCustomNodeForUpdate("B");
+		Assert.assertNotSame("Node should be copied for the user", nodeB, userNodeB);
+		userNodeB.addChild(new TreeItemIdNode("B.1"));
+		Assert.assertEquals("User node should be changed", 1, userNodeB.getChildren().size());
+		Assert.assertSame("Copied node should be returned again", userNodeB, tree.getCustomNodeForUpdate("B"));
+
+		TreeItemIdNode userRoot = tree.getCustomTree();
+		Assert.assertNotSame("Root should be copied for the user", root, userRoot);
+		Assert.assertSame("Unchanged node should not be copied", nodeA, userRoot.getChildren().get(0));
+		Assert.assertSame("Copied node should be in the user tree", userNodeB, userRoot.getChildren().get(1));
+		Assert.assertTrue("Shared node should not be changed", nodeB.getChildren().isEmpty());
+
+		// Another user still has the shared tree
+		setActiveContext(createUIContext());
+		Assert.assertSame("Other user should reference the shared custom tree", root, tree.getCustomTree());
+		Assert.assertNull("Unknown item should not be found", tree.getCustomNodeForUpdate("X"));
+	}
+
+	@Test
+	public void testCustomNodeForUpdateRoot() {
+		WTree tree = MockTreeItemData.setupWTree();
+		TreeItemIdNode root = createSharedCustomTree(tree);
+
+		setActiveContext(createUIContext());
+		TreeItemIdNode userRoot = tree.getCustomNodeForUpdate(null);
+		Assert.assertNotSame("Root should be copied for the user", root, userRoot);
+		userRoot.addChild(new TreeItemIdNode("C"));
+		Assert.assertSame("Copied root should be the user tree", userRoot, tree.getCustomTree());
+		Assert.assertEquals("Shared root should not be changed", 2, root.getChildren().size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSharedCustomTreeCanNotBeChanged() {
+		WTree tree = MockTreeItemData.setupWTree();
+		TreeItemIdNode root = createSharedCustomTree(tree);
+
+		setActiveContext(createUIContext());
+		tree.setExpandedRows(new HashSet<>(Arrays.asList("B")));
+
+		root.getChildren().get(1).addChild(new TreeItemIdNode("B.1"));
+	}
+
+	@Test
+	public void testRowIndexForCustomItemId() {
+		WTree tree = MockTreeItemData.setupWTree();
+		tree.setLocked(true);
+
+		setActiveContext(createUIContext());
+		Assert.assertEquals("Incorrect row index from shared index", Arrays.asList(1, 0),
+				tree.getRowIndexForCustomItemId("B.1"));
+		Assert.assertNull("Unknown item should have no row index", tree.getRowIndexForCustomItemId("X"));
+
+		// User with a different tree model
+		tree.setTreeModel(new MockTreeItemData.MyTestModel(Arrays.asList(MockTreeItemData.BEAN_B)));
+		Assert.assertEquals("Incorrect row index for user tree model", Arrays.asList(0, 0),
+				tree.getRowIndexForCustomItemId("B.1"));
+	}
+
+	/**
+	 * Set a custom tree on the shared model of a locked tree.
+	 *
+	 * @param tree the WTree being tested
+	 * @return the custom tree
+	 */
+	private TreeItemIdNode createSharedCustomTree(final WTree tree) {
+		TreeItemIdNode nodeB = new TreeItemIdNode("B");
+		nodeB.setHasChildren(true);
+
+		TreeItemIdNode root = new TreeItemIdNode(null);
+		root.addChild(new TreeItemIdNode("A"));
+		root.addChild(nodeB);
+		tree.setCustomTree(root);
+		tree.setLocked(true);
+		return root;
+	}
+
 	/**
 	 * Helper for making mock requests.
 	 * @param tree the WTree being tested
@@ -1,6 +1,7 @@
 package com.github.bordertech.wcomponents.container;
 
 import com.github.bordertech.wcomponents.ActionEscape;
+import com.github.bordertech.wcomponents.DenseUIContextImpl;
 import com.github.bordertech.wcomponents.Environment;
 import com.github.bordertech.wcomponents.Escape;
 import com.github.bordertech.wcomponents.FatalErrorPage;
@@ -308,6 +309,24 @@ public class AbstractContainerHelper_Test {
 		Assert.assertTrue("Should be a continuing conversation", helper.isContinuingConversation());
 	}
 
+	@Test
+	public void testCreateUIContextDense() {
+		AbstractContainerHelper helper = new MyContainerHelper();
+		helper.setWebComponent(new WTextField());
+
+		Assert.assertFalse("Should not create a dense context by default",
+				helper.createUIContext() instanceof DenseUIContextImpl);
+
+		try {
+			Config.getInstance().setProperty(ConfigurationProperties.UICONTEXT_DENSE, "true");
+			UIContext uic = helper.createUIContext();
+			Assert.assertTrue("Should create a dense context", uic instanceof DenseUIContextImpl);
+			Assert.assertSame("Context should be for the UI", helper.getUI(), uic.getUI());
+		} finally {
+			Config.getInstance().setProperty(ConfigurationProperties.UICONTEXT_DENSE, "false");
+		}
+	}
+
 	@Test
 	public void testHandleErrorDefault() throws IOException {
 		MyContainerHelper helper = new MyContainerHelper();
@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 	TargetableErrorInterceptor_Test.class,
 	TargetableInterceptor_Test.class,
 	TransformXMLInterceptor_Test.class,
+	TransformerPool_Test.class,
 	ValidateXMLInterceptor_Test.class,
 	VelocityInterceptor_Test.class,
 	WWindowInterceptor_Test.class,
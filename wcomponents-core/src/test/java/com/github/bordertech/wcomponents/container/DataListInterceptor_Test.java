@@ -3,16 +3,25 @@ package com.github.bordertech.wcomponents.container;
 import com.github.bordertech.wcomponents.DefaultWComponent;
 import com.github.bordertech.wcomponents.TestLookupTable;
 import com.github.bordertech.wcomponents.render.webxml.AbstractWebXmlRendererTestCase;
+import com.github.bordertech.wcomponents.servlet.ServletRequest;
+import com.github.bordertech.wcomponents.servlet.ServletResponse;
 import com.github.bordertech.wcomponents.servlet.WServlet;
 import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
 import com.github.bordertech.wcomponents.util.Factory;
 import com.github.bordertech.wcomponents.util.LookupTable;
 import com.github.bordertech.wcomponents.util.mock.MockRequest;
 import com.github.bordertech.wcomponents.util.mock.MockResponse;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 import org.custommonkey.xmlunit.exceptions.XpathException;
+import org.junit.After;
+import org.junit.Assert;
 import org.junit.Test;
 import org.xml.sax.SAXException;
 
@@ -24,6 +33,12 @@ import org.xml.sax.SAXException;
  */
 public class DataListInterceptor_Test extends AbstractWebXmlRendererTestCase {
 
+	@After
+	public void clearDataListCache() {
+		Config.reset();
+		DataListInterceptor.clearCache();
+	}
+
 	@Test
 	public void testInterecptor() throws XpathException, SAXException, IOException {
 		String tableKey = TestLookupTable.CACHEABLE_DAY_OF_WEEK_TABLE;
@@ -102,4 +117,100 @@ public class DataListInterceptor_Test extends AbstractWebXmlRendererTestCase {
 		}
 	}
 
+	@Test
+	public void testConditionalRequest() {
+		String tableKey = TestLookupTable.CACHEABLE_DAY_OF_WEEK_TABLE;
+
+		MockHttpServletResponse response = requestDataList(tableKey, null);
+		String eTag = response.getHeader("ETag");
+		Assert.assertNotNull("Should have an ETag", eTag);
+		Assert.assertEquals("Should have returned 200", HttpServletResponse.SC_OK, response.getStatus());
+
+		response = requestDataList(tableKey, eTag);
+		Assert.assertEquals("Should have returned 304", HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+		Assert.assertEquals("Should not have painted the data list", "", response.getOutputAsString());
+
+		response = requestDataList(tableKey, "\"other\"");
+		Assert.assertEquals("Should have returned 200 for a different ETag", HttpServletResponse.SC_OK,
+				response.getStatus());
+		Assert.assertTrue("Should have painted the data list", response.getOutputAsString().contains("ui:datalist"));
+
+		response = requestDataList(TestLookupTable.CACHEABLE_DAY_OF_WEEK_TABLE_WITH_NULL_OPTION, eTag);
+		Assert.assertEquals("ETag should not match a different table", HttpServletResponse.SC_OK, response.getStatus());
+	}
+
+	@Test
+	public void testCachedDataList() {
+		Config.getInstance().setProperty(ConfigurationProperties.DATALIST_SERVER_CACHE, "true");
+		String tableKey = TestLookupTable.CACHEABLE_DAY_OF_WEEK_TABLE;
+
+		MockHttpServletResponse cached = requestDataList(tableKey, null);
+		Assert.assertEquals("Cached data list should be the same", cached.getOutputAsString(),
+				requestDataList(tableKey, null).getOutputAsString());
+
+		DataListInterceptor.tableChanged(tableKey);
+		MockHttpServletResponse changed = requestDataList(tableKey, null);
+		Assert.assertEquals("Data list should be the same after rendering again", cached.getOutputAsString(),
+				changed.getOutputAsString());
+		Assert.assertEquals("ETag should depend on the content", cached.getHeader("ETag"), changed.getHeader("ETag"));
+
+		Config.getInstance().setProperty(ConfigurationProperties.DATALIST_SERVER_CACHE, "false");
+		MockHttpServletResponse uncached = requestDataList(tableKey, cached.getHeader("ETag"));
+		Assert.assertEquals("Uncached data list should still support conditional requests",
+				HttpServletResponse.SC_NOT_MODIFIED, uncached.getStatus());
+	}
+
+	@Test
+	public void testServerCacheDisabledByDefault() {
+		requestDataList(TestLookupTable.CACHEABLE_DAY_OF_WEEK_TABLE, null);
+		Assert.assertEquals("Data list should not be held by default", 0, DataListInterceptor.getCachedTableCount());
+	}
+
+	@Test
+	public void testUnknownKeyNotCached() {
+		Config.getInstance().setProperty(ConfigurationProperties.DATALIST_SERVER_CACHE, "true");
+
+		MockHttpServletResponse response = requestDataList("unknown", null);
+		Assert.assertEquals("Should have returned 200", HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertEquals("Data list for unknown key should not be held", 0,
+				DataListInterceptor.getCachedTableCount());
+
+		requestDataList(TestLookupTable.CACHEABLE_DAY_OF_WEEK_TABLE, null);
+		Assert.assertEquals("Data list for table should be held", 1, DataListInterceptor.getCachedTableCount());
+	}
+
+	/**
+	 * Requests a data list through the servlet request and response wrappers.
+	 *
+	 * @param tableKey the data list key
+	 * @param ifNoneMatch the If-None-Match header value, or null
+	 * @return the servlet response
+	 */
+	private MockHttpServletResponse requestDataList(final String tableKey, final String ifNoneMatch) {
+		DataListInterceptor interceptor = new DataListInterceptor();
+		interceptor.attachUI(new DefaultWComponent());
+
+		MockHttpServletRequest backingRequest = new MockHttpServletRequest();
+		backingRequest.setParameter(WServlet.DATA_LIST_PARAM_NAME, tableKey);
+
+		if (ifNoneMatch != null) {
+			backingRequest.setHeader("If-None-Match", ifNoneMatch);
+		}
+
+		interceptor.serviceRequest(new ServletRequest(backingRequest));
+
+		MockHttpServletResponse backingResponse = new MockHttpServletResponse();
+		ServletResponse response = new ServletResponse(backingResponse);
+		interceptor.attachResponse(response);
+
+		try {
+			PrintWriter writer = response.getWriter();
+			interceptor.paint(new WebXmlRenderContext(writer));
+			writer.flush();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+
+		return backingResponse;
+	}
 }
@@ -46,6 +46,15 @@ public class TransformXMLInterceptor_Test extends AbstractWComponentTestCase {
 		TransformXMLTestHelper.reloadTransformer();
 	}
 
+	/**
+	 * Ensure the XSLT precompiled by wcomponents-xslt can be loaded by the Saxon version used at runtime. The other
+	 * tests use the test theme XSLT, as the precompiled XSLT is disabled in the test properties.
+	 */
+	@Test
+	public void testLoadCompiledTemplates() {
+		Assert.assertNotNull("Precompiled XSLT should be loaded", TransformXMLInterceptor.loadCompiledTemplates());
+	}
+
 	/**
 	 * Ensure that the interceptor does nothing when the user agent string opts out.
 	 */
@@ -202,6 +211,38 @@ public class TransformXMLInterceptor_Test extends AbstractWComponentTestCase {
 		Assert.assertEquals("XML entities should not be decoded", out, actual.result);
 	}
 
+	/**
+	 * Test that streaming the transformed output gives the same result as buffering it.
+	 */
+	@Test
+	public void testPaintWithStreamOutput() {
+		String entities = "&#123;&#125;{}&amp;&lt;&gt;";
+
+		String in = "<kung><fu>" + entities + "</fu></kung>";
+		String out = "<omg><wtf>" + entities + "</wtf></omg>";
+
+		MyComponent testUI = new MyComponent(in);
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_CONTENT_PATH, "");
+		Config.getInstance().setProperty(ConfigurationProperties.XSLT_STREAM_OUTPUT, "true");
+		TransformXMLTestHelper.reloadTransformer();
+		TestResult actual = generateOutput(testUI);
+		Assert.assertEquals("Streamed output should match buffered output", out, actual.result);
+		Assert.assertEquals("The content type should be correctly set", WebUtilities.CONTENT_TYPE_HTML, actual.contentType);
+	}
+
+	/**
+	 * Test that corrupt characters are removed when allowed.
+	 */
+	@Test
+	public void testPaintWithCorruptCharacterRemoved() {
+		MyComponent testUI = new MyComponent("<kung><fu>is\u0001 good\u000b for\u009f you\uffff</fu></kung>");
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_CONTENT_PATH, "");
+		Config.getInstance().setProperty(ConfigurationProperties.XSLT_ALLOW_CORRUPT_CHARACTER, "true");
+		TransformXMLTestHelper.reloadTransformer();
+		TestResult actual = generateOutput(testUI);
+		Assert.assertEquals("Corrupt characters should have been removed", TransformXMLTestHelper.EXPECTED, actual.result);
+	}
+
 	/**
 	 *
 	 * @return XML with bad characters
@@ -0,0 +1,102 @@
+package com.github.bordertech.wcomponents.container;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.Map;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TransformerPool}.
+ *
+ * @since 1.5.29
+ */
+public class TransformerPool_Test {
+
+	/**
+	 * A stylesheet which outputs the value of its parameter.
+	 */
+	private static final String XSLT = "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+			+ "<xsl:output method=\"text\"/><xsl:param name=\"p\" select=\"'default'\"/>"
+			+ "<xsl:template match=\"/\"><xsl:value-of select=\"$p\"/></xsl:template></xsl:stylesheet>";
+
+	@Test
+	public void testBorrowAndRelease() throws TransformerException {
+		TransformerPool pool = new TransformerPool(createTemplates(), 2, 0);
+		Map<String, Object> params = Collections.emptyMap();
+
+		Transformer transformer = pool.borrow(params);
+		Assert.assertEquals("Incorrect miss count for new transformer", 1, pool.getMissCount());
+		Assert.assertEquals("Incorrect output", "default", transform(transformer));
+		pool.release(params, transformer);
+		Assert.assertEquals("Transformer should be idle", 1, pool.getIdleCount());
+
+		Assert.assertSame("Should have reused the transformer", transformer, pool.borrow(params));
+		Assert.assertEquals("Incorrect hit count", 1, pool.getHitCount());
+		Assert.assertEquals("Incorrect idle count", 0, pool.getIdleCount());
+	}
+
+	@Test
+	public void testParametersKeptOnRelease() throws TransformerException {
+		TransformerPool pool = new TransformerPool(createTemplates(), 2, 0);
+		Map<String, Object> params = Collections.<String, Object>singletonMap("p", "value");
+		Map<String, Object> noParams = Collections.emptyMap();
+
+		Transformer transformer = pool.borrow(params);
+		Assert.assertEquals("Incorrect output", "value", transform(transformer));
+		pool.release(params, transformer);
+
+		transformer = pool.borrow(params);
+		Assert.assertEquals("Parameters should be reapplied after reset", "value", transform(transformer));
+		pool.release(params, transformer);
+
+		transformer = pool.borrow(noParams);
+		Assert.assertEquals("Parameters should not leak across parameter sets", "default", transform(transformer));
+		Assert.assertEquals("Incorrect miss count", 2, pool.getMissCount());
+	}
+
+	@Test
+	public void testBorrowWhenExhausted() {
+		TransformerPool pool = new TransformerPool(createTemplates(), 1, 0);
+		Map<String, Object> params = Collections.emptyMap();
+
+		Transformer first = pool.borrow(params);
+		Transformer second = pool.borrow(params);
+
+		Assert.assertNotSame("Should have created an unpooled transformer", first, second);
+		Assert.assertEquals("Incorrect wait count", 1, pool.getWaitCount());
+		Assert.assertEquals("Incorrect miss count", 2, pool.getMissCount());
+
+		pool.release(params, first);
+		pool.release(params, second);
+		Assert.assertEquals("Pool should not exceed its maximum size", 1, pool.getIdleCount());
+	}
+
+	/**
+	 * @return the test templates.
+	 */
+	private static Templates createTemplates() {
+		try {
+			return new net.sf.saxon.TransformerFactoryImpl().newTemplates(new StreamSource(new StringReader(XSLT)));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param transformer the transformer to use
+	 * @return the output of transforming an empty document
+	 * @throws TransformerException a transform exception
+	 */
+	private static String transform(final Transformer transformer) throws TransformerException {
+		StringWriter writer = new StringWriter();
+		transformer.transform(new StreamSource(new StringReader("<a/>")), new StreamResult(writer));
+		return writer.toString();
+	}
+}
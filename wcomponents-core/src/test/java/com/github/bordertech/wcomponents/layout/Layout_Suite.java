@@ -16,7 +16,9 @@ import org.junit.runners.Suite;
 	ColumnLayout_Test.class,
 	FlowLayout_Test.class,
 	GridLayout_Test.class,
-	ListLayout_Test.class
+	ListLayout_Test.class,
+	UIManager_Test.class,
+	UIManagerPerformance_Test.class
 })
 public class Layout_Suite {
 }
@@ -0,0 +1,182 @@
+package com.github.bordertech.wcomponents.layout;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.PerformanceTests;
+import com.github.bordertech.wcomponents.RenderContext;
+import com.github.bordertech.wcomponents.Renderer;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WPanel;
+import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.Duplet;
+import com.github.bordertech.wcomponents.util.NullWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares the performance of {@link UIManager} renderer lookups against the original implementation, which was keyed
+ * by a newly allocated {@link Duplet} for each lookup, and times painting a tree of 10,000 components.
+ *
+ * @since 1.5.29
+ */
+@Category(PerformanceTests.class)
+public class UIManagerPerformance_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(UIManagerPerformance_Test.class);
+
+	/**
+	 * The number of panels in the test tree.
+	 */
+	private static final int NUM_PANELS = 100;
+
+	/**
+	 * The number of text components in each panel.
+	 */
+	private static final int NUM_TEXTS = 99;
+
+	/**
+	 * The number of times to paint or look up renderers for the tree.
+	 */
+	private static final int NUM_LOOPS = 200;
+
+	/**
+	 * The render context to use.
+	 */
+	private final RenderContext renderContext = new WebXmlRenderContext(new PrintWriter(new NullWriter()));
+
+	@Test
+	public void testRendererLookupPerformance() {
+		final List<WComponent> components = new ArrayList<>();
+		buildTree(components);
+
+		final Map<Duplet<String, Class<?>>, Renderer> reference = new HashMap<>();
+		for (WComponent component : components) {
+			reference.put(new Duplet<String, Class<?>>(renderContext.getRenderPackage(), component.getClass()),
+					UIManager.getRenderer(component, renderContext));
+		}
+
+		Runnable referenceLookup = new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < NUM_LOOPS; i++) {
+					for (WComponent component : components) {
+						Duplet<String, Class<?>> key = new Duplet<String, Class<?>>(
+								renderContext.getRenderPackage(), component.getClass());
+						if (reference.get(key) == null) {
+							throw new IllegalStateException("Missing renderer");
+						}
+					}
+				}
+			}
+		};
+
+		Runnable lookup = new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < NUM_LOOPS; i++) {
+					for (WComponent component : components) {
+						if (UIManager.getRenderer(component, renderContext) == null) {
+							throw new IllegalStateException("Missing renderer");
+						}
+					}
+				}
+			}
+		};
+
+		// JIT warm-up
+		for (int i = 0; i < 5; i++) {
+			referenceLookup.run();
+			lookup.run();
+		}
+
+		long referenceTime = time(referenceLookup) / NUM_LOOPS;
+		long lookupTime = time(lookup) / NUM_LOOPS;
+
+		LOG.info("Original renderer lookup time for " + components.size() + " components: "
+				+ (referenceTime / 1000000.0) + "ms");
+		LOG.info("Renderer lookup time for " + components.size() + " components: "
+				+ (lookupTime / 1000000.0) + "ms");
+
+		Assert.assertTrue("Renderer lookup time should not exceed 1.5x the original lookup time",
+				lookupTime * 2 <= referenceTime * 3);
+	}
+
+	@Test
+	public void testPaintPerformance() {
+		final List<WComponent> components = new ArrayList<>();
+		final WComponent root = buildTree(components);
+		final UIContext uic = createUIContext();
+
+		Runnable paint = new Runnable() {
+			@Override
+			public void run() {
+				setActiveContext(uic);
+
+				for (int i = 0; i < NUM_LOOPS; i++) {
+					root.paint(renderContext);
+				}
+			}
+		};
+
+		Runnable lookup = new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < NUM_LOOPS; i++) {
+					for (WComponent component : components) {
+						UIManager.getRenderer(component, renderContext);
+					}
+				}
+			}
+		};
+
+		// JIT warm-up
+		paint.run();
+		lookup.run();
+
+		long paintTime = time(paint) / NUM_LOOPS;
+		long lookupTime = time(lookup) / NUM_LOOPS;
+
+		LOG.info("Paint time for " + components.size() + " components: " + (paintTime / 1000000.0) + "ms");
+		LOG.info("Renderer lookup time for " + components.size() + " components: " + (lookupTime / 1000000.0) + "ms");
+
+		Assert.assertTrue("Renderer lookup should be a small part of the paint time", lookupTime * 4 < paintTime);
+	}
+
+	/**
+	 * Builds the test tree.
+	 *
+	 * @param components the list to add the components in the tree to.
+	 * @return the root of the tree.
+	 */
+	private static WComponent buildTree(final List<WComponent> components) {
+		WPanel root = new WPanel();
+		components.add(root);
+
+		for (int i = 0; i < NUM_PANELS; i++) {
+			WPanel panel = new WPanel();
+			root.add(panel);
+			components.add(panel);
+
+			for (int j = 0; j < NUM_TEXTS; j++) {
+				WText text = new WText("Text " + i + '.' + j);
+				panel.add(text);
+				components.add(text);
+			}
+		}
+
+		root.setLocked(true);
+		return root;
+	}
+}
@@ -0,0 +1,134 @@
+package com.github.bordertech.wcomponents.layout;
+
+import com.github.bordertech.wcomponents.AbstractWComponent;
+import com.github.bordertech.wcomponents.RenderContext;
+import com.github.bordertech.wcomponents.Renderer;
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WText;
+import com.github.bordertech.wcomponents.servlet.WebXmlRenderContext;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.NullWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link UIManager}.
+ *
+ * @since 1.5.29
+ */
+public class UIManager_Test {
+
+	/**
+	 * The render context to look up renderers for.
+	 */
+	private final RenderContext context = new WebXmlRenderContext(new PrintWriter(new NullWriter()));
+
+	@After
+	public void tearDown() {
+		Config.reset();
+	}
+
+	@Test
+	public void testGetRenderer() {
+		Renderer renderer = UIManager.getRenderer(new WText(), context);
+
+		Assert.assertNotNull("Should have found a renderer for WText", renderer);
+		Assert.assertEquals("Incorrect renderer for WText", "WTextRenderer", renderer.getClass().getSimpleName());
+		Assert.assertSame("Renderer should be cached", renderer, UIManager.getRenderer(new WText(), context));
+	}
+
+	@Test
+	public void testGetRendererSuperclass() {
+		WComponent component = new WText() {
+			// Subclass has no renderer of its own
+		};
+
+		Assert.assertEquals("Should have used the WText renderer",
+				UIManager.getRenderer(new WText(), context).getClass(),
+				UIManager.getRenderer(component, context).getClass());
+	}
+
+	@Test
+	public void testGetRendererNotFound() {
+		WComponent component = new AbstractWComponent() {
+			// No renderer for this component
+		};
+
+		Assert.assertNull("Should not have found a renderer", UIManager.getRenderer(component, context));
+		Assert.assertNull("Missing renderer should be cached", UIManager.getRenderer(component, context));
+	}
+
+	@Test
+	public void testGetRendererOverride() {
+		Renderer defaultRenderer = UIManager.getRenderer(new WText(), context);
+
+		Config.getInstance().setProperty(ConfigurationProperties.RENDERER_OVERRIDE_PREFIX + WText.class.getName(),
+				MyRenderer.class.getName());
+
+		Assert.assertSame("Cached renderer should be used until the configuration is reloaded", defaultRenderer,
+				UIManager.getRenderer(new WText(), context));
+
+		Config.notifyListeners();
+		Assert.assertTrue("Should have used the configured renderer",
+				UIManager.getRenderer(new WText(), context) instanceof MyRenderer);
+
+		Config.reset();
+		Assert.assertEquals("Should have used the default renderer after reset", defaultRenderer.getClass(),
+				UIManager.getRenderer(new WText(), context).getClass());
+	}
+
+	@Test
+	public void testGetRendererConcurrent() throws Exception {
+		final Renderer expected = UIManager.getRenderer(new WText(), context);
+		final int numThreads = 8;
+
+		List<Callable<Boolean>> tasks = new ArrayList<>();
+		for (int i = 0; i < numThreads; i++) {
+			tasks.add(new Callable<Boolean>() {
+				@Override
+				public Boolean call() {
+					RenderContext threadContext = new WebXmlRenderContext(new PrintWriter(new NullWriter()));
+					for (int j = 0; j < 1000; j++) {
+						if (j % 100 == 0) {
+							Config.notifyListeners();
+						}
+						Renderer renderer = UIManager.getRenderer(new WText(), threadContext);
+						if (renderer == null || renderer.getClass() != expected.getClass()) {
+							return false;
+						}
+					}
+					return true;
+				}
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			for (Future<Boolean> result : executor.invokeAll(tasks)) {
+				Assert.assertTrue("Incorrect renderer returned during concurrent lookup", result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * A renderer used to test configured renderer overrides.
+	 */
+	public static final class MyRenderer implements Renderer {
+
+		@Override
+		public void render(final WComponent component, final RenderContext renderContext) {
+			// NOP
+		}
+	}
+}
@@ -1,6 +1,20 @@
 package com.github.bordertech.wcomponents.servlet;
 
+import com.github.bordertech.wcomponents.file.FileItemWrap;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.SystemException;
 import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.disk.DiskFileItem;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -11,6 +25,11 @@ import org.junit.Test;
  */
 public class ServletUtilTest {
 
+	@After
+	public void resetConfig() {
+		Config.reset();
+	}
+
 	@Test
 	public void testExtractCookie() {
 		String cookieName = "mycookiename";
@@ -43,4 +62,130 @@ public class ServletUtilTest {
 		MockHttpServletRequest httpServletRequest = new MockHttpServletRequest();
 		Assert.assertNull("Got cookie value by name", ServletUtil.extractCookie(httpServletRequest, cookieName));
 	}
+
+	@Test
+	public void testExtractParameterMapMultipart() {
+		MockHttpServletRequest request = createMultipartRequest("file contents");
+		request.setParameter("query", "query value");
+
+		Map<String, String[]> parameters = new HashMap<>();
+		Map<String, FileItem[]> files = new HashMap<>();
+		ServletUtil.extractParameterMap(request, parameters, files);
+
+		Assert.assertEquals("Incorrect form parameter", "form value", parameters.get("field")[0]);
+		Assert.assertEquals("Incorrect query parameter", "query value", parameters.get("query")[0]);
+		Assert.assertEquals("Incorrect file parameter", "test.txt", parameters.get("file")[0]);
+
+		FileItem item = files.get("file")[0];
+		Assert.assertTrue("Small upload should be held in memory", item.isInMemory());
+		Assert.assertEquals("Incorrect file contents", "file contents", item.getString());
+		Assert.assertNull("In memory upload should not be tracked", request.getSession().getAttribute(
+				UploadFileTracker.SESSION_KEY));
+	}
+
+	@Test
+	public void testExtractParameterMapWritesLargeFileToDisk() throws Exception {
+		Config.getInstance().setProperty(ConfigurationProperties.UPLOAD_DISK_THRESHOLD, "4");
+
+		MockHttpServletRequest request = createMultipartRequest("file contents");
+		Map<String, FileItem[]> files = new HashMap<>();
+		ServletUtil.extractParameterMap(request, new HashMap<>(), files);
+
+		FileItem item = files.get("file")[0];
+		Assert.assertFalse("Large upload should be written to disk", item.isInMemory());
+
+		FileItemWrap wrap = new FileItemWrap(item);
+		Assert.assertEquals("Incorrect content length", 13, wrap.getContentLength());
+		try (ReadableByteChannel channel = wrap.getChannel()) {
+			Assert.assertTrue("Should read from a file channel", channel instanceof FileChannel);
+			ByteBuffer buffer = ByteBuffer.allocate(32);
+			channel.read(buffer);
+			Assert.assertEquals("Incorrect file contents", "file contents", new String(buffer.array(), 0,
+					buffer.position(), "UTF-8"));
+		}
+
+		// Temporary file is deleted when the session ends
+		UploadFileTracker tracker = (UploadFileTracker) request.getSession().getAttribute(
+				UploadFileTracker.SESSION_KEY);
+		Assert.assertEquals("Temporary file should be tracked", 1, tracker.size());
+
+		File file = ((DiskFileItem) item).getStoreLocation();
+		Assert.assertTrue("Temporary file should exist", file.exists());
+		tracker.valueUnbound(null);
+		Assert.assertFalse("Temporary file should be deleted", file.exists());
+	}
+
+	@Test(expected = SystemException.class)
+	public void testExtractParameterMapFileTooLarge() {
+		Config.getInstance().setProperty(ConfigurationProperties.UPLOAD_FILE_MAX_SIZE, "4");
+
+		MockHttpServletRequest request = createMultipartRequest("file contents");
+		ServletUtil.extractParameterMap(request, new HashMap<>(), new HashMap<>());
+	}
+
+	@Test(expected = SystemException.class)
+	public void testExtractParameterMapRequestTooLarge() {
+		Config.getInstance().setProperty(ConfigurationProperties.UPLOAD_REQUEST_MAX_SIZE, "20");
+
+		MockHttpServletRequest request = createMultipartRequest("file contents");
+		ServletUtil.extractParameterMap(request, new HashMap<>(), new HashMap<>());
+	}
+
+	@Test
+	public void testGetRequestType() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		Assert.assertEquals("Incorrect type for page request", ServletUtil.RequestType.PAGE,
+				ServletUtil.getRequestType(request));
+
+		request = new MockHttpServletRequest();
+		request.setParameter(WServlet.AJAX_TRIGGER_PARAM_NAME, "X");
+		Assert.assertEquals("Incorrect type for AJAX request", ServletUtil.RequestType.AJAX,
+				ServletUtil.getRequestType(request));
+
+		request = new MockHttpServletRequest();
+		request.setParameter(WServlet.TARGET_ID_PARAM_NAME, "X");
+		Assert.assertEquals("Incorrect type for content request", ServletUtil.RequestType.CONTENT,
+				ServletUtil.getRequestType(request));
+
+		request = new MockHttpServletRequest();
+		request.setParameter(WServlet.DATA_LIST_PARAM_NAME, "X");
+		Assert.assertEquals("Incorrect type for data list request", ServletUtil.RequestType.DATA_LIST,
+				ServletUtil.getRequestType(request));
+
+		request = createMultipartRequest("file contents");
+		request.setMethod("POST");
+		request.setParameter(WServlet.TARGET_ID_PARAM_NAME, "X");
+		Assert.assertEquals("Incorrect type for upload request", ServletUtil.RequestType.UPLOAD,
+				ServletUtil.getRequestType(request));
+
+		Assert.assertFalse("Content request should not be read-only", ServletUtil.RequestType.CONTENT.isReadOnly());
+		Assert.assertTrue("Data list request should be read-only", ServletUtil.RequestType.DATA_LIST.isReadOnly());
+		Assert.assertFalse("AJAX request should not be read-only", ServletUtil.RequestType.AJAX.isReadOnly());
+		Assert.assertFalse("Upload request should not be read-only", ServletUtil.RequestType.UPLOAD.isReadOnly());
+		Assert.assertFalse("Page request should not be read-only", ServletUtil.RequestType.PAGE.isReadOnly());
+	}
+
+	/**
+	 * @param fileContents the contents of the uploaded file
+	 * @return a multipart request with a form field and an uploaded file
+	 */
+	private static MockHttpServletRequest createMultipartRequest(final String fileContents) {
+		String content
+				= "--zzzzzz"
+				+ "\r\ncontent-disposition: form-data; name=\"field\""
+				+ "\r\n"
+				+ "\r\nform value"
+				+ "\r\n--zzzzzz"
+				+ "\r\ncontent-disposition: form-data; name=\"file\"; filename=\"test.txt\""
+				+ "\r\nContent-Type: text/plain"
+				+ "\r\n"
+				+ "\r\n" + fileContents
+				+ "\r\n--zzzzzz--";
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setContentType("multipart/form-data; boundary=zzzzzz");
+		request.setContent(content.getBytes(StandardCharsets.UTF_8));
+		request.getSession(true);
+		return request;
+	}
 }
@@ -16,6 +16,8 @@ import org.junit.runners.Suite;
 	ServletResponse_Test.class,
 	ServletUtilTest.class,
 	ServletUtilDeviceType_Test.class,
+	SubSessionHttpServletRequestWrapper_Test.class,
+	ThemeResourceCache_Test.class,
 	ThemeServlet_Test.class,
 	WServlet_Test.class,
 	WServletPerformance_Test.class
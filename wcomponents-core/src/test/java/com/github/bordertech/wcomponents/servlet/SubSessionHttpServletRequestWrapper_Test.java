@@ -0,0 +1,218 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.servlet.SubSessionHttpServletRequestWrapper.HttpSubSession;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
+import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpSession;
+import javax.servlet.http.HttpSessionBindingEvent;
+import javax.servlet.http.HttpSessionBindingListener;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SubSessionHttpServletRequestWrapper}.
+ *
+ * @since 1.5.29
+ */
+public class SubSessionHttpServletRequestWrapper_Test {
+
+	@After
+	public void resetConfig() {
+		Config.reset();
+	}
+
+	@Test
+	public void testNewSubSessions() {
+		MockHttpSession session = new MockHttpSession();
+		long live = SubSessionHttpServletRequestWrapper.getLiveSubSessionCount();
+
+		Assert.assertEquals("Incorrect id for first subsession", 0, createRequest(session, null).getSessionId());
+		Assert.assertEquals("Incorrect id for second subsession", 1, createRequest(session, null).getSessionId());
+		Assert.assertEquals("Incorrect id for third subsession", 2, createRequest(session, null).getSessionId());
+		Assert.assertEquals("Incorrect live subsession count", live + 3,
+				SubSessionHttpServletRequestWrapper.getLiveSubSessionCount());
+	}
+
+	@Test
+	public void testExistingSubSession() {
+		MockHttpSession session = new MockHttpSession();
+		createRequest(session, null);
+		createRequest(session, null).getSession().setAttribute("key", "value");
+
+		SubSessionHttpServletRequestWrapper request = createRequest(session, "1");
+		Assert.assertEquals("Incorrect subsession id", 1, request.getSessionId());
+		Assert.assertEquals("Incorrect attribute value", "value", request.getSession().getAttribute("key"));
+		Assert.assertNull("Attribute should not be in other subsession",
+				createRequest(session, "0").getSession().getAttribute("key"));
+	}
+
+	@Test
+	public void testInvalidSsid() {
+		MockHttpSession session = new MockHttpSession();
+		createRequest(session, null);
+
+		Assert.assertEquals("Unissued id should use default subsession", 0,
+				createRequest(session, "99").getSessionId());
+		Assert.assertEquals("Negative id should use default subsession", 0,
+				createRequest(session, "-1").getSessionId());
+		Assert.assertEquals("Invalid id should use default subsession", 0,
+				createRequest(session, "abc").getSessionId());
+	}
+
+	@Test
+	public void testCapacityEviction() {
+		Config.getInstance().setProperty(ConfigurationProperties.SERVLET_SUBSESSIONS_MAX, "2");
+		MockHttpSession session = new MockHttpSession();
+		long evictions = SubSessionHttpServletRequestWrapper.getCapacityEvictionCount();
+
+		HttpSubSession first = (HttpSubSession) createRequest(session, null).getSession();
+		first.setAttribute("key", "value");
+		first.setLastAccessedTime(System.currentTimeMillis() - 1000);
+		HttpSubSession second = (HttpSubSession) createRequest(session, null).getSession();
+		createRequest(session, null);
+
+		Assert.assertEquals("Least recently used subsession should have been evicted", evictions + 1,
+				SubSessionHttpServletRequestWrapper.getCapacityEvictionCount());
+		assertInvalidated(first);
+		Assert.assertNotNull("Other subsession should not have been evicted", second.getAttributeNames());
+
+		// A request for the evicted subsession gets a new one
+		SubSessionHttpServletRequestWrapper request = createRequest(session, "0");
+		Assert.assertEquals("Incorrect subsession id", 0, request.getSessionId());
+		Assert.assertNull("Evicted subsession state should not be restored", request.getSession().getAttribute("key"));
+	}
+
+	@Test
+	public void testIdleEviction() {
+		Config.getInstance().setProperty(ConfigurationProperties.SERVLET_SUBSESSIONS_IDLE_TIMEOUT, "60");
+		MockHttpSession session = new MockHttpSession();
+		long evictions = SubSessionHttpServletRequestWrapper.getIdleEvictionCount();
+
+		HttpSubSession idle = (HttpSubSession) createRequest(session, null).getSession();
+		HttpSubSession active = (HttpSubSession) createRequest(session, null).getSession();
+		idle.setLastAccessedTime(System.currentTimeMillis() - 61000);
+		createRequest(session, "1");
+
+		Assert.assertEquals("Idle subsession should have been evicted", evictions + 1,
+				SubSessionHttpServletRequestWrapper.getIdleEvictionCount());
+		assertInvalidated(idle);
+		Assert.assertNotNull("Active subsession should not have been evicted", active.getAttributeNames());
+	}
+
+	@Test
+	public void testEvictionUnbindsAttributes() {
+		Config.getInstance().setProperty(ConfigurationProperties.SERVLET_SUBSESSIONS_MAX, "1");
+		MockHttpSession session = new MockHttpSession();
+		MyBindingListener listener = new MyBindingListener();
+
+		createRequest(session, null).getSession().setAttribute("listener", listener);
+		createRequest(session, null);
+
+		Assert.assertTrue("Listener should have been unbound", listener.unbound);
+	}
+
+	@Test
+	public void testInvalidatedSubSessionReplaced() {
+		MockHttpSession session = new MockHttpSession();
+		HttpSubSession subsession = (HttpSubSession) createRequest(session, null).getSession();
+		subsession.setAttribute("key", "value");
+		subsession.invalidate();
+
+		SubSessionHttpServletRequestWrapper request = createRequest(session, "0");
+		Assert.assertNotSame("Invalidated subsession should be replaced", subsession, request.getSession());
+		Assert.assertNull("Invalidated subsession state should not be restored",
+				request.getSession().getAttribute("key"));
+	}
+
+	@Test
+	public void testInUseSubSessionNotEvicted() {
+		Config.getInstance().setProperty(ConfigurationProperties.SERVLET_SUBSESSIONS_MAX, "1");
+		Config.getInstance().setProperty(ConfigurationProperties.SERVLET_SUBSESSIONS_IDLE_TIMEOUT, "60");
+		MockHttpSession session = new MockHttpSession();
+		MyBindingListener listener = new MyBindingListener();
+
+		SubSessionHttpServletRequestWrapper inUse = startRequest(session, null);
+		HttpSubSession subsession = (HttpSubSession) inUse.getSession();
+		subsession.setAttribute("listener", listener);
+		subsession.setLastAccessedTime(System.currentTimeMillis() - 61000);
+		createRequest(session, null);
+
+		Assert.assertFalse("Subsession in use should not have been unbound", listener.unbound);
+		Assert.assertSame("Subsession in use should still be available", listener,
+				inUse.getSession().getAttribute("listener"));
+
+		// Once the request is complete, the subsession can be evicted
+		inUse.requestComplete();
+		subsession.setLastAccessedTime(System.currentTimeMillis() - 61000);
+		createRequest(session, "1");
+		Assert.assertTrue("Subsession should have been evicted once no longer in use", listener.unbound);
+		assertInvalidated(subsession);
+	}
+
+	/**
+	 * Creates a request which has been processed, so no longer uses its subsession.
+	 *
+	 * @param session the backing session.
+	 * @param ssid the requested subsession id, or null to request a new subsession.
+	 * @return a request wrapper for the subsession.
+	 */
+	private static SubSessionHttpServletRequestWrapper createRequest(final MockHttpSession session,
+			final String ssid) {
+		SubSessionHttpServletRequestWrapper request = startRequest(session, ssid);
+		request.requestComplete();
+		return request;
+	}
+
+	/**
+	 * Creates a request which is still being processed, so is using its subsession.
+	 *
+	 * @param session the backing session.
+	 * @param ssid the requested subsession id, or null to request a new subsession.
+	 * @return a request wrapper for the subsession.
+	 */
+	private static SubSessionHttpServletRequestWrapper startRequest(final MockHttpSession session,
+			final String ssid) {
+		MockHttpServletRequest request = new MockHttpServletRequest(session);
+
+		if (ssid != null) {
+			request.setParameter("ssid", ssid);
+		}
+
+		return new SubSessionHttpServletRequestWrapper(request);
+	}
+
+	/**
+	 * @param subsession the subsession which should have been invalidated.
+	 */
+	private static void assertInvalidated(final HttpSubSession subsession) {
+		try {
+			subsession.getAttribute("key");
+			Assert.fail("Evicted subsession should have been invalidated");
+		} catch (IllegalStateException expected) {
+			// Expected
+		}
+	}
+
+	/**
+	 * A session attribute which records whether it has been unbound.
+	 */
+	private static final class MyBindingListener implements HttpSessionBindingListener {
+
+		/**
+		 * Indicates whether the listener has been unbound.
+		 */
+		private boolean unbound;
+
+		@Override
+		public void valueBound(final HttpSessionBindingEvent event) {
+			// Do nothing
+		}
+
+		@Override
+		public void valueUnbound(final HttpSessionBindingEvent event) {
+			unbound = true;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.github.bordertech.wcomponents.servlet;
+
+import com.github.bordertech.wcomponents.servlet.ThemeResourceCache.ThemeResource;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.StreamUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ThemeResourceCache}.
+ *
+ * @since 1.5.29
+ */
+public class ThemeResourceCache_Test {
+
+	/**
+	 * A theme file which is large enough to be compressed.
+	 */
+	private static final String TEST_FILE = "ThemeResourceCache_Testfile.css";
+
+	@Before
+	public void setUp() {
+		ThemeResourceCache.clear();
+	}
+
+	@After
+	public void tearDown() {
+		Config.reset();
+		ThemeResourceCache.clear();
+	}
+
+	@Test
+	public void testGetResource() throws IOException {
+		ThemeResource resource = ThemeResourceCache.getResource(TEST_FILE);
+
+		Assert.assertTrue("Resource should be cached", resource.isCached());
+		Assert.assertSame("Cached resource should be returned", resource, ThemeResourceCache.getResource(TEST_FILE));
+		Assert.assertEquals("Incorrect cache size", 1, ThemeResourceCache.getSize());
+		Assert.assertTrue("Resource should have a gzip variant", resource.getEncodedContent("gzip") != null);
+		Assert.assertNull("Resource should not have a brotli variant", resource.getEncodedContent("br"));
+		Assert.assertEquals("Incorrect cached bytes",
+				resource.getContent().length + resource.getEncodedContent("gzip").length,
+				ThemeResourceCache.getCachedBytes());
+
+		ThemeResourceCache.clear();
+		Assert.assertEquals("Cache should be empty", 0, ThemeResourceCache.getSize());
+		Assert.assertEquals("Cache should not hold any bytes", 0, ThemeResourceCache.getCachedBytes());
+
+		ThemeResource reloaded = ThemeResourceCache.getResource(TEST_FILE);
+		Assert.assertNotSame("Resource should have been reloaded", resource, reloaded);
+		Assert.assertEquals("ETag should be based on the content", resource.getETag(), reloaded.getETag());
+	}
+
+	@Test
+	public void testGetResourceMissing() throws IOException {
+		Assert.assertNull("Missing resource should return null",
+				ThemeResourceCache.getResource("ThemeResourceCache_Test.missing"));
+		Assert.assertEquals("Missing resource should not be cached", 0, ThemeResourceCache.getSize());
+	}
+
+	@Test
+	public void testSmallResourceNotCompressed() throws IOException {
+		ThemeResource resource = ThemeResourceCache.getResource("ThemeServlet_Testfile.xsl");
+		Assert.assertTrue("Resource should be cached", resource.isCached());
+		Assert.assertFalse("Small resource should not be compressed", resource.isCompressed());
+	}
+
+	@Test
+	public void testCacheDisabled() throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_RESOURCE_CACHE, "false");
+
+		ThemeResource resource = ThemeResourceCache.getResource(TEST_FILE);
+		Assert.assertFalse("Resource should not be cached", resource.isCached());
+		Assert.assertFalse("Uncached resource should not be compressed", resource.isCompressed());
+		Assert.assertEquals("Cache should be empty", 0, ThemeResourceCache.getSize());
+	}
+
+	@Test
+	public void testMaxFileSize() throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_RESOURCE_CACHE_MAX_FILE_SIZE, "1000");
+
+		Assert.assertFalse("Large resource should not be cached", ThemeResourceCache.getResource(TEST_FILE).isCached());
+		Assert.assertTrue("Small resource should be cached",
+				ThemeResourceCache.getResource("ThemeServlet_Testfile.xsl").isCached());
+	}
+
+	@Test
+	public void testCacheSize() throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_RESOURCE_CACHE_SIZE, "1000");
+
+		Assert.assertTrue("Resource should be cached",
+				ThemeResourceCache.getResource("ThemeServlet_Testfile.xsl").isCached());
+		Assert.assertFalse("Resource should not be cached once the cache is full",
+				ThemeResourceCache.getResource(TEST_FILE).isCached());
+		Assert.assertTrue("Cache should not exceed its size", ThemeResourceCache.getCachedBytes() <= 1000);
+	}
+
+	@Test
+	public void testCacheFullRemembered() throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_RESOURCE_CACHE_SIZE, "1000");
+		ThemeResource resource = ThemeResourceCache.getResource(TEST_FILE);
+		Assert.assertFalse("Resource should not be cached once the cache is full", resource.isCached());
+		Assert.assertEquals("No bytes should be held for the resource", 0, ThemeResourceCache.getCachedBytes());
+
+		byte[] content;
+		try (InputStream in = resource.openStream()) {
+			content = StreamUtil.getBytes(in);
+		}
+		Assert.assertEquals("Incorrect uncached content length", resource.getLength(), content.length);
+
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_RESOURCE_CACHE_SIZE, "100000");
+		Assert.assertFalse("Resource which did not fit should not be loaded again",
+				ThemeResourceCache.getResource(TEST_FILE).isCached());
+
+		ThemeResourceCache.clear();
+		Assert.assertTrue("Resource should be cached once the cache is cleared",
+				ThemeResourceCache.getResource(TEST_FILE).isCached());
+	}
+
+	@Test
+	public void testCompressedVariantNotCachedWhenFull() throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_RESOURCE_CACHE_SIZE, "2000");
+
+		ThemeResource resource = ThemeResourceCache.getResource(TEST_FILE);
+		Assert.assertTrue("Resource should be cached", resource.isCached());
+		Assert.assertFalse("Compressed variant should not be held when there is no room", resource.isCompressed());
+		Assert.assertEquals("Incorrect cached bytes", resource.getContent().length,
+				ThemeResourceCache.getCachedBytes());
+	}
+
+	@Test
+	public void testUncachedResourceReadTwice() throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_RESOURCE_CACHE, "false");
+		ThemeResource resource = ThemeResourceCache.getResource(TEST_FILE);
+
+		try (InputStream in = resource.openStream()) {
+			Assert.assertEquals("Incorrect content length", resource.getLength(), StreamUtil.getBytes(in).length);
+		}
+		try (InputStream in = resource.openStream()) {
+			Assert.assertEquals("Incorrect content length when read again", resource.getLength(),
+					StreamUtil.getBytes(in).length);
+		}
+		resource.close();
+	}
+
+	@Test
+	public void testWarm() {
+		int count = ThemeResourceCache.warm();
+
+		Assert.assertTrue("Theme resources should have been loaded", count >= 3);
+		Assert.assertEquals("Incorrect cache size", count, ThemeResourceCache.getSize());
+	}
+}
@@ -1,12 +1,19 @@
 package com.github.bordertech.wcomponents.servlet;
 
+import com.github.bordertech.wcomponents.util.Config;
 import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.StreamUtil;
 import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletRequest;
 import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpServletResponse;
 import com.github.bordertech.wcomponents.util.mock.servlet.MockServletConfig;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -19,6 +26,11 @@ import org.junit.Test;
  */
 public class ThemeServlet_Test {
 
+	/**
+	 * A theme file which is large enough to be compressed.
+	 */
+	private static final String TEST_FILE = "ThemeResourceCache_Testfile.css";
+
 	/**
 	 * The servlet to test.
 	 */
@@ -30,6 +42,12 @@ public class ThemeServlet_Test {
 		themeServlet.init(new MockServletConfig());
 	}
 
+	@After
+	public void tearDown() {
+		Config.reset();
+		ThemeResourceCache.clear();
+	}
+
 	@Test
 	public void testInvalidFiles() throws ServletException, IOException {
 		// Test Invalid due to relative path
@@ -68,6 +86,120 @@ public class ThemeServlet_Test {
 		Assert.assertEquals("Incorrect MIME type", ConfigurationProperties.getFileMimeTypeForExtension("xsl"), response.getContentType());
 	}
 
+	@Test
+	public void testIfNoneMatch() throws ServletException, IOException {
+		MockHttpServletResponse response = requestFile(TEST_FILE);
+		String eTag = response.getHeader("ETag");
+		Assert.assertNotNull("Should have an ETag", eTag);
+
+		response = requestFile(TEST_FILE, "If-None-Match", eTag);
+		Assert.assertEquals("Should have returned 304", HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+		Assert.assertNull("Should not have content", response.getOutput());
+
+		response = requestFile(TEST_FILE, "If-None-Match", "\"other\", W/" + eTag);
+		Assert.assertEquals("Should match a weak tag in a list", HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+
+		response = requestFile(TEST_FILE, "If-None-Match", "\"other\"");
+		Assert.assertEquals("Should have returned 200 for a different tag", HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertNotNull("Should have content", response.getOutput());
+	}
+
+	@Test
+	public void testGzip() throws ServletException, IOException {
+		byte[] content = requestFile(TEST_FILE).getOutput();
+
+		MockHttpServletResponse response = requestFile(TEST_FILE, "Accept-Encoding", "deflate, gzip;q=0.8");
+		Assert.assertEquals("Should have returned 200", HttpServletResponse.SC_OK, response.getStatus());
+		Assert.assertEquals("Incorrect content encoding", "gzip", response.getHeader("Content-Encoding"));
+		Assert.assertEquals("Incorrect Vary", "Accept-Encoding", response.getHeader("Vary"));
+		Assert.assertTrue("Compressed content should be smaller", response.getOutput().length < content.length);
+
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getOutput()))) {
+			Assert.assertArrayEquals("Incorrect uncompressed content", content, StreamUtil.getBytes(in));
+		}
+
+		String gzipETag = response.getHeader("ETag");
+		Assert.assertNotEquals("Encodings should have different ETags",
+				requestFile(TEST_FILE).getHeader("ETag"), gzipETag);
+
+		response = requestFile(TEST_FILE, "Accept-Encoding", "gzip;q=0");
+		Assert.assertNull("Should not compress a refused encoding", response.getHeader("Content-Encoding"));
+
+		response = requestFile(TEST_FILE, "Accept-Encoding", "gzip", "If-None-Match", gzipETag);
+		Assert.assertEquals("Should have returned 304", HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+	}
+
+	@Test
+	public void testRange() throws ServletException, IOException {
+		byte[] content = requestFile(TEST_FILE).getOutput();
+		String eTag = requestFile(TEST_FILE).getHeader("ETag");
+
+		MockHttpServletResponse response = requestFile(TEST_FILE, "Range", "bytes=10-19", "Accept-Encoding", "gzip");
+		Assert.assertEquals("Should have returned 206", HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		Assert.assertEquals("Incorrect Content-Range", "bytes 10-19/" + content.length, response.getHeader("Content-Range"));
+		Assert.assertNull("Ranges should not be compressed", response.getHeader("Content-Encoding"));
+		Assert.assertArrayEquals("Incorrect range", Arrays.copyOfRange(content, 10, 20), response.getOutput());
+
+		response = requestFile(TEST_FILE, "Range", "bytes=-5");
+		Assert.assertArrayEquals("Incorrect suffix range", Arrays.copyOfRange(content, content.length - 5, content.length),
+				response.getOutput());
+
+		response = requestFile(TEST_FILE, "Range", "bytes=100-");
+		Assert.assertArrayEquals("Incorrect open range", Arrays.copyOfRange(content, 100, content.length),
+				response.getOutput());
+
+		response = requestFile(TEST_FILE, "Range", "bytes=" + content.length + "-");
+		Assert.assertEquals("Should have returned 416", HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE,
+				response.getStatus());
+		Assert.assertEquals("Incorrect Content-Range", "bytes */" + content.length, response.getHeader("Content-Range"));
+
+		response = requestFile(TEST_FILE, "Range", "bytes=10-19", "If-Range", eTag);
+		Assert.assertEquals("Should have returned 206 for a matching If-Range", HttpServletResponse.SC_PARTIAL_CONTENT,
+				response.getStatus());
+
+		response = requestFile(TEST_FILE, "Range", "bytes=10-19", "If-Range", "\"other\"");
+		Assert.assertEquals("Should have returned 200 for a different If-Range", HttpServletResponse.SC_OK,
+				response.getStatus());
+		Assert.assertArrayEquals("Should have returned the whole file", content, response.getOutput());
+	}
+
+	@Test
+	public void testRangeUncached() throws ServletException, IOException {
+		byte[] content = requestFile(TEST_FILE).getOutput();
+		ThemeResourceCache.clear();
+		Config.getInstance().setProperty(ConfigurationProperties.THEME_RESOURCE_CACHE, "false");
+
+		MockHttpServletResponse response = requestFile(TEST_FILE, "Range", "bytes=10-19");
+		Assert.assertEquals("Should have returned 206", HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+		Assert.assertArrayEquals("Incorrect range", Arrays.copyOfRange(content, 10, 20), response.getOutput());
+		Assert.assertEquals("Resource should not have been cached", 0, ThemeResourceCache.getSize());
+	}
+
+	/**
+	 * Requests a file from the servlet, with the given request headers.
+	 *
+	 * @param path the path to the file
+	 * @param headers the request header names and values
+	 * @return the servlet response
+	 * @throws ServletException a servlet exception
+	 * @throws IOException an exception
+	 */
+	private MockHttpServletResponse requestFile(final String path, final String... headers) throws
+			ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		request.setRequestURI("/theme/" + path);
+		request.setPathInfo('/' + path);
+
+		for (int i = 0; i < headers.length; i += 2) {
+			request.setHeader(headers[i], headers[i + 1]);
+		}
+
+		themeServlet.doGet(request, response);
+		return response;
+	}
+
 	/**
 	 * Requests a file from the servlet.
 	 *
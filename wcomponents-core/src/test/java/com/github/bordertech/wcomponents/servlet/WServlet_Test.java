@@ -1,13 +1,18 @@
 package com.github.bordertech.wcomponents.servlet;
 
 import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.Environment;
 import com.github.bordertech.wcomponents.MockContainer;
+import com.github.bordertech.wcomponents.MockContentAccess;
 import com.github.bordertech.wcomponents.MockLabel;
 import com.github.bordertech.wcomponents.MockPanel;
+import com.github.bordertech.wcomponents.TestLookupTable;
 import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.UIContextHolder;
 import com.github.bordertech.wcomponents.UIContextImpl;
 import com.github.bordertech.wcomponents.WApplication;
 import com.github.bordertech.wcomponents.WComponent;
+import com.github.bordertech.wcomponents.WContent;
 import com.github.bordertech.wcomponents.WPanel;
 import com.github.bordertech.wcomponents.WText;
 import com.github.bordertech.wcomponents.util.Config;
@@ -19,6 +24,13 @@ import com.github.bordertech.wcomponents.util.mock.servlet.MockHttpSession;
 import com.github.bordertech.wcomponents.util.mock.servlet.MockServletConfig;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -37,6 +49,10 @@ public class WServlet_Test extends AbstractWComponentTestCase {
 
 	private static final String LABEL_TEXT = "WServlet_Test.LABEL_TEXT";
 
+	private static final String CONTENT_TEXT = "WServlet_Test.CONTENT_TEXT";
+
+	private static final String CHANGED_CONTENT_TEXT = "WServlet_Test.CHANGED_CONTENT_TEXT";
+
 	@After
 	public void restoreConfig() {
 		Config.reset();
@@ -281,6 +297,172 @@ public class WServlet_Test extends AbstractWComponentTestCase {
 				getOutput());
 	}
 
+	@Test
+	public void testDataListRequestNotBlockedByLock() throws Exception {
+		ContentTestUI ui = new ContentTestUI();
+		ui.setLocked(true);
+		MyWServlet servlet = new MyWServlet(ui);
+		servlet.init(new MockServletConfig());
+
+		MockHttpSession session = new MockHttpSession();
+		sendRequest(session, servlet);
+		UIContext uic = getContextForSession(servlet, session);
+		long lockCount = ServletUtil.getLockCount(ServletUtil.RequestType.DATA_LIST);
+
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+			holdLock(executor, uic, locked, release, null);
+			Future<MockHttpServletResponse> dataList = executor.submit(() -> sendDataListRequest(session, servlet));
+
+			MockHttpServletResponse response = dataList.get(10, TimeUnit.SECONDS);
+			String output = new String(response.getOutput(), StandardCharsets.UTF_8);
+			Assert.assertTrue("Data list should have been rendered", output.contains("Monday"));
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+
+		Assert.assertEquals("Data list request should not have taken the lock", lockCount,
+				ServletUtil.getLockCount(ServletUtil.RequestType.DATA_LIST));
+	}
+
+	@Test
+	public void testContentRequestWaitsForModelChange() throws Exception {
+		ContentTestUI ui = new ContentTestUI();
+		ui.setLocked(true);
+		MyWServlet servlet = new MyWServlet(ui);
+		servlet.init(new MockServletConfig());
+
+		MockHttpSession session = new MockHttpSession();
+		sendRequest(session, servlet);
+		UIContext uic = getContextForSession(servlet, session);
+		long lockCount = ServletUtil.getLockCount(ServletUtil.RequestType.CONTENT);
+		long lockWaitTime = ServletUtil.getLockWaitTime(ServletUtil.RequestType.CONTENT);
+
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		// The locked request changes the content while the content request is waiting
+		Runnable change = () -> {
+			UIContextHolder.pushContext(uic);
+			try {
+				MockContentAccess access = new MockContentAccess();
+				access.setBytes(CHANGED_CONTENT_TEXT.getBytes(StandardCharsets.UTF_8));
+				access.setMimeType("text/plain");
+				ui.content.setContentAccess(access);
+				ui.content.display();
+			} finally {
+				UIContextHolder.popContext();
+			}
+		};
+
+		try {
+			holdLock(executor, uic, locked, release, change);
+			Future<MockHttpServletResponse> content = executor.submit(() -> sendContentRequest(session, servlet, uic,
+					ui.content));
+
+			try {
+				content.get(200, TimeUnit.MILLISECONDS);
+				Assert.fail("Content request should wait for the lock");
+			} catch (TimeoutException expected) {
+				// Expected
+			}
+
+			release.countDown();
+			MockHttpServletResponse response = content.get(10, TimeUnit.SECONDS);
+			Assert.assertEquals("Content request should see the change made by the locked request",
+					CHANGED_CONTENT_TEXT, new String(response.getOutput(), StandardCharsets.UTF_8));
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+
+		setActiveContext(uic);
+		Assert.assertFalse("Content request should have reset the display flag in the session",
+				ui.content.isDisplayRequested());
+		Assert.assertEquals("Content request should have taken the lock", lockCount + 1,
+				ServletUtil.getLockCount(ServletUtil.RequestType.CONTENT));
+		Assert.assertTrue("Lock wait time should have been recorded",
+				ServletUtil.getLockWaitTime(ServletUtil.RequestType.CONTENT) - lockWaitTime
+				>= TimeUnit.MILLISECONDS.toNanos(100));
+	}
+
+	/**
+	 * Holds the lock of a UIContext in another thread, as a slow request would.
+	 *
+	 * @param executor the executor to hold the lock in.
+	 * @param uic the context to lock.
+	 * @param locked counted down once the lock is held.
+	 * @param release the latch to wait on before releasing the lock.
+	 * @param beforeRelease run while holding the lock before it is released, or null.
+	 * @throws InterruptedException if interrupted waiting for the lock to be held.
+	 */
+	private void holdLock(final ExecutorService executor, final UIContext uic, final CountDownLatch locked,
+			final CountDownLatch release, final Runnable beforeRelease) throws InterruptedException {
+		executor.submit(() -> {
+			synchronized (uic) {
+				locked.countDown();
+				release.await();
+
+				if (beforeRelease != null) {
+					beforeRelease.run();
+				}
+			}
+			return null;
+		});
+		locked.await();
+	}
+
+	/**
+	 * Simulates a request for a data list.
+	 *
+	 * @param session the current user's session
+	 * @param servlet the servlet to invoke request processing on.
+	 * @return the response.
+	 * @throws ServletException a servlet exception
+	 * @throws IOException an exception
+	 */
+	private MockHttpServletResponse sendDataListRequest(final MockHttpSession session, final WServlet servlet)
+			throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest(session);
+		request.setRequestURI("http://localhost/foo");
+		request.setMethod("GET");
+		request.setParameter(WServlet.DATA_LIST_PARAM_NAME, TestLookupTable.CACHEABLE_DAY_OF_WEEK_TABLE);
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		return response;
+	}
+
+	/**
+	 * Simulates a request for the content of a WContent.
+	 *
+	 * @param session the current user's session
+	 * @param servlet the servlet to invoke request processing on.
+	 * @param uic the user's context.
+	 * @param content the content component.
+	 * @return the response.
+	 * @throws ServletException a servlet exception
+	 * @throws IOException an exception
+	 */
+	private MockHttpServletResponse sendContentRequest(final MockHttpSession session, final WServlet servlet,
+			final UIContext uic, final WContent content) throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest(session);
+		request.setRequestURI("http://localhost/foo");
+		request.setMethod("GET");
+		request.setParameter(WServlet.TARGET_ID_PARAM_NAME, content.getTargetId());
+		request.setParameter(Environment.SESSION_TOKEN_VARIABLE, uic.getEnvironment().getSessionToken());
+		request.setParameter(Environment.STEP_VARIABLE, String.valueOf(uic.getEnvironment().getStep()));
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		return response;
+	}
+
 	/**
 	 * getUIContext is protected in WServlet.WServletHelper, so this is a duplicate.
 	 *
@@ -334,6 +516,27 @@ public class WServlet_Test extends AbstractWComponentTestCase {
 		}
 	}
 
+	/**
+	 * The UI used for testing content requests - contains a label and a WContent.
+	 */
+	private static final class ContentTestUI extends WApplication {
+
+		private final WContent content = new WContent();
+
+		/**
+		 * Creates the test UI.
+		 */
+		private ContentTestUI() {
+			add(new WText(LABEL_TEXT));
+			add(content);
+
+			MockContentAccess access = new MockContentAccess();
+			access.setBytes(CONTENT_TEXT.getBytes(StandardCharsets.UTF_8));
+			access.setMimeType("text/plain");
+			content.setContentAccess(access);
+		}
+	}
+
 	/**
 	 * A WServlet that lets you specify the root component.
 	 */
@@ -0,0 +1,258 @@
+package com.github.bordertech.wcomponents.subordinate;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.SubordinateTarget;
+import com.github.bordertech.wcomponents.UIContext;
+import com.github.bordertech.wcomponents.WCheckBox;
+import com.github.bordertech.wcomponents.WComponentGroup;
+import com.github.bordertech.wcomponents.WContainer;
+import com.github.bordertech.wcomponents.WFieldSet;
+import com.github.bordertech.wcomponents.WTextField;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.mock.MockRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SubordinateControlHelper}.
+ *
+ * @since 1.5.29
+ */
+public class SubordinateControlHelper_Test extends AbstractWComponentTestCase {
+
+	@After
+	public void resetConfig() {
+		Config.reset();
+	}
+
+	@Test
+	public void testApplyAllControlsWithModelValues() {
+		Fixture fixture = new Fixture();
+		MockRequest request = fixture.paint();
+
+		assertCounts(request, 4, 0);
+		Assert.assertTrue("Target 1 should be disabled", fixture.target1.isDisabled());
+		Assert.assertTrue("Target 2 should be disabled", fixture.target2.isDisabled());
+	}
+
+	@Test
+	public void testUnchangedTriggersAreSkipped() {
+		Fixture fixture = new Fixture();
+		fixture.paint();
+
+		MockRequest request = new MockRequest();
+		request.setParameter(fixture.box1.getId(), "true");
+		SubordinateControlHelper.applyRegisteredControls(request, true);
+
+		// Rule B changed, rule D shares its target and rule C reads box 2 which it changes. Rule A is not affected
+		assertCounts(request, 3, 1);
+		Assert.assertFalse("Target 1 should be enabled", fixture.target1.isDisabled());
+		Assert.assertFalse("Box 2 should be enabled", fixture.box2.isDisabled());
+		Assert.assertTrue("Target 2 should be disabled", fixture.target2.isDisabled());
+		Assert.assertFalse("Target 3 should be enabled", fixture.target3.isDisabled());
+	}
+
+	@Test
+	public void testNoChangesSkipsIndependentRules() {
+		Fixture fixture = new Fixture();
+		fixture.paint();
+
+		MockRequest request = new MockRequest();
+		SubordinateControlHelper.applyRegisteredControls(request, true);
+
+		// Only the rule reading a trigger which another rule changes is evaluated
+		assertCounts(request, 1, 3);
+	}
+
+	@Test
+	public void testSharedTargetMatchesFullEvaluation() {
+		Fixture fixture = new Fixture();
+		fixture.box1.setSelected(true);
+		fixture.box3.setSelected(true);
+		fixture.paint();
+		Assert.assertTrue("Target 1 should be disabled by rule D", fixture.target1.isDisabled());
+
+		MockRequest request = new MockRequest();
+		request.setParameter(fixture.box3.getId(), "false");
+		SubordinateControlHelper.applyRegisteredControls(request, true);
+
+		// Rule D changed and no longer acts, so rule B must run again to leave target 1 as a full evaluation would
+		assertCounts(request, 3, 1);
+		Assert.assertFalse("Target 1 should be enabled by rule B", fixture.target1.isDisabled());
+	}
+
+	@Test
+	public void testContainerTargetMatchesFullEvaluation() {
+		WCheckBox box = new WCheckBox();
+		WCheckBox boxInFieldSet = new WCheckBox();
+		WFieldSet fieldSet = new WFieldSet("test");
+		fieldSet.add(boxInFieldSet);
+		WTextField text = new WTextField();
+		WComponentGroup<SubordinateTarget> group = new WComponentGroup<>();
+		group.addToGroup(text);
+
+		// Rule 1 - box disables the field set holding the trigger of rule 2
+		Rule rule1 = new Rule(new Equal(box, Boolean.TRUE), new Disable(fieldSet), new Enable(fieldSet));
+
+		// Rule 2 - the box in the field set shows the group
+		Rule rule2 = new Rule(new Equal(boxInFieldSet, Boolean.TRUE), new Show(group), new Hide(group));
+
+		WSubordinateControl control = new WSubordinateControl();
+		control.addRule(rule1);
+		control.addRule(rule2);
+
+		WContainer root = new WContainer();
+		root.add(control);
+		root.add(box);
+		root.add(fieldSet);
+		root.add(text);
+		root.add(group);
+
+		UIContext uic = createUIContext();
+		uic.setUI(root);
+		setActiveContext(uic);
+
+		boxInFieldSet.setSelected(true);
+		MockRequest request = new MockRequest();
+		SubordinateControlHelper.clearAllRegisteredControls();
+		root.preparePaint(request);
+		SubordinateControlHelper.applyRegisteredControls(request, false);
+		Assert.assertFalse("Text should be shown", text.isHidden());
+
+		request = new MockRequest();
+		request.setParameter(box.getId(), "true");
+		request.setParameter(boxInFieldSet.getId(), "true");
+		SubordinateControlHelper.applyRegisteredControls(request, true);
+
+		// Disabling the field set disables the trigger of rule 2, so it must run to hide the text
+		assertCounts(request, 2, 0);
+		Assert.assertTrue("Box in the field set should be disabled", boxInFieldSet.isDisabled());
+		Assert.assertTrue("Text should be hidden", text.isHidden());
+	}
+
+	@Test
+	public void testStateOnlyUsedOnce() {
+		Fixture fixture = new Fixture();
+		fixture.paint();
+
+		MockRequest request = new MockRequest();
+		SubordinateControlHelper.applyRegisteredControls(request, true);
+		assertCounts(request, 1, 3);
+
+		// No paint since the last request, so all the rules must be evaluated
+		request = new MockRequest();
+		SubordinateControlHelper.applyRegisteredControls(request, true);
+		assertCounts(request, 4, 0);
+	}
+
+	@Test
+	public void testIncrementalDisabled() {
+		Config.getInstance().setProperty(ConfigurationProperties.SUBORDINATE_INCREMENTAL, "false");
+
+		Fixture fixture = new Fixture();
+		fixture.paint();
+
+		MockRequest request = new MockRequest();
+		SubordinateControlHelper.applyRegisteredControls(request, true);
+		assertCounts(request, 4, 0);
+	}
+
+	@Test
+	public void testCountsAccumulate() {
+		Fixture fixture = new Fixture();
+		fixture.paint();
+
+		long evaluated = SubordinateControlHelper.getEvaluatedRuleCount();
+		long skipped = SubordinateControlHelper.getSkippedRuleCount();
+
+		MockRequest request = new MockRequest();
+		SubordinateControlHelper.applyRegisteredControls(request, true);
+		SubordinateControlHelper.applyRegisteredControls(request, false);
+
+		assertCounts(request, 5, 3);
+		Assert.assertEquals("Incorrect total evaluated", evaluated + 5, SubordinateControlHelper.getEvaluatedRuleCount());
+		Assert.assertEquals("Incorrect total skipped", skipped + 3, SubordinateControlHelper.getSkippedRuleCount());
+	}
+
+	/**
+	 * @param request the request to check.
+	 * @param evaluated the expected number of rules evaluated.
+	 * @param skipped the expected number of rules skipped.
+	 */
+	private static void assertCounts(final MockRequest request, final int evaluated, final int skipped) {
+		Assert.assertEquals("Incorrect number of rules evaluated", Integer.valueOf(evaluated),
+				request.getAttribute(SubordinateControlHelper.RULES_EVALUATED_ATTRIBUTE));
+		Assert.assertEquals("Incorrect number of rules skipped", Integer.valueOf(skipped),
+				request.getAttribute(SubordinateControlHelper.RULES_SKIPPED_ATTRIBUTE));
+	}
+
+	/**
+	 * A tree with independent, shared target and chained rules.
+	 */
+	private final class Fixture {
+
+		private final WCheckBox box1 = new WCheckBox();
+		private final WCheckBox box2 = new WCheckBox();
+		private final WCheckBox box3 = new WCheckBox();
+		private final WTextField text = new WTextField();
+		private final WTextField target1 = new WTextField();
+		private final WTextField target2 = new WTextField();
+		private final WTextField target3 = new WTextField();
+		private final WContainer root = new WContainer();
+
+		/**
+		 * Creates the fixture.
+		 */
+		private Fixture() {
+			// Rule A - text disables target 3
+			Rule ruleA = new Rule(new Equal(text, "on"), new Disable(target3), new Enable(target3));
+
+			// Rule B - box 1 enables target 1 and box 2
+			Rule ruleB = new Rule(new Equal(box1, Boolean.TRUE));
+			ruleB.addActionOnTrue(new Enable(target1));
+			ruleB.addActionOnTrue(new Enable(box2));
+			ruleB.addActionOnFalse(new Disable(target1));
+			ruleB.addActionOnFalse(new Disable(box2));
+
+			// Rule D - box 3 disables target 1, which is also the target of rule B
+			Rule ruleD = new Rule(new Equal(box3, Boolean.TRUE), new Disable(target1));
+
+			// Rule C - box 2, which is changed by rule B, enables target 2
+			Rule ruleC = new Rule(new Equal(box2, Boolean.TRUE), new Enable(target2), new Disable(target2));
+
+			WSubordinateControl control = new WSubordinateControl();
+			control.addRule(ruleA);
+			control.addRule(ruleB);
+			control.addRule(ruleD);
+			control.addRule(ruleC);
+
+			root.add(control);
+			root.add(box1);
+			root.add(box2);
+			root.add(box3);
+			root.add(text);
+			root.add(target1);
+			root.add(target2);
+			root.add(target3);
+
+			UIContext uic = createUIContext();
+			uic.setUI(root);
+			setActiveContext(uic);
+		}
+
+		/**
+		 * Registers and applies the controls, as they are when painting.
+		 *
+		 * @return the request used to paint.
+		 */
+		private MockRequest paint() {
+			MockRequest request = new MockRequest();
+			SubordinateControlHelper.clearAllRegisteredControls();
+			root.preparePaint(request);
+			SubordinateControlHelper.applyRegisteredControls(request, false);
+			return request;
+		}
+	}
+}
@@ -44,6 +44,7 @@ import org.junit.runners.Suite;
 	ShowInGroup_Test.class,
 	// Control
 	Rule_Test.class,
+	SubordinateControlHelper_Test.class,
 	// Subordinate Control
 	WSubordinateControl_Test.class,
 	// Builder
@@ -0,0 +1,118 @@
+package com.github.bordertech.wcomponents.template;
+
+import com.github.bordertech.wcomponents.WComponent;
+import com.github.jknack.handlebars.EscapingStrategy;
+import com.github.jknack.handlebars.Handlebars;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link HandlebarsRendererImpl}.
+ *
+ * @since 1.5.29
+ */
+public class HandlebarsRendererImpl_Test {
+
+	@After
+	public void clearEngines() {
+		HandlebarsRendererImpl.clearEngines();
+	}
+
+	@Test
+	public void testEngineReusedForSameOptions() {
+		HandlebarsRendererImpl renderer = new HandlebarsRendererImpl();
+
+		Map<String, Object> options = new HashMap<>();
+		options.put(HandlebarsRendererImpl.PRETTY_PRINT, "true");
+		Handlebars engine = renderer.getHandlebarsEngine(options);
+
+		Map<String, Object> sameOptions = new HashMap<>();
+		sameOptions.put(HandlebarsRendererImpl.PRETTY_PRINT, "TRUE");
+		Assert.assertSame("Engine should be reused for the same options", engine, renderer.getHandlebarsEngine(sameOptions));
+		Assert.assertSame("Engine should be shared between renderers", engine,
+				new HandlebarsRendererImpl().getHandlebarsEngine(sameOptions));
+	}
+
+	@Test
+	public void testEngineForDifferentOptions() {
+		HandlebarsRendererImpl renderer = new HandlebarsRendererImpl();
+		Handlebars engine = renderer.getHandlebarsEngine(Collections.<String, Object>emptyMap());
+
+		Map<String, Object> options = new HashMap<>();
+		options.put(HandlebarsRendererImpl.ESCAPING_STRATEGY, EscapingStrategy.NOOP);
+		Assert.assertNotSame("Different escaping strategy should use a different engine", engine, renderer.getHandlebarsEngine(options));
+
+		options = new HashMap<>();
+		options.put(HandlebarsRendererImpl.PRETTY_PRINT, "true");
+		Assert.assertNotSame("Different pretty print should use a different engine", engine, renderer.getHandlebarsEngine(options));
+
+		options = new HashMap<>();
+		options.put(HandlebarsRendererImpl.THEME_I18N, "false");
+		Assert.assertNotSame("Different theme i18n should use a different engine", engine, renderer.getHandlebarsEngine(options));
+	}
+
+	@Test
+	public void testRenderInlineCached() {
+		// These templates have the same String hash code
+		Assert.assertEquals("Test templates should have the same hash code", "Aa{{x}}".hashCode(), "BB{{x}}".hashCode());
+
+		Map<String, Object> options = new HashMap<>();
+		options.put(HandlebarsRendererImpl.USE_CACHE, "true");
+
+		Assert.assertEquals("Incorrect first render", "Aa1", renderInline("Aa{{x}}", options));
+		Assert.assertEquals("Incorrect render of colliding template", "BB1", renderInline("BB{{x}}", options));
+		Assert.assertEquals("Incorrect cached render", "Aa1", renderInline("Aa{{x}}", options));
+	}
+
+	@Test
+	public void testRenderInlineNotCached() {
+		Map<String, Object> options = new HashMap<>();
+		options.put(HandlebarsRendererImpl.USE_CACHE, "false");
+
+		Assert.assertEquals("Incorrect first render", "Aa1", renderInline("Aa{{x}}", options));
+		Assert.assertEquals("Incorrect second render", "Aa1", renderInline("Aa{{x}}", options));
+	}
+
+	@Test
+	public void testRenderInlineWhenEnginesFull() {
+		// Fill the shared engines with distinct escaping strategies
+		Map<String, Object> options = new HashMap<>();
+		options.put(HandlebarsRendererImpl.USE_CACHE, "true");
+		HandlebarsRendererImpl renderer = new HandlebarsRendererImpl();
+		Handlebars engine;
+		do {
+			options.put(HandlebarsRendererImpl.ESCAPING_STRATEGY, new EscapingStrategy() {
+				@Override
+				public CharSequence escape(final CharSequence value) {
+					return value;
+				}
+			});
+			engine = renderer.getHandlebarsEngine(options);
+		} while (engine == renderer.getHandlebarsEngine(options));
+
+		int engines = HandlebarsRendererImpl.getInlineTemplateEngineCount();
+		Assert.assertEquals("Incorrect render with engine which is not shared", "Aa1", renderInline("Aa{{x}}", options));
+		Assert.assertEquals("Incorrect second render with engine which is not shared", "Aa1",
+				renderInline("Aa{{x}}", options));
+		Assert.assertEquals("Inline templates should not be held for engines which are not shared", engines,
+				HandlebarsRendererImpl.getInlineTemplateEngineCount());
+	}
+
+	/**
+	 * @param template the inline template
+	 * @param options the engine options
+	 * @return the rendered output
+	 */
+	private static String renderInline(final String template, final Map<String, Object> options) {
+		StringWriter writer = new StringWriter();
+		Map<String, Object> context = new HashMap<>();
+		context.put("x", 1);
+		new HandlebarsRendererImpl().renderInline(template, context, Collections.<String, WComponent>emptyMap(), writer, options);
+		return writer.toString();
+	}
+}
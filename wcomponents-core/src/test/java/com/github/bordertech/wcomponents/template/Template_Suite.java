@@ -0,0 +1,17 @@
+package com.github.bordertech.wcomponents.template;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+/**
+ * This class is the <a href="http://www.junit.org">JUnit</a> TestSuite for the classes within
+ * {@link com.github.bordertech.wcomponents.template} package.
+ *
+ * @since 1.5.29
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+	HandlebarsRendererImpl_Test.class
+})
+public class Template_Suite {
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides the unit tests for the WComponents template renderers.
+ */
+package com.github.bordertech.wcomponents.template;
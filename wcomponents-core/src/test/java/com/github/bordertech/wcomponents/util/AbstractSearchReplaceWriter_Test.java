@@ -0,0 +1,126 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AbstractSearchReplaceWriter}.
+ *
+ * @since 1.5.29
+ */
+public class AbstractSearchReplaceWriter_Test {
+
+	@Test
+	public void testNoSearchStrings() throws IOException {
+		Assert.assertEquals("Output should be unchanged", "abc", replace(new String[0], "abc", 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptySearchString() {
+		new TestWriter(new String[]{"a", ""}, new StringWriter());
+	}
+
+	@Test
+	public void testReplace() throws IOException {
+		String[] search = {"cat", "dog"};
+		Assert.assertEquals("Incorrect replacement", "a <cat> and a <dog>", replace(search, "a cat and a dog", 100));
+		Assert.assertEquals("Incorrect replacement across writes", "a <cat> and a <dog>", replace(search, "a cat and a dog", 1));
+		Assert.assertEquals("Incorrect replacement at end", "<cat><dog>", replace(search, "catdog", 2));
+		Assert.assertEquals("Incorrect partial match", "ca do", replace(search, "ca do", 1));
+	}
+
+	@Test
+	public void testLongestMatch() throws IOException {
+		String[] search = {"ab", "abc", "abcd"};
+		Assert.assertEquals("Longest match should be replaced", "<abcd>", replace(search, "abcd", 1));
+		Assert.assertEquals("Longest complete match should be replaced", "<abc>x", replace(search, "abcx", 1));
+	}
+
+	@Test
+	public void testEarliestMatch() throws IOException {
+		String[] search = {"abcd", "bc", "a"};
+		Assert.assertEquals("Earliest match should be replaced", "<a><bc>x", replace(search, "abcx", 1));
+		Assert.assertEquals("Overlapping match should not be replaced", "<abcd>", replace(search, "abcd", 3));
+	}
+
+	@Test
+	public void testMatchesReference() throws IOException {
+		Random random = new Random(12345);
+		char[] alphabet = {'a', 'b', 'c', '[', ']'};
+
+		for (int test = 0; test < 500; test++) {
+			String[] search = new String[1 + random.nextInt(5)];
+			for (int i = 0; i < search.length; i++) {
+				search[i] = randomString(random, alphabet, 1 + random.nextInt(4));
+			}
+
+			String input = randomString(random, alphabet, random.nextInt(200));
+			int chunk = 1 + random.nextInt(10);
+
+			StringWriter expected = new StringWriter();
+			try (Writer writer = new ReferenceSearchReplaceWriter(search, expected)) {
+				writer.write(input);
+			}
+
+			Assert.assertEquals("Output should match the original implementation for " + String.join(",", search)
+					+ " in " + input, expected.toString(), replace(search, input, chunk));
+		}
+	}
+
+	/**
+	 * @param search the search strings
+	 * @param input the input to write
+	 * @param chunk the number of characters to write at a time
+	 * @return the output
+	 * @throws IOException an IO exception
+	 */
+	private static String replace(final String[] search, final String input, final int chunk) throws IOException {
+		StringWriter output = new StringWriter();
+		try (Writer writer = new TestWriter(search, output)) {
+			char[] chars = input.toCharArray();
+			for (int i = 0; i < chars.length; i += chunk) {
+				writer.write(chars, i, Math.min(chunk, chars.length - i));
+			}
+		}
+		return output.toString();
+	}
+
+	/**
+	 * @param random the random number generator
+	 * @param alphabet the characters to use
+	 * @param length the length of the string
+	 * @return a random string
+	 */
+	private static String randomString(final Random random, final char[] alphabet, final int length) {
+		StringBuilder buf = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			buf.append(alphabet[random.nextInt(alphabet.length)]);
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * A writer which wraps the search strings in angle brackets.
+	 */
+	private static final class TestWriter extends AbstractSearchReplaceWriter {
+
+		/**
+		 * @param search the search strings
+		 * @param backing the backing writer
+		 */
+		private TestWriter(final String[] search, final Writer backing) {
+			super(search, backing);
+		}
+
+		@Override
+		protected void doReplace(final String search, final Writer backing) throws IOException {
+			backing.write('<');
+			backing.write(search);
+			backing.write('>');
+		}
+	}
+}
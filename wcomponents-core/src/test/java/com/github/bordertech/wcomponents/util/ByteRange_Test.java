@@ -0,0 +1,80 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ByteRange}.
+ *
+ * @since 1.5.29
+ */
+public class ByteRange_Test {
+
+	@Test
+	public void testParseSingleRange() {
+		Assert.assertEquals("Incorrect range", Collections.singletonList(new ByteRange(0, 99)),
+				ByteRange.parse("bytes=0-99", 1000));
+		Assert.assertEquals("Open range should extend to end", Collections.singletonList(new ByteRange(500, 999)),
+				ByteRange.parse("bytes=500-", 1000));
+		Assert.assertEquals("Range should be truncated to length", Collections.singletonList(new ByteRange(900, 999)),
+				ByteRange.parse("bytes=900-2000", 1000));
+	}
+
+	@Test
+	public void testParseSuffixRange() {
+		Assert.assertEquals("Incorrect suffix range", Collections.singletonList(new ByteRange(900, 999)),
+				ByteRange.parse("bytes=-100", 1000));
+		Assert.assertEquals("Suffix range should be truncated to length",
+				Collections.singletonList(new ByteRange(0, 999)), ByteRange.parse("bytes=-2000", 1000));
+	}
+
+	@Test
+	public void testParseMultipleRanges() {
+		Assert.assertEquals("Incorrect ranges", Arrays.asList(new ByteRange(0, 9), new ByteRange(20, 29),
+				new ByteRange(990, 999)), ByteRange.parse("bytes=0-9, 20-29,-10", 1000));
+	}
+
+	@Test
+	public void testParseUnsatisfiable() {
+		Assert.assertTrue("Range after end should be unsatisfiable", ByteRange.parse("bytes=1000-", 1000).isEmpty());
+		Assert.assertTrue("Empty suffix should be unsatisfiable", ByteRange.parse("bytes=-0", 1000).isEmpty());
+		Assert.assertTrue("Range of empty content should be unsatisfiable", ByteRange.parse("bytes=0-", 0).isEmpty());
+		Assert.assertEquals("Satisfiable ranges should be kept", Collections.singletonList(new ByteRange(0, 9)),
+				ByteRange.parse("bytes=0-9,2000-3000", 1000));
+	}
+
+	@Test
+	public void testParseInvalid() {
+		Assert.assertNull("Missing header should send whole content", ByteRange.parse(null, 1000));
+		Assert.assertNull("Unknown unit should send whole content", ByteRange.parse("items=0-9", 1000));
+		Assert.assertNull("Missing dash should send whole content", ByteRange.parse("bytes=10", 1000));
+		Assert.assertNull("Invalid number should send whole content", ByteRange.parse("bytes=a-9", 1000));
+		Assert.assertNull("Reversed range should send whole content", ByteRange.parse("bytes=9-0", 1000));
+		Assert.assertNull("Unknown length should send whole content", ByteRange.parse("bytes=0-9", -1));
+	}
+
+	@Test
+	public void testParseTooManyRanges() {
+		StringBuilder header = new StringBuilder("bytes=0-0");
+
+		for (int i = 1; i <= ByteRange.MAX_RANGES; i++) {
+			header.append(',').append(i).append('-').append(i);
+		}
+
+		Assert.assertNull("Too many ranges should send whole content", ByteRange.parse(header.toString(), 1000));
+	}
+
+	@Test
+	public void testToContentRange() {
+		ByteRange range = new ByteRange(10, 19);
+		Assert.assertEquals("Incorrect length", 10, range.getLength());
+		Assert.assertEquals("Incorrect content range", "bytes 10-19/100", range.toContentRange(100));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidRange() {
+		new ByteRange(10, 9);
+	}
+}
@@ -0,0 +1,102 @@
+package com.github.bordertech.wcomponents.util;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.PerformanceTests;
+import com.github.bordertech.wcomponents.WText;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares the time taken to read the parameters which are used on every request through {@link ConfigurationProperties}
+ * against reading them directly from the configuration, as was done before values were held in a
+ * {@link ConfigurationSnapshot}.
+ *
+ * @since 1.5.29
+ */
+@Category(PerformanceTests.class)
+public class ConfigurationPropertiesPerformance_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(ConfigurationPropertiesPerformance_Test.class);
+
+	/**
+	 * The number of times to read the parameters.
+	 */
+	private static final int NUM_LOOPS = 200000;
+
+	/**
+	 * The class name used for renderer override lookups.
+	 */
+	private static final String CLASS_NAME = WText.class.getName();
+
+	/**
+	 * Used to stop the JIT from discarding the reads.
+	 */
+	private static int sink;
+
+	@Test
+	public void testReadPerformance() {
+		// Warm up
+		readParameters(true, NUM_LOOPS / 10);
+		readParameters(false, NUM_LOOPS / 10);
+
+		long referenceTime = time(() -> readParameters(true, NUM_LOOPS));
+		long currentTime = time(() -> readParameters(false, NUM_LOOPS));
+
+		LOG.info("Direct read time for " + NUM_LOOPS + " requests: " + (referenceTime / 1000000.0) + "ms");
+		LOG.info("Snapshot read time for " + NUM_LOOPS + " requests: " + (currentTime / 1000000.0) + "ms");
+		LOG.info("Sink " + sink);
+
+		Assert.assertTrue("Snapshot reads should not be slower than reading the configuration directly",
+				currentTime <= referenceTime);
+	}
+
+	/**
+	 * Reads a typical set of per-request parameters the given number of times.
+	 *
+	 * @param reference true to read directly from the configuration.
+	 * @param count the number of times to read the parameters.
+	 */
+	private static void readParameters(final boolean reference, final int count) {
+		int result = 0;
+
+		for (int i = 0; i < count; i++) {
+			if (reference) {
+				Configuration config = Config.getInstance();
+				result += config.getBoolean(ConfigurationProperties.WHITESPACE_FILTER, true) ? 1 : 0;
+				result += config.getBoolean(ConfigurationProperties.DEVELOPER_DEBUG_ENABLED, false) ? 1 : 0;
+				result += config.getBoolean(ConfigurationProperties.DEVELOPER_MODE_CLUSTER_EMULATION, false) ? 1 : 0;
+				result += config.getBoolean(ConfigurationProperties.XSLT_SERVER_SIDE, false) ? 1 : 0;
+				result += config.getBoolean(ConfigurationProperties.I18N_CACHE, true) ? 1 : 0;
+				result += config.getInt(ConfigurationProperties.I18N_CACHE_SIZE, 10000);
+				result += length(config.getString(ConfigurationProperties.RENDERER_OVERRIDE_PREFIX + CLASS_NAME));
+				result += length(config.getString(ConfigurationProperties.FACTORY_PREFIX + CLASS_NAME));
+			} else {
+				result += ConfigurationProperties.getWhitespaceFilter() ? 1 : 0;
+				result += ConfigurationProperties.getDeveloperDebugEnabled() ? 1 : 0;
+				result += ConfigurationProperties.getDeveloperClusterEmulation() ? 1 : 0;
+				result += ConfigurationProperties.getXsltServerSide() ? 1 : 0;
+				result += ConfigurationProperties.getI18nCache() ? 1 : 0;
+				result += ConfigurationProperties.getI18nCacheSize();
+				result += length(ConfigurationProperties.getRendererOverride(CLASS_NAME));
+				result += length(ConfigurationProperties.getFactoryImplementation(CLASS_NAME));
+			}
+		}
+
+		sink += result;
+	}
+
+	/**
+	 * @param value the value to check, may be null.
+	 * @return the length of the value, or zero if null.
+	 */
+	private static int length(final String value) {
+		return value == null ? 0 : value.length();
+	}
+}
@@ -0,0 +1,110 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.util.HashMap;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConfigurationSnapshot}.
+ *
+ * @since 1.5.29
+ */
+public class ConfigurationSnapshot_Test {
+
+	/**
+	 * A parameter which is not otherwise configured.
+	 */
+	private static final String KEY = "bordertech.wcomponents.test.ConfigurationSnapshot_Test";
+
+	@After
+	public void tearDown() {
+		Config.reset();
+	}
+
+	@Test
+	public void testGetInstanceReused() {
+		ConfigurationSnapshot snapshot = ConfigurationSnapshot.getInstance();
+		Assert.assertSame("Snapshot should be reused", snapshot, ConfigurationSnapshot.getInstance());
+	}
+
+	@Test
+	public void testDefaultValues() {
+		ConfigurationSnapshot snapshot = ConfigurationSnapshot.getInstance();
+
+		Assert.assertTrue("Incorrect default boolean", snapshot.getBoolean(KEY + ".boolean", true));
+		Assert.assertNull("Incorrect default Boolean", snapshot.getBoolean(KEY + ".Boolean", (Boolean) null));
+		Assert.assertEquals("Incorrect default int", 42, snapshot.getInt(KEY + ".int", 42));
+		Assert.assertEquals("Incorrect default long", 42L, snapshot.getLong(KEY + ".long", 42L));
+		Assert.assertNull("Incorrect default String", snapshot.getString(KEY + ".String"));
+		Assert.assertEquals("Incorrect default String", "x", snapshot.getString(KEY + ".String2", "x"));
+
+		// Read again, from the snapshot
+		Assert.assertNull("Incorrect cached Boolean", snapshot.getBoolean(KEY + ".Boolean", (Boolean) null));
+		Assert.assertNull("Incorrect cached String", snapshot.getString(KEY + ".String"));
+	}
+
+	@Test
+	public void testValuesConverted() {
+		Config.getInstance().setProperty(KEY + ".boolean", "true");
+		Config.getInstance().setProperty(KEY + ".int", "12");
+		Config.getInstance().setProperty(KEY + ".long", "1234567890123");
+		Config.getInstance().setProperty(KEY + ".String", "abc");
+
+		ConfigurationSnapshot snapshot = ConfigurationSnapshot.getInstance();
+
+		Assert.assertTrue("Incorrect boolean", snapshot.getBoolean(KEY + ".boolean", false));
+		Assert.assertEquals("Incorrect Boolean", Boolean.TRUE, snapshot.getBoolean(KEY + ".boolean", (Boolean) null));
+		Assert.assertEquals("Incorrect int", 12, snapshot.getInt(KEY + ".int", 0));
+		Assert.assertEquals("Incorrect long", 1234567890123L, snapshot.getLong(KEY + ".long", 0L));
+		Assert.assertEquals("Incorrect String", "abc", snapshot.getString(KEY + ".String"));
+	}
+
+	@Test
+	public void testSetPropertyInvalidates() {
+		Assert.assertEquals("Incorrect initial value", 1, ConfigurationSnapshot.getInstance().getInt(KEY, 1));
+
+		Config.getInstance().setProperty(KEY, "2");
+		Assert.assertEquals("Value should be read again after modification", 2,
+				ConfigurationSnapshot.getInstance().getInt(KEY, 1));
+
+		Config.getInstance().clearProperty(KEY);
+		Assert.assertEquals("Value should be read again after being cleared", 1,
+				ConfigurationSnapshot.getInstance().getInt(KEY, 1));
+	}
+
+	@Test
+	public void testNotifyListenersInvalidates() {
+		ConfigurationSnapshot snapshot = ConfigurationSnapshot.getInstance();
+		Config.notifyListeners();
+		Assert.assertNotSame("Snapshot should be discarded after notification", snapshot,
+				ConfigurationSnapshot.getInstance());
+	}
+
+	@Test
+	public void testSetConfiguration() {
+		Configuration config = new MapConfiguration(new HashMap<String, Object>());
+		config.setProperty(KEY, "abc");
+		Config.setConfiguration(config);
+
+		Assert.assertEquals("Value should be read from new configuration", "abc",
+				ConfigurationSnapshot.getInstance().getString(KEY));
+
+		// MapConfiguration is modified without notification, but raises configuration events
+		config.setProperty(KEY, "def");
+		Assert.assertEquals("Value should be read again after configuration event", "def",
+				ConfigurationSnapshot.getInstance().getString(KEY));
+	}
+
+	@Test
+	public void testConfigurationPropertiesUsesSnapshot() {
+		Config.getInstance().setProperty(ConfigurationProperties.WHITESPACE_FILTER, "false");
+		Assert.assertFalse("Incorrect whitespace filter", ConfigurationProperties.getWhitespaceFilter());
+
+		Config.getInstance().setProperty(ConfigurationProperties.WHITESPACE_FILTER, "true");
+		Assert.assertTrue("Whitespace filter should be read again after modification",
+				ConfigurationProperties.getWhitespaceFilter());
+	}
+}
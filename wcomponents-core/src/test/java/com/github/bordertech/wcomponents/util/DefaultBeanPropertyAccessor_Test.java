@@ -0,0 +1,246 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.beanutils.NestedNullException;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DefaultBeanPropertyAccessor}.
+ *
+ * @since 1.5.29
+ */
+public class DefaultBeanPropertyAccessor_Test {
+
+	/**
+	 * The accessor being tested.
+	 */
+	private final BeanPropertyAccessor accessor = new DefaultBeanPropertyAccessor();
+
+	@Test
+	public void testGetProperty() throws Exception {
+		MyBean bean = createBean();
+
+		for (String property : new String[]{"name", "count", "child.name", "child.child", "list[1]", "array[0]",
+			"list[0].name", "map.key", "map(key)", "indexed[1]"}) {
+			Assert.assertEquals("Incorrect value for " + property, PropertyUtils.getProperty(bean, property),
+					accessor.getProperty(bean, property));
+		}
+	}
+
+	@Test
+	public void testSetProperty() throws Exception {
+		MyBean bean = createBean();
+
+		accessor.setProperty(bean, "name", "new");
+		Assert.assertEquals("Incorrect simple property", "new", bean.getName());
+
+		accessor.setProperty(bean, "count", 5);
+		Assert.assertEquals("Incorrect primitive property", 5, bean.getCount());
+
+		accessor.setProperty(bean, "child.name", "new child");
+		Assert.assertEquals("Incorrect nested property", "new child", bean.getChild().getName());
+
+		accessor.setProperty(bean, "list[1]", "B");
+		Assert.assertEquals("Incorrect list property", "B", bean.getList().get(1));
+
+		accessor.setProperty(bean, "array[0]", "A");
+		Assert.assertEquals("Incorrect array property", "A", bean.getArray()[0]);
+
+		accessor.setProperty(bean, "map.key", "new value");
+		Assert.assertEquals("Incorrect map property", "new value", bean.getMap().get("key"));
+
+		accessor.setProperty(bean, "map(other)", "mapped");
+		Assert.assertEquals("Incorrect mapped property", "mapped", bean.getMap().get("other"));
+
+		accessor.setProperty(bean, "size", 7);
+		Assert.assertEquals("Value should be widened as PropertyUtils does", 7L, bean.getSize());
+	}
+
+	@Test
+	public void testGetPropertyOfMap() throws Exception {
+		Map<String, Object> map = new HashMap<>();
+		map.put("name", "value");
+
+		Assert.assertEquals("Incorrect map value", "value", accessor.getProperty(map, "name"));
+		Assert.assertNull("Missing map value should be null", accessor.getProperty(map, "missing"));
+	}
+
+	@Test
+	public void testGetPropertyOfNonPublicClass() throws Exception {
+		Assert.assertEquals("Should read through public interface", "hidden",
+				accessor.getProperty(new HiddenBean(), "name"));
+	}
+
+	@Test(expected = NestedNullException.class)
+	public void testGetNestedNull() throws Exception {
+		MyBean bean = createBean();
+		bean.setChild(null);
+		accessor.getProperty(bean, "child.name");
+	}
+
+	@Test(expected = NestedNullException.class)
+	public void testSetNestedNull() throws Exception {
+		MyBean bean = createBean();
+		bean.setChild(null);
+		accessor.setProperty(bean, "child.name", "x");
+	}
+
+	@Test(expected = NoSuchMethodException.class)
+	public void testGetUnknownProperty() throws Exception {
+		accessor.getProperty(createBean(), "unknown");
+	}
+
+	@Test(expected = NoSuchMethodException.class)
+	public void testSetReadOnlyProperty() throws Exception {
+		accessor.setProperty(createBean(), "readOnly", "x");
+	}
+
+	@Test(expected = InvocationTargetException.class)
+	public void testGetterException() throws Exception {
+		accessor.getProperty(createBean(), "broken");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetWrongType() throws Exception {
+		accessor.setProperty(createBean(), "child", "not a bean");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetNullPrimitive() throws Exception {
+		accessor.setProperty(createBean(), "count", null);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGetIndexOutOfBounds() throws Exception {
+		accessor.getProperty(createBean(), "list[5]");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullBean() throws Exception {
+		accessor.getProperty(null, "name");
+	}
+
+	/**
+	 * @return a populated bean.
+	 */
+	private static MyBean createBean() {
+		MyBean child = new MyBean();
+		child.setName("child");
+
+		MyBean bean = new MyBean();
+		bean.setName("parent");
+		bean.setCount(3);
+		bean.setChild(child);
+		bean.setList(new ArrayList<Object>(Arrays.asList(child, "b")));
+		bean.setArray(new String[]{"a"});
+		bean.getMap().put("key", "value");
+		return bean;
+	}
+
+	/**
+	 * A bean with various types of property.
+	 */
+	public static final class MyBean {
+
+		private String name;
+		private int count;
+		private long size;
+		private MyBean child;
+		private List<Object> list;
+		private String[] array;
+		private final Map<String, Object> map = new HashMap<>();
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(final int count) {
+			this.count = count;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		public void setSize(final long size) {
+			this.size = size;
+		}
+
+		public MyBean getChild() {
+			return child;
+		}
+
+		public void setChild(final MyBean child) {
+			this.child = child;
+		}
+
+		public List<Object> getList() {
+			return list;
+		}
+
+		public void setList(final List<Object> list) {
+			this.list = list;
+		}
+
+		public String[] getArray() {
+			return array;
+		}
+
+		public void setArray(final String[] array) {
+			this.array = array;
+		}
+
+		public Map<String, Object> getMap() {
+			return map;
+		}
+
+		public String getIndexed(final int index) {
+			return "indexed" + index;
+		}
+
+		public String getReadOnly() {
+			return "read only";
+		}
+
+		public String getBroken() {
+			throw new IllegalStateException("Broken");
+		}
+	}
+
+	/**
+	 * An interface for a bean which is not public.
+	 */
+	public interface Named {
+
+		/**
+		 * @return the name.
+		 */
+		String getName();
+	}
+
+	/**
+	 * A bean which is not public.
+	 */
+	private static final class HiddenBean implements Named {
+
+		@Override
+		public String getName() {
+			return "hidden";
+		}
+	}
+}
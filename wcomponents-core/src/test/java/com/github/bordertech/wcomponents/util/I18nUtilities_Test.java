@@ -86,6 +86,20 @@ public class I18nUtilities_Test {
 		Assert.assertEquals("Incorrect parameterised text for locale", "fr_CA arg1", result);
 	}
 
+	@Test
+	public void testGetLocalisedTextNullText() {
+		Assert.assertNull("Null text should give a null result", I18nUtilities.getLocalisedText(PROVIDED_LOCALE, null));
+
+		// With a resource bundle set which does not exist
+		try {
+			Config.getInstance().setProperty(ConfigurationProperties.I18N_RESOURCE_BUNDLE_BASE_NAME, "i18n/missing");
+			Assert.assertNull("Null text should give a null result for a missing bundle",
+					I18nUtilities.getLocalisedText(PROVIDED_LOCALE, null));
+		} finally {
+			Config.reset();
+		}
+	}
+
 	@Test
 	public void testFormatInternalMessage() {
 		// With resource bundle set but no locale-specific text, should drop back to text in messages.properties.
@@ -0,0 +1,181 @@
+package com.github.bordertech.wcomponents.util;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MessageCatalogue}.
+ *
+ * @since 1.5.29
+ */
+public class MessageCatalogue_Test {
+
+	/**
+	 * The test resource bundle base name, configured in wcomponents-test.properties.
+	 */
+	private static final String BASE_NAME = "i18n/test";
+
+	/**
+	 * A locale which has internationalisation provided for tests.
+	 */
+	private static final Locale PROVIDED_LOCALE = new Locale("fr", "CA");
+
+	@Before
+	public void setUp() {
+		MessageCatalogue.clear();
+	}
+
+	@After
+	public void tearDown() {
+		Config.reset();
+		MessageCatalogue.clear();
+	}
+
+	@Test
+	public void testGetText() {
+		Assert.assertEquals("Incorrect text for locale", "fr_CA text",
+				MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "SIMPLE_TEXT"));
+		Assert.assertEquals("Incorrect text for default locale", "default text",
+				MessageCatalogue.getText(BASE_NAME, Locale.GERMAN, "SIMPLE_TEXT"));
+		Assert.assertNull("Missing key should return null",
+				MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "MessageCatalogue_Test.missing"));
+		Assert.assertNull("Missing bundle should return null",
+				MessageCatalogue.getText("i18n/MessageCatalogue_Test", PROVIDED_LOCALE, "SIMPLE_TEXT"));
+	}
+
+	@Test
+	public void testGetTextCached() {
+		long hits = MessageCatalogue.getHitCount();
+		long misses = MessageCatalogue.getMissCount();
+
+		MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "SIMPLE_TEXT");
+		Assert.assertEquals("First lookup should miss", misses + 1, MessageCatalogue.getMissCount());
+
+		Assert.assertEquals("Incorrect cached text", "fr_CA text",
+				MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "SIMPLE_TEXT"));
+		Assert.assertEquals("Second lookup should hit", hits + 1, MessageCatalogue.getHitCount());
+		Assert.assertEquals("Second lookup should not miss", misses + 1, MessageCatalogue.getMissCount());
+	}
+
+	@Test
+	public void testGetTextMissingCached() {
+		MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "MessageCatalogue_Test.missing");
+		long hits = MessageCatalogue.getHitCount();
+
+		Assert.assertNull("Missing key should return null",
+				MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "MessageCatalogue_Test.missing"));
+		Assert.assertEquals("Missing key should be cached", hits + 1, MessageCatalogue.getHitCount());
+	}
+
+	@Test
+	public void testGetTextBaseNameChanged() {
+		MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "SIMPLE_TEXT");
+
+		Assert.assertNull("Messages should not be shared between bundles",
+				MessageCatalogue.getText("i18n/MessageCatalogue_Test", PROVIDED_LOCALE, "SIMPLE_TEXT"));
+	}
+
+	@Test
+	public void testConfigChange() {
+		MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "SIMPLE_TEXT");
+		long misses = MessageCatalogue.getMissCount();
+
+		Config.notifyListeners();
+
+		MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "SIMPLE_TEXT");
+		Assert.assertEquals("Cache should have been cleared by the configuration change", misses + 1,
+				MessageCatalogue.getMissCount());
+	}
+
+	@Test
+	public void testCacheDisabled() {
+		Config.getInstance().setProperty(ConfigurationProperties.I18N_CACHE, "false");
+		long hits = MessageCatalogue.getHitCount();
+		long formatHits = MessageCatalogue.getFormatHitCount();
+
+		for (int i = 0; i < 2; i++) {
+			Assert.assertEquals("Incorrect text", "fr_CA text",
+					MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "SIMPLE_TEXT"));
+			Assert.assertEquals("Incorrect formatted text", "a 1", MessageCatalogue.format("{0} {1}", "a", 1));
+		}
+
+		Assert.assertEquals("Cache should not have been used", hits, MessageCatalogue.getHitCount());
+		Assert.assertEquals("Format cache should not have been used", formatHits,
+				MessageCatalogue.getFormatHitCount());
+	}
+
+	@Test
+	public void testCacheSize() {
+		Config.getInstance().setProperty(ConfigurationProperties.I18N_CACHE_SIZE, "1");
+
+		MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "SIMPLE_TEXT");
+		MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "PARAMETERISED_TEXT");
+		long misses = MessageCatalogue.getMissCount();
+
+		Assert.assertEquals("Incorrect text", "fr_CA {0}",
+				MessageCatalogue.getText(BASE_NAME, PROVIDED_LOCALE, "PARAMETERISED_TEXT"));
+		Assert.assertEquals("Text should not have been cached once the cache is full", misses + 1,
+				MessageCatalogue.getMissCount());
+	}
+
+	@Test
+	public void testFormat() {
+		long formatMisses = MessageCatalogue.getFormatMissCount();
+		long formatHits = MessageCatalogue.getFormatHitCount();
+
+		Assert.assertEquals("Incorrect formatted text", "default arg1", MessageCatalogue.format("default {0}", "arg1"));
+		Assert.assertEquals("Incorrect formatted text", "default arg2", MessageCatalogue.format("default {0}", "arg2"));
+
+		Assert.assertEquals("Pattern should have been parsed once", formatMisses + 1,
+				MessageCatalogue.getFormatMissCount());
+		Assert.assertEquals("Pattern should have been reused", formatHits + 1, MessageCatalogue.getFormatHitCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFormatInvalid() {
+		MessageCatalogue.format("{0", "arg1");
+	}
+
+	@Test
+	public void testFormatConcurrent() throws Exception {
+		final String pattern = "{0,number,#.##} {1,choice,0#none|1#one|1<many} {2}";
+		final int numThreads = 8;
+
+		List<Callable<Boolean>> tasks = new ArrayList<>();
+		for (int i = 0; i < numThreads; i++) {
+			final int thread = i;
+			tasks.add(new Callable<Boolean>() {
+				@Override
+				public Boolean call() {
+					for (int j = 0; j < 1000; j++) {
+						double number = thread + j / 100.0;
+						String expected = MessageFormat.format(pattern, number, j % 3, thread);
+						if (!expected.equals(MessageCatalogue.format(pattern, number, j % 3, thread))) {
+							return false;
+						}
+					}
+					return true;
+				}
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			for (Future<Boolean> result : executor.invokeAll(tasks)) {
+				Assert.assertTrue("Incorrect message formatted during concurrent use", result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
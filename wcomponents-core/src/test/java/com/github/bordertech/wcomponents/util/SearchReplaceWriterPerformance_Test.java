@@ -0,0 +1,111 @@
+package com.github.bordertech.wcomponents.util;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.PerformanceTests;
+import java.io.IOException;
+import java.io.Writer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares the performance of {@link AbstractSearchReplaceWriter} against the original buffer based implementation,
+ * using a large template with a number of tagged components.
+ *
+ * @since 1.5.29
+ */
+@Category(PerformanceTests.class)
+public class SearchReplaceWriterPerformance_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(SearchReplaceWriterPerformance_Test.class);
+
+	/**
+	 * The number of times to write the template.
+	 */
+	private static final int NUM_LOOPS = 200;
+
+	/**
+	 * The template component keys, in the same form as the template renderers use.
+	 */
+	private static final String[] SEARCH = buildSearch(20);
+
+	/**
+	 * A large template containing the component keys.
+	 */
+	private static final char[] TEMPLATE = buildTemplate(200000);
+
+	@Test
+	public void testSearchReplacePerformance() {
+		// Warm up
+		writeTemplate(false, 10);
+		writeTemplate(true, 10);
+
+		long referenceTime = time(() -> writeTemplate(true, NUM_LOOPS)) / NUM_LOOPS;
+		long currentTime = time(() -> writeTemplate(false, NUM_LOOPS)) / NUM_LOOPS;
+
+		LOG.info("Original search replace time: " + (referenceTime / 1000000.0) + "ms");
+		LOG.info("Search replace time: " + (currentTime / 1000000.0) + "ms");
+
+		Assert.assertTrue("Search replace should not be slower than the original implementation",
+				currentTime <= referenceTime);
+	}
+
+	/**
+	 * Writes the template the given number of times.
+	 *
+	 * @param reference true to use the original implementation
+	 * @param count the number of times to write the template
+	 */
+	private static void writeTemplate(final boolean reference, final int count) {
+		try {
+			for (int i = 0; i < count; i++) {
+				Writer writer = reference
+						? new ReferenceSearchReplaceWriter(SEARCH, new NullWriter())
+						: new AbstractSearchReplaceWriter(SEARCH, new NullWriter()) {
+					@Override
+					protected void doReplace(final String search, final Writer backing) throws IOException {
+						backing.write(search);
+					}
+				};
+				// Write in chunks, as a template engine would
+				for (int off = 0; off < TEMPLATE.length; off += 512) {
+					writer.write(TEMPLATE, off, Math.min(512, TEMPLATE.length - off));
+				}
+				writer.close();
+			}
+		} catch (IOException e) {
+			throw new SystemException(e);
+		}
+	}
+
+	/**
+	 * @param count the number of keys
+	 * @return the template component keys
+	 */
+	private static String[] buildSearch(final int count) {
+		String[] search = new String[count];
+		for (int i = 0; i < count; i++) {
+			search[i] = "[WC-TemplateLayout-component" + i + "]";
+		}
+		return search;
+	}
+
+	/**
+	 * @param length the approximate length of the template
+	 * @return a template containing the component keys
+	 */
+	private static char[] buildTemplate(final int length) {
+		StringBuilder buf = new StringBuilder(length + 100);
+		int key = 0;
+		while (buf.length() < length) {
+			buf.append("<div class=\"row\"><span>[Label] text ").append(buf.length()).append("</span>");
+			buf.append(SEARCH[key++ % SEARCH.length]).append("</div>\n");
+		}
+		return buf.toString().toCharArray();
+	}
+}
@@ -260,6 +260,68 @@ public class TreeUtil_Test {
 				TreeUtil.getContextForId(root, repeatedComponent.getId()));
 	}
 
+	@Test
+	public void testGetComponentWithContextForIdIndexed() {
+		UIContext uic = UIContextHolder.getCurrent();
+		UIContext row2Context = repeaterChild.getRowContext("2");
+		String row2Id = getId(row2Context, repeatedComponent);
+
+		ComponentWithContext result = TreeUtil.getComponentWithContextForId(root, grandChild.getId(), true);
+		Assert.assertSame("Incorrect component returned for grandChild", grandChild, result.getComponent());
+		Assert.assertSame("Incorrect context returned for grandChild", uic, result.getContext());
+
+		result = TreeUtil.getComponentWithContextForId(root, row2Id, true);
+		Assert.assertSame("Incorrect component returned for repeatedComponent row 2", repeatedComponent,
+				result.getComponent());
+		Assert.assertSame("Incorrect context returned for repeatedComponent row 2", row2Context, result.getContext());
+		Assert.assertSame("Incorrect closest context for repeatedComponent row 2", row2Context,
+				TreeUtil.getClosestContextForId(root, row2Id));
+
+		// Visibility is checked on each lookup
+		containerChild.setVisible(false);
+		Assert.assertNull("Invisible grandChild should not be found",
+				TreeUtil.getComponentWithContextForId(root, grandChild.getId(), true));
+		Assert.assertSame("Invisible grandChild should be found when not visible only", grandChild,
+				TreeUtil.getComponentWithId(root, grandChild.getId(), false));
+		containerChild.setVisible(true);
+
+		Assert.assertNotNull("Visible card should be found", TreeUtil.getComponentWithId(root, card1.getId(), true));
+		Assert.assertNull("Invisible card should not be found", TreeUtil.getComponentWithId(root, card2.getId(), true));
+		Assert.assertSame("Invisible card should be found when not visible only", card2,
+				TreeUtil.getComponentWithId(root, card2.getId(), false));
+
+		// Removed rows should not be found
+		repeaterChild.setData(Arrays.asList(new String[]{"1", "3"}));
+		Assert.assertNull("Removed row should not be found", TreeUtil.getComponentWithContextForId(root, row2Id, false));
+
+		// Added components should be found
+		WText added = new WText();
+		containerChild.add(added);
+		Assert.assertSame("Added component should be found", added, TreeUtil.getComponentWithId(root, added.getId()));
+
+		// Removed components should not be found
+		String grandChildId = grandChild.getId();
+		containerChild.remove(grandChild);
+		Assert.assertNull("Removed component should not be found", TreeUtil.getComponentWithId(root, grandChildId));
+	}
+
+	@Test
+	public void testIsIdFocusable() {
+		Assert.assertTrue("Visible component should be focusable", TreeUtil.isIdFocusable(root, grandChild.getId()));
+
+		containerChild.setHidden(true);
+		Assert.assertFalse("Component in hidden container should not be focusable",
+				TreeUtil.isIdFocusable(root, grandChild.getId()));
+		containerChild.setHidden(false);
+
+		grandChild.setVisible(false);
+		Assert.assertFalse("Invisible component should not be focusable", TreeUtil.isIdFocusable(root, grandChild.getId()));
+		grandChild.setVisible(true);
+
+		Assert.assertFalse("Invisible card should not be focusable", TreeUtil.isIdFocusable(root, card2.getId()));
+		Assert.assertFalse("Unknown id should not be focusable", TreeUtil.isIdFocusable(root, "unknown"));
+	}
+
 	@Test
 	public void testFindWComponent() {
 		UIContext uic = UIContextHolder.getCurrent();
@@ -298,6 +360,23 @@ public class TreeUtil_Test {
 		Assert.assertNull("Should not have a result for an invalid path", result);
 	}
 
+	/**
+	 * Retrieves the id of a component in the given context.
+	 *
+	 * @param uic the context to retrieve the id in.
+	 * @param component the component to retrieve the id for.
+	 * @return the component's id in the given context.
+	 */
+	private String getId(final UIContext uic, final WComponent component) {
+		UIContextHolder.pushContext(uic);
+
+		try {
+			return component.getId();
+		} finally {
+			UIContextHolder.popContext();
+		}
+	}
+
 	/**
 	 * Sets the given context to be the active one.
 	 *
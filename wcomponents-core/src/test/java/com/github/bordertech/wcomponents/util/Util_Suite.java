@@ -1,5 +1,6 @@
 package com.github.bordertech.wcomponents.util;
 
+import com.github.bordertech.wcomponents.util.thumbnail.Thumbnail_Suite;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -13,8 +14,13 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	AbstractComparator_Test.class,
+	AbstractSearchReplaceWriter_Test.class,
 	AbstractTreeNode_Test.class,
 	Base64Util_Test.class,
+	ByteRange_Test.class,
+	ConfigurationPropertiesPerformance_Test.class,
+	ConfigurationSnapshot_Test.class,
+	DefaultBeanPropertyAccessor_Test.class,
 	DefaultInternalConfiguration_Test.class,
 	Duplet_Test.class,
 	EmptyIterator_Test.class,
@@ -25,17 +31,21 @@ import org.junit.runners.Suite;
 	HtmlSanitizerUtil_Test.class,
 	I18nUtilities_Test.class,
 	LookupTableHelper_Test.class,
+	MessageCatalogue_Test.class,
 	// Needs to be excluded for Java 9 and above until Reflection fixed, so is included specifically in surefire plugin for java 8 testing
 	//	ObjectGraphDump_Test.class,
 	ObjectGraphNode_Test.class,
 	ReflectionUtil_Test.class,
+	SearchReplaceWriterPerformance_Test.class,
 	StepCountUtil_Test.class,
 	ThemeUtil_Test.class,
 	TreeItemUtil_Test.class,
 	TreeUtil_Test.class,
 	Triplet_Test.class,
 	Util_Test.class,
-	WhiteSpaceFilterPrintWriter_Test.class
+	WhiteSpaceFilterPerformance_Test.class,
+	WhiteSpaceFilterPrintWriter_Test.class,
+	Thumbnail_Suite.class
 })
 public class Util_Suite {
 }
@@ -0,0 +1,139 @@
+package com.github.bordertech.wcomponents.util;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.PerformanceTests;
+import java.io.PrintWriter;
+import java.io.Writer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares the throughput of {@link WhiteSpaceFilterPrintWriter} against the original implementation, which passed
+ * each character through the state machine and wrote it individually.
+ *
+ * @since 1.5.29
+ */
+@Category(PerformanceTests.class)
+public class WhiteSpaceFilterPerformance_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(WhiteSpaceFilterPerformance_Test.class);
+
+	/**
+	 * The number of times to write the page.
+	 */
+	private static final int NUM_LOOPS = 200;
+
+	/**
+	 * A large page containing indented markup, text and whitespace sensitive elements.
+	 */
+	private static final String PAGE = buildPage(200000);
+
+	@Test
+	public void testFilterPerformance() {
+		// Warm up
+		writePage(true, 20);
+		writePage(false, 20);
+
+		long referenceTime = time(() -> writePage(true, NUM_LOOPS)) / NUM_LOOPS;
+		long currentTime = time(() -> writePage(false, NUM_LOOPS)) / NUM_LOOPS;
+
+		LOG.info("Original filter time for " + PAGE.length() + " chars: " + (referenceTime / 1000000.0) + "ms");
+		LOG.info("Filter time for " + PAGE.length() + " chars: " + (currentTime / 1000000.0) + "ms");
+
+		Assert.assertTrue("Filter should not be slower than the original implementation",
+				currentTime <= referenceTime);
+	}
+
+	/**
+	 * Writes the page the given number of times.
+	 *
+	 * @param reference true to use the original implementation
+	 * @param count the number of times to write the page
+	 */
+	private static void writePage(final boolean reference, final int count) {
+		for (int i = 0; i < count; i++) {
+			PrintWriter writer = reference
+					? new ReferenceWhiteSpaceFilterPrintWriter(new NullWriter())
+					: new WhiteSpaceFilterPrintWriter(new NullWriter());
+
+			// Write in chunks, as the renderers would
+			for (int off = 0; off < PAGE.length(); off += 256) {
+				writer.write(PAGE, off, Math.min(256, PAGE.length() - off));
+			}
+			writer.close();
+		}
+	}
+
+	/**
+	 * @param length the approximate length of the page
+	 * @return a page to filter
+	 */
+	private static String buildPage(final int length) {
+		StringBuilder buf = new StringBuilder(length + 200);
+		int row = 0;
+		while (buf.length() < length) {
+			buf.append("<ui:panel id=\"panel").append(row).append("\">\n");
+			buf.append("\t\t<ui:text class=\"label\">  Some label text ").append(row).append("  </ui:text>\n");
+			buf.append("\t\t<ui:textfield id=\"field").append(row).append("\" size=\"20\">value</ui:textfield>\n");
+			if (row % 10 == 0) {
+				buf.append("\t\t<pre>  preformatted\n  text  </pre>\n");
+			}
+			buf.append("\t</ui:panel>\n");
+			row++;
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * The original implementation of the filter, which writes each character individually.
+	 */
+	private static final class ReferenceWhiteSpaceFilterPrintWriter extends PrintWriter {
+
+		/**
+		 * The current state of the state machine.
+		 */
+		private final WhiteSpaceFilterStateMachine stateMachine = new WhiteSpaceFilterStateMachine();
+
+		/**
+		 * @param writer The Writer that will receive the filtered output
+		 */
+		private ReferenceWhiteSpaceFilterPrintWriter(final Writer writer) {
+			super(writer);
+		}
+
+		@Override
+		public void write(final int c) {
+			WhiteSpaceFilterStateMachine.StateChange change = stateMachine.nextState((char) c);
+
+			if (change.getOutputBytes() != null) {
+				for (int i = 0; i < change.getOutputBytes().length; i++) {
+					super.write(change.getOutputBytes()[i]);
+				}
+			}
+
+			if (!change.isSuppressCurrentChar()) {
+				super.write(c);
+			}
+		}
+
+		@Override
+		public void write(final char[] buf, final int off, final int len) {
+			for (int i = off; i < off + len; i++) {
+				write(buf[i]);
+			}
+		}
+
+		@Override
+		public void write(final String string, final int off, final int len) {
+			for (int i = off; i < off + len; i++) {
+				write(string.charAt(i));
+			}
+		}
+	}
+}
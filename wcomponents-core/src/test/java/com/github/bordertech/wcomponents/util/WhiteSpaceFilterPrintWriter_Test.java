@@ -1,6 +1,9 @@
 package com.github.bordertech.wcomponents.util;
 
+import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Random;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.junit.Assert;
@@ -24,6 +27,19 @@ public class WhiteSpaceFilterPrintWriter_Test {
 	 */
 	private static final String ERROR_MESSAGE = "Incorrect filter result for: \"";
 
+	/**
+	 * Tokens used to build the differential test corpus.
+	 */
+	private static final String[] CORPUS_TOKENS = {
+		"<ui:root>", "</ui:root>", "<p>", "</p>", "<pre>", "</pre>", "<PRE style='x'>", "</PRE >",
+		"<script type=\"text/javascript\">", "</script>", "</SCRIPT  >", "<textarea rows='2'>", "</textarea>",
+		"<TextArea>", "</TEXTAREA>", "<ui:text>", "</ui:text>", "<ui:textarea a=\"'\">", "</ui:textarea>",
+		"<ui:message>", "</ui:message>", "<ui:error>", "</ui:error>", "<ui:foo>", "</ui:foo >", "<!-- comment -->",
+		"<!-- - -- -->", "<!>", "<!-x>", "<![CDATA[ <pre> ]]>", "<![CDAT>", "]]>", "<br/>", "< p>", "<", ">", "'", "\"",
+		" ", "  ", "\t", "\n", "\r\n", " \t \n ", "foo", "bar baz", "-", "--", "!", "/", "\u00e9t\u00e9",
+		"\u4e2d\u6587", "\uD83D\uDE00"
+	};
+
 	@Test
 	public void testSimpleHTML1() {
 		//Shouldn't strip anything
@@ -248,6 +264,115 @@ public class WhiteSpaceFilterPrintWriter_Test {
 		Assert.assertEquals(ERROR_MESSAGE + input + '"', expected, filter(input));
 	}
 
+	@Test
+	public void testDifferentialCorpus() {
+		Random random = new Random(42);
+
+		for (int i = 0; i < 500; i++) {
+			String input = buildCorpusDocument(random);
+			String expected = filterByChar(input);
+
+			Assert.assertEquals(ERROR_MESSAGE + input + '"', expected, filter(input));
+			Assert.assertEquals(ERROR_MESSAGE + input + '"', expected, filterInChunks(input, random));
+		}
+	}
+
+	@Test
+	public void testWriteAfterClose() {
+		WhiteSpaceFilterPrintWriter filter = new WhiteSpaceFilterPrintWriter(new StringWriter());
+		filter.close();
+		filter.write("<ui:root>  foo  </ui:root>");
+
+		Assert.assertTrue("Writing to a closed writer should set the error state", filter.checkError());
+	}
+
+	/**
+	 * Builds a random document for the differential test corpus.
+	 *
+	 * @param random the random number generator to use.
+	 * @return a random document.
+	 */
+	private static String buildCorpusDocument(final Random random) {
+		StringBuilder document = new StringBuilder();
+		int numTokens = random.nextInt(200);
+
+		for (int i = 0; i < numTokens; i++) {
+			document.append(CORPUS_TOKENS[random.nextInt(CORPUS_TOKENS.length)]);
+		}
+
+		return document.toString();
+	}
+
+	/**
+	 * Filters the input by passing each character through {@link WhiteSpaceFilterStateMachine#nextState(char)}, as
+	 * the filter originally did.
+	 *
+	 * @param input the test input
+	 * @return the filtered result
+	 */
+	private static String filterByChar(final String input) {
+		WhiteSpaceFilterStateMachine stateMachine = new WhiteSpaceFilterStateMachine();
+		StringBuilder output = new StringBuilder();
+
+		for (int i = 0; i < input.length(); i++) {
+			char c = input.charAt(i);
+			WhiteSpaceFilterStateMachine.StateChange change = stateMachine.nextState(c);
+
+			if (change.getOutputBytes() != null) {
+				for (byte b : change.getOutputBytes()) {
+					output.append((char) b);
+				}
+			}
+
+			if (!change.isSuppressCurrentChar()) {
+				output.append(c);
+			}
+		}
+
+		return output.toString();
+	}
+
+	/**
+	 * Filters the input, writing it in randomly sized chunks using each of the write methods.
+	 *
+	 * @param input the test input
+	 * @param random the random number generator to use.
+	 * @return the filtered result
+	 */
+	private static String filterInChunks(final String input, final Random random) {
+		StringWriter stringWriter = new StringWriter();
+		Writer filter = new WhiteSpaceFilterPrintWriter(stringWriter);
+		char[] chars = input.toCharArray();
+
+		try {
+			for (int off = 0; off < chars.length;) {
+				int len = Math.min(chars.length - off, 1 + random.nextInt(20));
+
+				switch (random.nextInt(3)) {
+					case 0:
+						filter.write(chars, off, len);
+						break;
+					case 1:
+						filter.write(input, off, len);
+						break;
+					default:
+						for (int i = off; i < off + len; i++) {
+							filter.write(chars[i]);
+						}
+						break;
+				}
+
+				off += len;
+			}
+
+			filter.close();
+		} catch (IOException e) {
+			throw new SystemException(e);
+		}
+
+		return stringWriter.toString();
+	}
+
 	/**
 	 * @param input the test input
 	 * @return the filtered result
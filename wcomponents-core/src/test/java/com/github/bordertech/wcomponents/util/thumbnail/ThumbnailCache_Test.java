@@ -0,0 +1,123 @@
+package com.github.bordertech.wcomponents.util.thumbnail;
+
+import com.github.bordertech.wcomponents.Image;
+import com.github.bordertech.wcomponents.file.FileItemWrap;
+import com.github.bordertech.wcomponents.util.Config;
+import com.github.bordertech.wcomponents.util.ConfigurationProperties;
+import com.github.bordertech.wcomponents.util.mock.MockFileItem;
+import java.awt.Dimension;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ThumbnailCache}.
+ *
+ * @since 1.5.29
+ */
+public class ThumbnailCache_Test {
+
+	@After
+	public void resetConfig() {
+		Config.reset();
+	}
+
+	@Test
+	public void testPrefetch() throws IOException {
+		FileItemWrap file = createFile("image/jpeg");
+		int size = ThumbnailCache.size();
+
+		Assert.assertTrue("Image thumbnail should be created in the background", ThumbnailCache.prefetch(file, null));
+		Assert.assertEquals("Thumbnail should be held", size + 1, ThumbnailCache.size());
+
+		Image thumbnail = ThumbnailCache.getThumbnail(file, null);
+		Assert.assertEquals("Incorrect thumbnail", "image/jpeg", thumbnail.getMimeType());
+		Assert.assertNotSame("Should not be the default thumbnail", ThumbnailUtil.THUMBNAIL_IMAGE, thumbnail);
+		Assert.assertEquals("Thumbnail should no longer be held", size, ThumbnailCache.size());
+	}
+
+	@Test
+	public void testPrefetchNotImage() throws IOException {
+		FileItemWrap file = createFile("application/pdf");
+		Assert.assertFalse("Thumbnail of file which is not an image should not be created",
+				ThumbnailCache.prefetch(file, null));
+		Assert.assertSame("Incorrect thumbnail", ThumbnailUtil.THUMBNAIL_PDF, ThumbnailCache.getThumbnail(file, null));
+	}
+
+	@Test
+	public void testGetThumbnailDifferentSize() throws IOException {
+		FileItemWrap file = createFile("image/jpeg");
+		int size = ThumbnailCache.size();
+		ThumbnailCache.prefetch(file, null);
+
+		Image thumbnail = ThumbnailCache.getThumbnail(file, new Dimension(10, 10));
+		Assert.assertNotNull("Thumbnail should be created", thumbnail);
+		Assert.assertEquals("Thumbnail should no longer be held", size, ThumbnailCache.size());
+	}
+
+	@Test
+	public void testGetThumbnailNotPrefetched() throws IOException {
+		FileItemWrap file = createFile("image/png");
+		Assert.assertNotNull("Thumbnail should be created", ThumbnailCache.getThumbnail(file, null));
+	}
+
+	@Test
+	public void testRemove() throws IOException {
+		FileItemWrap file = createFile("image/jpeg");
+		int size = ThumbnailCache.size();
+
+		ThumbnailCache.prefetch(file, null);
+		ThumbnailCache.remove(file);
+		Assert.assertEquals("Thumbnail should be removed", size, ThumbnailCache.size());
+	}
+
+	@Test
+	public void testCacheFullDiscardsOldest() throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.THUMBNAIL_CACHE_SIZE, "2");
+		FileItemWrap first = createFile("image/jpeg");
+		FileItemWrap second = createFile("image/jpeg");
+		FileItemWrap third = createFile("image/jpeg");
+
+		try {
+			Assert.assertTrue("First thumbnail should be created in the background",
+					ThumbnailCache.prefetch(first, null));
+			Assert.assertTrue("Second thumbnail should be created in the background",
+					ThumbnailCache.prefetch(second, null));
+			Assert.assertTrue("Thumbnail should still be created in the background when the cache is full",
+					ThumbnailCache.prefetch(third, null));
+			Assert.assertEquals("Incorrect number of thumbnails held", 2, ThumbnailCache.size());
+
+			// Discarding the oldest thumbnail leaves the others to be retrieved
+			ThumbnailCache.getThumbnail(first, null);
+			Assert.assertEquals("Oldest thumbnail should have been discarded", 2, ThumbnailCache.size());
+		} finally {
+			ThumbnailCache.remove(second);
+			ThumbnailCache.remove(third);
+		}
+	}
+
+	@Test
+	public void testTimeout() throws IOException {
+		Config.getInstance().setProperty(ConfigurationProperties.THUMBNAIL_CACHE_TIMEOUT, "0");
+		FileItemWrap file = createFile("image/jpeg");
+		int size = ThumbnailCache.size();
+
+		ThumbnailCache.prefetch(file, null);
+		Assert.assertEquals("Expired thumbnail should be discarded", size, ThumbnailCache.size());
+		Assert.assertNotNull("Thumbnail should be created when requested", ThumbnailCache.getThumbnail(file, null));
+	}
+
+	/**
+	 * @param mimeType the file mime type
+	 * @return an uploaded file
+	 * @throws IOException if the image can not be created
+	 */
+	private static FileItemWrap createFile(final String mimeType) throws IOException {
+		MockFileItem item = new MockFileItem();
+		item.setName("test");
+		item.setContentType(mimeType);
+		item.set(ThumbnailUtil_Test.createImage(200, 100, "image/png".equals(mimeType) ? "png" : "jpeg"));
+		return new FileItemWrap(item);
+	}
+}
@@ -0,0 +1,126 @@
+package com.github.bordertech.wcomponents.util.thumbnail;
+
+import com.github.bordertech.wcomponents.AbstractWComponentTestCase;
+import com.github.bordertech.wcomponents.PerformanceTests;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Compares the time taken to create thumbnails of large JPEG and PNG images using {@link ThumbnailUtil} against
+ * reading the full image and scaling it with {@link Image#getScaledInstance(int, int, int)}, as was done before
+ * thumbnails were read subsampled and scaled progressively.
+ *
+ * @since 1.5.29
+ */
+@Category(PerformanceTests.class)
+public class ThumbnailUtilPerformance_Test extends AbstractWComponentTestCase {
+
+	/**
+	 * The logger instance for this class.
+	 */
+	private static final Log LOG = LogFactory.getLog(ThumbnailUtilPerformance_Test.class);
+
+	/**
+	 * The width of the images.
+	 */
+	private static final int WIDTH = 4000;
+
+	/**
+	 * The height of the images.
+	 */
+	private static final int HEIGHT = 3000;
+
+	/**
+	 * The number of thumbnails to create.
+	 */
+	private static final int NUM_LOOPS = 3;
+
+	/**
+	 * The default thumbnail size.
+	 */
+	private static final Dimension SIZE = new Dimension(-1, 64);
+
+	@Test
+	public void testJpegPerformance() throws IOException {
+		assertPerformance("jpeg", ThumbnailUtil_Test.createImage(WIDTH, HEIGHT, "jpeg"));
+	}
+
+	@Test
+	public void testPngPerformance() throws IOException {
+		assertPerformance("png", ThumbnailUtil_Test.createImage(WIDTH, HEIGHT, "png"));
+	}
+
+	/**
+	 * @param format the image format
+	 * @param bytes the encoded image
+	 */
+	private void assertPerformance(final String format, final byte[] bytes) {
+		String mimeType = "image/" + format;
+
+		// Warm up
+		createReferenceThumbnails(bytes, 1);
+		createThumbnails(bytes, mimeType, 1);
+
+		long referenceTime = time(() -> createReferenceThumbnails(bytes, NUM_LOOPS));
+		long currentTime = time(() -> createThumbnails(bytes, mimeType, NUM_LOOPS));
+
+		LOG.info("Full read and smooth scale time for " + NUM_LOOPS + " " + format + " thumbnails of " + WIDTH + "x"
+				+ HEIGHT + ": " + (referenceTime / 1000000.0) + "ms");
+		LOG.info("Subsampled read and progressive scale time for " + NUM_LOOPS + " " + format + " thumbnails of "
+				+ WIDTH + "x" + HEIGHT + ": " + (currentTime / 1000000.0) + "ms");
+
+		Assert.assertTrue("Creating thumbnails should not be slower than a full read and smooth scale",
+				currentTime <= referenceTime);
+	}
+
+	/**
+	 * @param bytes the encoded image
+	 * @param mimeType the image mime type
+	 * @param count the number of thumbnails to create
+	 */
+	private static void createThumbnails(final byte[] bytes, final String mimeType, final int count) {
+		for (int i = 0; i < count; i++) {
+			com.github.bordertech.wcomponents.Image thumbnail = ThumbnailUtil.createThumbnail(
+					new ByteArrayInputStream(bytes), "test", SIZE, mimeType);
+			Assert.assertNotSame("Thumbnail should be created", ThumbnailUtil.THUMBNAIL_IMAGE, thumbnail);
+		}
+	}
+
+	/**
+	 * A copy of the thumbnail creation which reads the full image and scales it with a smooth scale.
+	 *
+	 * @param bytes the encoded image
+	 * @param count the number of thumbnails to create
+	 */
+	private static void createReferenceThumbnails(final byte[] bytes, final int count) {
+		try {
+			for (int i = 0; i < count; i++) {
+				BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+				Image scaledImage = image.getScaledInstance(SIZE.width, SIZE.height, Image.SCALE_SMOOTH);
+
+				BufferedImage bufferedImage = new BufferedImage(scaledImage.getWidth(null), scaledImage.getHeight(null),
+						BufferedImage.TYPE_INT_RGB);
+				Graphics2D graphics = bufferedImage.createGraphics();
+				graphics.drawImage(scaledImage, 0, 0, null);
+				graphics.dispose();
+
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				ImageIO.write(bufferedImage, "jpeg", out);
+				image.flush();
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
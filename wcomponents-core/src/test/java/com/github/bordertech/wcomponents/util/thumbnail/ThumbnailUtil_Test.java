@@ -0,0 +1,104 @@
+package com.github.bordertech.wcomponents.util.thumbnail;
+
+import com.github.bordertech.wcomponents.Image;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ThumbnailUtil}.
+ *
+ * @since 1.5.29
+ */
+public class ThumbnailUtil_Test {
+
+	@Test
+	public void testCreateThumbnailDefaultSize() throws IOException {
+		Image thumbnail = createThumbnail(createImage(400, 300, "jpeg"), "image/jpeg", null);
+
+		Assert.assertEquals("Thumbnail should be a JPEG", "image/jpeg", thumbnail.getMimeType());
+		assertSize(thumbnail, 85, 64);
+	}
+
+	@Test
+	public void testCreateThumbnailScaledWidth() throws IOException {
+		Image thumbnail = createThumbnail(createImage(400, 300, "png"), "image/png", new Dimension(32, -1));
+		assertSize(thumbnail, 32, 24);
+	}
+
+	@Test
+	public void testCreateThumbnailFixedSize() throws IOException {
+		Image thumbnail = createThumbnail(createImage(1000, 200, "jpeg"), "image/jpeg", new Dimension(50, 40));
+		assertSize(thumbnail, 50, 40);
+	}
+
+	@Test
+	public void testCreateThumbnailSmallImage() throws IOException {
+		Image thumbnail = createThumbnail(createImage(20, 10, "png"), "image/png", null);
+		assertSize(thumbnail, 128, 64);
+	}
+
+	@Test
+	public void testCreateThumbnailInvalidImage() {
+		Image thumbnail = createThumbnail(new byte[]{1, 2, 3}, "image/jpeg", null);
+		Assert.assertSame("Invalid image should use the default image thumbnail", ThumbnailUtil.THUMBNAIL_IMAGE,
+				thumbnail);
+	}
+
+	@Test
+	public void testCreateThumbnailNotImage() {
+		Image thumbnail = createThumbnail(new byte[]{1, 2, 3}, "application/pdf", null);
+		Assert.assertSame("Incorrect default thumbnail", ThumbnailUtil.THUMBNAIL_PDF, thumbnail);
+	}
+
+	/**
+	 * @param bytes the file content
+	 * @param mimeType the file mime type
+	 * @param size the thumbnail size
+	 * @return the thumbnail
+	 */
+	private static Image createThumbnail(final byte[] bytes, final String mimeType, final Dimension size) {
+		return ThumbnailUtil.createThumbnail(new ByteArrayInputStream(bytes), "test", size, mimeType);
+	}
+
+	/**
+	 * @param thumbnail the thumbnail to check
+	 * @param width the expected width
+	 * @param height the expected height
+	 * @throws IOException if the thumbnail can not be read
+	 */
+	private static void assertSize(final Image thumbnail, final int width, final int height) throws IOException {
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail.getBytes()));
+		Assert.assertEquals("Incorrect thumbnail width", width, image.getWidth());
+		Assert.assertEquals("Incorrect thumbnail height", height, image.getHeight());
+	}
+
+	/**
+	 * Creates an image filled with a gradient.
+	 *
+	 * @param width the image width
+	 * @param height the image height
+	 * @param format the image format
+	 * @return the encoded image
+	 * @throws IOException if the image can not be encoded
+	 */
+	static byte[] createImage(final int width, final int height, final String format) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setPaint(new GradientPaint(0, 0, Color.BLUE, width, height, Color.ORANGE));
+		graphics.fillRect(0, 0, width, height);
+		graphics.dispose();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, format, out);
+		return out.toByteArray();
+	}
+}
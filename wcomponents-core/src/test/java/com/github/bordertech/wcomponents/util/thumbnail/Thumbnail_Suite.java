@@ -0,0 +1,19 @@
+package com.github.bordertech.wcomponents.util.thumbnail;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+/**
+ * <a href="http://www.junit.org">JUnit</a> test suite for code in the
+ * <b>com.github.bordertech.wcomponents.util.thumbnail</b> package.
+ *
+ * @since 1.5.29
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+	ThumbnailCache_Test.class,
+	ThumbnailUtil_Test.class,
+	ThumbnailUtilPerformance_Test.class
+})
+public class Thumbnail_Suite {
+}